@@ -0,0 +1,203 @@
+package com.hightide.jjson.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The Corpus holds the JSon documents the benchmarks are run over, each a single JSon
+ * Object standing in for a kind of input commonly seen in practice. The small API
+ * payload is bundled as a resource, while the larger documents are generated from a
+ * fixed seed in the shape of the well-known corpora they are named after, so every run,
+ * on every machine, measures the very same text.
+ * 
+ * <ul>
+ * <li>{@code STORY}: a 2 KB API response, the story document of {@code JSonConverter.main}</li>
+ * <li>{@code CANADA}: a 2 MB GeoJSON polygon made almost entirely of doubles, like canada.json</li>
+ * <li>{@code CITM_CATALOG}: a 1.5 MB catalog of many small objects with repeated names and
+ * large objects keyed by ids, like citm_catalog.json</li>
+ * <li>{@code NESTED}: objects and arrays nested 1000 levels deep</li>
+ * </ul>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public enum Corpus{
+	
+	STORY{
+		@Override
+		String generate(){
+			return readResource("story.json");
+		}
+	},
+	
+	CANADA{
+		@Override
+		String generate(){
+			Random Random = new Random(SEED);
+			StringBuilder Out = new StringBuilder(1 << 21);
+			Out.append("{\"type\":\"FeatureCollection\",\"features\":[{\"type\":\"Feature\",")
+				.append("\"properties\":{\"name\":\"Canada\"},")
+				.append("\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[");
+			for(int ring = 0; ring < 480; ring++){
+				if(ring > 0){
+					Out.append(',');
+				}
+				Out.append('[');
+				double longitude = -141 + Random.nextDouble() * 88;
+				double latitude = 42 + Random.nextDouble() * 41;
+				int points = 20 + Random.nextInt(195);
+				for(int i = 0; i < points; i++){
+					if(i > 0){
+						Out.append(',');
+					}
+					longitude += (Random.nextDouble() - 0.5) * 0.01;
+					latitude += (Random.nextDouble() - 0.5) * 0.01;
+					Out.append('[').append(longitude).append(',').append(latitude).append(']');
+				}
+				Out.append(']');
+			}
+			return Out.append("]}}]}").toString();
+		}
+	},
+	
+	CITM_CATALOG{
+		@Override
+		String generate(){
+			Random Random = new Random(SEED);
+			StringBuilder Out = new StringBuilder(1 << 21);
+			Out.append("{\"areaNames\":{");
+			for(int i = 0; i < 32; i++){
+				appendSeparator(Out, i).append('"').append(AREA_ID + i).append("\":\"Zone ")
+					.append((char)('A' + i % 26)).append(i).append(" \u00e0 l'arri\u00e8re-sc\u00e8ne\"");
+			}
+			Out.append("},\"audienceSubCategoryNames\":{\"337100890\":\"Abonn\u00e9\"},\"blockNames\":{},\"events\":{");
+			for(int i = 0; i < 184; i++){
+				appendSeparator(Out, i).append('"').append(EVENT_ID + i).append("\":{\"description\":null,\"id\":")
+					.append(EVENT_ID + i).append(",\"logo\":")
+					.append(Random.nextBoolean() ? "\"/images/UE0AAAAACEKo6QAAAAZDSVRN\"" : "null")
+					.append(",\"name\":\"Event ").append(i).append("\",\"subTopicIds\":[")
+					.append(TOPIC_ID + Random.nextInt(64)).append(',').append(TOPIC_ID + Random.nextInt(64))
+					.append("],\"subjectCode\":null,\"subtitle\":null,\"topicIds\":[")
+					.append(TOPIC_ID + Random.nextInt(16)).append(',').append(TOPIC_ID + Random.nextInt(16)).append("]}");
+			}
+			Out.append("},\"performances\":[");
+			for(int i = 0; i < 2400; i++){
+				appendSeparator(Out, i).append("{\"eventId\":").append(EVENT_ID + Random.nextInt(184))
+					.append(",\"id\":").append(PERFORMANCE_ID + i)
+					.append(",\"logo\":null,\"name\":null,\"prices\":[");
+				int prices = 1 + Random.nextInt(4);
+				for(int j = 0; j < prices; j++){
+					appendSeparator(Out, j).append("{\"amount\":").append(10000 + Random.nextInt(90) * 250)
+						.append(",\"audienceSubCategoryId\":337100890,\"seatCategoryId\":").append(SEAT_ID + j).append('}');
+				}
+				Out.append("],\"seatCategories\":[");
+				for(int j = 0; j < prices; j++){
+					appendSeparator(Out, j).append("{\"areas\":[{\"areaId\":").append(AREA_ID + Random.nextInt(32))
+						.append(",\"blockIds\":[]},{\"areaId\":").append(AREA_ID + Random.nextInt(32))
+						.append(",\"blockIds\":[]}],\"seatCategoryId\":").append(SEAT_ID + j).append('}');
+				}
+				Out.append("],\"seatMapImage\":null,\"start\":").append(1372701600000L + i * 86400000L)
+					.append(",\"venueCode\":\"PLEYEL_PLEYEL\"}");
+			}
+			return Out.append("]}").toString();
+		}
+	},
+	
+	NESTED{
+		@Override
+		String generate(){
+			StringBuilder Out = new StringBuilder(1 << 17);
+			for(int level = 0; level < DEPTH; level++){
+				if(level % 2 == 0){
+					Out.append("{\"level\":").append(level).append(",\"name\":\"level ").append(level)
+						.append("\",\"tags\":[\"a\",\"b\",true,null],\"child\":");
+				}else{
+					Out.append('[').append(level).append(",\"level ").append(level).append("\",");
+				}
+			}
+			Out.append("{}");
+			for(int level = DEPTH - 1; level >= 0; level--){
+				Out.append(level % 2 == 0 ? '}' : ']');
+			}
+			return Out.toString();
+		}
+	};
+	
+	/**
+	 * The seed of the generated corpora
+	 */
+	private static final long SEED = 0x4A4A536F6EL;
+	
+	/**
+	 * The nesting depth of {@code NESTED}
+	 */
+	private static final int DEPTH = 1000;
+	
+	private static final long AREA_ID = 205705993L;
+	private static final long EVENT_ID = 138586341L;
+	private static final long TOPIC_ID = 324846099L;
+	private static final long PERFORMANCE_ID = 339887544L;
+	private static final long SEAT_ID = 338937295L;
+	
+	/**
+	 * The text of the corpus, generated on first use
+	 */
+	private volatile String Text;
+	
+	/**
+	 * Returns the text of this corpus
+	 * 
+	 * @return The JSon text
+	 */
+	public String text(){
+		String Current = Text;
+		if(Current == null){
+			Text = Current = generate();
+		}
+		return Current;
+	}
+	
+	abstract String generate();
+	
+	private static StringBuilder appendSeparator(StringBuilder Out, int index){
+		return (index > 0 ? Out.append(',') : Out);
+	}
+	
+	private static String readResource(String Name){
+		try(InputStream In = Corpus.class.getResourceAsStream(Name)){
+			if(In == null){
+				throw new IllegalStateException("Missing corpus " + Name);
+			}
+			ByteArrayOutputStream Out = new ByteArrayOutputStream();
+			byte[] Buffer = new byte[8192];
+			for(int read; (read = In.read(Buffer)) > 0;){
+				Out.write(Buffer, 0, read);
+			}
+			return new String(Out.toByteArray(), StandardCharsets.UTF_8);
+		}catch(IOException IOE){
+			throw new UncheckedIOException(IOE);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.hightide.jjson.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.hightide.jjson.JSonArray;
+import com.hightide.jjson.JSonObject;
+import com.hightide.jjson.JSonParseException;
+import com.hightide.jjson.JSonParser;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The DocumentBenchmark measures the core operations on a JSonObject over each
+ * {@code Corpus}: parsing it, both with a new parser and with a reused one, writing
+ * it out with {@code toString}, looking up every name of its largest object with
+ * {@code getValue}, and a round trip through both.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentBenchmark{
+	
+	@Param
+	public Corpus Corpus;
+	
+	/**
+	 * The text of {@code Corpus}
+	 */
+	private String Text;
+	
+	/**
+	 * {@code Text}, parsed
+	 */
+	private JSonObject Document;
+	
+	/**
+	 * The object of {@code Document} with the most names, and its names
+	 */
+	private JSonObject Largest;
+	private String[] Names;
+	
+	/**
+	 * The parser reused by {@code parseReused}
+	 */
+	private JSonParser Parser;
+	
+	@Setup
+	public void setUp() throws JSonParseException{
+		Text = Corpus.text();
+		Parser = new JSonParser();
+		Document = Parser.parseJSonObject(Text);
+		Largest = largestObject(Document, Document);
+		Names = Largest.getJSonProperties().keySet().toArray(new String[0]);
+		if(!Document.toString().equals(Parser.parseJSonObject(Document.toString()).toString())){
+			throw new IllegalStateException(Corpus + " does not survive a round trip");
+		}
+	}
+	
+	@Benchmark
+	public JSonObject parse() throws JSonParseException{
+		return new JSonParser().parseJSonObject(Text);
+	}
+	
+	@Benchmark
+	public JSonObject parseReused() throws JSonParseException{
+		return Parser.parseJSonObject(Text);
+	}
+	
+	@Benchmark
+	public String serialize(){
+		return Document.toString();
+	}
+	
+	@Benchmark
+	public void getValue(Blackhole Sink){
+		for(String Name : Names){
+			Sink.consume(Largest.getValue(Name));
+		}
+	}
+	
+	@Benchmark
+	public String roundTrip() throws JSonParseException{
+		return Parser.parseJSonObject(Text).toString();
+	}
+	
+	/**
+	 * Returns the object with the most names within {@code Value}, or {@code Largest}
+	 * if none has more names than it
+	 */
+	private static JSonObject largestObject(Object Value, JSonObject Largest){
+		if(Value instanceof JSonObject){
+			JSonObject Object = (JSonObject)Value;
+			if(Object.getJSonProperties().size() > Largest.getJSonProperties().size()){
+				Largest = Object;
+			}
+			for(Object Child : Object.getJSonProperties().values()){
+				Largest = largestObject(Child, Largest);
+			}
+		}else if(Value instanceof JSonArray){
+			for(Object Child : ((JSonArray)Value).getJSonArrayList()){
+				Largest = largestObject(Child, Largest);
+			}
+		}
+		return Largest;
+	}
+}
@@ -0,0 +1,48 @@
+package com.hightide.jjson.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * Runs the jjson benchmarks. Any of the usual JMH command line options may be given,
+ * such as a pattern of the benchmarks to run or {@code -p Corpus=CANADA}, and the
+ * {@code gc} profiler is always added, so that every result is reported along with
+ * its {@code gc.alloc.rate.norm}, the bytes allocated per operation.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonBenchmarks{
+	
+	private JSonBenchmarks(){
+	}
+	
+	public static void main(String args[]) throws CommandLineOptionException, RunnerException{
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+}
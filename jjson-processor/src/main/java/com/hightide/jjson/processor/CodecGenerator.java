@@ -0,0 +1,832 @@
+package com.hightide.jjson.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The CodecGenerator writes the source of the {@code JSonCodec} of a single
+ * {@code JSonSerializable} class. The codec is a top-level class in the same package,
+ * named after the class with any enclosing classes joined by '_' and {@code _JSonCodec}
+ * appended, so that {@code JSonBinder} can find it from the name of the class.
+ * 
+ * <p>Strings, primitives and their wrappers, and enums are read and written inline.
+ * Arrays, {@code java.util.Collection}s and {@code java.util.Map}s with String keys get a
+ * helper method for each distinct type. Other {@code JSonSerializable} classes are bound
+ * through their own generated codecs, and any other class through the codec
+ * {@code JSonCodecs.codecFor} returns, which is looked up once when the codec is loaded.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class CodecGenerator{
+	
+	/**
+	 * The name of the annotation marking classes to generate codecs for
+	 */
+	static final String SERIALIZABLE = "com.hightide.jjson.JSonSerializable";
+	
+	/**
+	 * The suffix appended to the flattened name of a class to name its codec
+	 */
+	private static final String CODEC_SUFFIX = "_JSonCodec";
+	
+	private static final String JJSON = "com.hightide.jjson.";
+	private static final String CODECS = JJSON + "JSonCodecs";
+	private static final String TOKEN = JJSON + "JSonToken";
+	private static final String READ_SIGNATURE = "(" + JJSON + "JSonTokenizer Reader) throws java.io.IOException, " + JJSON + "JSonParseException";
+	
+	private final Types TypeUtils;
+	private final Elements ElementUtils;
+	private final TypeElement Type;
+	private final String PackageName;
+	private final String CodecName;
+	
+	/**
+	 * The static codec fields and helper methods generated so far
+	 */
+	private final StringBuilder Fields = new StringBuilder();
+	private final StringBuilder Helpers = new StringBuilder();
+	
+	/**
+	 * The name of the codec field or helper method generated for each type, keyed by
+	 * its kind followed by the type
+	 */
+	private final Map<String, String> Generated = new HashMap<String, String>();
+	
+	/**
+	 * The number of locals, fields and helpers named so far
+	 */
+	private int counter;
+	
+	/**
+	 * Thrown when a class, or one of its fields, cannot be bound by generated code
+	 */
+	static final class CodecException extends Exception{
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient Element Source;
+		
+		CodecException(String Message, Element Source){
+			super(Message);
+			this.Source = Source;
+		}
+		
+		/**
+		 * @return The element to report the error against
+		 */
+		Element getElement(){
+			return Source;
+		}
+	}
+	
+	/**
+	 * A field of the class, with the expressions reading and setting it on a value named {@code Value}
+	 */
+	private static final class Property{
+		
+		final String Name;
+		final TypeMirror Type;
+		final VariableElement Field;
+		final String Getter;
+		final String Setter;
+		
+		/**
+		 * @param Getter The expression reading the field
+		 * @param Setter The expression setting the field, with {@code %s} standing for the value,
+		 * 		  or null if it cannot be set
+		 */
+		Property(VariableElement Field, TypeMirror Type, String Getter, String Setter){
+			this.Name = Field.getSimpleName().toString();
+			this.Type = Type;
+			this.Field = Field;
+			this.Getter = Getter;
+			this.Setter = Setter;
+		}
+	}
+	
+	CodecGenerator(ProcessingEnvironment Environment, TypeElement Type){
+		this.TypeUtils = Environment.getTypeUtils();
+		this.ElementUtils = Environment.getElementUtils();
+		this.Type = Type;
+		this.PackageName = ElementUtils.getPackageOf(Type).getQualifiedName().toString();
+		this.CodecName = codecName(Type);
+	}
+	
+	/**
+	 * @return The qualified name of the generated codec
+	 */
+	String getCodecName(){
+		return CodecName;
+	}
+	
+	/**
+	 * Returns the qualified name of the codec generated for {@code Type}
+	 */
+	private String codecName(TypeElement Type){
+		String Package = ElementUtils.getPackageOf(Type).getQualifiedName().toString();
+		String Name = ElementUtils.getBinaryName(Type).toString();
+		if(!Package.isEmpty()){
+			Name = Name.substring(Package.length() + 1);
+		}
+		Name = Name.replace('$', '_') + CODEC_SUFFIX;
+		return (Package.isEmpty() ? Name : Package + "." + Name);
+	}
+	
+	/**
+	 * Generates the source of the codec
+	 * 
+	 * @return The source of the codec's compilation unit
+	 * @throws CodecException If the class cannot be bound by generated code
+	 */
+	String generate() throws CodecException{
+		checkType();
+		boolean record = isRecord(Type);
+		List<Property> Properties = findProperties(record);
+		String TypeName = Type.getQualifiedName().toString();
+		String SimpleName = CodecName.substring(CodecName.lastIndexOf('.') + 1);
+		
+		StringBuilder Read = new StringBuilder();
+		Read.append("\tpublic ").append(TypeName).append(" read").append(READ_SIGNATURE).append("{\n");
+		Read.append("\t\tif(Reader.getCurrentToken() == " + TOKEN + ".VALUE_NULL){\n\t\t\treturn null;\n");
+		Read.append("\t\t}else if(Reader.getCurrentToken() != " + TOKEN + ".START_OBJECT){\n");
+		Read.append("\t\t\tthrow " + CODECS + ".mismatch(Reader, \"a JSonObject\");\n\t\t}\n");
+		if(record){
+			for(int i = 0; i < Properties.size(); i++){
+				TypeMirror Component = Properties.get(i).Type;
+				Read.append("\t\t").append(Component).append(" p").append(i).append(" = ").append(defaultValue(Component)).append(";\n");
+			}
+		}else{
+			Read.append("\t\t").append(TypeName).append(" Value = new ").append(TypeName).append("();\n");
+		}
+		Read.append("\t\twhile(Reader.nextToken() == " + TOKEN + ".FIELD_NAME){\n");
+		Read.append("\t\t\tString Name = Reader.getString();\n");
+		Read.append("\t\t\tReader.nextToken();\n");
+		Read.append("\t\t\tswitch(Name){\n");
+		for(int i = 0; i < Properties.size(); i++){
+			Property P = Properties.get(i);
+			String Setter = (record ? "p" + i + " = %s;" : P.Setter);
+			if(Setter == null){
+				continue;
+			}
+			Read.append("\t\t\t\tcase \"").append(P.Name).append("\":\n");
+			appendRead(Read, "\t\t\t\t\t", P.Type, Setter, P.Field);
+			Read.append("\t\t\t\t\tbreak;\n");
+		}
+		Read.append("\t\t\t\tdefault:\n\t\t\t\t\tReader.skipChildren();\n");
+		Read.append("\t\t\t}\n\t\t}\n");
+		if(record){
+			Read.append("\t\treturn new ").append(TypeName).append("(");
+			for(int i = 0; i < Properties.size(); i++){
+				Read.append(i > 0 ? ", p" : "p").append(i);
+			}
+			Read.append(");\n\t}\n");
+		}else{
+			Read.append("\t\treturn Value;\n\t}\n");
+		}
+		
+		StringBuilder Write = new StringBuilder();
+		Write.append("\tpublic void write(").append(TypeName).append(" Value, Appendable Out) throws java.io.IOException{\n");
+		for(int i = 0; i < Properties.size(); i++){
+			Property P = Properties.get(i);
+			Write.append("\t\tOut.append(\"").append(i > 0 ? "," : "{").append("\\\"").append(P.Name).append("\\\":\");\n");
+			appendWrite(Write, "\t\t", P.Type, P.Getter, P.Field);
+		}
+		Write.append("\t\tOut.append(").append(Properties.isEmpty() ? "\"{}\"" : "'}'").append(");\n\t}\n");
+		
+		StringBuilder Source = new StringBuilder();
+		if(!PackageName.isEmpty()){
+			Source.append("package ").append(PackageName).append(";\n\n");
+		}
+		Source.append("/**\n * The JSonCodec of {@code ").append(TypeName).append("}, generated by the jjson-processor.\n */\n");
+		Source.append("public final class ").append(SimpleName).append(" implements ").append(JJSON).append("JSonCodec<").append(TypeName).append(">{\n\n");
+		Source.append(Fields);
+		if(Fields.length() > 0){
+			Source.append("\n");
+		}
+		Source.append(Read).append("\n").append(Write).append(Helpers).append("}\n");
+		return Source.toString();
+	}
+	
+	/**
+	 * Ensures a codec can be generated for the class itself
+	 */
+	private void checkType() throws CodecException{
+		Set<Modifier> Modifiers = Type.getModifiers();
+		if(Type.getKind() == ElementKind.ENUM || Type.getKind() == ElementKind.INTERFACE || Modifiers.contains(Modifier.ABSTRACT)){
+			throw new CodecException("@JSonSerializable may only be applied to concrete classes", Type);
+		}else if(!Type.getTypeParameters().isEmpty()){
+			throw new CodecException("@JSonSerializable may not be applied to generic classes", Type);
+		}else if(Modifiers.contains(Modifier.PRIVATE)){
+			throw new CodecException("@JSonSerializable may not be applied to private classes", Type);
+		}else if(Type.getEnclosingElement() instanceof TypeElement && !Modifiers.contains(Modifier.STATIC) && !isRecord(Type)){
+			throw new CodecException("@JSonSerializable may not be applied to inner classes; make the class static", Type);
+		}
+		if(!isRecord(Type)){
+			for(ExecutableElement Constructor : ElementFilter.constructorsIn(Type.getEnclosedElements())){
+				if(Constructor.getParameters().isEmpty() && isVisible(Constructor)){
+					return;
+				}
+			}
+			throw new CodecException("A @JSonSerializable class needs a non-private constructor taking no arguments", Type);
+		}
+	}
+	
+	/**
+	 * Returns the fields of the class, those of its superclasses first. A field hidden by
+	 * one of the same name declared lower in the hierarchy is left out, as {@code Value.name}
+	 * would only reach the most derived.
+	 */
+	private List<Property> findProperties(boolean record) throws CodecException{
+		List<TypeElement> Hierarchy = new ArrayList<TypeElement>();
+		Map<String, TypeElement> Declarers = new HashMap<String, TypeElement>();
+		for(TypeElement Current = Type; Current != null; Current = superclassOf(Current)){
+			Hierarchy.add(0, Current);
+			for(VariableElement Field : ElementFilter.fieldsIn(Current.getEnclosedElements())){
+				String Name = Field.getSimpleName().toString();
+				if(!Declarers.containsKey(Name)){
+					Declarers.put(Name, Current);
+				}
+			}
+		}
+		DeclaredType Declared = (DeclaredType)Type.asType();
+		List<Property> Properties = new ArrayList<Property>();
+		for(TypeElement Current : Hierarchy){
+			for(VariableElement Field : ElementFilter.fieldsIn(Current.getEnclosedElements())){
+				Set<Modifier> Modifiers = Field.getModifiers();
+				String Name = Field.getSimpleName().toString();
+				if(Modifiers.contains(Modifier.STATIC) || Modifiers.contains(Modifier.TRANSIENT) || Declarers.get(Name) != Current){
+					continue;
+				}
+				TypeMirror FieldType = TypeUtils.asMemberOf(Declared, Field);
+				if(record){
+					Properties.add(new Property(Field, FieldType, "Value." + Name + "()", null));
+					continue;
+				}
+				
+				String Capitalized = Character.toUpperCase(Name.charAt(0)) + Name.substring(1);
+				ExecutableElement Getter = findMethod(Current, "get" + Capitalized, 0);
+				if(Getter == null && FieldType.getKind() == TypeKind.BOOLEAN){
+					Getter = findMethod(Current, "is" + Capitalized, 0);
+				}
+				ExecutableElement Setter = findMethod(Current, "set" + Capitalized, 1);
+				boolean visible = isVisible(Field);
+				boolean writable = !Modifiers.contains(Modifier.FINAL);
+				
+				String GetExpression;
+				if(visible){
+					GetExpression = "Value." + Name;
+				}else if(Getter != null){
+					GetExpression = "Value." + Getter.getSimpleName() + "()";
+				}else{
+					throw new CodecException("The field " + Name + " of a @JSonSerializable class must be visible within its package,"
+						 + " or have a getter which is", Field);
+				}
+				String SetExpression = null;
+				if(Setter != null){
+					SetExpression = "Value." + Setter.getSimpleName() + "(%s);";
+				}else if(visible && writable){
+					SetExpression = "Value." + Name + " = %s;";
+				}else if(writable){
+					throw new CodecException("The field " + Name + " of a @JSonSerializable class must be visible within its package,"
+						 + " or have a setter which is", Field);
+				}
+				Properties.add(new Property(Field, FieldType, GetExpression, SetExpression));
+			}
+		}
+		return Properties;
+	}
+	
+	/**
+	 * Returns the superclass of {@code Current}, or null if it is {@code java.lang.Object}
+	 */
+	private TypeElement superclassOf(TypeElement Current){
+		TypeMirror Superclass = Current.getSuperclass();
+		if(Superclass.getKind() != TypeKind.DECLARED){
+			return null;
+		}
+		TypeElement Element = (TypeElement)((DeclaredType)Superclass).asElement();
+		return (Element.getQualifiedName().contentEquals("java.lang.Object") || isRecord(Current) ? null : Element);
+	}
+	
+	/**
+	 * Returns the method {@code Name} of {@code Owner} visible to the codec and taking {@code parameters} arguments, or null
+	 */
+	private ExecutableElement findMethod(TypeElement Owner, String Name, int parameters){
+		for(ExecutableElement Method : ElementFilter.methodsIn(Owner.getEnclosedElements())){
+			if(Method.getSimpleName().contentEquals(Name) && Method.getParameters().size() == parameters
+				 && !Method.getModifiers().contains(Modifier.STATIC) && isVisible(Method)){
+				return Method;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns whether {@code Member} may be accessed from the codec, which is in the package of the class
+	 */
+	private boolean isVisible(Element Member){
+		Set<Modifier> Modifiers = Member.getModifiers();
+		if(Modifiers.contains(Modifier.PUBLIC)){
+			return true;
+		}
+		return !Modifiers.contains(Modifier.PRIVATE) && ElementUtils.getPackageOf(Member).getQualifiedName().contentEquals(PackageName);
+	}
+	
+	/**
+	 * Returns whether {@code Element} is a record. Records are found by name, since the
+	 * processor itself is built for Java 8.
+	 */
+	private static boolean isRecord(Element Element){
+		return Element.getKind().name().equals("RECORD");
+	}
+	
+	/**
+	 * Returns the value a record component is given when it is missing from the input
+	 */
+	private static String defaultValue(TypeMirror Component){
+		switch(Component.getKind()){
+			case BOOLEAN:
+				return "false";
+			case CHAR:
+				return "'\\0'";
+			case BYTE:
+			case SHORT:
+				return "(" + Component + ")0";
+			case INT:
+				return "0";
+			case LONG:
+				return "0L";
+			case FLOAT:
+				return "0f";
+			case DOUBLE:
+				return "0.0";
+			default:
+				return "null";
+		}
+	}
+	
+	/**
+	 * Appends statements reading the current token as a value of {@code ValueType}, and
+	 * passing it to {@code Setter}. A JSon null leaves a primitive unchanged.
+	 */
+	private void appendRead(StringBuilder Out, String Indent, TypeMirror ValueType, String Setter, Element Source) throws CodecException{
+		ValueType = resolve(ValueType, Source);
+		Out.append(Indent).append("if(Reader.getCurrentToken() != " + TOKEN + ".VALUE_NULL){\n");
+		Out.append(Indent).append('\t').append(String.format(Setter, readExpression(ValueType, Source))).append('\n');
+		if(ValueType.getKind().isPrimitive()){
+			Out.append(Indent).append("}\n");
+		}else{
+			Out.append(Indent).append("}else{\n");
+			Out.append(Indent).append('\t').append(String.format(Setter, "null")).append('\n');
+			Out.append(Indent).append("}\n");
+		}
+	}
+	
+	/**
+	 * Appends statements writing {@code Expression}, of type {@code ValueType}, to {@code Out}
+	 */
+	private void appendWrite(StringBuilder Out, String Indent, TypeMirror ValueType, String Expression, Element Source) throws CodecException{
+		TypeMirror Resolved = resolve(ValueType, Source);
+		if(Resolved.getKind().isPrimitive()){
+			Out.append(Indent).append(writeStatement(Resolved, Expression, Source)).append('\n');
+			return;
+		}
+		String Local = "v" + counter++;
+		Out.append(Indent).append(ValueType).append(' ').append(Local).append(" = ").append(Expression).append(";\n");
+		Out.append(Indent).append("if(").append(Local).append(" == null){\n");
+		Out.append(Indent).append("\tOut.append(\"null\");\n");
+		Out.append(Indent).append("}else{\n");
+		Out.append(Indent).append('\t').append(writeStatement(Resolved, Local, Source)).append('\n');
+		Out.append(Indent).append("}\n");
+	}
+	
+	/**
+	 * Returns an expression reading the current token, which is not a JSon null, as a value of {@code ValueType}
+	 */
+	private String readExpression(TypeMirror ValueType, Element Source) throws CodecException{
+		switch(ValueType.getKind()){
+			case BOOLEAN:
+				return CODECS + ".readBoolean(Reader)";
+			case CHAR:
+				return CODECS + ".readChar(Reader)";
+			case BYTE:
+				return "(byte)" + CODECS + ".readInteger(Reader, Byte.MIN_VALUE, Byte.MAX_VALUE)";
+			case SHORT:
+				return "(short)" + CODECS + ".readInteger(Reader, Short.MIN_VALUE, Short.MAX_VALUE)";
+			case INT:
+				return "(int)" + CODECS + ".readInteger(Reader, Integer.MIN_VALUE, Integer.MAX_VALUE)";
+			case LONG:
+				return CODECS + ".readInteger(Reader, Long.MIN_VALUE, Long.MAX_VALUE)";
+			case FLOAT:
+				return "(float)" + CODECS + ".readDouble(Reader)";
+			case DOUBLE:
+				return CODECS + ".readDouble(Reader)";
+			case ARRAY:
+				return readArrayHelper((ArrayType)ValueType, Source) + "(Reader)";
+			case DECLARED:
+				break;
+			default:
+				throw new CodecException("Cannot bind the type " + ValueType, Source);
+		}
+		TypeMirror Unboxed = unbox(ValueType);
+		if(Unboxed != null){
+			return readExpression(Unboxed, Source);
+		}
+		TypeElement Element = (TypeElement)TypeUtils.asElement(ValueType);
+		if(Element.getQualifiedName().contentEquals("java.lang.String")){
+			return CODECS + ".readString(Reader)";
+		}else if(Element.getKind() == ElementKind.ENUM){
+			return CODECS + ".readEnum(Reader, " + TypeUtils.erasure(ValueType) + ".class)";
+		}else if(isSubtype(ValueType, "java.util.Collection")){
+			return readCollectionHelper((DeclaredType)ValueType, Source) + "(Reader)";
+		}else if(isSubtype(ValueType, "java.util.Map")){
+			return readMapHelper((DeclaredType)ValueType, Source) + "(Reader)";
+		}
+		return codecField(ValueType, Source) + ".read(Reader)";
+	}
+	
+	/**
+	 * Returns a statement writing {@code Expression}, a value of {@code ValueType} which is not null, to {@code Out}
+	 */
+	private String writeStatement(TypeMirror ValueType, String Expression, Element Source) throws CodecException{
+		TypeMirror Unboxed = unbox(ValueType);
+		TypeMirror Kind = (Unboxed != null ? Unboxed : ValueType);
+		if(Kind.getKind() == TypeKind.CHAR){
+			return CODECS + ".writeString(String.valueOf(" + Expression + "), Out);";
+		}else if(Kind.getKind() == TypeKind.DOUBLE){
+			return CODECS + ".writeDouble(" + Expression + ", Out);";
+		}else if(Kind.getKind() == TypeKind.FLOAT){
+			return CODECS + ".writeFloat(" + Expression + ", Out);";
+		}else if(Kind.getKind().isPrimitive()){
+			return "Out.append(String.valueOf(" + Expression + "));";
+		}else if(Kind.getKind() == TypeKind.ARRAY){
+			return writeArrayHelper((ArrayType)Kind, Source) + "(" + Expression + ", Out);";
+		}
+		TypeElement Element = (TypeElement)TypeUtils.asElement(ValueType);
+		if(Element.getQualifiedName().contentEquals("java.lang.String")){
+			return CODECS + ".writeString(" + Expression + ", Out);";
+		}else if(Element.getKind() == ElementKind.ENUM){
+			return CODECS + ".writeString(" + Expression + ".name(), Out);";
+		}else if(isSubtype(ValueType, "java.util.Collection")){
+			return writeCollectionHelper((DeclaredType)ValueType, Source) + "(" + Expression + ", Out);";
+		}else if(isSubtype(ValueType, "java.util.Map")){
+			return writeMapHelper((DeclaredType)ValueType, Source) + "(" + Expression + ", Out);";
+		}
+		return codecField(ValueType, Source) + ".write(" + Expression + ", Out);";
+	}
+	
+	/**
+	 * Returns the name of a static field holding the codec of {@code ValueType}, which is
+	 * the generated codec for {@code JSonSerializable} classes and the run time codec otherwise
+	 */
+	private String codecField(TypeMirror ValueType, Element Source) throws CodecException{
+		if(!((DeclaredType)ValueType).getTypeArguments().isEmpty()){
+			throw new CodecException("Cannot bind the generic type " + ValueType, Source);
+		}
+		String Key = "codec " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name == null){
+			Name = "CODEC_" + counter++;
+			Generated.put(Key, Name);
+			TypeElement Element = (TypeElement)TypeUtils.asElement(ValueType);
+			Fields.append("\tprivate static final ").append(JJSON).append("JSonCodec<").append(ValueType).append("> ").append(Name).append(" = ");
+			if(isSerializable(Element)){
+				Fields.append("new ").append(codecName(Element)).append("();\n");
+			}else{
+				Fields.append(CODECS).append(".codecFor(").append(ValueType).append(".class);\n");
+			}
+		}
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper reading an array of type {@code ValueType}
+	 */
+	private String readArrayHelper(ArrayType ValueType, Element Source) throws CodecException{
+		String Key = "read " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "read" + counter++;
+		Generated.put(Key, Name);
+		TypeMirror Component = resolve(ValueType.getComponentType(), Source);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n");
+		if(!Component.getKind().isPrimitive()){
+			Out.append("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		}
+		Out.append("\tprivate static ").append(ValueType).append(' ').append(Name).append(READ_SIGNATURE).append("{\n");
+		Out.append("\t\tif(Reader.getCurrentToken() != " + TOKEN + ".START_ARRAY){\n");
+		Out.append("\t\t\tthrow " + CODECS + ".mismatch(Reader, \"a JSonArray\");\n\t\t}\n");
+		Out.append("\t\t").append(ValueType).append(" Values = ").append(newArray(ValueType, "8")).append(";\n");
+		Out.append("\t\tint size = 0;\n");
+		Out.append("\t\twhile(Reader.nextToken() != " + TOKEN + ".END_ARRAY){\n");
+		Out.append("\t\t\tif(size == Values.length){\n");
+		Out.append("\t\t\t\tValues = java.util.Arrays.copyOf(Values, size * 2);\n\t\t\t}\n");
+		if(Component.getKind().isPrimitive()){
+			Out.append("\t\t\tif(Reader.getCurrentToken() == " + TOKEN + ".VALUE_NULL){\n");
+			Out.append("\t\t\t\tthrow " + CODECS + ".mismatch(Reader, \"a non-null ").append(Component).append("\");\n\t\t\t}\n");
+			Out.append("\t\t\tValues[size++] = ").append(readExpression(Component, Source)).append(";\n");
+		}else{
+			appendRead(Out, "\t\t\t", Component, "Values[size++] = %s;", Source);
+		}
+		Out.append("\t\t}\n");
+		Out.append("\t\treturn java.util.Arrays.copyOf(Values, size);\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper writing an array of type {@code ValueType}
+	 */
+	private String writeArrayHelper(ArrayType ValueType, Element Source) throws CodecException{
+		String Key = "write " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "write" + counter++;
+		Generated.put(Key, Name);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n\tprivate static void ").append(Name).append('(').append(ValueType).append(" Values, Appendable Out) throws java.io.IOException{\n");
+		Out.append("\t\tOut.append('[');\n");
+		Out.append("\t\tfor(int i = 0; i < Values.length; i++){\n");
+		Out.append("\t\t\tif(i > 0){\n\t\t\t\tOut.append(\", \");\n\t\t\t}\n");
+		appendWrite(Out, "\t\t\t", ValueType.getComponentType(), "Values[i]", Source);
+		Out.append("\t\t}\n");
+		Out.append("\t\tOut.append(']');\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper reading a collection of type {@code ValueType}
+	 */
+	private String readCollectionHelper(DeclaredType ValueType, Element Source) throws CodecException{
+		String Key = "read " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "read" + counter++;
+		Generated.put(Key, Name);
+		TypeMirror Element = resolve(typeArgument(ValueType, "java.util.Collection", 0, Source), Source);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n\tprivate static ").append(ValueType).append(' ').append(Name).append(READ_SIGNATURE).append("{\n");
+		Out.append("\t\tif(Reader.getCurrentToken() != " + TOKEN + ".START_ARRAY){\n");
+		Out.append("\t\t\tthrow " + CODECS + ".mismatch(Reader, \"a JSonArray\");\n\t\t}\n");
+		Out.append("\t\t").append(instantiate(ValueType, Element.toString(), Source)).append('\n');
+		Out.append("\t\twhile(Reader.nextToken() != " + TOKEN + ".END_ARRAY){\n");
+		appendRead(Out, "\t\t\t", Element, "Values.add(%s);", Source);
+		Out.append("\t\t}\n");
+		Out.append("\t\treturn Values;\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper writing a collection of type {@code ValueType}
+	 */
+	private String writeCollectionHelper(DeclaredType ValueType, Element Source) throws CodecException{
+		String Key = "write " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "write" + counter++;
+		Generated.put(Key, Name);
+		TypeMirror Element = resolve(typeArgument(ValueType, "java.util.Collection", 0, Source), Source);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n\tprivate static void ").append(Name).append('(').append(ValueType).append(" Values, Appendable Out) throws java.io.IOException{\n");
+		Out.append("\t\tOut.append('[');\n");
+		Out.append("\t\tboolean first = true;\n");
+		Out.append("\t\tfor(").append(Element).append(" Element : Values){\n");
+		Out.append("\t\t\tif(!first){\n\t\t\t\tOut.append(\", \");\n\t\t\t}\n");
+		Out.append("\t\t\tfirst = false;\n");
+		appendWrite(Out, "\t\t\t", Element, "Element", Source);
+		Out.append("\t\t}\n");
+		Out.append("\t\tOut.append(']');\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper reading a map of type {@code ValueType}
+	 */
+	private String readMapHelper(DeclaredType ValueType, Element Source) throws CodecException{
+		String Key = "read " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "read" + counter++;
+		Generated.put(Key, Name);
+		TypeMirror Value = mapValueType(ValueType, Source);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n\tprivate static ").append(ValueType).append(' ').append(Name).append(READ_SIGNATURE).append("{\n");
+		Out.append("\t\tif(Reader.getCurrentToken() != " + TOKEN + ".START_OBJECT){\n");
+		Out.append("\t\t\tthrow " + CODECS + ".mismatch(Reader, \"a JSonObject\");\n\t\t}\n");
+		Out.append("\t\t").append(instantiate(ValueType, "String, " + Value, Source)).append('\n');
+		Out.append("\t\twhile(Reader.nextToken() == " + TOKEN + ".FIELD_NAME){\n");
+		Out.append("\t\t\tString Key = Reader.getString();\n");
+		Out.append("\t\t\tReader.nextToken();\n");
+		appendRead(Out, "\t\t\t", Value, "Values.put(Key, %s);", Source);
+		Out.append("\t\t}\n");
+		Out.append("\t\treturn Values;\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the name of a helper writing a map of type {@code ValueType}
+	 */
+	private String writeMapHelper(DeclaredType ValueType, Element Source) throws CodecException{
+		String Key = "write " + ValueType;
+		String Name = Generated.get(Key);
+		if(Name != null){
+			return Name;
+		}
+		Name = "write" + counter++;
+		Generated.put(Key, Name);
+		TypeMirror Value = mapValueType(ValueType, Source);
+		StringBuilder Out = new StringBuilder();
+		Out.append("\n\tprivate static void ").append(Name).append('(').append(ValueType).append(" Values, Appendable Out) throws java.io.IOException{\n");
+		Out.append("\t\tOut.append('{');\n");
+		Out.append("\t\tboolean first = true;\n");
+		Out.append("\t\tfor(java.util.Map.Entry<String, ? extends ").append(Value).append("> P : Values.entrySet()){\n");
+		Out.append("\t\t\tif(!first){\n\t\t\t\tOut.append(',');\n\t\t\t}\n");
+		Out.append("\t\t\tfirst = false;\n");
+		Out.append("\t\t\t" + CODECS + ".writeString(P.getKey(), Out);\n");
+		Out.append("\t\t\tOut.append(':');\n");
+		appendWrite(Out, "\t\t\t", Value, "P.getValue()", Source);
+		Out.append("\t\t}\n");
+		Out.append("\t\tOut.append('}');\n\t}\n");
+		Helpers.append(Out);
+		return Name;
+	}
+	
+	/**
+	 * Returns the value type of the map type {@code ValueType}, ensuring its keys are Strings
+	 */
+	private TypeMirror mapValueType(DeclaredType ValueType, Element Source) throws CodecException{
+		TypeMirror Key = resolve(typeArgument(ValueType, "java.util.Map", 0, Source), Source);
+		if(!TypeUtils.isSameType(Key, ElementUtils.getTypeElement("java.lang.String").asType())){
+			throw new CodecException("Cannot bind " + ValueType + ", whose keys are not Strings", Source);
+		}
+		return resolve(typeArgument(ValueType, "java.util.Map", 1, Source), Source);
+	}
+	
+	/**
+	 * Returns a statement declaring a local {@code Values} holding a new, empty instance of
+	 * the collection or map type {@code ValueType}, choosing a standard implementation
+	 * for interfaces
+	 */
+	private String instantiate(DeclaredType ValueType, String Arguments, Element Source) throws CodecException{
+		TypeElement Element = (TypeElement)ValueType.asElement();
+		String Implementation;
+		if(Element.getKind() == ElementKind.INTERFACE || Element.getModifiers().contains(Modifier.ABSTRACT)){
+			if(isSubtype(ValueType, "java.util.SortedSet")){
+				Implementation = "java.util.TreeSet";
+			}else if(isSubtype(ValueType, "java.util.Set")){
+				Implementation = "java.util.LinkedHashSet";
+			}else if(isSubtype(ValueType, "java.util.Queue") && !isSubtype(ValueType, "java.util.List")){
+				Implementation = "java.util.ArrayDeque";
+			}else if(isSubtype(ValueType, "java.util.SortedMap")){
+				Implementation = "java.util.TreeMap";
+			}else if(isSubtype(ValueType, "java.util.Map")){
+				Implementation = "java.util.LinkedHashMap";
+			}else{
+				Implementation = "java.util.ArrayList";
+			}
+			TypeMirror Erased = TypeUtils.erasure(ElementUtils.getTypeElement(Implementation).asType());
+			if(!TypeUtils.isAssignable(Erased, TypeUtils.erasure(ValueType))){
+				throw new CodecException("Cannot bind the abstract type " + ValueType, Source);
+			}
+			Implementation += "<" + Arguments + ">";
+		}else if(!Element.getTypeParameters().isEmpty()){
+			Implementation = Element.getQualifiedName() + "<" + Arguments + ">";
+		}else{
+			Implementation = Element.getQualifiedName().toString();
+		}
+		return Implementation + " Values = new " + Implementation + "();";
+	}
+	
+	/**
+	 * Returns an expression creating an array of type {@code ValueType} of {@code Length} elements
+	 */
+	private String newArray(ArrayType ValueType, String Length){
+		String Erased = TypeUtils.erasure(ValueType.getComponentType()).toString();
+		int dimensions = Erased.indexOf('[');
+		if(dimensions < 0){
+			return "new " + Erased + "[" + Length + "]";
+		}
+		return "new " + Erased.substring(0, dimensions) + "[" + Length + "]" + Erased.substring(dimensions);
+	}
+	
+	/**
+	 * Returns type argument {@code index} of the supertype {@code Supertype} of {@code ValueType}
+	 */
+	private TypeMirror typeArgument(TypeMirror ValueType, String Supertype, int index, Element Source) throws CodecException{
+		TypeElement Target = ElementUtils.getTypeElement(Supertype);
+		List<TypeMirror> Pending = new ArrayList<TypeMirror>();
+		Pending.add(ValueType);
+		while(!Pending.isEmpty()){
+			TypeMirror Current = Pending.remove(0);
+			if(Current.getKind() == TypeKind.DECLARED && ((DeclaredType)Current).asElement().equals(Target)){
+				List<? extends TypeMirror> Arguments = ((DeclaredType)Current).getTypeArguments();
+				if(Arguments.isEmpty()){
+					break;
+				}
+				return Arguments.get(index);
+			}
+			Pending.addAll(TypeUtils.directSupertypes(Current));
+		}
+		throw new CodecException("Cannot bind the raw type " + ValueType, Source);
+	}
+	
+	/**
+	 * Returns {@code ValueType}, with a wildcard replaced by its upper bound
+	 */
+	private TypeMirror resolve(TypeMirror ValueType, Element Source) throws CodecException{
+		if(ValueType.getKind() == TypeKind.WILDCARD){
+			TypeMirror Bound = ((WildcardType)ValueType).getExtendsBound();
+			return (Bound != null ? Bound : ElementUtils.getTypeElement("java.lang.Object").asType());
+		}else if(ValueType.getKind() == TypeKind.TYPEVAR){
+			throw new CodecException("Cannot bind the type variable " + ValueType, Source);
+		}
+		return ValueType;
+	}
+	
+	/**
+	 * Returns the primitive type {@code ValueType} unboxes to, or null if it is not a wrapper
+	 */
+	private TypeMirror unbox(TypeMirror ValueType){
+		if(ValueType.getKind().isPrimitive()){
+			return null;
+		}
+		try{
+			return TypeUtils.unboxedType(ValueType);
+		}catch(IllegalArgumentException E){
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns whether {@code ValueType} is a subtype of the erasure of {@code Supertype}
+	 */
+	private boolean isSubtype(TypeMirror ValueType, String Supertype){
+		return TypeUtils.isSubtype(TypeUtils.erasure(ValueType), TypeUtils.erasure(ElementUtils.getTypeElement(Supertype).asType()));
+	}
+	
+	/**
+	 * Returns whether {@code Element} is annotated with {@code JSonSerializable}
+	 */
+	private static boolean isSerializable(TypeElement Element){
+		for(AnnotationMirror Annotation : Element.getAnnotationMirrors()){
+			if(((TypeElement)Annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(SERIALIZABLE)){
+				return true;
+			}
+		}
+		return false;
+	}
+}
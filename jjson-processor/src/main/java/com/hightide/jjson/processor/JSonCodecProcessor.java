@@ -0,0 +1,93 @@
+package com.hightide.jjson.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonCodecProcessor generates a {@code JSonCodec} for each class annotated with
+ * {@code com.hightide.jjson.JSonSerializable}. The generated codec reads straight from
+ * a {@code JSonTokenizer}, the same token stream the DOM parser uses, and writes to an
+ * {@code Appendable}, with every field accessed directly. {@code JSonConverter.readValue}
+ * and {@code writeValue} find it by name, so binding such a class needs no reflection
+ * or codec construction at run time.
+ * 
+ * <p>A class which cannot be bound by generated code is reported as a compile error.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+@SupportedAnnotationTypes(CodecGenerator.SERIALIZABLE)
+public final class JSonCodecProcessor extends AbstractProcessor{
+	
+	@Override
+	public SourceVersion getSupportedSourceVersion(){
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> Annotations, RoundEnvironment Round){
+		for(TypeElement Annotation : Annotations){
+			for(Element Annotated : Round.getElementsAnnotatedWith(Annotation)){
+				if(!Annotated.getKind().isClass()){
+					error("@JSonSerializable may only be applied to classes", Annotated);
+					continue;
+				}
+				generate((TypeElement)Annotated);
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Generates and writes the codec of {@code Type}, reporting any error against it
+	 */
+	private void generate(TypeElement Type){
+		CodecGenerator Generator = new CodecGenerator(processingEnv, Type);
+		try{
+			String Source = Generator.generate();
+			JavaFileObject File = processingEnv.getFiler().createSourceFile(Generator.getCodecName(), Type);
+			Writer Out = File.openWriter();
+			try{
+				Out.write(Source);
+			}finally{
+				Out.close();
+			}
+		}catch(CodecGenerator.CodecException E){
+			error(E.getMessage(), E.getElement());
+		}catch(IOException E){
+			error("Could not write " + Generator.getCodecName() + ": " + E.getMessage(), Type);
+		}
+	}
+	
+	private void error(String Message, Element Source){
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, Message, Source);
+	}
+}
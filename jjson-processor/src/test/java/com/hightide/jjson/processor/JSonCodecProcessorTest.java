@@ -0,0 +1,172 @@
+package com.hightide.jjson.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.hightide.jjson.JSonCodec;
+import com.hightide.jjson.JSonConverter;
+import com.hightide.jjson.JSonParseException;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Runs the JSonCodecProcessor over small classes, checking that the codecs it generates
+ * compile and bind them as {@code JSonConverter} does, and that classes it cannot bind are
+ * reported as compile errors.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonCodecProcessorTest extends TestCase{
+	
+	private Path Output;
+	
+	protected void setUp() throws IOException{
+		Output = Files.createTempDirectory("jjson-processor");
+	}
+	
+	protected void tearDown(){
+		delete(Output.toFile());
+	}
+	
+	public void testFieldHiddenBySubclassIsBoundOnce() throws Exception{
+		List<String> Errors = compile(
+			source("sample.Base", "package sample; public class Base{ public int x = 1; private int hidden; public int z = 3; }"),
+			source("sample.Sub", "package sample; @com.hightide.jjson.JSonSerializable public class Sub extends Base{"
+				 + " public int x = 2; public String hidden = \"h\"; public String y = \"a\"; }"));
+		assertEquals(new ArrayList<String>(), Errors);
+		assertTrue(Files.exists(Output.resolve("sample/Sub_JSonCodec.class")));
+		
+		URLClassLoader Loader = new URLClassLoader(new URL[]{Output.toUri().toURL()}, getClass().getClassLoader());
+		try{
+			Class<?> Sub = Loader.loadClass("sample.Sub");
+			assertTrue(JSonCodec.class.isAssignableFrom(Loader.loadClass("sample.Sub_JSonCodec")));
+			StringBuilder Out = new StringBuilder();
+			JSonConverter.writeValue(Sub.getDeclaredConstructor().newInstance(), Out);
+			assertEquals("{\"z\":3,\"x\":2,\"hidden\":\"h\",\"y\":\"a\"}", Out.toString());
+			
+			Object Read = JSonConverter.readValue("{\"x\":5,\"z\":4,\"hidden\":\"read\"}", Sub);
+			assertEquals(5, Sub.getField("x").get(Read));
+			assertEquals(1, Loader.loadClass("sample.Base").getField("x").get(Read));
+			assertEquals(4, Sub.getField("z").get(Read));
+			assertEquals("read", Sub.getField("hidden").get(Read));
+		}finally{
+			Loader.close();
+		}
+	}
+	
+	public void testNonFiniteNumbersAreWrittenAsNull() throws Exception{
+		List<String> Errors = compile(source("sample.Numbers", "package sample; @com.hightide.jjson.JSonSerializable public class Numbers{"
+			 + " public double d = Double.NaN; public float f = Float.NEGATIVE_INFINITY; public Double boxed = 1.0 / 0;"
+			 + " public double[] array = {0.5, Double.NaN}; public float finite = 0.1f; }"));
+		assertEquals(new ArrayList<String>(), Errors);
+		
+		URLClassLoader Loader = new URLClassLoader(new URL[]{Output.toUri().toURL()}, getClass().getClassLoader());
+		try{
+			Class<?> Numbers = Loader.loadClass("sample.Numbers");
+			StringBuilder Out = new StringBuilder();
+			JSonConverter.writeValue(Numbers.getDeclaredConstructor().newInstance(), Out);
+			assertEquals("{\"d\":null,\"f\":null,\"boxed\":null,\"array\":[0.5, null],\"finite\":0.1}", Out.toString());
+			assertNotNull(JSonConverter.createJSonPropertiesString(Out.toString()));
+		}finally{
+			Loader.close();
+		}
+	}
+	
+	public void testUnboundFieldIsReportedAsError() throws IOException{
+		List<String> Errors = compile(source("sample.Hidden",
+			"package sample; @com.hightide.jjson.JSonSerializable public class Hidden{ private int x; }"));
+		assertEquals(1, Errors.size());
+		assertTrue(Errors.get(0), Errors.get(0).contains("The field x of a @JSonSerializable class must be visible"));
+	}
+	
+	public void testInnerClassIsReportedAsError() throws IOException{
+		List<String> Errors = compile(source("sample.Outer",
+			"package sample; public class Outer{ @com.hightide.jjson.JSonSerializable public class Inner{ public int x; } }"));
+		assertEquals(1, Errors.size());
+		assertTrue(Errors.get(0), Errors.get(0).contains("may not be applied to inner classes"));
+	}
+	
+	/**
+	 * Compiles {@code Sources} into {@code Output} with the processor, returning the errors reported
+	 */
+	private List<String> compile(JavaFileObject... Sources) throws IOException{
+		JavaCompiler Compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("The tests must be run on a JDK", Compiler);
+		DiagnosticCollector<JavaFileObject> Diagnostics = new DiagnosticCollector<JavaFileObject>();
+		StandardJavaFileManager Files = Compiler.getStandardFileManager(Diagnostics, Locale.ROOT, null);
+		try{
+			String ClassPath = new File(JSonCodec.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+			List<String> Options = Arrays.asList("-d", Output.toString(), "-classpath", ClassPath);
+			JavaCompiler.CompilationTask Task = Compiler.getTask(null, Files, Diagnostics, Options, null, Arrays.asList(Sources));
+			Task.setProcessors(Arrays.asList(new JSonCodecProcessor()));
+			Task.call();
+		}finally{
+			Files.close();
+		}
+		List<String> Errors = new ArrayList<String>();
+		for(Diagnostic<? extends JavaFileObject> Reported : Diagnostics.getDiagnostics()){
+			if(Reported.getKind() == Diagnostic.Kind.ERROR){
+				Errors.add(Reported.getMessage(Locale.ROOT));
+			}
+		}
+		return Errors;
+	}
+	
+	private static void delete(File Current){
+		File[] Children = Current.listFiles();
+		if(Children != null){
+			for(File Child : Children){
+				delete(Child);
+			}
+		}
+		Current.delete();
+	}
+	
+	/**
+	 * Returns the in-memory source of the class named {@code Name}
+	 */
+	private static JavaFileObject source(String Name, final String Code){
+		return new SimpleJavaFileObject(URI.create("string:///" + Name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE){
+			
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors){
+				return Code;
+			}
+		};
+	}
+}
@@ -1,11 +1,14 @@
 package com.hightide.jjson;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 
 /**
  *Copyright (C) {2015}  {Jered Tupik}
@@ -65,9 +68,9 @@ public class JSonArray implements Serializable{
 	private static final long serialVersionUID = -4812524086196846396L;
 	
 	/**
-	 * The ArrayList of the {@code JSonArray}'s values
+	 * The List of the {@code JSonArray}'s values
 	 */
-	private ArrayList<Object> JSonArrayList;
+	private List<Object> JSonArrayList;
 	
 	/**
 	 * Will create a default(blank) {@code JSonArray}
@@ -87,6 +90,16 @@ public class JSonArray implements Serializable{
 		JSonArrayList = JSAL;
 	}
 	
+	/**
+	 * Will create a {@code JSonArray} backed by the given List<Object> {@code JSL}
+	 * 
+	 * @param JSL The {@code java.util.List} to set the JSonArray to.
+	 */
+	JSonArray(List<Object> JSL){
+		
+		JSonArrayList = JSL;
+	}
+	
 	/**
 	 * Will create a {@code JSonArray} from the given String {@code JSonString}
 	 * 
@@ -108,27 +121,93 @@ public class JSonArray implements Serializable{
 	 */
 	public JSonArray(URL JSonURL){
 		
-		try{
-			BufferedReader Input = new BufferedReader(new InputStreamReader(JSonURL.openConnection().getInputStream()));
-			JSonArrayList = JSonConverter.createJSonArrayString(Input.readLine());
-			Input.close();
-		}catch(Exception E){
-			JSonArrayList = new ArrayList<Object>();
-		}
+		JSonArrayList = JSonConverter.createJSonArrayHTML(JSonURL);
 	}
 	
+	/**
+	 * Returns this {@code JSonArray} as a JSon String, as written by {@code writeTo}
+	 * 
+	 * @return The JSon String of this {@code JSonArray}
+	 */
 	@Override
 	public String toString(){
-		String Data = "[";
-		for(int i = 0; i < JSonArrayList.size(); i++){
-			Data += JSonArrayList.get(i).toString();
-			if(i + 1 != JSonArrayList.size()){
-				Data += ", ";
-			}
-			
+		StringBuilder Data = new StringBuilder();
+		try{
+			writeTo(Data);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+		return Data.toString();
+	}
+	
+	/**
+	 * Writes this {@code JSonArray} to {@code Out} as a JSon String. Children are
+	 * written recursively as they are reached, so no intermediate strings are built.
+	 * 
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public void writeTo(Appendable Out) throws IOException{
+		JSonWriter.writeValue(this, null, Out);
+	}
+	
+	/**
+	 * Writes this {@code JSonArray} to {@code Out} as a UTF-8 encoded JSon String,
+	 * through a reusable buffer. {@code Out} is neither flushed nor closed.
+	 * 
+	 * @param Out The {@code OutputStream} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public void writeTo(OutputStream Out) throws IOException{
+		JSonWriter.writeValue(this, Out);
+	}
+	
+	/**
+	 * Writes this {@code JSonArray} to {@code Out} in a compact binary format, with
+	 * tagged values, varint lengths and each name written in full only once.
+	 * {@code Out} is neither flushed nor closed.
+	 * 
+	 * @param Out The {@code OutputStream} to write to
+	 * @throws IOException If {@code Out} could not be written to, or a value is not
+	 * 		   a string, number, boolean, null, JSonObject or JSonArray
+	 */
+	public void writeBinary(OutputStream Out) throws IOException{
+		JSonBinary.write(this, Out);
+	}
+	
+	/**
+	 * Reads a {@code JSonArray} written by {@code writeBinary} from {@code In}.
+	 * As {@code In} is read through a buffer, bytes following it may also be consumed.
+	 * 
+	 * @param In The {@code InputStream} to read from
+	 * @return The {@code JSonArray} read
+	 * @throws IOException If {@code In} could not be read, or does not hold a binary JSonArray
+	 */
+	public static JSonArray readBinary(InputStream In) throws IOException{
+		Object Value = JSonBinary.read(In);
+		if(!(Value instanceof JSonArray)){
+			throw new StreamCorruptedException("The input does not hold a JSonArray");
 		}
-		Data += "]";
-		return Data;
+		return (JSonArray)Value;
+	}
+	
+	/**
+	 * Serializes this {@code JSonArray} in the format of {@code writeBinary}, rather than
+	 * through its fields
+	 * 
+	 * @return A proxy which writes this {@code JSonArray}, and reads back as one
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new JSonBinary.Proxy(this);
+	}
+	
+	/**
+	 * Returns the {@code JSonArrayList}
+	 * 
+	 * @return The List of the current {@code JSonArray}'s values
+	 */
+	public List<Object> getJSonArrayList(){
+		return JSonArrayList;
 	}
 	
 	/**
@@ -0,0 +1,587 @@
+package com.hightide.jjson;
+
+import java.io.EOFException;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonBinary encodes {@code JSonObject}s and {@code JSonArray}s, with their values,
+ * in a compact self-describing binary format, and decodes them again.
+ * 
+ * <p>A stream starts with the bytes 'J', 'B' and a version, followed by a single value.
+ * Every value starts with a one byte tag naming its type. Integers are written as
+ * zig-zag varints, doubles which are exactly floats in four bytes, and the lengths of
+ * strings, objects and arrays as varints. The first time a name appears within a stream
+ * it is written in full and given the next number in the stream's dictionary; from then on
+ * only its number is written.</p>
+ * 
+ * <p>Numbers keep their type, except that {@code Short}s and {@code Byte}s are read back
+ * as {@code Integer}s and a {@code JSonLazyNumber} as the value it converts to. Values
+ * other than strings, numbers, booleans, {@code JSonObject.NULL}, null, JSonObjects and
+ * JSonArrays cannot be encoded. A {@code JSonPersistentObject} is encoded as a JSonObject.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonBinary{
+	
+	/**
+	 * The bytes every stream starts with
+	 */
+	private static final int MAGIC_J = 'J';
+	private static final int MAGIC_B = 'B';
+	private static final int VERSION = 1;
+	
+	/**
+	 * The tags naming the type of each value
+	 */
+	private static final int TAG_NULL = 0;
+	private static final int TAG_FALSE = 1;
+	private static final int TAG_TRUE = 2;
+	private static final int TAG_INT = 3;
+	private static final int TAG_LONG = 4;
+	private static final int TAG_FLOAT = 5;
+	private static final int TAG_DOUBLE = 6;
+	private static final int TAG_DOUBLE_AS_FLOAT = 7;
+	private static final int TAG_BIG_INTEGER = 8;
+	private static final int TAG_BIG_DECIMAL = 9;
+	private static final int TAG_STRING = 10;
+	private static final int TAG_OBJECT = 11;
+	private static final int TAG_ARRAY = 12;
+	private static final int TAG_UNDEFINED = 13;
+	
+	/**
+	 * The size of the buffer between the encoder or decoder and its stream
+	 */
+	private static final int BUFFER_SIZE = 8192;
+	
+	/**
+	 * The largest number of entries reserved up front for an object or array,
+	 * so that a corrupt length cannot exhaust the heap before it is detected
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 1024;
+	
+	/**
+	 * The JSonBinary is a static utility and is not to be instantiated
+	 */
+	private JSonBinary(){
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} in the binary format. {@code Out} is neither flushed nor closed.
+	 * 
+	 * @param Value The {@code JSonObject} or {@code JSonArray} to write
+	 * @param Out The stream to write to
+	 * @throws IOException If {@code Out} could not be written to, or a value cannot be encoded
+	 */
+	static void write(Object Value, OutputStream Out) throws IOException{
+		Encoder Writer = new Encoder(Out);
+		Writer.writeDocument(Value);
+		Writer.flush();
+	}
+	
+	/**
+	 * Reads a value written by {@code write} from {@code In}. As {@code In} is read
+	 * through a buffer, bytes following the value may also be consumed.
+	 * 
+	 * @param In The stream to read from
+	 * @return The value read
+	 * @throws IOException If {@code In} could not be read, or does not hold a valid encoding
+	 */
+	static Object read(InputStream In) throws IOException{
+		return new Decoder(In, new byte[BUFFER_SIZE], 0).readDocument();
+	}
+	
+	/**
+	 * Writes values to a stream, or to a growing buffer if there is no stream
+	 */
+	private static final class Encoder{
+		
+		private final OutputStream Out;
+		private byte[] Buffer = new byte[BUFFER_SIZE];
+		private int position;
+		
+		/**
+		 * The number of each name written so far
+		 */
+		private final Map<String, Integer> Names = new HashMap<String, Integer>();
+		
+		Encoder(OutputStream Out){
+			this.Out = Out;
+		}
+		
+		void writeDocument(Object Value) throws IOException{
+			ensure(3);
+			Buffer[position++] = (byte)MAGIC_J;
+			Buffer[position++] = (byte)MAGIC_B;
+			Buffer[position++] = (byte)VERSION;
+			writeValue(Value);
+		}
+		
+		void writeValue(Object Value) throws IOException{
+			if(Value instanceof String){
+				writeTag(TAG_STRING);
+				writeString((String)Value);
+			}else if(Value instanceof JSonObject){
+				writeProperties(((JSonObject)Value).getJSonProperties());
+			}else if(Value instanceof JSonPersistentObject){
+				writeProperties((JSonPersistentObject)Value);
+			}else if(Value instanceof JSonArray){
+				List<Object> Values = ((JSonArray)Value).getJSonArrayList();
+				writeTag(TAG_ARRAY);
+				writeVarint(Values.size());
+				for(Object Element : Values){
+					writeValue(Element);
+				}
+			}else if(Value instanceof Number){
+				writeNumber((Number)Value);
+			}else if(Value instanceof Boolean){
+				writeTag(((Boolean)Value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+			}else if(Value instanceof JSonObject.Null){
+				writeTag(TAG_NULL);
+			}else if(Value == null){
+				writeTag(TAG_UNDEFINED);
+			}else{
+				throw new IOException("Cannot encode a value of " + Value.getClass());
+			}
+		}
+		
+		private void writeProperties(Map<String, Object> Properties) throws IOException{
+			writeTag(TAG_OBJECT);
+			writeVarint(Properties.size());
+			for(Map.Entry<String, Object> Property : Properties.entrySet()){
+				Integer Number = Names.get(Property.getKey());
+				if(Number == null){
+					writeVarint(0);
+					writeString(Property.getKey());
+					Names.put(Property.getKey(), Names.size());
+				}else{
+					writeVarint(Number.intValue() + 1);
+				}
+				writeValue(Property.getValue());
+			}
+		}
+		
+		private void writeNumber(Number Value) throws IOException{
+			if(Value instanceof JSonLazyNumber){
+				Value = ((JSonLazyNumber)Value).getValue();
+			}
+			if(Value instanceof Long){
+				writeTag(TAG_LONG);
+				writeVarint(zigZag(Value.longValue()));
+			}else if(Value instanceof Integer || Value instanceof Short || Value instanceof Byte){
+				writeTag(TAG_INT);
+				writeVarint(zigZag(Value.intValue()));
+			}else if(Value instanceof Double){
+				double Double = Value.doubleValue();
+				if((double)(float)Double == Double && !java.lang.Double.isNaN(Double)){
+					writeTag(TAG_DOUBLE_AS_FLOAT);
+					writeFixed(Float.floatToRawIntBits((float)Double), 4);
+				}else{
+					writeTag(TAG_DOUBLE);
+					writeFixed(java.lang.Double.doubleToRawLongBits(Double), 8);
+				}
+			}else if(Value instanceof Float){
+				writeTag(TAG_FLOAT);
+				writeFixed(Float.floatToRawIntBits(Value.floatValue()), 4);
+			}else if(Value instanceof BigDecimal){
+				writeTag(TAG_BIG_DECIMAL);
+				writeVarint(zigZag(((BigDecimal)Value).scale()));
+				writeBytes(((BigDecimal)Value).unscaledValue().toByteArray());
+			}else if(Value instanceof BigInteger){
+				writeTag(TAG_BIG_INTEGER);
+				writeBytes(((BigInteger)Value).toByteArray());
+			}else{
+				throw new IOException("Cannot encode a value of " + Value.getClass());
+			}
+		}
+		
+		private void writeTag(int Tag) throws IOException{
+			ensure(1);
+			Buffer[position++] = (byte)Tag;
+		}
+		
+		private void writeVarint(long Value) throws IOException{
+			ensure(10);
+			while((Value & ~0x7FL) != 0){
+				Buffer[position++] = (byte)((Value & 0x7F) | 0x80);
+				Value >>>= 7;
+			}
+			Buffer[position++] = (byte)Value;
+		}
+		
+		/**
+		 * Writes the low {@code length} bytes of {@code Value}, least significant first
+		 */
+		private void writeFixed(long Value, int length) throws IOException{
+			ensure(length);
+			for(int i = 0; i < length; i++){
+				Buffer[position++] = (byte)Value;
+				Value >>>= 8;
+			}
+		}
+		
+		private void writeBytes(byte[] Bytes) throws IOException{
+			writeVarint(Bytes.length);
+			ensure(Bytes.length);
+			System.arraycopy(Bytes, 0, Buffer, position, Bytes.length);
+			position += Bytes.length;
+		}
+		
+		/**
+		 * Writes the UTF-8 encoded length of {@code Value}, then its UTF-8 encoding
+		 */
+		private void writeString(String Value) throws IOException{
+			int length = Value.length();
+			int encodedLength = length;
+			boolean ascii = true;
+			for(int i = 0; i < length; i++){
+				char Current = Value.charAt(i);
+				if(Current < 0x80){
+					continue;
+				}
+				ascii = false;
+				if(Current < 0x800){
+					encodedLength += 1;
+				}else if(!Character.isSurrogate(Current)){
+					encodedLength += 2;
+				}else if(Character.isHighSurrogate(Current) && i + 1 < length && Character.isLowSurrogate(Value.charAt(i + 1))){
+					// Four bytes for the pair, which counts two chars
+					encodedLength += 2;
+					i++;
+				}
+			}
+			writeVarint(encodedLength);
+			ensure(encodedLength);
+			if(ascii){
+				for(int i = 0; i < length; i++){
+					Buffer[position++] = (byte)Value.charAt(i);
+				}
+				return;
+			}
+			for(int i = 0; i < length; i++){
+				char Current = Value.charAt(i);
+				if(Current < 0x80){
+					Buffer[position++] = (byte)Current;
+				}else if(Current < 0x800){
+					Buffer[position++] = (byte)(0xC0 | (Current >> 6));
+					Buffer[position++] = (byte)(0x80 | (Current & 0x3F));
+				}else if(Character.isHighSurrogate(Current) && i + 1 < length && Character.isLowSurrogate(Value.charAt(i + 1))){
+					int CodePoint = Character.toCodePoint(Current, Value.charAt(++i));
+					Buffer[position++] = (byte)(0xF0 | (CodePoint >> 18));
+					Buffer[position++] = (byte)(0x80 | ((CodePoint >> 12) & 0x3F));
+					Buffer[position++] = (byte)(0x80 | ((CodePoint >> 6) & 0x3F));
+					Buffer[position++] = (byte)(0x80 | (CodePoint & 0x3F));
+				}else if(Character.isSurrogate(Current)){
+					// An unpaired surrogate is written as '?', as String.getBytes would
+					Buffer[position++] = (byte)'?';
+				}else{
+					Buffer[position++] = (byte)(0xE0 | (Current >> 12));
+					Buffer[position++] = (byte)(0x80 | ((Current >> 6) & 0x3F));
+					Buffer[position++] = (byte)(0x80 | (Current & 0x3F));
+				}
+			}
+		}
+		
+		/**
+		 * Makes room for {@code length} more bytes in the buffer
+		 */
+		private void ensure(int length) throws IOException{
+			if(position + length <= Buffer.length){
+				return;
+			}
+			if(Out != null){
+				flush();
+			}
+			if(position + length > Buffer.length){
+				Buffer = Arrays.copyOf(Buffer, Math.max(Buffer.length * 2, position + length));
+			}
+		}
+		
+		void flush() throws IOException{
+			Out.write(Buffer, 0, position);
+			position = 0;
+		}
+	}
+	
+	/**
+	 * Reads values from a buffer, refilled from a stream if there is one
+	 */
+	private static final class Decoder{
+		
+		private final InputStream In;
+		private byte[] Buffer;
+		private int position;
+		private int limit;
+		
+		/**
+		 * The names read so far, by number
+		 */
+		private final List<String> Names = new ArrayList<String>();
+		
+		/**
+		 * @param In The stream to read from, or null if {@code Buffer} holds the whole input
+		 * @param Buffer The buffer to read through
+		 * @param limit The number of bytes of input already in {@code Buffer}
+		 */
+		Decoder(InputStream In, byte[] Buffer, int limit){
+			this.In = In;
+			this.Buffer = Buffer;
+			this.limit = limit;
+		}
+		
+		Object readDocument() throws IOException{
+			require(3);
+			if(Buffer[position] != MAGIC_J || Buffer[position + 1] != MAGIC_B){
+				throw new StreamCorruptedException("The input is not a JSon binary stream");
+			}else if(Buffer[position + 2] != VERSION){
+				throw new StreamCorruptedException("Unsupported JSon binary version " + Buffer[position + 2]);
+			}
+			position += 3;
+			return readValue();
+		}
+		
+		Object readValue() throws IOException{
+			require(1);
+			int Tag = Buffer[position++];
+			switch(Tag){
+				case TAG_STRING:
+					return readString();
+				case TAG_OBJECT:
+					return readProperties();
+				case TAG_ARRAY:{
+					int size = readLength();
+					ArrayList<Object> Values = new ArrayList<Object>(Math.min(size, MAX_INITIAL_CAPACITY));
+					for(int i = 0; i < size; i++){
+						Values.add(readValue());
+					}
+					return new JSonArray(Values);
+				}
+				case TAG_LONG:
+					return Long.valueOf(unZigZag(readVarint()));
+				case TAG_INT:
+					return Integer.valueOf((int)unZigZag(readVarint()));
+				case TAG_DOUBLE_AS_FLOAT:
+					return Double.valueOf(Float.intBitsToFloat((int)readFixed(4)));
+				case TAG_DOUBLE:
+					return Double.valueOf(Double.longBitsToDouble(readFixed(8)));
+				case TAG_FLOAT:
+					return Float.valueOf(Float.intBitsToFloat((int)readFixed(4)));
+				case TAG_BIG_DECIMAL:{
+					int scale = (int)unZigZag(readVarint());
+					return new BigDecimal(new BigInteger(readBytes()), scale);
+				}
+				case TAG_BIG_INTEGER:
+					return new BigInteger(readBytes());
+				case TAG_TRUE:
+					return Boolean.TRUE;
+				case TAG_FALSE:
+					return Boolean.FALSE;
+				case TAG_NULL:
+					return JSonObject.NULL;
+				case TAG_UNDEFINED:
+					return null;
+				default:
+					throw new StreamCorruptedException("Unknown tag " + Tag + " at byte " + (position - 1));
+			}
+		}
+		
+		private JSonObject readProperties() throws IOException{
+			int size = readLength();
+			JSonPropertyMap Properties = new JSonPropertyMap(Math.min(size, MAX_INITIAL_CAPACITY));
+			for(int i = 0; i < size; i++){
+				int Number = readLength();
+				String Name;
+				if(Number == 0){
+					Name = readString();
+					Names.add(Name);
+				}else if(Number <= Names.size()){
+					Name = Names.get(Number - 1);
+				}else{
+					throw new StreamCorruptedException("Unknown name " + Number + " at byte " + position);
+				}
+				Properties.put(Name, readValue());
+			}
+			return new JSonObject(Properties);
+		}
+		
+		private long readVarint() throws IOException{
+			long Value = 0;
+			for(int shift = 0; shift < 64; shift += 7){
+				require(1);
+				byte Current = Buffer[position++];
+				Value |= (long)(Current & 0x7F) << shift;
+				if(Current >= 0){
+					return Value;
+				}
+			}
+			throw new StreamCorruptedException("Malformed varint at byte " + position);
+		}
+		
+		/**
+		 * Reads a varint which must be a valid length or count
+		 */
+		private int readLength() throws IOException{
+			long Length = readVarint();
+			if(Length < 0 || Length > Integer.MAX_VALUE){
+				throw new StreamCorruptedException("Invalid length " + Length + " at byte " + position);
+			}
+			return (int)Length;
+		}
+		
+		private long readFixed(int length) throws IOException{
+			require(length);
+			long Value = 0;
+			for(int i = 0; i < length; i++){
+				Value |= (long)(Buffer[position++] & 0xFF) << (i * 8);
+			}
+			return Value;
+		}
+		
+		private byte[] readBytes() throws IOException{
+			int length = readLength();
+			if(length == 0){
+				throw new StreamCorruptedException("Empty number at byte " + position);
+			}
+			require(length);
+			byte[] Bytes = Arrays.copyOfRange(Buffer, position, position + length);
+			position += length;
+			return Bytes;
+		}
+		
+		private String readString() throws IOException{
+			int length = readLength();
+			require(length);
+			String Value = new String(Buffer, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return Value;
+		}
+		
+		/**
+		 * Ensures at least {@code length} unread bytes are in the buffer
+		 */
+		private void require(int length) throws IOException{
+			if(limit - position >= length){
+				return;
+			}
+			if(In == null){
+				throw new EOFException("Unexpected end of JSon binary input");
+			}
+			System.arraycopy(Buffer, position, Buffer, 0, limit - position);
+			limit -= position;
+			position = 0;
+			while(limit < length){
+				if(limit == Buffer.length){
+					// Grown only as the bytes arrive, so that a corrupt length ends in an EOFException
+					Buffer = Arrays.copyOf(Buffer, (int)Math.min(Buffer.length * 2L, length));
+				}
+				int read = In.read(Buffer, limit, Buffer.length - limit);
+				if(read < 0){
+					throw new EOFException("Unexpected end of JSon binary input");
+				}
+				limit += read;
+			}
+		}
+	}
+	
+	private static long zigZag(long Value){
+		return (Value << 1) ^ (Value >> 63);
+	}
+	
+	private static long unZigZag(long Value){
+		return (Value >>> 1) ^ -(Value & 1);
+	}
+	
+	/**
+	 * Stands in for a {@code JSonObject} or {@code JSonArray} in Java serialization,
+	 * writing it in the binary format. A concurrent document is read back as a concurrent copy.
+	 */
+	static final class Proxy implements Externalizable{
+		
+		private static final long serialVersionUID = 1L;
+		
+		/**
+		 * The value written, or read
+		 */
+		private Object Value;
+		
+		/**
+		 * Used by Java serialization, which then calls {@code readExternal}
+		 */
+		public Proxy(){
+		}
+		
+		Proxy(Object Value){
+			this.Value = Value;
+		}
+		
+		public void writeExternal(ObjectOutput Out) throws IOException{
+			Encoder Writer = new Encoder(null);
+			Writer.writeDocument(Value);
+			Out.writeInt(Writer.position);
+			Out.write(Writer.Buffer, 0, Writer.position);
+			Out.writeBoolean(Value instanceof JSonConcurrentObject || Value instanceof JSonConcurrentArray);
+		}
+		
+		public void readExternal(ObjectInput In) throws IOException{
+			int length = In.readInt();
+			if(length < 0){
+				throw new StreamCorruptedException("Invalid length " + length);
+			}
+			// Grown as the bytes arrive, so that a corrupt length ends the stream instead of exhausting the heap
+			byte[] Bytes = new byte[Math.min(length, BUFFER_SIZE)];
+			for(int read = 0; read < length; read = Bytes.length){
+				if(read == Bytes.length){
+					Bytes = Arrays.copyOf(Bytes, (int)Math.min(Bytes.length * 2L, length));
+				}
+				try{
+					In.readFully(Bytes, read, Bytes.length - read);
+				}catch(EOFException E){
+					throw new StreamCorruptedException("Invalid length " + length + ", only " + read + " bytes follow");
+				}
+			}
+			Value = new Decoder(null, Bytes, length).readDocument();
+			if(In.readBoolean()){
+				Value = JSonConcurrentObject.concurrentValue(Value);
+			}
+		}
+		
+		/**
+		 * @return The value read, in place of this proxy
+		 */
+		private Object readResolve(){
+			return Value;
+		}
+	}
+}
@@ -0,0 +1,935 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonBinder builds the {@code JSonCodec}s which bind JSon directly to and from
+ * Java objects. A codec is built the first time its class is bound, and kept in a
+ * {@code java.lang.ClassValue}; every later binding reuses it. A class marked
+ * {@code JSonSerializable} uses the codec the jjson-processor generated for it, if any.
+ * 
+ * <p>Strings, numbers, booleans, enums, arrays, {@code java.util.Collection}s and
+ * {@code java.util.Map}s with String keys are bound directly, following the generic types
+ * of the fields holding them. Records are bound through their components and canonical
+ * constructor, and any other class through its non-static, non-transient fields, including
+ * those of its superclasses, and its no-argument constructor. Fields of type {@code Object}
+ * are read as {@code JSonObject}s, {@code JSonArray}s and plain values. Names in the input
+ * which match no field are skipped.</p>
+ * 
+ * <p>All reflection is done while building a codec: fields, accessors and constructors
+ * are turned into {@code java.lang.invoke.MethodHandle}s, so binding itself reflects on nothing.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonBinder{
+	
+	/**
+	 * The codec of each class bound so far
+	 */
+	private static final ClassValue<JSonCodec<?>> CODECS = new ClassValue<JSonCodec<?>>(){
+		
+		@Override
+		protected JSonCodec<?> computeValue(Class<?> Type){
+			return createCodec(Type);
+		}
+	};
+	
+	/**
+	 * The lookup through which fields, accessors and constructors are unreflected
+	 */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	
+	/**
+	 * {@code Class.isRecord} and {@code Class.getRecordComponents}, or null before Java 16
+	 */
+	private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+	private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+	
+	/**
+	 * The value a primitive field or component is left with when it is missing from the input
+	 */
+	private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = new HashMap<Class<?>, Object>();
+	
+	static{
+		PRIMITIVE_DEFAULTS.put(boolean.class, Boolean.FALSE);
+		PRIMITIVE_DEFAULTS.put(char.class, Character.valueOf('\0'));
+		PRIMITIVE_DEFAULTS.put(byte.class, Byte.valueOf((byte)0));
+		PRIMITIVE_DEFAULTS.put(short.class, Short.valueOf((short)0));
+		PRIMITIVE_DEFAULTS.put(int.class, Integer.valueOf(0));
+		PRIMITIVE_DEFAULTS.put(long.class, Long.valueOf(0));
+		PRIMITIVE_DEFAULTS.put(float.class, Float.valueOf(0));
+		PRIMITIVE_DEFAULTS.put(double.class, Double.valueOf(0));
+	}
+	
+	/**
+	 * The JSonBinder is a static utility and is not to be instantiated
+	 */
+	private JSonBinder(){
+	}
+	
+	/**
+	 * Returns the codec of {@code Type}, building it if this is the first time it is bound
+	 * 
+	 * @param Type The class to bind
+	 * @return The codec of {@code Type}
+	 * @throws IllegalArgumentException If {@code Type} cannot be bound
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> JSonCodec<T> codecFor(Class<T> Type){
+		return (JSonCodec<T>)CODECS.get(Type);
+	}
+	
+	/**
+	 * Returns the codec of the class of {@code Value}
+	 * 
+	 * @param Value The value to bind, which is not null
+	 * @return The codec of the class of {@code Value}
+	 */
+	@SuppressWarnings("unchecked")
+	static JSonCodec<Object> codecOf(Object Value){
+		return (JSonCodec<Object>)CODECS.get(Value.getClass());
+	}
+	
+	/**
+	 * Builds the codec of {@code Type}
+	 */
+	private static JSonCodec<?> createCodec(Class<?> Type){
+		Scalar Codec = Scalar.of(Type);
+		if(Codec != null){
+			return Codec;
+		}else if(Type == Object.class){
+			return ValueCodec.INSTANCE;
+		}else if(Type == JSonObject.class || Type == JSonArray.class){
+			return DomCodec.INSTANCE;
+		}else if(Type.isEnum()){
+			return new EnumCodec(Type);
+		}else if(Type.isArray()){
+			return new ArrayCodec(Type, codecFor((Type)Type.getComponentType()));
+		}else if(Collection.class.isAssignableFrom(Type)){
+			return new CollectionCodec(factory(Type), ValueCodec.INSTANCE);
+		}else if(Map.class.isAssignableFrom(Type)){
+			return new MapCodec(factory(Type), ValueCodec.INSTANCE);
+		}
+		JSonCodec<?> Generated = generatedCodec(Type);
+		if(Generated != null){
+			return Generated;
+		}else if(isRecord(Type)){
+			return new RecordCodec(Type);
+		}else if(Type.isInterface() || Modifier.isAbstract(Type.getModifiers())){
+			throw new IllegalArgumentException("Cannot bind the abstract type " + Type.getName());
+		}
+		return new BeanCodec(Type);
+	}
+	
+	/**
+	 * Returns the codec generated at compile time for {@code Type}, if it is marked
+	 * {@code JSonSerializable} and the jjson-processor was run over it, or else null
+	 */
+	private static JSonCodec<?> generatedCodec(Class<?> Type){
+		if(!Type.isAnnotationPresent(JSonSerializable.class)){
+			return null;
+		}
+		String Name = Type.getName();
+		int split = Name.lastIndexOf('.') + 1;
+		Name = Name.substring(0, split) + Name.substring(split).replace('$', '_') + "_JSonCodec";
+		try{
+			Class<?> Codec = Class.forName(Name, true, Type.getClassLoader());
+			return (JSonCodec<?>)Codec.getDeclaredConstructor().newInstance();
+		}catch(ClassNotFoundException E){
+			return null;
+		}catch(ReflectiveOperationException E){
+			throw new IllegalArgumentException("Cannot create the generated codec " + Name, E);
+		}
+	}
+	
+	/**
+	 * Returns the codec of the generic type {@code GenericType}. Classes other than
+	 * scalars are bound through a {@code DeferredCodec}, so that a class may refer to itself.
+	 */
+	@SuppressWarnings("unchecked")
+	private static JSonCodec<Object> codecFor(Type GenericType){
+		if(GenericType instanceof Class){
+			Class<?> Type = (Class<?>)GenericType;
+			Scalar Codec = Scalar.of(Type);
+			return (Codec != null ? Codec : new DeferredCodec(Type));
+		}else if(GenericType instanceof ParameterizedType){
+			Class<?> Raw = (Class<?>)((ParameterizedType)GenericType).getRawType();
+			Type[] Arguments = ((ParameterizedType)GenericType).getActualTypeArguments();
+			if(Collection.class.isAssignableFrom(Raw)){
+				return (JSonCodec<Object>)(JSonCodec<?>)new CollectionCodec(factory(Raw), codecFor(Arguments[0]));
+			}else if(Map.class.isAssignableFrom(Raw)){
+				return (JSonCodec<Object>)(JSonCodec<?>)new MapCodec(factory(Raw), codecFor(Arguments[1]));
+			}
+			return codecFor((Type)Raw);
+		}else if(GenericType instanceof GenericArrayType){
+			JSonCodec<Object> Element = codecFor(((GenericArrayType)GenericType).getGenericComponentType());
+			Class<?> Component = rawClass(((GenericArrayType)GenericType).getGenericComponentType());
+			return (JSonCodec<Object>)(JSonCodec<?>)new ArrayCodec(Array.newInstance(Component, 0).getClass(), Element);
+		}
+		return ValueCodec.INSTANCE;
+	}
+	
+	/**
+	 * Returns the class a generic type is erased to
+	 */
+	private static Class<?> rawClass(Type GenericType){
+		if(GenericType instanceof Class){
+			return (Class<?>)GenericType;
+		}else if(GenericType instanceof ParameterizedType){
+			return (Class<?>)((ParameterizedType)GenericType).getRawType();
+		}else if(GenericType instanceof GenericArrayType){
+			return Array.newInstance(rawClass(((GenericArrayType)GenericType).getGenericComponentType()), 0).getClass();
+		}
+		return Object.class;
+	}
+	
+	/**
+	 * Returns a handle creating an empty instance of the collection or map type {@code Type},
+	 * choosing a standard implementation for interfaces
+	 */
+	private static MethodHandle factory(Class<?> Type){
+		Class<?> Implementation = Type;
+		if(Type.isInterface() || Modifier.isAbstract(Type.getModifiers())){
+			if(SortedSet.class.isAssignableFrom(Type)){
+				Implementation = TreeSet.class;
+			}else if(Set.class.isAssignableFrom(Type)){
+				Implementation = LinkedHashSet.class;
+			}else if(Queue.class.isAssignableFrom(Type) && !List.class.isAssignableFrom(Type)){
+				Implementation = ArrayDeque.class;
+			}else if(SortedMap.class.isAssignableFrom(Type)){
+				Implementation = TreeMap.class;
+			}else if(Map.class.isAssignableFrom(Type)){
+				Implementation = LinkedHashMap.class;
+			}else{
+				Implementation = ArrayList.class;
+			}
+			if(!Type.isAssignableFrom(Implementation)){
+				throw new IllegalArgumentException("Cannot bind the abstract type " + Type.getName());
+			}
+		}
+		return constructor(Implementation);
+	}
+	
+	/**
+	 * Returns a handle invoking the no-argument constructor of {@code Type}, as ()Object
+	 */
+	private static MethodHandle constructor(Class<?> Type){
+		try{
+			Constructor<?> Constructor = Type.getDeclaredConstructor();
+			Constructor.setAccessible(true);
+			return LOOKUP.unreflectConstructor(Constructor).asType(MethodType.methodType(Object.class));
+		}catch(ReflectiveOperationException E){
+			throw new IllegalArgumentException("Cannot bind " + Type.getName() + ", which has no no-argument constructor", E);
+		}
+	}
+	
+	/**
+	 * Returns whether {@code Type} is a record
+	 */
+	private static boolean isRecord(Class<?> Type){
+		try{
+			return IS_RECORD != null && (Boolean)IS_RECORD.invoke(Type);
+		}catch(ReflectiveOperationException E){
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the public method {@code Name} of {@code Type} taking no arguments, or null if there is none
+	 */
+	private static Method findMethod(Class<?> Type, String Name){
+		try{
+			return Type.getMethod(Name);
+		}catch(NoSuchMethodException E){
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns {@code Thrown}, thrown by a method handle, as an unchecked exception
+	 */
+	private static RuntimeException propagate(Throwable Thrown){
+		if(Thrown instanceof Error){
+			throw (Error)Thrown;
+		}else if(Thrown instanceof RuntimeException){
+			return (RuntimeException)Thrown;
+		}
+		return new IllegalStateException(Thrown);
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} through {@code Codec}, or as null
+	 */
+	private static void write(JSonCodec<Object> Codec, Object Value, Appendable Out) throws IOException{
+		if(Value == null){
+			Out.append("null");
+		}else{
+			Codec.write(Value, Out);
+		}
+	}
+	
+	/**
+	 * The codecs of strings, numbers, booleans and chars, and of their primitive types
+	 */
+	private enum Scalar implements JSonCodec<Object>{
+		
+		STRING{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return JSonCodecs.readString(Reader);
+			}
+			
+			@Override
+			public void write(Object Value, Appendable Out) throws IOException{
+				JSonWriter.writeString(Value.toString(), Out);
+			}
+		},
+		
+		CHAR{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Character.valueOf(JSonCodecs.readChar(Reader));
+			}
+			
+			@Override
+			public void write(Object Value, Appendable Out) throws IOException{
+				JSonWriter.writeString(Value.toString(), Out);
+			}
+		},
+		
+		BOOLEAN{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Boolean.valueOf(JSonCodecs.readBoolean(Reader));
+			}
+		},
+		
+		BYTE{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Byte.valueOf((byte)JSonCodecs.readInteger(Reader, Byte.MIN_VALUE, Byte.MAX_VALUE));
+			}
+		},
+		
+		SHORT{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Short.valueOf((short)JSonCodecs.readInteger(Reader, Short.MIN_VALUE, Short.MAX_VALUE));
+			}
+		},
+		
+		INT{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Integer.valueOf((int)JSonCodecs.readInteger(Reader, Integer.MIN_VALUE, Integer.MAX_VALUE));
+			}
+		},
+		
+		LONG{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Long.valueOf(JSonCodecs.readInteger(Reader, Long.MIN_VALUE, Long.MAX_VALUE));
+			}
+		},
+		
+		FLOAT{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Float.valueOf((float)JSonCodecs.readDouble(Reader));
+			}
+			
+			@Override
+			public void write(Object Value, Appendable Out) throws IOException{
+				JSonCodecs.writeFloat(((Float)Value).floatValue(), Out);
+			}
+		},
+		
+		DOUBLE{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return Double.valueOf(JSonCodecs.readDouble(Reader));
+			}
+			
+			@Override
+			public void write(Object Value, Appendable Out) throws IOException{
+				JSonCodecs.writeDouble(((Double)Value).doubleValue(), Out);
+			}
+		},
+		
+		BIG_INTEGER{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				try{
+					return new BigDecimal(readNumber(Reader)).toBigIntegerExact();
+				}catch(ArithmeticException E){
+					throw JSonCodecs.mismatch(Reader, "an integer");
+				}
+			}
+		},
+		
+		BIG_DECIMAL{
+			Object readValue(JSonTokenizer Reader) throws JSonParseException{
+				return new BigDecimal(readNumber(Reader));
+			}
+		};
+		
+		/**
+		 * Reads the value of the current token, which is not a JSon null
+		 */
+		abstract Object readValue(JSonTokenizer Reader) throws JSonParseException;
+		
+		public Object read(JSonTokenizer Reader) throws JSonParseException{
+			return (Reader.getCurrentToken() == JSonToken.VALUE_NULL ? null : readValue(Reader));
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			Out.append(Value.toString());
+		}
+		
+		/**
+		 * Returns the codec of {@code Type}, or null if it is not a scalar type
+		 */
+		static Scalar of(Class<?> Type){
+			if(Type == String.class || Type == CharSequence.class){
+				return STRING;
+			}else if(Type == int.class || Type == Integer.class){
+				return INT;
+			}else if(Type == long.class || Type == Long.class){
+				return LONG;
+			}else if(Type == double.class || Type == Double.class){
+				return DOUBLE;
+			}else if(Type == boolean.class || Type == Boolean.class){
+				return BOOLEAN;
+			}else if(Type == float.class || Type == Float.class){
+				return FLOAT;
+			}else if(Type == short.class || Type == Short.class){
+				return SHORT;
+			}else if(Type == byte.class || Type == Byte.class){
+				return BYTE;
+			}else if(Type == char.class || Type == Character.class){
+				return CHAR;
+			}else if(Type == BigDecimal.class || Type == Number.class){
+				return BIG_DECIMAL;
+			}else if(Type == BigInteger.class){
+				return BIG_INTEGER;
+			}
+			return null;
+		}
+		
+		/**
+		 * Returns the text of the current token, which must be a number
+		 */
+		private static String readNumber(JSonTokenizer Reader) throws JSonParseException{
+			if(Reader.getCurrentToken() != JSonToken.VALUE_NUMBER){
+				throw JSonCodecs.mismatch(Reader, "a number");
+			}
+			return Reader.getString();
+		}
+	}
+	
+	/**
+	 * The codec of {@code Object}, reading {@code JSonObject}s, {@code JSonArray}s and plain
+	 * values, and writing any value through the codec of its class
+	 */
+	private static final class ValueCodec implements JSonCodec<Object>{
+		
+		static final ValueCodec INSTANCE = new ValueCodec();
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			return JSonConverter.readJSonValue(Reader);
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			if(Value instanceof Double){
+				JSonCodecs.writeDouble(((Double)Value).doubleValue(), Out);
+			}else if(Value instanceof Float){
+				JSonCodecs.writeFloat(((Float)Value).floatValue(), Out);
+			}else if(Value instanceof String || Value instanceof Number || Value instanceof Boolean
+				 || Value instanceof JSonObject || Value instanceof JSonArray || Value instanceof JSonObject.Null){
+				JSonWriter.writeValue(Value, Out);
+			}else{
+				codecOf(Value).write(Value, Out);
+			}
+		}
+	}
+	
+	/**
+	 * The codec of {@code JSonObject} and {@code JSonArray}
+	 */
+	private static final class DomCodec implements JSonCodec<Object>{
+		
+		static final DomCodec INSTANCE = new DomCodec();
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			switch(Reader.getCurrentToken()){
+				case START_OBJECT:
+					return new JSonObject(JSonConverter.readJSonProperties(Reader));
+				case START_ARRAY:
+					return new JSonArray(JSonConverter.readJSonArrayList(Reader));
+				case VALUE_NULL:
+					return null;
+				default:
+					throw JSonCodecs.mismatch(Reader, "a JSonObject or JSonArray");
+			}
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			JSonWriter.writeValue(Value, Out);
+		}
+	}
+	
+	/**
+	 * A codec for a class, looked up the first time it is used
+	 */
+	private static final class DeferredCodec implements JSonCodec<Object>{
+		
+		private final Class<?> Type;
+		private JSonCodec<Object> Codec;
+		
+		DeferredCodec(Class<?> Type){
+			this.Type = Type;
+		}
+		
+		@SuppressWarnings("unchecked")
+		private JSonCodec<Object> codec(){
+			JSonCodec<Object> Resolved = Codec;
+			if(Resolved == null){
+				Codec = Resolved = (JSonCodec<Object>)CODECS.get(Type);
+			}
+			return Resolved;
+		}
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			return codec().read(Reader);
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			codec().write(Value, Out);
+		}
+	}
+	
+	/**
+	 * The codec of an enum, written as the names of its constants
+	 */
+	private static final class EnumCodec implements JSonCodec<Object>{
+		
+		private final Map<String, Object> Constants = new HashMap<String, Object>();
+		
+		EnumCodec(Class<?> Type){
+			for(Object Constant : Type.getEnumConstants()){
+				Constants.put(((Enum<?>)Constant).name(), Constant);
+			}
+		}
+		
+		public Object read(JSonTokenizer Reader) throws JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}
+			Object Constant = Constants.get(JSonCodecs.readString(Reader));
+			if(Constant == null){
+				throw new JSonParseException("Unknown constant " + Reader.getString(), (int)Reader.getPosition());
+			}
+			return Constant;
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			JSonWriter.writeString(((Enum<?>)Value).name(), Out);
+		}
+	}
+	
+	/**
+	 * The codec of an array type
+	 */
+	private static final class ArrayCodec implements JSonCodec<Object>{
+		
+		private final Class<?> Component;
+		private final JSonCodec<Object> Element;
+		private final MethodHandle Setter;
+		private final MethodHandle Getter;
+		
+		ArrayCodec(Class<?> Type, JSonCodec<Object> Element){
+			this.Component = Type.getComponentType();
+			this.Element = Element;
+			this.Setter = MethodHandles.arrayElementSetter(Type).asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+			this.Getter = MethodHandles.arrayElementGetter(Type).asType(MethodType.methodType(Object.class, Object.class, int.class));
+		}
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}else if(Reader.getCurrentToken() != JSonToken.START_ARRAY){
+				throw JSonCodecs.mismatch(Reader, "a JSonArray");
+			}
+			List<Object> Values = new ArrayList<Object>();
+			while(Reader.nextToken() != JSonToken.END_ARRAY){
+				Object Value = Element.read(Reader);
+				if(Value == null && Component.isPrimitive()){
+					throw JSonCodecs.mismatch(Reader, "a non-null " + Component.getName());
+				}
+				Values.add(Value);
+			}
+			Object Result = Array.newInstance(Component, Values.size());
+			try{
+				for(int i = 0; i < Values.size(); i++){
+					Setter.invokeExact(Result, i, Values.get(i));
+				}
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+			return Result;
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			Out.append(JSonConstants.BEGIN_JSON_ARRAY);
+			int length = Array.getLength(Value);
+			try{
+				for(int i = 0; i < length; i++){
+					if(i > 0){
+						Out.append(", ");
+					}
+					JSonBinder.write(Element, (Object)Getter.invokeExact(Value, i), Out);
+				}
+			}catch(IOException E){
+				throw E;
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+			Out.append(JSonConstants.END_JSON_ARRAY);
+		}
+	}
+	
+	/**
+	 * The codec of a {@code java.util.Collection} type
+	 */
+	private static final class CollectionCodec implements JSonCodec<Object>{
+		
+		private final MethodHandle Factory;
+		private final JSonCodec<Object> Element;
+		
+		CollectionCodec(MethodHandle Factory, JSonCodec<Object> Element){
+			this.Factory = Factory;
+			this.Element = Element;
+		}
+		
+		@SuppressWarnings("unchecked")
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}else if(Reader.getCurrentToken() != JSonToken.START_ARRAY){
+				throw JSonCodecs.mismatch(Reader, "a JSonArray");
+			}
+			Collection<Object> Values;
+			try{
+				Values = (Collection<Object>)(Object)Factory.invokeExact();
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+			while(Reader.nextToken() != JSonToken.END_ARRAY){
+				Values.add(Element.read(Reader));
+			}
+			return Values;
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			Out.append(JSonConstants.BEGIN_JSON_ARRAY);
+			boolean first = true;
+			for(Object Element : (Collection<?>)Value){
+				if(!first){
+					Out.append(", ");
+				}
+				first = false;
+				JSonBinder.write(this.Element, Element, Out);
+			}
+			Out.append(JSonConstants.END_JSON_ARRAY);
+		}
+	}
+	
+	/**
+	 * The codec of a {@code java.util.Map} type, whose keys are written as strings
+	 */
+	private static final class MapCodec implements JSonCodec<Object>{
+		
+		private final MethodHandle Factory;
+		private final JSonCodec<Object> Value;
+		
+		MapCodec(MethodHandle Factory, JSonCodec<Object> Value){
+			this.Factory = Factory;
+			this.Value = Value;
+		}
+		
+		@SuppressWarnings("unchecked")
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}else if(Reader.getCurrentToken() != JSonToken.START_OBJECT){
+				throw JSonCodecs.mismatch(Reader, "a JSonObject");
+			}
+			Map<String, Object> Properties;
+			try{
+				Properties = (Map<String, Object>)(Object)Factory.invokeExact();
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+			while(Reader.nextToken() == JSonToken.FIELD_NAME){
+				String Key = Reader.getString();
+				Reader.nextToken();
+				Properties.put(Key, Value.read(Reader));
+			}
+			return Properties;
+		}
+		
+		public void write(Object Properties, Appendable Out) throws IOException{
+			Out.append(JSonConstants.BEGIN_JSON_OBJECT);
+			boolean first = true;
+			for(Map.Entry<?, ?> P : ((Map<?, ?>)Properties).entrySet()){
+				if(!first){
+					Out.append(JSonConstants.JSON_COMMA);
+				}
+				first = false;
+				JSonWriter.writeString(String.valueOf(P.getKey()), Out);
+				Out.append(JSonConstants.JSON_PAIR);
+				JSonBinder.write(Value, P.getValue(), Out);
+			}
+			Out.append(JSonConstants.END_JSON_OBJECT);
+		}
+	}
+	
+	/**
+	 * A field or record component, with handles reading it as (Object)Object and,
+	 * for fields which may be set, writing it as (Object, Object)void
+	 */
+	private static final class Property{
+		
+		final String Name;
+		final int index;
+		final Class<?> Type;
+		final JSonCodec<Object> Codec;
+		final MethodHandle Getter;
+		final MethodHandle Setter;
+		
+		Property(String Name, int index, Class<?> Type, Type GenericType, MethodHandle Getter, MethodHandle Setter){
+			this.Name = Name;
+			this.index = index;
+			this.Type = Type;
+			this.Codec = codecFor(GenericType);
+			this.Getter = Getter.asType(MethodType.methodType(Object.class, Object.class));
+			this.Setter = (Setter == null ? null : Setter.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+		}
+	}
+	
+	/**
+	 * Writes the properties of {@code Bean} to {@code Out} as a JSonObject
+	 */
+	private static void writeProperties(Property[] Properties, Object Bean, Appendable Out) throws IOException{
+		Out.append(JSonConstants.BEGIN_JSON_OBJECT);
+		try{
+			for(int i = 0; i < Properties.length; i++){
+				if(i > 0){
+					Out.append(JSonConstants.JSON_COMMA);
+				}
+				JSonWriter.writeString(Properties[i].Name, Out);
+				Out.append(JSonConstants.JSON_PAIR);
+				write(Properties[i].Codec, (Object)Properties[i].Getter.invokeExact(Bean), Out);
+			}
+		}catch(IOException E){
+			throw E;
+		}catch(Throwable Thrown){
+			throw propagate(Thrown);
+		}
+		Out.append(JSonConstants.END_JSON_OBJECT);
+	}
+	
+	/**
+	 * The codec of a class bound through its fields
+	 */
+	private static final class BeanCodec implements JSonCodec<Object>{
+		
+		private final MethodHandle Constructor;
+		private final Property[] Properties;
+		private final Map<String, Property> ByName = new HashMap<String, Property>();
+		
+		BeanCodec(Class<?> Type){
+			Constructor = constructor(Type);
+			List<Class<?>> Hierarchy = new ArrayList<Class<?>>();
+			// The most derived class declaring each name, as a field hides those of the same name above it
+			Map<String, Class<?>> Declarers = new HashMap<String, Class<?>>();
+			for(Class<?> Current = Type; Current != null && Current != Object.class; Current = Current.getSuperclass()){
+				Hierarchy.add(0, Current);
+				for(Field F : Current.getDeclaredFields()){
+					if(!F.isSynthetic() && !Declarers.containsKey(F.getName())){
+						Declarers.put(F.getName(), Current);
+					}
+				}
+			}
+			List<Property> Found = new ArrayList<Property>();
+			for(Class<?> Current : Hierarchy){
+				for(Field F : Current.getDeclaredFields()){
+					int modifiers = F.getModifiers();
+					if(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || F.isSynthetic()
+						 || Declarers.get(F.getName()) != Current){
+						continue;
+					}
+					F.setAccessible(true);
+					MethodHandle Setter;
+					try{
+						Setter = LOOKUP.unreflectSetter(F);
+					}catch(IllegalAccessException E){
+						Setter = null;
+					}
+					try{
+						Property P = new Property(F.getName(), Found.size(), F.getType(), F.getGenericType(), LOOKUP.unreflectGetter(F), Setter);
+						Found.add(P);
+						ByName.put(P.Name, P);
+					}catch(IllegalAccessException E){
+						throw new IllegalArgumentException("Cannot bind the field " + F, E);
+					}
+				}
+			}
+			Properties = Found.toArray(new Property[Found.size()]);
+		}
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}else if(Reader.getCurrentToken() != JSonToken.START_OBJECT){
+				throw JSonCodecs.mismatch(Reader, "a JSonObject");
+			}
+			Object Bean;
+			try{
+				Bean = (Object)Constructor.invokeExact();
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+			while(Reader.nextToken() == JSonToken.FIELD_NAME){
+				Property P = ByName.get(Reader.getString());
+				Reader.nextToken();
+				if(P == null || P.Setter == null){
+					Reader.skipChildren();
+					continue;
+				}
+				Object Value = P.Codec.read(Reader);
+				if(Value == null && P.Type.isPrimitive()){
+					continue;
+				}
+				try{
+					P.Setter.invokeExact(Bean, Value);
+				}catch(Throwable Thrown){
+					throw propagate(Thrown);
+				}
+			}
+			return Bean;
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			writeProperties(Properties, Value, Out);
+		}
+	}
+	
+	/**
+	 * The codec of a record, bound through its components and canonical constructor
+	 */
+	private static final class RecordCodec implements JSonCodec<Object>{
+		
+		private final MethodHandle Constructor;
+		private final Property[] Properties;
+		private final Map<String, Property> ByName = new HashMap<String, Property>();
+		private final Object[] Defaults;
+		
+		RecordCodec(Class<?> Type){
+			try{
+				Object[] Components = (Object[])GET_RECORD_COMPONENTS.invoke(Type);
+				Class<?> ComponentClass = Components.getClass().getComponentType();
+				Method GetName = ComponentClass.getMethod("getName");
+				Method GetType = ComponentClass.getMethod("getType");
+				Method GetGenericType = ComponentClass.getMethod("getGenericType");
+				Method GetAccessor = ComponentClass.getMethod("getAccessor");
+				
+				Properties = new Property[Components.length];
+				Defaults = new Object[Components.length];
+				Class<?>[] Types = new Class<?>[Components.length];
+				for(int i = 0; i < Components.length; i++){
+					Types[i] = (Class<?>)GetType.invoke(Components[i]);
+					Method Accessor = (Method)GetAccessor.invoke(Components[i]);
+					Accessor.setAccessible(true);
+					Properties[i] = new Property((String)GetName.invoke(Components[i]), i, Types[i],
+						 (Type)GetGenericType.invoke(Components[i]), LOOKUP.unreflect(Accessor), null);
+					ByName.put(Properties[i].Name, Properties[i]);
+					Defaults[i] = PRIMITIVE_DEFAULTS.get(Types[i]);
+				}
+				Constructor<?> Canonical = Type.getDeclaredConstructor(Types);
+				Canonical.setAccessible(true);
+				Constructor = LOOKUP.unreflectConstructor(Canonical).asSpreader(Object[].class, Types.length)
+					 .asType(MethodType.methodType(Object.class, Object[].class));
+			}catch(ReflectiveOperationException E){
+				throw new IllegalArgumentException("Cannot bind the record " + Type.getName(), E);
+			}
+		}
+		
+		public Object read(JSonTokenizer Reader) throws IOException, JSonParseException{
+			if(Reader.getCurrentToken() == JSonToken.VALUE_NULL){
+				return null;
+			}else if(Reader.getCurrentToken() != JSonToken.START_OBJECT){
+				throw JSonCodecs.mismatch(Reader, "a JSonObject");
+			}
+			Object[] Arguments = Defaults.clone();
+			while(Reader.nextToken() == JSonToken.FIELD_NAME){
+				Property P = ByName.get(Reader.getString());
+				Reader.nextToken();
+				if(P == null){
+					Reader.skipChildren();
+					continue;
+				}
+				Object Value = P.Codec.read(Reader);
+				if(Value != null || !P.Type.isPrimitive()){
+					Arguments[P.index] = Value;
+				}
+			}
+			try{
+				return (Object)Constructor.invokeExact(Arguments);
+			}catch(Throwable Thrown){
+				throw propagate(Thrown);
+			}
+		}
+		
+		public void write(Object Value, Appendable Out) throws IOException{
+			writeProperties(Properties, Value, Out);
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonCodec reads and writes values of one Java type directly as JSon, without
+ * building {@code JSonObject}s or {@code JSonArray}s in between. Values are read from
+ * the tokens of a {@code JSonTokenizer}, and written as JSon Strings to an
+ * {@code java.lang.Appendable}.
+ * 
+ * <p>The codecs used by {@code JSonConverter.readValue} and {@code writeValue} are built
+ * once for each class and then shared, so a JSonCodec must not keep any state between calls.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ *
+ * @param <T> The type of value read and written
+ */
+public interface JSonCodec<T>{
+	
+	/**
+	 * Reads a value whose first token was just returned by {@code Reader}, consuming
+	 * every token of the value up to and including its last.
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The value read, or null if it was a JSon null
+	 * @throws IOException If the underlying input could not be read
+	 * @throws JSonParseException If the input is not correctly formatted, or does not fit the type
+	 */
+	T read(JSonTokenizer Reader) throws IOException, JSonParseException;
+	
+	/**
+	 * Writes {@code Value}, which is not null, to {@code Out} as JSon
+	 * 
+	 * @param Value The value to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	void write(T Value, Appendable Out) throws IOException;
+}
@@ -0,0 +1,190 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * JSonCodecs holds the pieces shared by every {@code JSonCodec}, including the codecs
+ * generated for {@code JSonSerializable} classes: reading the scalar values of a
+ * {@code JSonTokenizer}, writing strings, and finding the codec of a class.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonCodecs{
+	
+	/**
+	 * JSonCodecs is a static utility and is not to be instantiated
+	 */
+	private JSonCodecs(){
+	}
+	
+	/**
+	 * Returns the codec through which {@code JSonConverter} reads and writes {@code Type}
+	 * 
+	 * @param Type The class to bind
+	 * @return The codec of {@code Type}
+	 * @throws IllegalArgumentException If {@code Type} cannot be bound
+	 */
+	public static <T> JSonCodec<T> codecFor(Class<T> Type){
+		return JSonBinder.codecFor(Type);
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be a string or a number, as a String
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The text of the current token
+	 * @throws JSonParseException If the current token is not a string or a number
+	 */
+	public static String readString(JSonTokenizer Reader) throws JSonParseException{
+		if(Reader.getCurrentToken() != JSonToken.VALUE_STRING && Reader.getCurrentToken() != JSonToken.VALUE_NUMBER){
+			throw mismatch(Reader, "a string");
+		}
+		return Reader.getString();
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be a string of one character
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The character of the current token
+	 * @throws JSonParseException If the current token is not a string of one character
+	 */
+	public static char readChar(JSonTokenizer Reader) throws JSonParseException{
+		String Value = readString(Reader);
+		if(Value.length() != 1){
+			throw new JSonParseException("Expected a single character but found \"" + Value + "\"", (int)Reader.getPosition());
+		}
+		return Value.charAt(0);
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be true or false
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The value of the current token
+	 * @throws JSonParseException If the current token is not a boolean
+	 */
+	public static boolean readBoolean(JSonTokenizer Reader) throws JSonParseException{
+		if(Reader.getCurrentToken() != JSonToken.VALUE_TRUE && Reader.getCurrentToken() != JSonToken.VALUE_FALSE){
+			throw mismatch(Reader, "a boolean");
+		}
+		return Reader.getBoolean();
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be an integer between
+	 * {@code min} and {@code max}
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @param min The least value allowed
+	 * @param max The greatest value allowed
+	 * @return The value of the current token
+	 * @throws JSonParseException If the current token is not an integer, or is out of range
+	 */
+	public static long readInteger(JSonTokenizer Reader, long min, long max) throws JSonParseException{
+		if(Reader.getCurrentToken() != JSonToken.VALUE_NUMBER || !Reader.isIntegralNumber()){
+			throw mismatch(Reader, "an integer");
+		}
+		Number Value = Reader.getNumber();
+		if(!(Value instanceof Long) || Value.longValue() < min || Value.longValue() > max){
+			throw new JSonParseException("The integer " + Reader.getString() + " is out of range", (int)Reader.getPosition());
+		}
+		return Value.longValue();
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be a number
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The value of the current token
+	 * @throws JSonParseException If the current token is not a number
+	 */
+	public static double readDouble(JSonTokenizer Reader) throws JSonParseException{
+		if(Reader.getCurrentToken() != JSonToken.VALUE_NUMBER){
+			throw mismatch(Reader, "a number");
+		}
+		return Reader.getDouble();
+	}
+	
+	/**
+	 * Reads the current token of {@code Reader}, which must be the name of a constant of {@code Type}
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @param Type The enum to read a constant of
+	 * @return The constant named by the current token
+	 * @throws JSonParseException If the current token does not name a constant of {@code Type}
+	 */
+	public static <E extends Enum<E>> E readEnum(JSonTokenizer Reader, Class<E> Type) throws JSonParseException{
+		String Name = readString(Reader);
+		try{
+			return Enum.valueOf(Type, Name);
+		}catch(IllegalArgumentException E){
+			throw new JSonParseException("Unknown constant " + Name, (int)Reader.getPosition());
+		}
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as a quoted and escaped JSon String
+	 * 
+	 * @param Value The {@code java.lang.String} to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public static void writeString(String Value, Appendable Out) throws IOException{
+		JSonWriter.writeString(Value, Out);
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as a JSon number, or as a JSon null if it is
+	 * NaN or infinite, which JSon cannot represent
+	 * 
+	 * @param Value The {@code double} to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public static void writeDouble(double Value, Appendable Out) throws IOException{
+		Out.append(Double.isNaN(Value) || Double.isInfinite(Value) ? "null" : String.valueOf(Value));
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as a JSon number, or as a JSon null if it is
+	 * NaN or infinite, which JSon cannot represent
+	 * 
+	 * @param Value The {@code float} to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public static void writeFloat(float Value, Appendable Out) throws IOException{
+		Out.append(Float.isNaN(Value) || Float.isInfinite(Value) ? "null" : String.valueOf(Value));
+	}
+	
+	/**
+	 * Returns an exception reporting that the current token of {@code Reader} is not {@code Expected}
+	 * 
+	 * @param Reader The {@code JSonTokenizer} being read
+	 * @param Expected A description of the token expected, such as "a JSonObject"
+	 * @return The exception, to be thrown
+	 */
+	public static JSonParseException mismatch(JSonTokenizer Reader, String Expected){
+		return new JSonParseException("Expected " + Expected + " but found " + Reader.getCurrentToken(), (int)Reader.getPosition());
+	}
+}
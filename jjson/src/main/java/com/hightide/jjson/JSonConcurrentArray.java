@@ -0,0 +1,132 @@
+package com.hightide.jjson;
+
+import java.io.ObjectStreamException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonConcurrentArray is a JSonArray which may be read and updated by many threads at
+ * once. Its values are held in a {@code java.util.concurrent.CopyOnWriteArrayList}, so
+ * {@code get} takes no lock, and iteration, including {@code toString}, works on a snapshot
+ * and never throws a {@code ConcurrentModificationException}. Every update copies the
+ * values, so it suits arrays which are read far more often than they are changed.
+ * 
+ * <p>Nested JSonObjects and JSonArrays of an array it is created from are copied as
+ * {@code JSonConcurrentObject}s and JSonConcurrentArrays.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonConcurrentArray extends JSonArray{
+	
+	/**
+	 * Serializable ID for the JSonConcurrentArray
+	 */
+	private static final long serialVersionUID = 4275390611508361032L;
+	
+	/**
+	 * Will create an empty {@code JSonConcurrentArray}
+	 */
+	public JSonConcurrentArray(){
+		super((List<Object>)new CopyOnWriteArrayList<Object>());
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentArray} from the given String {@code JSonString}.
+	 * If {@code JSonString} is not correctly formatted, the array will be empty.
+	 * 
+	 * @param JSonString The String to use an input source
+	 */
+	public JSonConcurrentArray(String JSonString){
+		this(new JSonArray(JSonString));
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentArray} with a copy of the values of {@code Source}
+	 * 
+	 * @param Source The {@code JSonArray} to copy
+	 */
+	public JSonConcurrentArray(JSonArray Source){
+		this((List<?>)Source.getJSonArrayList());
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentArray} with a copy of {@code Values}
+	 * 
+	 * @param Values The values to copy
+	 */
+	public JSonConcurrentArray(List<?> Values){
+		super((List<Object>)new CopyOnWriteArrayList<Object>(copy(Values)));
+	}
+	
+	/**
+	 * Sets the value at {@code Index}
+	 * 
+	 * @param Index The index to set
+	 * @param Value The value to set
+	 * @return The value which was at {@code Index}
+	 */
+	public Object set(int Index, Object Value){
+		return getJSonArrayList().set(Index, Value);
+	}
+	
+	/**
+	 * Removes the value at {@code Index}
+	 * 
+	 * @param Index The index to remove
+	 * @return The value which was at {@code Index}
+	 */
+	public Object remove(int Index){
+		return getJSonArrayList().remove(Index);
+	}
+	
+	/**
+	 * Atomically adds {@code Value} to the end of the array, if the array does not already hold it
+	 * 
+	 * @param Value The value to add
+	 * @return Whether {@code Value} was added
+	 */
+	public boolean addIfAbsent(Object Value){
+		return ((CopyOnWriteArrayList<Object>)getJSonArrayList()).addIfAbsent(Value);
+	}
+	
+	/**
+	 * Returns {@code Values} with nested JSonObjects and JSonArrays copied as concurrent ones
+	 */
+	private static Object[] copy(List<?> Values){
+		Object[] Copy = Values.toArray();
+		for(int i = 0; i < Copy.length; i++){
+			if(Copy[i] != null){
+				Copy[i] = JSonConcurrentObject.concurrentValue(Copy[i]);
+			}
+		}
+		return Copy;
+	}
+	
+	/**
+	 * Serializes this {@code JSonConcurrentArray} in the format of {@code writeBinary}
+	 * 
+	 * @return A proxy which writes this {@code JSonConcurrentArray}, and reads back as one
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new JSonBinary.Proxy(this);
+	}
+}
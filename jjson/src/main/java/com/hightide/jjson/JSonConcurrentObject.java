@@ -0,0 +1,236 @@
+package com.hightide.jjson;
+
+import java.io.ObjectStreamException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonConcurrentObject is a JSonObject which may be read and updated by many threads at
+ * once. Its pairs are held in a {@code java.util.concurrent.ConcurrentHashMap}, so
+ * {@code getValue} takes no lock, updates lock only the bin of the name they change, and
+ * iteration, including {@code toString}, is weakly consistent and never throws a
+ * {@code ConcurrentModificationException}.
+ * 
+ * <p>Each update of a single name is atomic, and {@code putIfAbsent}, {@code compute},
+ * {@code computeIfAbsent}, {@code replace} and {@code remove} allow read-modify-write
+ * updates without locking. Renaming with {@code setName} removes and then adds a pair, so
+ * a reader may briefly see neither name. A null value is held as {@code JSonObject.NULL},
+ * and pairs are iterated in no particular order.</p>
+ * 
+ * <p>Nested JSonObjects and JSonArrays of a document it is created from are copied as
+ * JSonConcurrentObjects and {@code JSonConcurrentArray}s. Values added later are held as
+ * they are, so a nested object which will be updated concurrently must itself be concurrent.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonConcurrentObject extends JSonObject{
+	
+	/**
+	 * Serializable ID for the JSonConcurrentObject
+	 */
+	private static final long serialVersionUID = -6519375240881260411L;
+	
+	/**
+	 * Will create a {@code JSonConcurrentObject} with no properties
+	 */
+	public JSonConcurrentObject(){
+		super(new ConcurrentHashMap<String, Object>());
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentObject} from the given String {@code JSonString}.
+	 * If {@code JSonString} is not correctly formatted, the object will have no properties.
+	 * 
+	 * @param JSonString The JSonString to use as a source of input
+	 */
+	public JSonConcurrentObject(String JSonString){
+		this(new JSonObject(JSonString));
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentObject} with a copy of the properties of {@code Source}
+	 * 
+	 * @param Source The {@code JSonObject} to copy
+	 */
+	public JSonConcurrentObject(JSonObject Source){
+		this(Source.getJSonProperties());
+	}
+	
+	/**
+	 * Will create a {@code JSonConcurrentObject} with a copy of the pairs of {@code JSP}
+	 * 
+	 * @param JSP A Map of Name/Value Pairs for the JSon Object
+	 */
+	public JSonConcurrentObject(Map<String, ?> JSP){
+		super(new ConcurrentHashMap<String, Object>(Math.max(16, JSP.size() * 4 / 3 + 1)));
+		for(Map.Entry<String, ?> P : JSP.entrySet()){
+			properties().put(P.getKey(), concurrentValue(P.getValue()));
+		}
+	}
+	
+	/**
+	 * Replaces the pairs of this {@code JSonConcurrentObject} with those of {@code JSP}. Each
+	 * pair is replaced atomically, but not all of them at once, and the map itself is kept.
+	 * 
+	 * @param JSP The new name/value pairs
+	 */
+	@Override
+	public void setJSonProperties(Map<String, Object> JSP){
+		ConcurrentMap<String, Object> Properties = properties();
+		for(Map.Entry<String, Object> P : JSP.entrySet()){
+			Properties.put(P.getKey(), orNull(P.getValue()));
+		}
+		Properties.keySet().retainAll(JSP.keySet());
+	}
+	
+	@Override
+	public void addPair(String Name, Object Value){
+		properties().put(Name, orNull(Value));
+	}
+	
+	@Override
+	public void setValue(String Name, Object NewValue){
+		properties().replace(Name, orNull(NewValue));
+	}
+	
+	@Override
+	public void setValue(Object OldValue, Object NewValue){
+		String Name = getName(OldValue);
+		if(Name != null){
+			properties().replace(Name, orNull(OldValue), orNull(NewValue));
+		}
+	}
+	
+	@Override
+	public void setName(String OldName, String NewName){
+		Object Value = properties().remove(OldName);
+		if(Value != null){
+			properties().put(NewName, Value);
+		}
+	}
+	
+	@Override
+	public void setName(Object Value, String NewName){
+		String OldName = getName(Value);
+		if(OldName != null && properties().remove(OldName, orNull(Value))){
+			properties().put(NewName, orNull(Value));
+		}
+	}
+	
+	/**
+	 * Atomically adds the pair {@code Name}/{@code Value} if {@code Name} is not present
+	 * 
+	 * @param Name The name to add
+	 * @param Value The value to add
+	 * @return The value {@code Name} already had, or null if the pair was added
+	 */
+	public Object putIfAbsent(String Name, Object Value){
+		return properties().putIfAbsent(Name, orNull(Value));
+	}
+	
+	/**
+	 * Atomically sets the value of {@code Name} to the result of {@code Remapping}, which is
+	 * given the name and its current value, or null if it is not present. If the result is
+	 * null the pair is removed. Other updates of {@code Name} wait for {@code Remapping},
+	 * which should be short and must not update this object.
+	 * 
+	 * @param Name The name to update
+	 * @param Remapping The function computing the new value
+	 * @return The new value, or null if there is none
+	 */
+	public Object compute(String Name, BiFunction<? super String, Object, ?> Remapping){
+		return properties().compute(Name, Remapping);
+	}
+	
+	/**
+	 * Atomically adds {@code Name} with the value computed by {@code Mapping}, if it is not
+	 * present. If the result is null nothing is added.
+	 * 
+	 * @param Name The name to add
+	 * @param Mapping The function computing the value
+	 * @return The current value of {@code Name}, or null if there is none
+	 */
+	public Object computeIfAbsent(String Name, Function<? super String, ?> Mapping){
+		return properties().computeIfAbsent(Name, Mapping);
+	}
+	
+	/**
+	 * Atomically sets {@code Name} to {@code NewValue}, if its value equals {@code OldValue}
+	 * 
+	 * @param Name The name to update
+	 * @param OldValue The value expected
+	 * @param NewValue The value to set
+	 * @return Whether the value was set
+	 */
+	public boolean replace(String Name, Object OldValue, Object NewValue){
+		return properties().replace(Name, orNull(OldValue), orNull(NewValue));
+	}
+	
+	/**
+	 * Removes the pair named {@code Name}
+	 * 
+	 * @param Name The name to remove
+	 * @return The value of {@code Name}, or null if it was not present
+	 */
+	public Object remove(String Name){
+		return properties().remove(Name);
+	}
+	
+	private ConcurrentMap<String, Object> properties(){
+		return (ConcurrentMap<String, Object>)getJSonProperties();
+	}
+	
+	/**
+	 * Returns {@code Value}, or {@code JSonObject.NULL} if it is null
+	 */
+	static Object orNull(Object Value){
+		return (Value == null ? NULL : Value);
+	}
+	
+	/**
+	 * Returns {@code Value} as it is held by a concurrent document: JSonObjects and
+	 * JSonArrays are copied as JSonConcurrentObjects and JSonConcurrentArrays
+	 */
+	static Object concurrentValue(Object Value){
+		if(Value instanceof JSonConcurrentObject || Value instanceof JSonConcurrentArray){
+			return Value;
+		}else if(Value instanceof JSonObject){
+			return new JSonConcurrentObject(((JSonObject)Value).getJSonProperties());
+		}else if(Value instanceof JSonArray){
+			return new JSonConcurrentArray((List<?>)((JSonArray)Value).getJSonArrayList());
+		}
+		return orNull(Value);
+	}
+	
+	/**
+	 * Serializes this {@code JSonConcurrentObject} in the format of {@code writeBinary}
+	 * 
+	 * @return A proxy which writes this {@code JSonConcurrentObject}, and reads back as one
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new JSonBinary.Proxy(this);
+	}
+}
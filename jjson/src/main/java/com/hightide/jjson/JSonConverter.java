@@ -0,0 +1,1042 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSon String, as defined by the ECMA-404 Standard for JSon
+ * data interchanging, is an unordered collection of name/values pairs.
+ * The external object is a string wrapped in curly braces({}), 
+ * with each name/value pair being separated by a colon(:), and difference 
+ * name/value pairs separated by a comma(,). An example of this format is as follows:
+ * 
+ * <pre>
+ * {"name":"CodeMonkey", "job":"Programmer", "Manager":"Rob"}
+ * </pre>
+ * 
+ * <p>The previous example of a JSON String would create an object with a the 3 properties
+ * listed, and would assign each value to its respective property. The JSon String itself,
+ * however, does not need to follow the whitespace format given above, and could be seperated
+ * by any number of lines or spaces. As long as it conforms to the name/value pair rules and object
+ * structure, a valid JSon Object will be produced</p>
+ * 
+ * <p>The JSonConverter class functions as a collection of methods used for the processing and
+ * interpretation of JSonString. The {@code createJSonPropertiesString} and {@code createJSonPropertiesHTML}
+ * methods provide for the creation of a map of name/value pairs with {@code java.langString} or HTML input.
+ * Additionally, the {@code createJSonObjectString}, {@code createJSonObjectHTML},
+ * {@code createJSonArrayString}, and {@code createJSonArrayHTML} methods provide for the creation of
+ * JSonObjects and JSonArrays</p>
+ * 
+ * <p>In addition to providing methods for the creation of JSonObjects and JSonArrays, the
+ * JSonConverter also provides the ability for any class that supports reflection or 
+ * extends the {@code JSonObject} and {@code JSonArray} classes to be converted to an
+ * ECMA-404 valid JSon string through the {@code createJSonString}.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonConverter{
+	
+	/**
+	 * The powers of ten which are exactly representable as a {@code double}
+	 */
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	/**
+	 * The most significant digits which are accumulated into a {@code long}
+	 * by {@code parseJSonNumber}, as 18 digits always fit within one
+	 */
+	private static final int MAX_MANTISSA_DIGITS = 18;
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from
+	 * the supplied string {@code JSonString}
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code Map<String, Object>}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of {@code JSonString}, or a blank {@code Map} if {@code JSonString} is null
+	 */
+	public static Map<String, Object> createJSonPropertiesString(String JSonString) throws JSonParseException{
+		return JSonParser.forThread(false).parseObjectString(JSonString, null);
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from
+	 * the supplied string {@code JSonString}. If {@code LazyNumbers} is set, numbers
+	 * are kept as {@code JSonLazyNumber}s, which are only converted once their
+	 * value is asked for.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code Map<String, Object>}
+	 * @param LazyNumbers Whether numbers should be converted only on access
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of {@code JSonString}
+	 */
+	public static Map<String, Object> createJSonPropertiesString(String JSonString, boolean LazyNumbers) throws JSonParseException{
+		return JSonParser.forThread(LazyNumbers).parseObjectString(JSonString, null);
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of the name/value pairs of
+	 * {@code JSonString} kept by {@code Projection}. Every other pair is skipped
+	 * without building any of its values.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code Map<String, Object>}
+	 * @param Projection The fields to keep
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code Map} of the kept name/value pairs of {@code JSonString}
+	 */
+	public static Map<String, Object> createJSonPropertiesString(String JSonString, JSonProjection Projection) throws JSonParseException{
+		return JSonParser.forThread(false).parseObjectString(JSonString, Projection);
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from
+	 * the supplied URL {@code JSonURL}
+	 * 
+	 * @param JSonURL The URL to read from
+	 * @return A {@code Map<String, Object>} comprised of the {@code JSonURL}'s data
+	 */
+	public static Map<String, Object> createJSonPropertiesHTML(URL JSonURL){
+		Map<String, Object> JSonProperties;
+		try(Reader Input = new InputStreamReader(JSonURL.openConnection().getInputStream(), StandardCharsets.UTF_8)){
+			JSonProperties = JSonConverter.createJSonPropertiesReader(Input);
+		}catch(Exception E){
+			JSonProperties = new JSonPropertyMap();
+		}
+		return JSonProperties;
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from
+	 * the supplied Reader {@code JSonInput}. The input is read through a
+	 * {@code JSonReader}, so it may span any number of lines.
+	 * 
+	 * @param JSonInput The {@code java.io.Reader} to read from
+	 * @throws IOException If {@code JSonInput} could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of the input
+	 */
+	public static Map<String, Object> createJSonPropertiesReader(Reader JSonInput) throws IOException, JSonParseException{
+		return readJSonPropertiesDocument(new JSonReader(JSonInput));
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from
+	 * the supplied UTF-8 encoded bytes {@code JSonBytes}. The bytes are read
+	 * through a {@code JSonUtf8Reader}, without first being decoded into chars.
+	 * 
+	 * @param JSonBytes The UTF-8 encoded bytes to convert to a {@code Map<String, Object>}
+	 * @throws JSonParseException If {@code JSonBytes} is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of {@code JSonBytes}
+	 */
+	public static Map<String, Object> createJSonPropertiesBytes(byte[] JSonBytes) throws JSonParseException{
+		return createJSonPropertiesBytes(ByteBuffer.wrap(JSonBytes));
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from the
+	 * remaining UTF-8 encoded bytes of {@code JSonBuffer}. The bytes are read
+	 * through a {@code JSonUtf8Reader}, without first being decoded into chars.
+	 * 
+	 * @param JSonBuffer The UTF-8 encoded bytes to convert to a {@code Map<String, Object>}
+	 * @throws JSonParseException If {@code JSonBuffer} is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of {@code JSonBuffer}
+	 */
+	public static Map<String, Object> createJSonPropertiesBytes(ByteBuffer JSonBuffer) throws JSonParseException{
+		try{
+			return readJSonPropertiesDocument(new JSonUtf8Reader(JSonBuffer));
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Creates a {@code JSonObject} from
+	 * the supplied string {@code JSonString}
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code Map<String, Object>}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code JSonObject} of the name/value pairs of {@code JSonString}, or a blank {@code JSonObject} if {@code JSonString} is null
+	 */
+	public static JSonObject createJSonObjectString(String JSonString){
+		try{
+			return new JSonObject(createJSonPropertiesString(JSonString));
+		}catch(JSonParseException E){
+			return new JSonObject();
+		}
+	}
+	
+	/**
+	 * Creates a lazily decoded {@code JSonObject} from the supplied string {@code JSonString}.
+	 * The string is checked and the positions of its names and values recorded in a single
+	 * pass, but each value is only decoded the first time it is read through {@code getValue},
+	 * {@code get} or the {@code JSonObject}'s properties, so values which are never read cost
+	 * almost nothing. The returned {@code JSonObject} may not be accessed by several threads at once.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code JSonObject}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A lazily decoded {@code JSonObject} of the name/value pairs of {@code JSonString}
+	 */
+	public static JSonObject createJSonObjectLazy(String JSonString) throws JSonParseException{
+		return (JSonObject)JSonTape.build(JSonString, JSonConstants.BEGIN_JSON_OBJECT).decode(0);
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of the name/value pairs of the remaining
+	 * UTF-8 encoded bytes of {@code JSonBuffer} kept by {@code Projection}. Every other
+	 * pair is skipped without building any of its values.
+	 * 
+	 * @param JSonBuffer The UTF-8 encoded bytes to convert to a {@code Map<String, Object>}
+	 * @param Projection The fields to keep
+	 * @throws JSonParseException If {@code JSonBuffer} is not correctly formatted
+	 * @return A {@code Map} of the kept name/value pairs of {@code JSonBuffer}
+	 */
+	public static Map<String, Object> createJSonPropertiesBytes(ByteBuffer JSonBuffer, JSonProjection Projection) throws JSonParseException{
+		try{
+			return readJSonPropertiesDocument(new JSonUtf8Reader(JSonBuffer), Projection);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Creates a {@code JSonObject} of from
+	 * the supplied URL {@code JSonURL}
+	 * 
+	 * @param JSonURL The URL to read from
+	 * @return A {@code JSonObject} comprised of the {@code JSonURL}'s data
+	 */
+	public static JSonObject createJSonObjectHTML(URL JSonURL){
+		return new JSonObject(createJSonPropertiesHTML(JSonURL));
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from
+	 * the supplied string {@code JSonString}
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code Map<String, Object>}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code ArrayList} of the values pairs of {@code JSonString}, or a blank {@code HashMap} if {@code JSonString} is null
+	 */
+	public static ArrayList<Object> createJSonArrayString(String JSonString) throws JSonParseException{
+		return JSonParser.forThread(false).parseArrayString(JSonString, null);
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the supplied string
+	 * {@code JSonString}. If {@code LazyNumbers} is set, numbers are kept as
+	 * {@code JSonLazyNumber}s, which are only converted once their value is asked for.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code ArrayList<Object>}
+	 * @param LazyNumbers Whether numbers should be converted only on access
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code ArrayList} of the values of {@code JSonString}
+	 */
+	public static ArrayList<Object> createJSonArrayString(String JSonString, boolean LazyNumbers) throws JSonParseException{
+		return JSonParser.forThread(LazyNumbers).parseArrayString(JSonString, null);
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of the values of {@code JSonString}, keeping
+	 * only the fields of {@code Projection} in each of them. Values which are not
+	 * JSonObjects or JSonArrays are dropped unless {@code Projection} keeps every field.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code ArrayList<Object>}
+	 * @param Projection The fields to keep
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code ArrayList} of the projected values of {@code JSonString}
+	 */
+	public static ArrayList<Object> createJSonArrayString(String JSonString, JSonProjection Projection) throws JSonParseException{
+		return JSonParser.forThread(false).parseArrayString(JSonString, Projection);
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the supplied string {@code JSonString},
+	 * parsing parts of a large array on the threads of the common {@code ForkJoinPool}. The
+	 * array is split at guessed boundaries between its values, which are checked as the parts
+	 * are parsed; if a guess proves wrong the array is parsed sequentially instead, so the
+	 * result is always the same as that of {@code createJSonArrayString}.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code ArrayList<Object>}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code ArrayList} of the values of {@code JSonString}
+	 */
+	public static ArrayList<Object> createJSonArrayParallel(String JSonString) throws JSonParseException{
+		return JSonParallelParser.parseArrayDocument(JSonString, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the supplied string {@code JSonString},
+	 * parsing parts of a large array on the threads of {@code Executor}, as with
+	 * {@code createJSonArrayParallel(String)}.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code ArrayList<Object>}
+	 * @param Executor The executor to parse parts of the array on
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A {@code ArrayList} of the values of {@code JSonString}
+	 */
+	public static ArrayList<Object> createJSonArrayParallel(String JSonString, Executor Executor) throws JSonParseException{
+		return JSonParallelParser.parseArrayDocument(JSonString, Executor);
+	}
+	
+	/**
+	 * Creates a lazily decoded {@code JSonArray} from the supplied string {@code JSonString}.
+	 * The string is checked and the positions of its values recorded in a single pass, but
+	 * each value is only decoded the first time it is read. The returned {@code JSonArray}
+	 * may not be accessed by several threads at once.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to convert to a {@code JSonArray}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 * @return A lazily decoded {@code JSonArray} of the values of {@code JSonString}
+	 */
+	public static JSonArray createJSonArrayLazy(String JSonString) throws JSonParseException{
+		return (JSonArray)JSonTape.build(JSonString, JSonConstants.BEGIN_JSON_ARRAY).decode(0);
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from
+	 * the supplied URL {@code JSonURL}
+	 * 
+	 * @param JSonURL The URL to read from
+	 * @return A {@code ArrayList<Object>} comprised of the {@code JSonURL}'s data
+	 */
+	public static ArrayList<Object> createJSonArrayHTML(URL JSonURL){
+		ArrayList<Object> JSonArrayList;
+		try(Reader Input = new InputStreamReader(JSonURL.openConnection().getInputStream(), StandardCharsets.UTF_8)){
+			JSonArrayList = JSonConverter.createJSonArrayReader(Input);
+		}catch(Exception E){
+			JSonArrayList = new ArrayList<Object>();
+		}
+		return JSonArrayList;
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from
+	 * the supplied Reader {@code JSonInput}. The input is read through a
+	 * {@code JSonReader}, so it may span any number of lines.
+	 * 
+	 * @param JSonInput The {@code java.io.Reader} to read from
+	 * @throws IOException If {@code JSonInput} could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 * @return A {@code ArrayList} of the values of the input
+	 */
+	public static ArrayList<Object> createJSonArrayReader(Reader JSonInput) throws IOException, JSonParseException{
+		return readJSonArrayDocument(new JSonReader(JSonInput));
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the supplied
+	 * UTF-8 encoded bytes {@code JSonBytes}. The bytes are read through
+	 * a {@code JSonUtf8Reader}, without first being decoded into chars.
+	 * 
+	 * @param JSonBytes The UTF-8 encoded bytes to convert to a {@code ArrayList<Object>}
+	 * @throws JSonParseException If {@code JSonBytes} is not correctly formatted
+	 * @return A {@code ArrayList} of the values of {@code JSonBytes}
+	 */
+	public static ArrayList<Object> createJSonArrayBytes(byte[] JSonBytes) throws JSonParseException{
+		return createJSonArrayBytes(ByteBuffer.wrap(JSonBytes));
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the remaining
+	 * UTF-8 encoded bytes of {@code JSonBuffer}. The bytes are read through
+	 * a {@code JSonUtf8Reader}, without first being decoded into chars.
+	 * 
+	 * @param JSonBuffer The UTF-8 encoded bytes to convert to a {@code ArrayList<Object>}
+	 * @throws JSonParseException If {@code JSonBuffer} is not correctly formatted
+	 * @return A {@code ArrayList} of the values of {@code JSonBuffer}
+	 */
+	public static ArrayList<Object> createJSonArrayBytes(ByteBuffer JSonBuffer) throws JSonParseException{
+		try{
+			return readJSonArrayDocument(new JSonUtf8Reader(JSonBuffer));
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Opens a {@code JSonTokenizer} over the UTF-8 encoded file at {@code JSonPath}. The
+	 * file is read through {@code FileChannel.map} in windows of up to 1 GB, so it is never
+	 * copied onto the heap and may be larger than 2 GB. The tokenizer must be closed once
+	 * it is no longer needed.
+	 * 
+	 * @param JSonPath The file to read
+	 * @throws IOException If the file could not be opened
+	 * @return A {@code JSonTokenizer} over the contents of the file
+	 */
+	public static JSonTokenizer openJSonPath(Path JSonPath) throws IOException{
+		return new JSonMappedReader(JSonPath, JSonMappedReader.DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * Creates a {@code Map<String, Object>} of name/value pairs from the
+	 * UTF-8 encoded file at {@code JSonPath}, which is read through {@code openJSonPath}.
+	 * 
+	 * @param JSonPath The file to read
+	 * @throws IOException If the file could not be read
+	 * @throws JSonParseException If the file is not correctly formatted
+	 * @return A {@code Map} of the name/value pairs of the file
+	 */
+	public static Map<String, Object> createJSonPropertiesPath(Path JSonPath) throws IOException, JSonParseException{
+		try(JSonTokenizer Tokenizer = openJSonPath(JSonPath)){
+			return readJSonPropertiesDocument(Tokenizer);
+		}
+	}
+	
+	/**
+	 * Creates a {@code ArrayList<Object>} of values from the UTF-8
+	 * encoded file at {@code JSonPath}, which is read through {@code openJSonPath}.
+	 * 
+	 * @param JSonPath The file to read
+	 * @throws IOException If the file could not be read
+	 * @throws JSonParseException If the file is not correctly formatted
+	 * @return A {@code ArrayList} of the values of the file
+	 */
+	public static ArrayList<Object> createJSonArrayPath(Path JSonPath) throws IOException, JSonParseException{
+		try(JSonTokenizer Tokenizer = openJSonPath(JSonPath)){
+			return readJSonArrayDocument(Tokenizer);
+		}
+	}
+	
+	/**
+	 * Binds the JSon value in {@code JSonString} to a new instance of {@code Type}. See
+	 * {@code readValue(Reader, Class)}.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to read
+	 * @param Type The class to bind the value to
+	 * @return The value read, or null if it was a JSon null
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted, or does not fit {@code Type}
+	 * @throws IllegalArgumentException If {@code Type} cannot be bound
+	 */
+	public static <T> T readValue(String JSonString, Class<T> Type) throws JSonParseException{
+		try{
+			return readValue(new StringReader(JSonString), Type);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Binds the JSon value read from {@code JSonInput} to a new instance of {@code Type},
+	 * without building a {@code JSonObject} or {@code JSonArray} in between. Classes are
+	 * bound through their fields, records through their components, and collections,
+	 * maps, arrays and enums as their JSon equivalents. The first use of a class builds its
+	 * codec, which is then reused; names which match no field are skipped.
+	 * 
+	 * @param JSonInput The {@code java.io.Reader} to read from
+	 * @param Type The class to bind the value to
+	 * @return The value read, or null if it was a JSon null
+	 * @throws IOException If {@code JSonInput} could not be read
+	 * @throws JSonParseException If the input is not correctly formatted, or does not fit {@code Type}
+	 * @throws IllegalArgumentException If {@code Type} cannot be bound
+	 */
+	public static <T> T readValue(Reader JSonInput, Class<T> Type) throws IOException, JSonParseException{
+		return readValueDocument(new JSonReader(JSonInput), Type);
+	}
+	
+	/**
+	 * Binds the JSon value in the UTF-8 encoded {@code JSonBytes} to a new instance of
+	 * {@code Type}. See {@code readValue(Reader, Class)}.
+	 * 
+	 * @param JSonBytes The UTF-8 encoded bytes to read
+	 * @param Type The class to bind the value to
+	 * @return The value read, or null if it was a JSon null
+	 * @throws JSonParseException If {@code JSonBytes} is not correctly formatted, or does not fit {@code Type}
+	 * @throws IllegalArgumentException If {@code Type} cannot be bound
+	 */
+	public static <T> T readValue(byte[] JSonBytes, Class<T> Type) throws JSonParseException{
+		try{
+			return readValueDocument(new JSonUtf8Reader(ByteBuffer.wrap(JSonBytes)), Type);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as JSon, through the codec of its class.
+	 * See {@code readValue(Reader, Class)}.
+	 * 
+	 * @param Value The value to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 * @throws IllegalArgumentException If the class of {@code Value} cannot be bound
+	 */
+	public static void writeValue(Object Value, Appendable Out) throws IOException{
+		JSonWriter.writeValue(Value, (Value == null ? null : JSonBinder.codecOf(Value)), Out);
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as UTF-8 encoded JSon, through the codec of
+	 * its class. See {@code readValue(Reader, Class)}.
+	 * 
+	 * @param Value The value to write
+	 * @param Out The stream to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 * @throws IllegalArgumentException If the class of {@code Value} cannot be bound
+	 */
+	public static void writeValue(Object Value, OutputStream Out) throws IOException{
+		JSonWriter.writeValue(Value, (Value == null ? null : JSonBinder.codecOf(Value)), Out);
+	}
+	
+	/**
+	 * Reads a whole document from {@code Tokenizer}, which must consist of a single
+	 * value, binding it to {@code Type}
+	 * 
+	 * @param Tokenizer The {@code JSonTokenizer} to read from
+	 * @param Type The class to bind the value to
+	 * @return The value read
+	 */
+	static <T> T readValueDocument(JSonTokenizer Tokenizer, Class<T> Type) throws IOException, JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		JSonMetrics.CountingTokenizer Counted = (Sample == null ? null : new JSonMetrics.CountingTokenizer(Tokenizer));
+		if(Counted != null){
+			Tokenizer = Counted;
+		}
+		boolean parsed = false;
+		try{
+			if(Tokenizer.nextToken() == null){
+				throw new JSonParseException("The supplied input is empty", 0);
+			}
+			T Value = JSonBinder.codecFor(Type).read(Tokenizer);
+			if(Tokenizer.nextToken() != null){
+				throw new JSonParseException("The supplied input continues after its value", (int)Tokenizer.getPosition());
+			}
+			parsed = true;
+			return Value;
+		}finally{
+			if(Sample != null){
+				Sample.endParse(Counted, parsed);
+			}
+		}
+	}
+	
+	/**
+	 * Reads a whole document from {@code Tokenizer}, which must consist of a single JSonObject
+	 * 
+	 * @param Tokenizer The {@code JSonTokenizer} to read from
+	 * @return A {@code Map} of the JSonObject's name/value pairs
+	 */
+	static Map<String, Object> readJSonPropertiesDocument(JSonTokenizer Tokenizer) throws IOException, JSonParseException{
+		return readJSonPropertiesDocument(Tokenizer, null);
+	}
+	
+	/**
+	 * Reads a whole document from {@code Tokenizer}, which must consist of a single JSonObject,
+	 * keeping only the fields of {@code Projection}, or all of them if it is null
+	 * 
+	 * @param Tokenizer The {@code JSonTokenizer} to read from
+	 * @param Projection The fields to keep, or null
+	 * @return A {@code Map} of the JSonObject's kept name/value pairs
+	 */
+	static Map<String, Object> readJSonPropertiesDocument(JSonTokenizer Tokenizer, JSonProjection Projection) throws IOException, JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		JSonMetrics.CountingTokenizer Counted = (Sample == null ? null : new JSonMetrics.CountingTokenizer(Tokenizer));
+		if(Counted != null){
+			Tokenizer = Counted;
+		}
+		boolean parsed = false;
+		try{
+			if(Tokenizer.nextToken() != JSonToken.START_OBJECT){
+				throw new JSonParseException("The supplied input does not start with {", 0);
+			}
+			Map<String, Object> JSonProperties = (Projection == null ? readJSonProperties(Tokenizer) : readJSonProperties(Tokenizer, Projection));
+			if(Tokenizer.nextToken() != null){
+				throw new JSonParseException("The supplied input does not end with }", (int)Tokenizer.getPosition());
+			}
+			parsed = true;
+			return JSonProperties;
+		}finally{
+			if(Sample != null){
+				Sample.endParse(Counted, parsed);
+			}
+		}
+	}
+	
+	/**
+	 * Reads a whole document from {@code Tokenizer}, which must consist of a single JSonArray
+	 * 
+	 * @param Tokenizer The {@code JSonTokenizer} to read from
+	 * @return A {@code ArrayList} of the JSonArray's values
+	 */
+	static ArrayList<Object> readJSonArrayDocument(JSonTokenizer Tokenizer) throws IOException, JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		JSonMetrics.CountingTokenizer Counted = (Sample == null ? null : new JSonMetrics.CountingTokenizer(Tokenizer));
+		if(Counted != null){
+			Tokenizer = Counted;
+		}
+		boolean parsed = false;
+		try{
+			if(Tokenizer.nextToken() != JSonToken.START_ARRAY){
+				throw new JSonParseException("The supplied input does not start with [", 0);
+			}
+			ArrayList<Object> JSonArrayList = readJSonArrayList(Tokenizer);
+			if(Tokenizer.nextToken() != null){
+				throw new JSonParseException("The supplied input does not end with ]", (int)Tokenizer.getPosition());
+			}
+			parsed = true;
+			return JSonArrayList;
+		}finally{
+			if(Sample != null){
+				Sample.endParse(Counted, parsed);
+			}
+		}
+	}
+	
+	/**
+	 * Reads the name/value pairs of the JSonObject whose {@code START_OBJECT}
+	 * token was just returned by {@code Reader}, up to and including its {@code END_OBJECT}.
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return A {@code Map} of the JSonObject's name/value pairs
+	 */
+	static Map<String, Object> readJSonProperties(JSonTokenizer Reader) throws IOException, JSonParseException{
+		Map<String, Object> JSonProperties = new JSonPropertyMap();
+		while(Reader.nextToken() == JSonToken.FIELD_NAME){
+			String Key = Reader.getString();
+			Reader.nextToken();
+			JSonProperties.put(Key, readJSonValue(Reader));
+		}
+		return JSonProperties;
+	}
+	
+	/**
+	 * Reads the values of the JSonArray whose {@code START_ARRAY} token was
+	 * just returned by {@code Reader}, up to and including its {@code END_ARRAY}.
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return A {@code ArrayList} of the JSonArray's values
+	 */
+	static ArrayList<Object> readJSonArrayList(JSonTokenizer Reader) throws IOException, JSonParseException{
+		ArrayList<Object> JSonArrayList = new ArrayList<Object>();
+		while(Reader.nextToken() != JSonToken.END_ARRAY){
+			JSonArrayList.add(readJSonValue(Reader));
+		}
+		return JSonArrayList;
+	}
+	
+	/**
+	 * Reads the name/value pairs kept by {@code Projection} of the JSonObject whose
+	 * {@code START_OBJECT} token was just returned by {@code Reader}, up to and including
+	 * its {@code END_OBJECT}. Every other pair is skipped through {@code skipChildren}.
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @param Projection The fields to keep
+	 * @return A {@code Map} of the kept name/value pairs
+	 */
+	static Map<String, Object> readJSonProperties(JSonTokenizer Reader, JSonProjection Projection) throws IOException, JSonParseException{
+		if(Projection.isAll()){
+			return readJSonProperties(Reader);
+		}
+		Map<String, Object> JSonProperties = new JSonPropertyMap();
+		while(Reader.nextToken() == JSonToken.FIELD_NAME){
+			String Key = Reader.getString();
+			JSonProjection Field = Projection.getField(Key);
+			Reader.nextToken();
+			if(Field == null){
+				Reader.skipChildren();
+				continue;
+			}
+			Object Value = readJSonValue(Reader, Field);
+			if(Value != null){
+				JSonProperties.put(Key, Value);
+			}
+		}
+		return JSonProperties;
+	}
+	
+	/**
+	 * Reads the value whose first token was just returned by {@code Reader} through
+	 * {@code Projection}. A value which is not a JSonObject or JSonArray is dropped,
+	 * returning null, unless {@code Projection} keeps every field.
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @param Projection The fields to keep
+	 * @return The projected value, or null if it is dropped
+	 */
+	static Object readJSonValue(JSonTokenizer Reader, JSonProjection Projection) throws IOException, JSonParseException{
+		if(Projection.isAll()){
+			return readJSonValue(Reader);
+		}
+		switch(Reader.getCurrentToken()){
+			case START_OBJECT:
+				return new JSonObject(readJSonProperties(Reader, Projection));
+			case START_ARRAY:
+				ArrayList<Object> JSonArrayList = new ArrayList<Object>();
+				while(Reader.nextToken() != JSonToken.END_ARRAY){
+					Object Value = readJSonValue(Reader, Projection);
+					if(Value != null){
+						JSonArrayList.add(Value);
+					}
+				}
+				return new JSonArray(JSonArrayList);
+			default:
+				return null;
+		}
+	}
+	
+	/**
+	 * Reads the value whose first token was just returned by {@code Reader}
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @return The value, as it would be stored in a {@code JSonObject} or {@code JSonArray}
+	 */
+	static Object readJSonValue(JSonTokenizer Reader) throws IOException, JSonParseException{
+		switch(Reader.getCurrentToken()){
+			case START_OBJECT:
+				return new JSonObject(readJSonProperties(Reader));
+			case START_ARRAY:
+				return new JSonArray(readJSonArrayList(Reader));
+			case VALUE_STRING:
+				return Reader.getString();
+			case VALUE_NUMBER:
+				return Reader.getNumber();
+			case VALUE_TRUE:
+				return Boolean.TRUE;
+			case VALUE_FALSE:
+				return Boolean.FALSE;
+			case VALUE_NULL:
+				return JSonObject.NULL;
+			default:
+				throw new JSonParseException("Unexpected " + Reader.getCurrentToken(), (int)Reader.getPosition());
+		}
+	}
+	
+	/**
+	 * Parses {@code JSonString}, passing its contents to {@code Handler} as they are
+	 * read rather than building a {@code JSonObject} or {@code JSonArray}. Any number of
+	 * whitespace-separated JSon values may appear in {@code JSonString}.
+	 * 
+	 * @param JSonString The {@code java.lang.String} to parse
+	 * @param Handler The {@code JSonHandler} to receive the contents of {@code JSonString}
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	public static void parseJSonString(String JSonString, JSonHandler Handler) throws JSonParseException{
+		try{
+			parseJSonReader(new StringReader(JSonString), Handler);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Parses the input of {@code JSonInput}, passing its contents to {@code Handler}
+	 * as they are read rather than building a {@code JSonObject} or {@code JSonArray}.
+	 * Any number of whitespace-separated JSon values may appear in the input.
+	 * 
+	 * @param JSonInput The {@code java.io.Reader} to parse
+	 * @param Handler The {@code JSonHandler} to receive the contents of {@code JSonInput}
+	 * @throws IOException If {@code JSonInput} could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	public static void parseJSonReader(Reader JSonInput, JSonHandler Handler) throws IOException, JSonParseException{
+		parseJSonTokens(new JSonReader(JSonInput), Handler);
+	}
+	
+	/**
+	 * Parses the remaining UTF-8 encoded bytes of {@code JSonBuffer}, passing its contents
+	 * to {@code Handler} as they are read rather than building a {@code JSonObject} or
+	 * {@code JSonArray}. Any number of whitespace-separated JSon values may appear in the input.
+	 * 
+	 * @param JSonBuffer The UTF-8 encoded bytes to parse
+	 * @param Handler The {@code JSonHandler} to receive the contents of {@code JSonBuffer}
+	 * @throws JSonParseException If {@code JSonBuffer} is not correctly formatted
+	 */
+	public static void parseJSonBytes(ByteBuffer JSonBuffer, JSonHandler Handler) throws JSonParseException{
+		try{
+			parseJSonTokens(new JSonUtf8Reader(JSonBuffer), Handler);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Parses the UTF-8 encoded file at {@code JSonPath}, which is read through
+	 * {@code openJSonPath}, passing its contents to {@code Handler} as they are read.
+	 * As no {@code JSonObject} or {@code JSonArray} is built, files of any size may be
+	 * parsed in constant memory.
+	 * 
+	 * @param JSonPath The file to parse
+	 * @param Handler The {@code JSonHandler} to receive the contents of the file
+	 * @throws IOException If the file could not be read
+	 * @throws JSonParseException If the file is not correctly formatted
+	 */
+	public static void parseJSonPath(Path JSonPath, JSonHandler Handler) throws IOException, JSonParseException{
+		try(JSonTokenizer Tokenizer = openJSonPath(JSonPath)){
+			parseJSonTokens(Tokenizer, Handler);
+		}
+	}
+	
+	/**
+	 * Passes every token of {@code Reader} to {@code Handler}
+	 * 
+	 * @param Reader The {@code JSonTokenizer} to read from
+	 * @param Handler The {@code JSonHandler} to receive the tokens
+	 */
+	static void parseJSonTokens(JSonTokenizer Reader, JSonHandler Handler) throws IOException, JSonParseException{
+		JSonToken Token;
+		while((Token = Reader.nextToken()) != null){
+			switch(Token){
+				case START_OBJECT:
+					Handler.startObject();
+					break;
+				case END_OBJECT:
+					Handler.endObject();
+					break;
+				case START_ARRAY:
+					Handler.startArray();
+					break;
+				case END_ARRAY:
+					Handler.endArray();
+					break;
+				case FIELD_NAME:
+					Handler.key(Reader.getString());
+					break;
+				case VALUE_STRING:
+					Handler.value(Reader.getString());
+					break;
+				case VALUE_NUMBER:
+					if(Reader.isIntegralNumber()){
+						Number Value = Reader.getNumber();
+						if(Value instanceof Long){
+							Handler.value(Value.longValue());
+						}else{
+							Handler.value(Value.doubleValue());
+						}
+					}else{
+						Handler.value(Reader.getDouble());
+					}
+					break;
+				case VALUE_TRUE:
+					Handler.value(true);
+					break;
+				case VALUE_FALSE:
+					Handler.value(false);
+					break;
+				case VALUE_NULL:
+					Handler.nullValue();
+					break;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the index just past the JSon number starting at {@code beginIndex}
+	 * of {@code Source}, scanning no further than {@code endLimit}.
+	 * 
+	 * @param Source The characters to scan
+	 * @param beginIndex The index of the first character of the number
+	 * @param endLimit The index to stop scanning at
+	 * @return The index just past the number, or -1 if it is not a valid JSon number
+	 */
+	static int scanJSonNumber(CharSequence Source, int beginIndex, int endLimit){
+		int currIndex = beginIndex;
+		if(currIndex < endLimit && Source.charAt(currIndex) == '-'){
+			currIndex++;
+		}
+		int digitsIndex = currIndex;
+		currIndex = scanDigits(Source, currIndex, endLimit);
+		if(currIndex == digitsIndex){
+			return -1;
+		}
+		if(currIndex < endLimit && Source.charAt(currIndex) == '.'){
+			digitsIndex = ++currIndex;
+			currIndex = scanDigits(Source, currIndex, endLimit);
+			if(currIndex == digitsIndex){
+				return -1;
+			}
+		}
+		if(currIndex < endLimit && (Source.charAt(currIndex) == 'e' || Source.charAt(currIndex) == 'E')){
+			currIndex++;
+			if(currIndex < endLimit && (Source.charAt(currIndex) == '-' || Source.charAt(currIndex) == '+')){
+				currIndex++;
+			}
+			digitsIndex = currIndex;
+			currIndex = scanDigits(Source, currIndex, endLimit);
+			if(currIndex == digitsIndex){
+				return -1;
+			}
+		}
+		return currIndex;
+	}
+	
+	/**
+	 * Returns the index of the first non-digit at or after {@code currIndex}
+	 */
+	private static int scanDigits(CharSequence Source, int currIndex, int endLimit){
+		while(currIndex < endLimit && Source.charAt(currIndex) >= '0' && Source.charAt(currIndex) <= '9'){
+			currIndex++;
+		}
+		return currIndex;
+	}
+	
+	/**
+	 * Converts the JSon number between {@code beginIndex} and {@code endIndex} of
+	 * {@code Source}, without copying it. Numbers without a fraction or exponent become
+	 * a {@code Long}, and all others a {@code Double}. Numbers which are too large for
+	 * either become a {@code java.math.BigDecimal}, so no precision or range is lost.
+	 * 
+	 * <p>The digits are accumulated into a {@code long} as they are read. A number with at
+	 * most 18 significant digits is then a {@code Long} as it stands, or, if its mantissa
+	 * and power of ten are both exactly representable as {@code double}s, a single
+	 * multiplication or division gives its correctly rounded {@code Double}. Only the
+	 * remaining numbers are copied out and handed to {@code Double.parseDouble}.</p>
+	 * 
+	 * @param Source The characters holding the number
+	 * @param beginIndex The index of the first character of the number
+	 * @param endIndex The index just past the last character of the number
+	 * @throws NumberFormatException If the characters are not a valid JSon number
+	 * @return The value of the number
+	 */
+	static Number parseJSonNumber(CharSequence Source, int beginIndex, int endIndex){
+		int currIndex = beginIndex;
+		boolean negative = false;
+		boolean integral = true;
+		boolean truncated = false;
+		long mantissa = 0;
+		int significantDigits = 0;
+		int exponent = 0;
+		
+		if(currIndex < endIndex && Source.charAt(currIndex) == '-'){
+			negative = true;
+			currIndex++;
+		}
+		int digitsIndex = currIndex;
+		while(currIndex < endIndex){
+			int Digit = Source.charAt(currIndex) - '0';
+			if(Digit < 0 || Digit > 9){
+				break;
+			}
+			if(significantDigits < MAX_MANTISSA_DIGITS){
+				mantissa = mantissa * 10 + Digit;
+				if(mantissa != 0){
+					significantDigits++;
+				}
+			}else{
+				truncated = true;
+				exponent++;
+			}
+			currIndex++;
+		}
+		if(currIndex == digitsIndex){
+			throw new NumberFormatException("Expected a digit in " + Source.subSequence(beginIndex, endIndex));
+		}
+		if(currIndex < endIndex && Source.charAt(currIndex) == '.'){
+			integral = false;
+			digitsIndex = ++currIndex;
+			while(currIndex < endIndex){
+				int Digit = Source.charAt(currIndex) - '0';
+				if(Digit < 0 || Digit > 9){
+					break;
+				}
+				if(significantDigits < MAX_MANTISSA_DIGITS){
+					mantissa = mantissa * 10 + Digit;
+					exponent--;
+					if(mantissa != 0){
+						significantDigits++;
+					}
+				}else{
+					truncated = true;
+				}
+				currIndex++;
+			}
+			if(currIndex == digitsIndex){
+				throw new NumberFormatException("Expected a digit in " + Source.subSequence(beginIndex, endIndex));
+			}
+		}
+		if(currIndex < endIndex && (Source.charAt(currIndex) == 'e' || Source.charAt(currIndex) == 'E')){
+			integral = false;
+			currIndex++;
+			boolean negativeExponent = false;
+			if(currIndex < endIndex && (Source.charAt(currIndex) == '-' || Source.charAt(currIndex) == '+')){
+				negativeExponent = Source.charAt(currIndex++) == '-';
+			}
+			digitsIndex = currIndex;
+			int explicitExponent = 0;
+			while(currIndex < endIndex){
+				int Digit = Source.charAt(currIndex) - '0';
+				if(Digit < 0 || Digit > 9){
+					break;
+				}
+				if(explicitExponent < 100000){
+					explicitExponent = explicitExponent * 10 + Digit;
+				}
+				currIndex++;
+			}
+			if(currIndex == digitsIndex){
+				throw new NumberFormatException("Expected a digit in " + Source.subSequence(beginIndex, endIndex));
+			}
+			exponent += negativeExponent ? -explicitExponent : explicitExponent;
+		}
+		if(currIndex != endIndex){
+			throw new NumberFormatException("Unexpected character in " + Source.subSequence(beginIndex, endIndex));
+		}
+		
+		if(integral && !truncated){
+			return negative ? -mantissa : mantissa;
+		}
+		if(!integral && !truncated && mantissa <= (1L << 53) && exponent >= -22 && exponent <= 22){
+			double Value = mantissa;
+			Value = (exponent < 0 ? Value / POWERS_OF_TEN[-exponent] : Value * POWERS_OF_TEN[exponent]);
+			return negative ? -Value : Value;
+		}
+		
+		String Text = Source.subSequence(beginIndex, endIndex).toString();
+		if(integral){
+			try{
+				return Long.parseLong(Text);
+			}catch(NumberFormatException E){
+				return new BigDecimal(Text);
+			}
+		}
+		double Value = Double.parseDouble(Text);
+		if(Double.isInfinite(Value)){
+			return new BigDecimal(Text);
+		}
+		return Value;
+	}
+	
+	public static void main(String args[]){
+		Map<String, Object> Properties = new JSonPropertyMap();
+		try{
+			//Properties = createJSonPropertiesString("{\"name\":\"CodeMonkey\", \"job\":\"Programmer\", \"manager\":{\"name\":\"Rob\", \"job\":\"manager\", \"Alive\":false}, \"Alive\":true}");
+			//Properties = createJSonPropertiesString("{\"name\":\"CodeMonkey\", \"job\":\"Programmer\", \"manager\":{\"name\":\"Rob\", \"job\":\"manager\"}}");
+			//Properties = createJSonPropertiesString("{\"name\":\"CodeMonkey\", \"job\":\"Programmer\", \"Manager\":\"Rob\"}");
+			System.out.println(new JSonObject(Properties = createJSonPropertiesString("{\"story\":{\"id\":18087,\"title\":\"The Best Night Ever\",\"url\":\"http:\\\\www.fimfiction.net\\story\\18087\\the-best-night-ever\",\"short_description\":\"Grand Galloping Gala meets Groundhog Day time-loop\",\"description\":\"Prince Blueblood thought the Grand Galloping Gala was over. He thought he could just go to sleep and put it behind him. He never expected to be reliving the same disaster of a day, over and over... and over.\r\n\r\nTV tropes page here:\r\nhttp:\\\\tvtropes.org\\pmwiki\\pmwiki.php\\FanFic\\TheBestNightEver\r\n\r\nThanks to all the people who wrote the page and all the people who gave me a little wakeup call and comment to become aware of that fact! You can't see it, but you guys put a real smile on my face tonight.\r\n\r\nAlso, recently, extra thanks to RD Dash for giving TBNE a thorough editing. I've updated the fic accordingly (7.11.12)\",\"date_modified\":1333106641,\"image\":\"\\\\www.fimfiction-static.net\\images\\story_images\\18087_r.jpg?1333063053\",\"full_image\":\"\\\\www.fimfiction-static.net\\images\\story_images\\18087.jpg?1333063053\",\"views\":37448,\"total_views\":123665,\"words\":53935,\"chapter_count\":5,\"comments\":567,\"author\":{\"id\":22220,\"name\":\"Capn_Chryssalid\"},\"status\":\"Complete\",\"content_rating_text\":\"Teen\",\"content_rating\":1,\"categories\":{\"Romance\":true,\"Tragedy\":false,\"Sad\":false,\"Dark\":false,\"Comedy\":true,\"Random\":false,\"Crossover\":false,\"Adventure\":true,\"Slice of Life\":false,\"Alternate Universe\":false,\"Human\":false,\"Anthro\":false},\"likes\":3731,\"dislikes\":53,\"chapters\":[{\"id\":55591,\"title\":\"Chapter One\",\"words\":12054,\"views\":37448,\"link\":\"http:\\\\www.fimfiction.net\\story\\18087\\1\\the-best-night-ever\\chapter-one\",\"date_modified\":1364967313},{\"id\":55610,\"title\":\"Chapter Two\",\"words\":7885,\"views\":20340,\"link\":\"http:\\\\www.fimfiction.net\\story\\18087\\2\\the-best-night-ever\\chapter-two\",\"date_modified\":1365014389},{\"id\":55612,\"title\":\"Chapter Three\",\"words\":10489,\"views\":20526,\"link\":\"http:\\\\www.fimfiction.net\\story\\18087\\3\\the-best-night-ever\\chapter-three\",\"date_modified\":1383860641},{\"id\":55614,\"title\":\"Chapter Four\",\"words\":12873,\"views\":20805,\"link\":\"http:\\\\www.fimfiction.net\\story\\18087\\4\\the-best-night-ever\\chapter-four\",\"date_modified\":1347378093},{\"id\":55615,\"title\":\"Chapter Five\",\"words\":10634,\"views\":24546,\"link\":\"http:\\\\www.fimfiction.net\\story\\18087\\5\\the-best-night-ever\\chapter-five\",\"date_modified\":1364890171}]}}")));
+		}catch(JSonParseException Ex){
+			
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.hightide.jjson;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A {@code JSonHandler} whose callbacks all do nothing, to be extended by
+ * handlers which are only interested in some of them.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonDefaultHandler implements JSonHandler{
+	
+	public void startObject(){
+	}
+	
+	public void endObject(){
+	}
+	
+	public void startArray(){
+	}
+	
+	public void endArray(){
+	}
+	
+	public void key(String Name){
+	}
+	
+	public void value(String Value){
+	}
+	
+	public void value(double Value){
+	}
+	
+	public void value(long Value){
+	}
+	
+	public void value(boolean Value){
+	}
+	
+	public void nullValue(){
+	}
+}
@@ -0,0 +1,856 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonFeedParser is a non-blocking {@code JSonTokenizer} over UTF-8 encoded JSon
+ * which is handed to it in fragments, as they arrive, through {@code feed}. Whenever
+ * the input fed so far runs out before the next token is complete, {@code nextToken}
+ * returns {@code JSonToken.NOT_AVAILABLE} rather than blocking, and picks up where it
+ * left off once more input is fed, so a fragment may end anywhere: within a string, an
+ * escape sequence, a number, a literal or a multi-byte UTF-8 character. Only the
+ * token in progress is kept between fragments, so the input is never buffered as a whole.
+ * 
+ * <p>A fragment may only be fed once the previous one has been fully consumed, as
+ * reported by {@code needsInput}, and its position is advanced as it is consumed.
+ * A fragment is not copied, so it must not be changed or reused until it has been
+ * consumed. Once the last fragment has been fed, {@code endOfInput} is called, after
+ * which {@code nextToken} returns null at the end of the input, just as other
+ * JSonTokenizers do. Any number of whitespace-separated values may be fed in turn.</p>
+ * 
+ * <p>{@code nextDocument} builds whole values instead, returning each top-level
+ * JSonObject, JSonArray or other value once it is complete. A single JSonFeedParser
+ * should be read either through {@code nextToken} or through {@code nextDocument}, and
+ * may only be used by one thread at a time. Strings are decoded and checked as leniently
+ * as by the {@code JSonUtf8Reader}.</p>
+ * 
+ * <pre>
+ * JSonFeedParser Parser = new JSonFeedParser();
+ * for(ByteBuffer Fragment : Fragments){
+ *     Parser.feed(Fragment);
+ *     for(Object Document; (Document = Parser.nextDocument()) != null;){
+ *         handle(Document);
+ *     }
+ * }
+ * Parser.endOfInput();
+ * for(Object Document; (Document = Parser.nextDocument()) != null;){
+ *     handle(Document);
+ * }
+ * </pre>
+ * 
+ * <p>The last loop is needed, as a value at the very end of the input, such as a
+ * number, may only be known to be complete once {@code endOfInput} has been called.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonFeedParser implements JSonTokenizer{
+	
+	/**
+	 * Context values for the top level, a JSonObject, and a JSonArray
+	 */
+	private static final int CONTEXT_ROOT = 0;
+	private static final int CONTEXT_OBJECT = 1;
+	private static final int CONTEXT_ARRAY = 2;
+	
+	/**
+	 * The kinds of token which may be left in progress when the input runs out
+	 */
+	private static final int PARTIAL_NONE = 0;
+	private static final int PARTIAL_STRING = 1;
+	private static final int PARTIAL_NUMBER = 2;
+	private static final int PARTIAL_LITERAL = 3;
+	
+	/**
+	 * The largest number of digits that always fits within a {@code long}
+	 */
+	private static final int MAX_LONG_DIGITS = 18;
+	
+	/**
+	 * The fragment being consumed, or null if none has been fed
+	 */
+	private ByteBuffer Input;
+	
+	/**
+	 * Whether {@code endOfInput} has been called
+	 */
+	private boolean ended;
+	
+	/**
+	 * The number of bytes consumed from all fragments before the current one
+	 */
+	private long consumed;
+	
+	/**
+	 * The kind of token in progress, and whether a string in progress is a field name
+	 */
+	private int partial;
+	private boolean partialName;
+	
+	/**
+	 * Within a string in progress: 1 just after a backslash, 2 to 5 while reading the
+	 * hex digits of a unicode escape, and 0 otherwise
+	 */
+	private int escape;
+	
+	/**
+	 * The value of a unicode escape, or of a UTF-8 sequence, read so far, and the number
+	 * of continuation bytes its UTF-8 sequence still needs
+	 */
+	private int codePoint;
+	private int continuations;
+	
+	/**
+	 * The literal in progress, and the number of its characters matched so far
+	 */
+	private String Literal;
+	private int literalIndex;
+	private JSonToken LiteralToken;
+	
+	/**
+	 * The decoded text of the current string or number token
+	 */
+	private final StringBuilder Text = new StringBuilder();
+	
+	/**
+	 * The value of the current number, whether it has no fraction or exponent, and
+	 * whether it has few enough digits to be held in {@code longValue}
+	 */
+	private long longValue;
+	private boolean integralNumber;
+	private boolean fitsLong;
+	
+	/**
+	 * The enclosing contexts of the current token, and the field name
+	 * last read within each context
+	 */
+	private int[] Contexts = new int[32];
+	private String[] Names = new String[32];
+	private int depth;
+	
+	/**
+	 * Whether the current context needs a comma before its next value, whether it
+	 * has no values yet, whether a field name is awaiting its value, and whether that
+	 * field name is still awaiting its colon
+	 */
+	private boolean needsComma;
+	private boolean firstInContext;
+	private boolean afterName;
+	private boolean needsColon;
+	
+	/**
+	 * The depth to return to before the next token is returned, while a
+	 * {@code skipChildren} is waiting for input, or -1
+	 */
+	private int skipDepth = -1;
+	
+	/**
+	 * The last token returned by {@code nextToken}
+	 */
+	private JSonToken CurrentToken;
+	
+	/**
+	 * The JSonObjects and JSonArrays being built by {@code nextDocument}, as
+	 * {@code Map}s and {@code List}s, and the number of them
+	 */
+	private Object[] Building = new Object[32];
+	private int buildDepth;
+	
+	/**
+	 * Will create a {@code JSonFeedParser} awaiting its first fragment of input
+	 */
+	public JSonFeedParser(){
+		this.Contexts[0] = CONTEXT_ROOT;
+	}
+	
+	/**
+	 * Supplies the next fragment of the input, from its position to its limit
+	 * 
+	 * @param Fragment The UTF-8 encoded bytes following those fed before
+	 * @throws IllegalStateException If the previous fragment has not been fully
+	 * 		   consumed, or {@code endOfInput} has been called
+	 */
+	public void feed(ByteBuffer Fragment){
+		if(ended){
+			throw new IllegalStateException("The end of input has already been reached");
+		}else if(!needsInput()){
+			throw new IllegalStateException("The previous fragment has not been fully consumed");
+		}
+		if(Input != null){
+			consumed += Input.limit();
+		}
+		consumed -= Fragment.position();
+		Input = Fragment;
+	}
+	
+	/**
+	 * Supplies the next fragment of the input
+	 * 
+	 * @param Fragment The UTF-8 encoded bytes following those fed before
+	 * @param offset The index of the first byte of the fragment
+	 * @param length The number of bytes in the fragment
+	 * @throws IllegalStateException If the previous fragment has not been fully
+	 * 		   consumed, or {@code endOfInput} has been called
+	 */
+	public void feed(byte[] Fragment, int offset, int length){
+		feed(ByteBuffer.wrap(Fragment, offset, length));
+	}
+	
+	/**
+	 * Marks the end of the input, after which no more fragments may be fed. A token
+	 * left in progress is then completed if it is a number, or rejected otherwise.
+	 */
+	public void endOfInput(){
+		ended = true;
+	}
+	
+	/**
+	 * Returns whether all of the input fed so far has been consumed, so that
+	 * the next fragment may be fed
+	 * 
+	 * @return Whether the parser is waiting for input
+	 */
+	public boolean needsInput(){
+		return !ended && (Input == null || !Input.hasRemaining());
+	}
+	
+	/**
+	 * Returns whether {@code endOfInput} has been called
+	 * 
+	 * @return Whether the end of the input has been reached
+	 */
+	public boolean isEndOfInput(){
+		return ended;
+	}
+	
+	/**
+	 * Reads the next token from the input fed so far.
+	 * 
+	 * @return The next {@code JSonToken}, {@code JSonToken.NOT_AVAILABLE} if more input is
+	 * 		   needed to complete it, or null once the end of input has been reached
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	public JSonToken nextToken() throws JSonParseException{
+		if(skipDepth >= 0){
+			skipChildren();
+			return CurrentToken;
+		}
+		return CurrentToken = readToken();
+	}
+	
+	/**
+	 * Reads the next complete top-level value from the input fed so far. Values are
+	 * built as in {@code JSonConverter}: JSonObjects, JSonArrays, Strings, numbers as
+	 * returned by {@code getNumber}, Booleans and {@code JSonObject.NULL}.
+	 * 
+	 * @return The next value, or null if more input is needed to complete it, or the
+	 * 		   end of input has been reached
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	@SuppressWarnings("unchecked")
+	public Object nextDocument() throws JSonParseException{
+		while(true){
+			JSonToken Token = nextToken();
+			if(Token == null || Token == JSonToken.NOT_AVAILABLE){
+				return null;
+			}
+			Object Value;
+			switch(Token){
+				case START_OBJECT:
+					startBuilding(new JSonPropertyMap());
+					continue;
+				case START_ARRAY:
+					startBuilding(new ArrayList<Object>());
+					continue;
+				case FIELD_NAME:
+					continue;
+				case END_OBJECT:
+					Value = new JSonObject((Map<String, Object>)Building[--buildDepth]);
+					break;
+				case END_ARRAY:
+					Value = new JSonArray((List<Object>)Building[--buildDepth]);
+					break;
+				case VALUE_STRING:
+					Value = getString();
+					break;
+				case VALUE_NUMBER:
+					Value = getNumber();
+					break;
+				case VALUE_TRUE:
+					Value = Boolean.TRUE;
+					break;
+				case VALUE_FALSE:
+					Value = Boolean.FALSE;
+					break;
+				default:
+					Value = JSonObject.NULL;
+			}
+			Building[buildDepth] = null;
+			if(buildDepth == 0){
+				return Value;
+			}
+			Object Parent = Building[buildDepth - 1];
+			if(Parent instanceof Map){
+				((Map<String, Object>)Parent).put(Names[depth], Value);
+			}else{
+				((List<Object>)Parent).add(Value);
+			}
+		}
+	}
+	
+	public JSonToken getCurrentToken(){
+		return CurrentToken;
+	}
+	
+	public String getCurrentName(){
+		if(CurrentToken == JSonToken.START_OBJECT || CurrentToken == JSonToken.START_ARRAY){
+			return depth > 0 ? Names[depth - 1] : null;
+		}
+		return Names[depth];
+	}
+	
+	public String getString(){
+		if(CurrentToken == null){
+			return null;
+		}
+		switch(CurrentToken){
+			case FIELD_NAME:
+				return Names[depth];
+			case VALUE_STRING:
+			case VALUE_NUMBER:
+				return Text.toString();
+			case VALUE_TRUE:
+				return "true";
+			case VALUE_FALSE:
+				return "false";
+			case VALUE_NULL:
+				return "null";
+			default:
+				return null;
+		}
+	}
+	
+	public Number getNumber() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		try{
+			return JSonConverter.parseJSonNumber(Text, 0, Text.length());
+		}catch(NumberFormatException E){
+			throw error("Invalid number " + Text);
+		}
+	}
+	
+	public double getDouble() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		return getNumber().doubleValue();
+	}
+	
+	public long getLong() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		return getNumber().longValue();
+	}
+	
+	public boolean isIntegralNumber(){
+		return CurrentToken == JSonToken.VALUE_NUMBER && integralNumber;
+	}
+	
+	public boolean getBoolean() throws JSonParseException{
+		if(CurrentToken == JSonToken.VALUE_TRUE){
+			return true;
+		}else if(CurrentToken == JSonToken.VALUE_FALSE){
+			return false;
+		}
+		throw error("The current token is not a boolean");
+	}
+	
+	/**
+	 * If the current token is {@code START_OBJECT} or {@code START_ARRAY}, skips ahead to
+	 * its matching {@code END_OBJECT} or {@code END_ARRAY}. If the input runs out first,
+	 * the current token becomes {@code JSonToken.NOT_AVAILABLE}, and the skip is finished
+	 * by the following calls to {@code nextToken}, which return the matching end token.
+	 * 
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	public void skipChildren() throws JSonParseException{
+		if(skipDepth < 0){
+			if(CurrentToken != JSonToken.START_OBJECT && CurrentToken != JSonToken.START_ARRAY){
+				return;
+			}
+			skipDepth = depth - 1;
+		}
+		while(true){
+			JSonToken Token = readToken();
+			if(Token == JSonToken.NOT_AVAILABLE){
+				CurrentToken = Token;
+				return;
+			}else if(Token == null){
+				throw error("Unexpected end of input");
+			}else if(depth == skipDepth && (Token == JSonToken.END_OBJECT || Token == JSonToken.END_ARRAY)){
+				skipDepth = -1;
+				CurrentToken = Token;
+				return;
+			}
+		}
+	}
+	
+	public long getPosition(){
+		return consumed + (Input == null ? 0 : Input.position());
+	}
+	
+	/**
+	 * A {@code JSonFeedParser} holds no resources, so this only releases the current fragment.
+	 */
+	public void close() throws IOException{
+		if(Input != null){
+			consumed += Input.position();
+			Input = null;
+		}
+	}
+	
+	/**
+	 * Reads the next token, or finishes the one in progress
+	 */
+	private JSonToken readToken() throws JSonParseException{
+		switch(partial){
+			case PARTIAL_STRING:
+				return readString();
+			case PARTIAL_NUMBER:
+				return readNumber();
+			case PARTIAL_LITERAL:
+				return readLiteral();
+		}
+		while(true){
+			int Current = skipWhitespace();
+			if(Current < 0){
+				return endOfTokens();
+			}
+			if(needsColon){
+				if(Current != JSonConstants.JSON_PAIR){
+					throw error("Expected " + JSonConstants.JSON_PAIR);
+				}
+				Input.get();
+				needsColon = false;
+				continue;
+			}
+			switch(Contexts[depth]){
+				case CONTEXT_OBJECT:
+					if(afterName){
+						afterName = false;
+						return startValue(Current);
+					}
+					if(Current == JSonConstants.END_JSON_OBJECT && (needsComma || firstInContext)){
+						Input.get();
+						pop();
+						return JSonToken.END_OBJECT;
+					}
+					if(needsComma){
+						readComma(Current);
+						continue;
+					}
+					if(Current != JSonConstants.JSON_STRING){
+						throw error("Expected a name string");
+					}
+					Input.get();
+					return startString(true);
+				case CONTEXT_ARRAY:
+					if(Current == JSonConstants.END_JSON_ARRAY && (needsComma || firstInContext)){
+						Input.get();
+						pop();
+						return JSonToken.END_ARRAY;
+					}
+					if(needsComma){
+						readComma(Current);
+						continue;
+					}
+					return startValue(Current);
+				default:
+					return startValue(Current);
+			}
+		}
+	}
+	
+	/**
+	 * Returns null at the end of input outside of any value, or
+	 * {@code NOT_AVAILABLE} if more input may follow
+	 */
+	private JSonToken endOfTokens() throws JSonParseException{
+		if(!ended){
+			return JSonToken.NOT_AVAILABLE;
+		}else if(depth > 0 || afterName){
+			throw error("Unexpected end of input");
+		}
+		return null;
+	}
+	
+	/**
+	 * Starts the value whose first byte, {@code Current}, has not been consumed yet
+	 */
+	private JSonToken startValue(int Current) throws JSonParseException{
+		Input.get();
+		needsComma = true;
+		firstInContext = false;
+		switch(Current){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				push(CONTEXT_OBJECT);
+				return JSonToken.START_OBJECT;
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				push(CONTEXT_ARRAY);
+				return JSonToken.START_ARRAY;
+			case JSonConstants.JSON_STRING:
+				return startString(false);
+			case 't':
+			case 'T':
+				return startLiteral("true", JSonToken.VALUE_TRUE);
+			case 'f':
+			case 'F':
+				return startLiteral("false", JSonToken.VALUE_FALSE);
+			case 'n':
+			case 'N':
+				return startLiteral("null", JSonToken.VALUE_NULL);
+			default:
+				if(Current == '-' || (Current >= '0' && Current <= '9')){
+					Text.setLength(0);
+					Text.append((char)Current);
+					partial = PARTIAL_NUMBER;
+					return readNumber();
+				}
+				throw error("Unexpected character " + (char)Current);
+		}
+	}
+	
+	private JSonToken startString(boolean Name) throws JSonParseException{
+		Text.setLength(0);
+		partial = PARTIAL_STRING;
+		partialName = Name;
+		escape = 0;
+		continuations = 0;
+		return readString();
+	}
+	
+	private JSonToken startLiteral(String Literal, JSonToken Token) throws JSonParseException{
+		this.Literal = Literal;
+		this.LiteralToken = Token;
+		literalIndex = 1;
+		partial = PARTIAL_LITERAL;
+		return readLiteral();
+	}
+	
+	/**
+	 * Decodes the string in progress into {@code Text}, up to and including its closing
+	 * quote. Unknown escapes are kept as-is, and malformed UTF-8 is replaced with U+FFFD.
+	 */
+	private JSonToken readString() throws JSonParseException{
+		ByteBuffer Input = this.Input;
+		while(Input != null && Input.hasRemaining()){
+			int Current = Input.get() & 0xFF;
+			if(continuations > 0){
+				if((Current & 0xC0) == 0x80){
+					codePoint = (codePoint << 6) | (Current & 0x3F);
+					if(--continuations == 0){
+						appendCodePoint();
+					}
+					continue;
+				}
+				// The sequence was cut short, so the byte is read afresh
+				Text.append('\uFFFD');
+				continuations = 0;
+			}
+			if(escape == 1){
+				escape = 0;
+				if(readEscape(Current)){
+					continue;
+				}
+			}else if(escape > 1){
+				int Digit = Character.digit(Current, 16);
+				if(Digit < 0){
+					throw error("Invalid unicode escape");
+				}
+				codePoint = (codePoint << 4) | Digit;
+				if(++escape == 6){
+					Text.append((char)codePoint);
+					escape = 0;
+				}
+				continue;
+			}else if(Current == JSonConstants.JSON_STRING){
+				partial = PARTIAL_NONE;
+				if(partialName){
+					Names[depth] = JSonKeyCache.intern(Text, 0, Text.length());
+					afterName = true;
+					needsColon = true;
+					return JSonToken.FIELD_NAME;
+				}
+				return JSonToken.VALUE_STRING;
+			}else if(Current == '\\'){
+				escape = 1;
+				continue;
+			}
+			if(Current < 0x80){
+				Text.append((char)Current);
+			}else if((Current & 0xE0) == 0xC0){
+				codePoint = Current & 0x1F;
+				continuations = 1;
+			}else if((Current & 0xF0) == 0xE0){
+				codePoint = Current & 0x0F;
+				continuations = 2;
+			}else if((Current & 0xF8) == 0xF0){
+				codePoint = Current & 0x07;
+				continuations = 3;
+			}else{
+				Text.append('\uFFFD');
+			}
+		}
+		if(ended){
+			throw error("Unterminated string");
+		}
+		return JSonToken.NOT_AVAILABLE;
+	}
+	
+	/**
+	 * Decodes the escaped byte {@code Escaped} following a backslash into {@code Text}
+	 * 
+	 * @return Whether it was decoded, or whether it should be read as a plain byte
+	 * 		   following a literal backslash
+	 */
+	private boolean readEscape(int Escaped){
+		switch(Escaped){
+			case '"':
+			case '\\':
+			case '/':
+				Text.append((char)Escaped);
+				return true;
+			case 'b':
+				Text.append('\b');
+				return true;
+			case 'f':
+				Text.append('\f');
+				return true;
+			case 'n':
+				Text.append('\n');
+				return true;
+			case 'r':
+				Text.append('\r');
+				return true;
+			case 't':
+				Text.append('\t');
+				return true;
+			case 'u':
+				codePoint = 0;
+				escape = 2;
+				return true;
+			default:
+				Text.append('\\');
+				return false;
+		}
+	}
+	
+	private void appendCodePoint(){
+		if(codePoint > Character.MAX_CODE_POINT){
+			Text.append('\uFFFD');
+		}else{
+			Text.appendCodePoint(codePoint);
+		}
+	}
+	
+	/**
+	 * Reads the number in progress into {@code Text}. A number can only be known to be
+	 * complete once a byte which is not part of it has been seen, or the input has ended.
+	 */
+	private JSonToken readNumber() throws JSonParseException{
+		ByteBuffer Input = this.Input;
+		while(Input != null && Input.hasRemaining()){
+			int Current = Input.get(Input.position());
+			if((Current >= '0' && Current <= '9') || Current == '-' || Current == '+'
+				 || Current == '.' || Current == 'e' || Current == 'E'){
+				Text.append((char)Current);
+				Input.get();
+			}else{
+				return endNumber();
+			}
+		}
+		return (ended ? endNumber() : JSonToken.NOT_AVAILABLE);
+	}
+	
+	/**
+	 * Completes the number in {@code Text}, checking it is well formed and accumulating
+	 * its value into {@code longValue} if it is integral
+	 */
+	private JSonToken endNumber() throws JSonParseException{
+		partial = PARTIAL_NONE;
+		integralNumber = true;
+		boolean negative = Text.charAt(0) == '-';
+		int end = skipDigits(negative ? 1 : 0);
+		boolean valid = end > (negative ? 1 : 0);
+		if(valid && end < Text.length() && Text.charAt(end) == '.'){
+			int start = end + 1;
+			end = skipDigits(start);
+			valid = end > start;
+		}
+		if(valid && end < Text.length() && (Text.charAt(end) == 'e' || Text.charAt(end) == 'E')){
+			int start = end + 1;
+			if(start < Text.length() && (Text.charAt(start) == '+' || Text.charAt(start) == '-')){
+				start++;
+			}
+			end = skipDigits(start);
+			valid = end > start;
+		}
+		if(!valid || end != Text.length()){
+			throw error("Invalid number " + Text);
+		}
+		long Value = 0;
+		int digits = 0;
+		for(int i = 0; i < Text.length(); i++){
+			char Current = Text.charAt(i);
+			if(Current >= '0' && Current <= '9'){
+				Value = Value * 10 + (Current - '0');
+				digits++;
+			}else if(Current == '.' || Current == 'e' || Current == 'E'){
+				integralNumber = false;
+			}
+		}
+		fitsLong = digits > 0 && digits <= MAX_LONG_DIGITS && Text.length() == digits + (negative ? 1 : 0);
+		longValue = negative ? -Value : Value;
+		return JSonToken.VALUE_NUMBER;
+	}
+	
+	/**
+	 * Returns the index of the first character of {@code Text} from {@code index} on which is not a digit
+	 */
+	private int skipDigits(int index){
+		while(index < Text.length() && Text.charAt(index) >= '0' && Text.charAt(index) <= '9'){
+			index++;
+		}
+		return index;
+	}
+	
+	/**
+	 * Matches the rest of the literal in progress, ignoring case
+	 */
+	private JSonToken readLiteral() throws JSonParseException{
+		ByteBuffer Input = this.Input;
+		while(literalIndex < Literal.length()){
+			if(Input == null || !Input.hasRemaining()){
+				if(ended){
+					throw error("Expected " + Literal);
+				}
+				return JSonToken.NOT_AVAILABLE;
+			}
+			int Current = Input.get() & 0xFF;
+			if(Character.toLowerCase((char)Current) != Literal.charAt(literalIndex++)){
+				throw error("Expected " + Literal);
+			}
+		}
+		partial = PARTIAL_NONE;
+		return LiteralToken;
+	}
+	
+	/**
+	 * Consumes the comma separating the values of a JSonObject or JSonArray
+	 */
+	private void readComma(int Current) throws JSonParseException{
+		if(Current != JSonConstants.JSON_COMMA){
+			throw error("Expected , or "
+				 + (Contexts[depth] == CONTEXT_OBJECT ? JSonConstants.END_JSON_OBJECT : JSonConstants.END_JSON_ARRAY));
+		}
+		Input.get();
+		needsComma = false;
+	}
+	
+	/**
+	 * Ensures the current token is a number
+	 */
+	private void checkNumber() throws JSonParseException{
+		if(CurrentToken != JSonToken.VALUE_NUMBER){
+			throw error("The current token is not a number");
+		}
+	}
+	
+	/**
+	 * Enters a new JSonObject or JSonArray context
+	 */
+	private void push(int Context){
+		if(++depth == Contexts.length){
+			Contexts = Arrays.copyOf(Contexts, depth * 2);
+			Names = Arrays.copyOf(Names, depth * 2);
+		}
+		Contexts[depth] = Context;
+		Names[depth] = null;
+		needsComma = false;
+		firstInContext = true;
+	}
+	
+	/**
+	 * Leaves the current JSonObject or JSonArray context
+	 */
+	private void pop(){
+		Names[depth--] = null;
+		needsComma = true;
+		firstInContext = false;
+	}
+	
+	/**
+	 * Adds a JSonObject or JSonArray to those being built by {@code nextDocument}
+	 */
+	private void startBuilding(Object Container){
+		if(buildDepth == Building.length){
+			Building = Arrays.copyOf(Building, buildDepth * 2);
+		}
+		Building[buildDepth++] = Container;
+	}
+	
+	/**
+	 * Advances past any whitespace, returning the next byte
+	 * without consuming it, or -1 if the input fed so far has run out.
+	 */
+	private int skipWhitespace(){
+		ByteBuffer Input = this.Input;
+		if(Input == null){
+			return -1;
+		}
+		while(Input.hasRemaining()){
+			int Current = Input.get(Input.position()) & 0xFF;
+			if(Current > ' '){
+				return Current;
+			}
+			Input.get();
+		}
+		return -1;
+	}
+	
+	/**
+	 * Creates a {@code JSonParseException} at the current position
+	 */
+	private JSonParseException error(String Cause){
+		return new JSonParseException(Cause, (int)Math.min(Integer.MAX_VALUE, getPosition()));
+	}
+}
@@ -0,0 +1,111 @@
+package com.hightide.jjson;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonHandler receives the contents of a JSon String as a series of callbacks,
+ * in the order they appear in the input, from {@code JSonConverter.parseJSonString}
+ * or {@code JSonConverter.parseJSonReader}. No {@code JSonObject} or {@code JSonArray}
+ * is built while doing so, making a JSonHandler well suited to inputs where only
+ * a few values are of interest. An example of the callbacks made for the input
+ * {@code {"name":"CodeMonkey", "jobs":[1, true]}} is as follows:
+ * 
+ * <pre>
+ * startObject()
+ * key("name")
+ * value("CodeMonkey")
+ * key("jobs")
+ * startArray()
+ * value(1L)
+ * value(true)
+ * endArray()
+ * endObject()
+ * </pre>
+ * 
+ * <p>Numbers without a fraction or exponent which fit within a {@code long} are
+ * passed to {@code value(long)}; all other numbers are passed to {@code value(double)}.
+ * {@code JSonDefaultHandler} may be extended when only some of the callbacks are needed.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public interface JSonHandler{
+	
+	/**
+	 * Called at the opening brace of a JSonObject
+	 */
+	void startObject();
+	
+	/**
+	 * Called at the closing brace of a JSonObject
+	 */
+	void endObject();
+	
+	/**
+	 * Called at the opening bracket of a JSonArray
+	 */
+	void startArray();
+	
+	/**
+	 * Called at the closing bracket of a JSonArray
+	 */
+	void endArray();
+	
+	/**
+	 * Called with the name of each name/value pair, before its value
+	 * 
+	 * @param Name The name of the pair
+	 */
+	void key(String Name);
+	
+	/**
+	 * Called with each JSon String value
+	 * 
+	 * @param Value The decoded string
+	 */
+	void value(String Value);
+	
+	/**
+	 * Called with each JSon number value that has a fraction or exponent,
+	 * or that does not fit within a {@code long}
+	 * 
+	 * @param Value The number
+	 */
+	void value(double Value);
+	
+	/**
+	 * Called with each integral JSon number value
+	 * 
+	 * @param Value The number
+	 */
+	void value(long Value);
+	
+	/**
+	 * Called with each JSon true or false value
+	 * 
+	 * @param Value The boolean
+	 */
+	void value(boolean Value);
+	
+	/**
+	 * Called with each JSon null value
+	 */
+	void nullValue();
+}
@@ -0,0 +1,158 @@
+package com.hightide.jjson;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonKeyCache is a bounded table of canonical name strings, consulted by the
+ * parsers before they allocate the name of a name/value pair. A name is looked up by
+ * the hash of its raw characters or bytes in the input, so a name which has been seen
+ * before, in this document or any earlier one, is returned without any allocation,
+ * and every occurrence of it shares the same {@code java.lang.String}.
+ * 
+ * <p>The table is direct-mapped: each name has a single slot, chosen by its hash, and
+ * a name that collides with another simply replaces it. The table is shared by all
+ * threads without locking, which is safe as a slot only ever holds a complete,
+ * immutable {@code String}; at worst a racing lookup misses and allocates.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonKeyCache{
+	
+	/**
+	 * The number of slots in the table, which must be a power of two
+	 */
+	private static final int TABLE_SIZE = 4096;
+	
+	/**
+	 * The longest name that is cached, in chars
+	 */
+	private static final int MAX_KEY_LENGTH = 64;
+	
+	/**
+	 * The cached names
+	 */
+	private static final String[] TABLE = new String[TABLE_SIZE];
+	
+	private JSonKeyCache(){
+	}
+	
+	/**
+	 * Returns the canonical string for the characters between {@code beginIndex}
+	 * and {@code endIndex} of {@code Source}
+	 * 
+	 * @param Source The characters holding the name
+	 * @param beginIndex The index of the first character of the name
+	 * @param endIndex The index just past the last character of the name
+	 * @return A {@code String} equal to the name
+	 */
+	static String intern(CharSequence Source, int beginIndex, int endIndex){
+		int length = endIndex - beginIndex;
+		if(length > MAX_KEY_LENGTH){
+			return Source.subSequence(beginIndex, endIndex).toString();
+		}
+		int hash = 0;
+		for(int i = beginIndex; i < endIndex; i++){
+			hash = 31 * hash + Source.charAt(i);
+		}
+		int slot = spread(hash);
+		String Cached = TABLE[slot];
+		if(Cached != null && Cached.length() == length && matches(Cached, Source, beginIndex)){
+			return Cached;
+		}
+		String Key = Source.subSequence(beginIndex, endIndex).toString();
+		TABLE[slot] = Key;
+		return Key;
+	}
+	
+	/**
+	 * Returns the canonical string for the ASCII bytes between {@code beginIndex}
+	 * and {@code endIndex} of {@code Source}
+	 * 
+	 * @param Source The bytes holding the name, which must all be ASCII
+	 * @param beginIndex The index of the first byte of the name
+	 * @param endIndex The index just past the last byte of the name
+	 * @return A {@code String} equal to the name
+	 */
+	static String intern(ByteBuffer Source, int beginIndex, int endIndex){
+		int length = endIndex - beginIndex;
+		if(length > MAX_KEY_LENGTH){
+			return ascii(Source, beginIndex, length);
+		}
+		int hash = 0;
+		for(int i = beginIndex; i < endIndex; i++){
+			hash = 31 * hash + Source.get(i);
+		}
+		int slot = spread(hash);
+		String Cached = TABLE[slot];
+		if(Cached != null && Cached.length() == length){
+			int i = 0;
+			while(i < length && Cached.charAt(i) == Source.get(beginIndex + i)){
+				i++;
+			}
+			if(i == length){
+				return Cached;
+			}
+		}
+		String Key = ascii(Source, beginIndex, length);
+		TABLE[slot] = Key;
+		return Key;
+	}
+	
+	/**
+	 * Returns whether {@code Cached} matches the characters of {@code Source}
+	 * starting at {@code beginIndex}
+	 */
+	private static boolean matches(String Cached, CharSequence Source, int beginIndex){
+		if(Source instanceof String){
+			return ((String)Source).regionMatches(beginIndex, Cached, 0, Cached.length());
+		}
+		for(int i = 0; i < Cached.length(); i++){
+			if(Cached.charAt(i) != Source.charAt(beginIndex + i)){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Creates a string from {@code length} ASCII bytes of {@code Source}
+	 */
+	private static String ascii(ByteBuffer Source, int beginIndex, int length){
+		if(Source.hasArray()){
+			return new String(Source.array(), Source.arrayOffset() + beginIndex, length, StandardCharsets.ISO_8859_1);
+		}
+		byte[] Bytes = new byte[length];
+		for(int i = 0; i < length; i++){
+			Bytes[i] = Source.get(beginIndex + i);
+		}
+		return new String(Bytes, StandardCharsets.ISO_8859_1);
+	}
+	
+	/**
+	 * Spreads the higher bits of {@code hash} into a slot of the table
+	 */
+	private static int spread(int hash){
+		return (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+	}
+}
@@ -0,0 +1,126 @@
+package com.hightide.jjson;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonLazyList is the {@code java.util.List} behind a lazily decoded {@code JSonArray},
+ * reading its values from a {@code JSonTape}. The positions of the values are found the
+ * first time the list is accessed, but each value is only decoded the first time it is
+ * read, and is then kept. Values may be added, replaced and removed as in any other list.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonLazyList extends AbstractList<Object> implements RandomAccess, Serializable{
+	
+	/**
+	 * Serializable ID for the JSonLazyList
+	 */
+	private static final long serialVersionUID = -3349608163531930224L;
+	
+	/**
+	 * The tape holding the JSonArray, and the index of its node
+	 */
+	private final transient JSonTape Tape;
+	private final transient int node;
+	
+	/**
+	 * The values or their placeholders, or null if the list has not been accessed yet
+	 */
+	private transient ArrayList<Object> Elements;
+	
+	/**
+	 * Will create a {@code JSonLazyList} over the JSonArray at {@code node} of {@code Tape}
+	 * 
+	 * @param Tape The tape holding the JSonArray
+	 * @param node The index of the JSonArray's node
+	 */
+	JSonLazyList(JSonTape Tape, int node){
+		this.Tape = Tape;
+		this.node = node;
+	}
+	
+	@Override
+	public int size(){
+		return elements().size();
+	}
+	
+	@Override
+	public Object get(int Index){
+		Object Value = elements().get(Index);
+		if(Value instanceof JSonTape.Pending){
+			Value = Tape.decode(((JSonTape.Pending)Value).node);
+			Elements.set(Index, Value);
+		}
+		return Value;
+	}
+	
+	@Override
+	public Object set(int Index, Object Value){
+		Object OldValue = get(Index);
+		Elements.set(Index, Value);
+		return OldValue;
+	}
+	
+	@Override
+	public void add(int Index, Object Value){
+		elements().add(Index, Value);
+		modCount++;
+	}
+	
+	@Override
+	public Object remove(int Index){
+		Object OldValue = get(Index);
+		Elements.remove(Index);
+		modCount++;
+		return OldValue;
+	}
+	
+	/**
+	 * Returns the values, finding their positions if this is the first access
+	 */
+	private ArrayList<Object> elements(){
+		ArrayList<Object> Found = Elements;
+		if(Found == null){
+			Found = new ArrayList<Object>();
+			int end = Tape.next(node);
+			for(int child = node + 1; child < end; child = Tape.next(child)){
+				Found.add(new JSonTape.Pending(child));
+			}
+			Elements = Found;
+		}
+		return Found;
+	}
+	
+	/**
+	 * Serializes a fully decoded copy of this list, rather than its tape
+	 * 
+	 * @return An {@code ArrayList} holding the values of this list
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new ArrayList<Object>(this);
+	}
+}
@@ -0,0 +1,216 @@
+package com.hightide.jjson;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonLazyMap is the {@code java.util.Map} behind a lazily decoded {@code JSonObject},
+ * reading its name/value pairs from a {@code JSonTape}. The names are all decoded the
+ * first time the map is accessed, into a {@code JSonPropertyMap} whose values start out
+ * as placeholders; each value is then decoded the first time it is read, and kept.
+ * Values may be added, replaced and removed as in any other map.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonLazyMap extends AbstractMap<String, Object> implements Serializable{
+	
+	/**
+	 * Serializable ID for the JSonLazyMap
+	 */
+	private static final long serialVersionUID = 6049180467914285710L;
+	
+	/**
+	 * The tape holding the JSonObject, and the index of its node
+	 */
+	private final transient JSonTape Tape;
+	private final transient int node;
+	
+	/**
+	 * The decoded names, mapped to their values or their placeholders,
+	 * or null if the map has not been accessed yet
+	 */
+	private transient JSonPropertyMap Properties;
+	
+	/**
+	 * Will create a {@code JSonLazyMap} over the JSonObject at {@code node} of {@code Tape}
+	 * 
+	 * @param Tape The tape holding the JSonObject
+	 * @param node The index of the JSonObject's node
+	 */
+	JSonLazyMap(JSonTape Tape, int node){
+		this.Tape = Tape;
+		this.node = node;
+	}
+	
+	@Override
+	public int size(){
+		return properties().size();
+	}
+	
+	@Override
+	public boolean containsKey(Object Key){
+		return properties().containsKey(Key);
+	}
+	
+	@Override
+	public Object get(Object Key){
+		Object Value = properties().get(Key);
+		if(Value instanceof JSonTape.Pending){
+			Value = Tape.decode(((JSonTape.Pending)Value).node);
+			Properties.put((String)Key, Value);
+		}
+		return Value;
+	}
+	
+	@Override
+	public Object put(String Key, Object Value){
+		Object OldValue = get(Key);
+		Properties.put(Key, Value);
+		return OldValue;
+	}
+	
+	@Override
+	public Object remove(Object Key){
+		Object OldValue = get(Key);
+		Properties.remove(Key);
+		return OldValue;
+	}
+	
+	@Override
+	public void clear(){
+		properties().clear();
+	}
+	
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet(){
+		return new AbstractSet<Map.Entry<String, Object>>(){
+			
+			@Override
+			public int size(){
+				return properties().size();
+			}
+			
+			@Override
+			public Iterator<Map.Entry<String, Object>> iterator(){
+				final Iterator<Map.Entry<String, Object>> Entries = properties().entrySet().iterator();
+				return new Iterator<Map.Entry<String, Object>>(){
+					
+					public boolean hasNext(){
+						return Entries.hasNext();
+					}
+					
+					public Map.Entry<String, Object> next(){
+						return new LazyEntry(Entries.next());
+					}
+					
+					public void remove(){
+						Entries.remove();
+					}
+				};
+			}
+		};
+	}
+	
+	/**
+	 * Returns the decoded names, decoding them if this is the first access
+	 */
+	private JSonPropertyMap properties(){
+		JSonPropertyMap Decoded = Properties;
+		if(Decoded == null){
+			Decoded = new JSonPropertyMap();
+			int end = Tape.next(node);
+			for(int child = node + 1; child < end; child = Tape.next(child + 1)){
+				Decoded.put(Tape.decodeKey(child), new JSonTape.Pending(child + 1));
+			}
+			Properties = Decoded;
+		}
+		return Decoded;
+	}
+	
+	/**
+	 * Serializes a fully decoded copy of this map, rather than its tape
+	 * 
+	 * @return A {@code JSonPropertyMap} holding the pairs of this map
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new JSonPropertyMap(this);
+	}
+	
+	/**
+	 * A pair of the map, whose value is decoded the first time it is read
+	 */
+	private final class LazyEntry implements Map.Entry<String, Object>{
+		
+		private final Map.Entry<String, Object> Entry;
+		
+		LazyEntry(Map.Entry<String, Object> Entry){
+			this.Entry = Entry;
+		}
+		
+		public String getKey(){
+			return Entry.getKey();
+		}
+		
+		public Object getValue(){
+			Object Value = Entry.getValue();
+			if(Value instanceof JSonTape.Pending){
+				Value = Tape.decode(((JSonTape.Pending)Value).node);
+				Entry.setValue(Value);
+			}
+			return Value;
+		}
+		
+		public Object setValue(Object Value){
+			Object OldValue = getValue();
+			Entry.setValue(Value);
+			return OldValue;
+		}
+		
+		@Override
+		public boolean equals(Object Other){
+			if(!(Other instanceof Map.Entry)){
+				return false;
+			}
+			Map.Entry<?, ?> OtherEntry = (Map.Entry<?, ?>)Other;
+			Object Value = getValue();
+			return getKey().equals(OtherEntry.getKey())
+				 && (Value == null ? OtherEntry.getValue() == null : Value.equals(OtherEntry.getValue()));
+		}
+		
+		@Override
+		public int hashCode(){
+			Object Value = getValue();
+			return getKey().hashCode() ^ (Value == null ? 0 : Value.hashCode());
+		}
+		
+		@Override
+		public String toString(){
+			return getKey() + "=" + getValue();
+		}
+	}
+}
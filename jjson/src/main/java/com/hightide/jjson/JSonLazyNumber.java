@@ -0,0 +1,141 @@
+package com.hightide.jjson;
+
+import java.io.ObjectStreamException;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonLazyNumber is a JSon number which keeps its place in the JSon String it was
+ * parsed from, and is only converted into a {@code Long}, {@code Double} or
+ * {@code java.math.BigDecimal} the first time its value is asked for. JSonLazyNumbers
+ * are created by the {@code JSonConverter} when parsing with lazy numbers enabled,
+ * so that numbers which are never read cost no conversion.
+ * 
+ * <p>As a JSonLazyNumber refers to the whole of the JSon String it came from, that
+ * string is kept in memory for as long as the number is. The {@code toString} of a
+ * JSonLazyNumber is the number exactly as it was written, and a JSonLazyNumber is
+ * serialized as its converted value.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonLazyNumber extends Number{
+	
+	/**
+	 * Serializable ID for the JSonLazyNumber
+	 */
+	private static final long serialVersionUID = 2871463380937125140L;
+	
+	/**
+	 * The JSon String the number was parsed from, and its bounds within it
+	 */
+	private final String JSonString;
+	private final int beginIndex;
+	private final int endIndex;
+	
+	/**
+	 * The converted value, or null if it has not been asked for yet
+	 */
+	private Number Value;
+	
+	/**
+	 * Will create a {@code JSonLazyNumber} for the valid JSon number
+	 * between {@code beginIndex} and {@code endIndex} of {@code JSonString}
+	 * 
+	 * @param JSonString The JSon String the number was parsed from
+	 * @param beginIndex The index of the first character of the number
+	 * @param endIndex The index just past the last character of the number
+	 */
+	JSonLazyNumber(String JSonString, int beginIndex, int endIndex){
+		this.JSonString = JSonString;
+		this.beginIndex = beginIndex;
+		this.endIndex = endIndex;
+	}
+	
+	/**
+	 * Returns the converted value of this number, converting it if this
+	 * is the first time it has been asked for.
+	 * 
+	 * @return A {@code Long}, {@code Double} or {@code java.math.BigDecimal}
+	 */
+	public Number getValue(){
+		Number Converted = Value;
+		if(Converted == null){
+			Value = Converted = JSonConverter.parseJSonNumber(JSonString, beginIndex, endIndex);
+		}
+		return Converted;
+	}
+	
+	@Override
+	public int intValue(){
+		return getValue().intValue();
+	}
+	
+	@Override
+	public long longValue(){
+		return getValue().longValue();
+	}
+	
+	@Override
+	public float floatValue(){
+		return getValue().floatValue();
+	}
+	
+	@Override
+	public double doubleValue(){
+		return getValue().doubleValue();
+	}
+	
+	/**
+	 * Determines if {@code Other} is a JSonLazyNumber of the same value
+	 * 
+	 * @param Other The object to compare
+	 * @return If {@code Other} is equal to this number
+	 */
+	@Override
+	public boolean equals(Object Other){
+		return Other instanceof JSonLazyNumber && getValue().equals(((JSonLazyNumber)Other).getValue());
+	}
+	
+	@Override
+	public int hashCode(){
+		return getValue().hashCode();
+	}
+	
+	/**
+	 * Returns the number exactly as it was written in its JSon String
+	 * 
+	 * @return The text of the number
+	 */
+	@Override
+	public String toString(){
+		return JSonString.substring(beginIndex, endIndex);
+	}
+	
+	/**
+	 * Serializes the converted value in place of this number, rather
+	 * than the whole of the JSon String it refers to.
+	 * 
+	 * @return The converted value of this number
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return getValue();
+	}
+}
@@ -0,0 +1,365 @@
+package com.hightide.jjson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonLinesReader reads newline-delimited JSon (JSON Lines), in which every line of
+ * UTF-8 encoded input holds a single JSonObject, and parses the lines on several threads
+ * at once. The input is read in chunks of about a megabyte, each ending on a line break,
+ * and each chunk is parsed as a whole on an {@code java.util.concurrent.Executor}, by
+ * default the common {@code ForkJoinPool}, decoding each line and parsing it with the
+ * {@code JSonParser}. Only a few chunks per thread are read ahead
+ * of the JSonObjects already delivered, so memory use does not grow with the input.
+ * 
+ * <p>The JSonObjects are delivered on the calling thread, through {@code forEach} or
+ * {@code stream}, either in input order or, for an unordered reader, in the order their
+ * chunks finish parsing. Blank lines are skipped.</p>
+ * 
+ * <p>A JSonLinesReader may only be read once, and may not be read by several threads at once.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonLinesReader implements Closeable{
+	
+	/**
+	 * The size of the chunks the input is split into, unless a line is longer
+	 */
+	private static final int CHUNK_SIZE = 1 << 20;
+	
+	/**
+	 * The input, and the bytes read from it past the end of the last chunk
+	 */
+	private final InputStream Input;
+	private byte[] Remainder = new byte[0];
+	private boolean endOfInput;
+	
+	/**
+	 * The number of bytes of the buffer last returned by {@code readChunk} that belong to its chunk
+	 */
+	private int chunkLength;
+	
+	/**
+	 * The offset in the input of the next chunk
+	 */
+	private long chunkOffset;
+	
+	/**
+	 * The executor parsing the chunks, and how many chunks may be read ahead
+	 */
+	private final Executor Executor;
+	private final int maxPending;
+	
+	/**
+	 * Whether the JSonObjects are delivered in input order
+	 */
+	private final boolean ordered;
+	
+	/**
+	 * The chunks being parsed, in input order if {@code ordered}
+	 */
+	private final ArrayDeque<Future<List<JSonObject>>> Pending = new ArrayDeque<Future<List<JSonObject>>>();
+	private final ExecutorCompletionService<List<JSonObject>> Completed;
+	private int pendingCount;
+	
+	/**
+	 * Will create a {@code JSonLinesReader} over {@code Input}, parsing on the common
+	 * {@code ForkJoinPool} and delivering the JSonObjects in input order
+	 * 
+	 * @param Input The UTF-8 encoded newline-delimited JSon to read
+	 */
+	public JSonLinesReader(InputStream Input){
+		this(Input, ForkJoinPool.commonPool(), true);
+	}
+	
+	/**
+	 * Will create a {@code JSonLinesReader} over {@code Input}, parsing on {@code Executor}
+	 * 
+	 * @param Input The UTF-8 encoded newline-delimited JSon to read
+	 * @param Executor The executor to parse the chunks of {@code Input} on
+	 * @param ordered Whether the JSonObjects are delivered in input order
+	 */
+	public JSonLinesReader(InputStream Input, Executor Executor, boolean ordered){
+		this.Input = Input;
+		this.Executor = Executor;
+		this.ordered = ordered;
+		this.Completed = (ordered ? null : new ExecutorCompletionService<List<JSonObject>>(Executor));
+		int parallelism = (Executor instanceof ForkJoinPool ? ((ForkJoinPool)Executor).getParallelism()
+			 : Runtime.getRuntime().availableProcessors());
+		this.maxPending = Math.max(2, parallelism * 2);
+	}
+	
+	/**
+	 * Will create a {@code JSonLinesReader} over the file at {@code JSonPath}, parsing on
+	 * the common {@code ForkJoinPool} and delivering the JSonObjects in input order
+	 * 
+	 * @param JSonPath The UTF-8 encoded newline-delimited JSon file to read
+	 * @throws IOException If the file could not be opened
+	 */
+	public JSonLinesReader(Path JSonPath) throws IOException{
+		this(Files.newInputStream(JSonPath));
+	}
+	
+	/**
+	 * Passes every JSonObject of the input to {@code Action}, on the calling thread
+	 * 
+	 * @param Action The action to perform on each JSonObject
+	 * @throws IOException If the input could not be read
+	 * @throws JSonParseException If a line is not a correctly formatted JSonObject
+	 */
+	public void forEach(Consumer<? super JSonObject> Action) throws IOException, JSonParseException{
+		List<JSonObject> Batch;
+		while((Batch = nextBatch()) != null){
+			for(JSonObject Object : Batch){
+				Action.accept(Object);
+			}
+		}
+	}
+	
+	/**
+	 * Returns a sequential {@code Stream} of the JSonObjects of the input, read as the
+	 * stream is consumed. Closing the stream closes this reader. Errors reading or parsing
+	 * the input are thrown from the stream as an {@code IllegalStateException} whose cause
+	 * is the {@code IOException} or {@code JSonParseException}.
+	 * 
+	 * @return A {@code Stream} of the JSonObjects of the input
+	 */
+	public Stream<JSonObject> stream(){
+		Iterator<JSonObject> Objects = new Iterator<JSonObject>(){
+			
+			private List<JSonObject> Batch = new ArrayList<JSonObject>(0);
+			private int batchIndex;
+			
+			public boolean hasNext(){
+				while(Batch != null && batchIndex == Batch.size()){
+					try{
+						Batch = nextBatch();
+					}catch(IOException E){
+						throw new IllegalStateException(E);
+					}catch(JSonParseException E){
+						throw new IllegalStateException(E);
+					}
+					batchIndex = 0;
+				}
+				return Batch != null;
+			}
+			
+			public JSonObject next(){
+				if(!hasNext()){
+					throw new NoSuchElementException();
+				}
+				return Batch.get(batchIndex++);
+			}
+		};
+		int Characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(Objects, Characteristics), false).onClose(new Runnable(){
+			
+			public void run(){
+				try{
+					close();
+				}catch(IOException E){
+					throw new IllegalStateException(E);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Closes the input and abandons any chunks still being parsed
+	 * 
+	 * @throws IOException If the input could not be closed
+	 */
+	public void close() throws IOException{
+		for(Future<List<JSonObject>> Chunk : Pending){
+			Chunk.cancel(false);
+		}
+		Pending.clear();
+		pendingCount = 0;
+		endOfInput = true;
+		Input.close();
+	}
+	
+	/**
+	 * Submits chunks until {@code maxPending} are being parsed or the input is
+	 * exhausted, then returns the JSonObjects of the next chunk to be delivered,
+	 * or null if there are none left.
+	 */
+	private List<JSonObject> nextBatch() throws IOException, JSonParseException{
+		while(pendingCount < maxPending && !endOfInput){
+			byte[] Chunk = readChunk();
+			if(Chunk != null){
+				submit(new ChunkParser(Chunk, chunkLength, chunkOffset));
+				chunkOffset += chunkLength;
+			}
+		}
+		if(pendingCount == 0){
+			return null;
+		}
+		pendingCount--;
+		try{
+			Future<List<JSonObject>> Chunk = (ordered ? Pending.poll() : Completed.take());
+			if(!ordered){
+				Pending.remove(Chunk);
+			}
+			return Chunk.get();
+		}catch(InterruptedException E){
+			Thread.currentThread().interrupt();
+			throw new IOException(E);
+		}catch(ExecutionException E){
+			// Rethrown as the chunk threw it, so callers see what they would have sequentially
+			Throwable Cause = E.getCause();
+			if(Cause instanceof JSonParseException){
+				throw (JSonParseException)Cause;
+			}else if(Cause instanceof IOException){
+				throw (IOException)Cause;
+			}else if(Cause instanceof RuntimeException){
+				throw (RuntimeException)Cause;
+			}else if(Cause instanceof Error){
+				throw (Error)Cause;
+			}
+			throw new IllegalStateException(Cause);
+		}
+	}
+	
+	/**
+	 * Submits {@code Parser} to the executor
+	 */
+	private void submit(ChunkParser Parser){
+		if(ordered){
+			FutureTask<List<JSonObject>> Task = new FutureTask<List<JSonObject>>(Parser);
+			Executor.execute(Task);
+			Pending.add(Task);
+		}else{
+			Pending.add(Completed.submit(Parser));
+		}
+		pendingCount++;
+	}
+	
+	/**
+	 * Reads the next chunk of the input into a new buffer, filling it before looking for
+	 * the last line break in it, and returns the buffer, or null if the input has been
+	 * exhausted. The chunk is the first {@code chunkLength} bytes of the buffer, and ends
+	 * just past a line break or at the end of the input.
+	 */
+	private byte[] readChunk() throws IOException{
+		byte[] Buffer = Arrays.copyOf(Remainder, Math.max(CHUNK_SIZE, Remainder.length * 2));
+		int length = Remainder.length;
+		int scanned = 0;
+		while(true){
+			length = fill(Buffer, length);
+			if(length < Buffer.length){
+				endOfInput = true;
+				Remainder = new byte[0];
+				chunkLength = length;
+				return (length == 0 ? null : Buffer);
+			}
+			for(int i = length - 1; i >= scanned; i--){
+				if(Buffer[i] == '\n'){
+					Remainder = Arrays.copyOfRange(Buffer, i + 1, length);
+					chunkLength = i + 1;
+					return Buffer;
+				}
+			}
+			scanned = length;
+			Buffer = Arrays.copyOf(Buffer, Buffer.length * 2);
+		}
+	}
+	
+	/**
+	 * Reads into {@code Buffer} after its first {@code length} bytes until it is full or
+	 * the input is exhausted, and returns the number of bytes it then holds
+	 */
+	private int fill(byte[] Buffer, int length) throws IOException{
+		while(length < Buffer.length){
+			int read = Input.read(Buffer, length, Buffer.length - length);
+			if(read < 0){
+				break;
+			}
+			length += read;
+		}
+		return length;
+	}
+	
+	/**
+	 * Parses the lines of a chunk
+	 */
+	private static final class ChunkParser implements Callable<List<JSonObject>>{
+		
+		private final byte[] Chunk;
+		private final int length;
+		private final long chunkOffset;
+		
+		ChunkParser(byte[] Chunk, int length, long chunkOffset){
+			this.Chunk = Chunk;
+			this.length = length;
+			this.chunkOffset = chunkOffset;
+		}
+		
+		public List<JSonObject> call() throws IOException, JSonParseException{
+			List<JSonObject> Objects = new ArrayList<JSonObject>();
+			JSonParser Parser = JSonParser.forThread(false);
+			int lineStart = 0;
+			while(lineStart < length){
+				int lineEnd = lineStart;
+				boolean blank = true;
+				while(lineEnd < length && Chunk[lineEnd] != '\n'){
+					blank &= (Chunk[lineEnd] & 0xFF) <= ' ';
+					lineEnd++;
+				}
+				if(!blank){
+					try{
+						String Line = new String(Chunk, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+						Objects.add(new JSonObject(Parser.parseObjectString(Line, null)));
+					}catch(JSonParseException E){
+						throw new JSonParseException("Invalid line at byte " + (chunkOffset + lineStart) + ": "
+							 + E.getMessage(), E.getErrorOffset());
+					}
+				}
+				lineStart = lineEnd + 1;
+			}
+			return Objects;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonMappedReader is a {@code JSonUtf8Reader} over a file which is read through
+ * {@code FileChannel.map} rather than copied onto the heap. As a single mapping may
+ * not exceed 2 GB, the file is mapped as a series of windows, each one mapped once
+ * the previous one has been consumed, so files of any size may be read.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonMappedReader extends JSonUtf8Reader{
+	
+	/**
+	 * The default size of each mapped window, in bytes
+	 */
+	static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+	
+	/**
+	 * The file being read
+	 */
+	private final FileChannel Channel;
+	
+	/**
+	 * The size of the file, and the position in it of the next window
+	 */
+	private final long size;
+	private long mappedPosition;
+	
+	/**
+	 * The size of each mapped window
+	 */
+	private final int windowSize;
+	
+	/**
+	 * Will create a {@code JSonMappedReader} over the file at {@code JSonPath}
+	 * 
+	 * @param JSonPath The UTF-8 encoded file to read
+	 * @param windowSize The size of each mapped window, in bytes
+	 * @throws IOException If the file could not be opened or mapped
+	 */
+	JSonMappedReader(Path JSonPath, int windowSize) throws IOException{
+		super(ByteBuffer.allocate(0));
+		this.Channel = FileChannel.open(JSonPath, StandardOpenOption.READ);
+		this.windowSize = windowSize;
+		try{
+			this.size = Channel.size();
+		}catch(IOException E){
+			Channel.close();
+			throw E;
+		}
+	}
+	
+	/**
+	 * Maps the next window of the file once the current one has been consumed
+	 */
+	@Override
+	protected boolean fill() throws IOException{
+		if(mappedPosition >= size){
+			return false;
+		}
+		long Length = Math.min(windowSize, size - mappedPosition);
+		ByteBuffer Window = Channel.map(FileChannel.MapMode.READ_ONLY, mappedPosition, Length);
+		mappedPosition += Length;
+		setBuffer(Window);
+		return true;
+	}
+	
+	/**
+	 * Closes the file. Mapped windows are released once they are no longer reachable.
+	 */
+	@Override
+	public void close() throws IOException{
+		Channel.close();
+	}
+}
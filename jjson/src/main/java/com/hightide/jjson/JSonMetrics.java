@@ -0,0 +1,276 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * JSonMetrics reports the documents parsed and serialized by jjson to an optional
+ * {@code JSonMetricsListener} and, on Java 11 or later where the JDK Flight Recorder is
+ * present, as the {@code jjson.Parse} and {@code jjson.Serialize} events. The events carry the input or
+ * output length and, for parsing, the maximum depth and the number of JSonObjects and
+ * JSonArrays built.
+ * 
+ * <p>While no listener is installed and no recording has the events enabled, each
+ * document costs only a volatile read and a check of the event settings, so the hooks
+ * may be left in place under production load. The events are enabled as any other,
+ * for example with {@code -XX:StartFlightRecording} and a settings file enabling
+ * {@code jjson.Parse}.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonMetrics{
+	
+	/**
+	 * The flight recorder events, or null if they are not available in this runtime
+	 */
+	private static final EventRecorder FLIGHT_RECORDER = flightRecorder();
+	
+	/**
+	 * The installed listener, or null
+	 */
+	private static volatile JSonMetricsListener Listener;
+	
+	private JSonMetrics(){
+	}
+	
+	/**
+	 * Installs {@code Listener}, replacing any other, or removes the current
+	 * listener if {@code Listener} is null
+	 * 
+	 * @param Listener The listener to report to, or null
+	 */
+	public static void setListener(JSonMetricsListener Listener){
+		JSonMetrics.Listener = Listener;
+	}
+	
+	/**
+	 * @return The installed listener, or null if there is none
+	 */
+	public static JSonMetricsListener getListener(){
+		return Listener;
+	}
+	
+	/**
+	 * Starts measuring the parse of a document
+	 * 
+	 * @return The sample to end once the document is parsed, or null if nobody is listening
+	 */
+	static Sample beginParse(){
+		JSonMetricsListener Current = Listener;
+		Object Event = (FLIGHT_RECORDER != null ? FLIGHT_RECORDER.beginParse() : null);
+		return (Current == null && Event == null ? null : new Sample(Current, Event));
+	}
+	
+	/**
+	 * Starts measuring the serialization of a document
+	 * 
+	 * @return The sample to end once the document is written, or null if nobody is listening
+	 */
+	static Sample beginSerialize(){
+		JSonMetricsListener Current = Listener;
+		Object Event = (FLIGHT_RECORDER != null ? FLIGHT_RECORDER.beginSerialize() : null);
+		return (Current == null && Event == null ? null : new Sample(Current, Event));
+	}
+	
+	/**
+	 * Loads the {@code JSonFlightRecorder}, which is compiled for Java 11 into the
+	 * {@code META-INF/versions/11} directory of the jar, so it is only found on a Java 11
+	 * or later runtime, and can only be loaded if that runtime has the {@code jdk.jfr} module
+	 */
+	private static EventRecorder flightRecorder(){
+		try{
+			Class<?> Recorder = Class.forName("com.hightide.jjson.JSonFlightRecorder", true, JSonMetrics.class.getClassLoader());
+			return (EventRecorder)Recorder.getDeclaredConstructor().newInstance();
+		}catch(ReflectiveOperationException ROE){
+			return null;
+		}catch(LinkageError LE){
+			return null;
+		}
+	}
+	
+	/**
+	 * Reports samples as flight recorder events. Implemented by the {@code JSonFlightRecorder}.
+	 */
+	interface EventRecorder{
+		
+		/**
+		 * @return A started parse event, or null if no recording has it enabled
+		 */
+		Object beginParse();
+		
+		void endParse(Object Started, long inputLength, int maxDepth, int objectCount, int arrayCount, boolean parsed);
+		
+		/**
+		 * @return A started serialize event, or null if no recording has it enabled
+		 */
+		Object beginSerialize();
+		
+		void endSerialize(Object Started, long outputLength);
+	}
+	
+	/**
+	 * A single parse or serialization being measured
+	 */
+	static final class Sample{
+		
+		private final JSonMetricsListener Listener;
+		
+		/**
+		 * The flight recorder event, or null
+		 */
+		private final Object Event;
+		
+		private final long startNanos;
+		
+		Sample(JSonMetricsListener Listener, Object Event){
+			this.Listener = Listener;
+			this.Event = Event;
+			this.startNanos = (Listener == null ? 0 : System.nanoTime());
+		}
+		
+		/**
+		 * Reports a parsed document, or one which failed to parse if {@code parsed} is false
+		 */
+		void endParse(long inputLength, int maxDepth, int objectCount, int arrayCount, boolean parsed){
+			if(Event != null){
+				FLIGHT_RECORDER.endParse(Event, inputLength, maxDepth, objectCount, arrayCount, parsed);
+			}
+			if(Listener != null){
+				if(parsed){
+					Listener.parsed(inputLength, maxDepth, objectCount, arrayCount, System.nanoTime() - startNanos);
+				}else{
+					Listener.parseFailed(inputLength, System.nanoTime() - startNanos);
+				}
+			}
+		}
+		
+		/**
+		 * Reports a document read through {@code Counted}, taking its length and
+		 * structure from the tokens counted
+		 */
+		void endParse(CountingTokenizer Counted, boolean parsed){
+			endParse(Counted.getPosition(), Counted.maxDepth, Counted.objectCount, Counted.arrayCount, parsed);
+		}
+		
+		/**
+		 * Reports a serialized document
+		 */
+		void endSerialize(long outputLength){
+			if(Event != null){
+				FLIGHT_RECORDER.endSerialize(Event, outputLength);
+			}
+			if(Listener != null){
+				Listener.serialized(outputLength, System.nanoTime() - startNanos);
+			}
+		}
+	}
+	
+	/**
+	 * Passes the tokens of another {@code JSonTokenizer} through, counting the JSonObjects
+	 * and JSonArrays and the deepest nesting among them. A document read through a tokenizer
+	 * is only wrapped in one while a {@code Sample} of it is being taken.
+	 */
+	static final class CountingTokenizer implements JSonTokenizer{
+		
+		private final JSonTokenizer Tokenizer;
+		private int depth;
+		private int maxDepth;
+		private int objectCount;
+		private int arrayCount;
+		
+		/**
+		 * The JSonObject or JSonArray just started, which is only counted once a token is
+		 * read from within it, as it may yet be skipped; null otherwise
+		 */
+		private JSonToken Started;
+		
+		CountingTokenizer(JSonTokenizer Tokenizer){
+			this.Tokenizer = Tokenizer;
+		}
+		
+		public JSonToken nextToken() throws IOException, JSonParseException{
+			if(Started != null){
+				if(Started == JSonToken.START_OBJECT){
+					objectCount++;
+				}else{
+					arrayCount++;
+				}
+				if(++depth > maxDepth){
+					maxDepth = depth;
+				}
+				Started = null;
+			}
+			JSonToken Token = Tokenizer.nextToken();
+			if(Token == JSonToken.START_OBJECT || Token == JSonToken.START_ARRAY){
+				Started = Token;
+			}else if(Token == JSonToken.END_OBJECT || Token == JSonToken.END_ARRAY){
+				depth--;
+			}
+			return Token;
+		}
+		
+		public void skipChildren() throws IOException, JSonParseException{
+			// A skipped JSonObject or JSonArray is never built, so is not counted, nor is its depth
+			Started = null;
+			Tokenizer.skipChildren();
+		}
+		
+		public JSonToken getCurrentToken(){
+			return Tokenizer.getCurrentToken();
+		}
+		
+		public String getCurrentName(){
+			return Tokenizer.getCurrentName();
+		}
+		
+		public String getString(){
+			return Tokenizer.getString();
+		}
+		
+		public Number getNumber() throws JSonParseException{
+			return Tokenizer.getNumber();
+		}
+		
+		public double getDouble() throws JSonParseException{
+			return Tokenizer.getDouble();
+		}
+		
+		public long getLong() throws JSonParseException{
+			return Tokenizer.getLong();
+		}
+		
+		public boolean isIntegralNumber(){
+			return Tokenizer.isIntegralNumber();
+		}
+		
+		public boolean getBoolean() throws JSonParseException{
+			return Tokenizer.getBoolean();
+		}
+		
+		public long getPosition(){
+			return Tokenizer.getPosition();
+		}
+		
+		public void close() throws IOException{
+			Tokenizer.close();
+		}
+	}
+}
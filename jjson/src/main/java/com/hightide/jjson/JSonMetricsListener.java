@@ -0,0 +1,64 @@
+package com.hightide.jjson;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonMetricsListener is told of every document parsed or serialized, once
+ * installed with {@code JSonMetrics.setListener}. Documents are reported however they
+ * are parsed, from Strings, bytes, Readers, tapes or on several threads at once, and
+ * however they are serialized, through {@code toString}, {@code writeTo} or the writer
+ * methods of {@code JSonConverter}. A document bound to a Java object is reported once.
+ * 
+ * <p>The callbacks are made on the thread doing the work, once it is done, and
+ * should be quick and thread safe. {@code JSonMetricsRecorder} keeps counters and
+ * histograms of them.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public interface JSonMetricsListener{
+	
+	/**
+	 * Called once a document has been parsed
+	 * 
+	 * @param inputLength The length of the input, in chars, or in bytes for UTF-8 input
+	 * @param maxDepth The deepest nesting of JSonObjects and JSonArrays, 1 for a flat document
+	 * @param objectCount The number of JSonObjects built
+	 * @param arrayCount The number of JSonArrays built
+	 * @param nanos The time taken, in nanoseconds
+	 */
+	void parsed(long inputLength, int maxDepth, int objectCount, int arrayCount, long nanos);
+	
+	/**
+	 * Called once a document has failed to parse
+	 * 
+	 * @param inputLength The length of the input, in chars, or in bytes for UTF-8 input
+	 * @param nanos The time taken until the failure, in nanoseconds
+	 */
+	void parseFailed(long inputLength, long nanos);
+	
+	/**
+	 * Called once a document has been serialized
+	 * 
+	 * @param outputLength The length of the output, in chars for {@code toString}
+	 * 		  and Appendables, and in bytes for {@code writeTo(OutputStream)}
+	 * @param nanos The time taken, in nanoseconds
+	 */
+	void serialized(long outputLength, long nanos);
+}
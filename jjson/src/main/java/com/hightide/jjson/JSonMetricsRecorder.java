@@ -0,0 +1,267 @@
+package com.hightide.jjson;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonMetricsRecorder is a {@code JSonMetricsListener} keeping counts of the
+ * documents parsed and serialized, and histograms of their sizes and durations, which
+ * may be read at any time, for example to export them to a monitoring system.
+ * 
+ * <p>Every update is lock free: counters are {@code LongAdder}s, and each histogram has
+ * one bucket per power of two, so that recording a value is a single atomic increment.
+ * Percentiles are therefore approximate, being reported as the upper bound of the
+ * bucket they fall in.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonMetricsRecorder implements JSonMetricsListener{
+	
+	private final LongAdder Parses = new LongAdder();
+	private final LongAdder ParseFailures = new LongAdder();
+	private final LongAdder Serializations = new LongAdder();
+	private final LongAdder ObjectsParsed = new LongAdder();
+	private final LongAdder ArraysParsed = new LongAdder();
+	
+	private final Histogram ParseNanos = new Histogram();
+	private final Histogram ParseLengths = new Histogram();
+	private final Histogram ParseDepths = new Histogram();
+	private final Histogram SerializeNanos = new Histogram();
+	private final Histogram SerializeLengths = new Histogram();
+	
+	public void parsed(long inputLength, int maxDepth, int objectCount, int arrayCount, long nanos){
+		Parses.increment();
+		ObjectsParsed.add(objectCount);
+		ArraysParsed.add(arrayCount);
+		ParseNanos.record(nanos);
+		ParseLengths.record(inputLength);
+		ParseDepths.record(maxDepth);
+	}
+	
+	public void parseFailed(long inputLength, long nanos){
+		ParseFailures.increment();
+	}
+	
+	public void serialized(long outputLength, long nanos){
+		Serializations.increment();
+		SerializeNanos.record(nanos);
+		SerializeLengths.record(outputLength);
+	}
+	
+	/**
+	 * @return The number of documents parsed
+	 */
+	public long getParseCount(){
+		return Parses.sum();
+	}
+	
+	/**
+	 * @return The number of documents which failed to parse
+	 */
+	public long getParseFailureCount(){
+		return ParseFailures.sum();
+	}
+	
+	/**
+	 * @return The number of documents serialized
+	 */
+	public long getSerializeCount(){
+		return Serializations.sum();
+	}
+	
+	/**
+	 * @return The number of JSonObjects built by all parses
+	 */
+	public long getObjectsParsed(){
+		return ObjectsParsed.sum();
+	}
+	
+	/**
+	 * @return The number of JSonArrays built by all parses
+	 */
+	public long getArraysParsed(){
+		return ArraysParsed.sum();
+	}
+	
+	/**
+	 * @return The durations of the parses, in nanoseconds
+	 */
+	public Histogram getParseNanos(){
+		return ParseNanos;
+	}
+	
+	/**
+	 * @return The lengths of the parsed inputs, in chars
+	 */
+	public Histogram getParseLengths(){
+		return ParseLengths;
+	}
+	
+	/**
+	 * @return The maximum depths of the parsed documents
+	 */
+	public Histogram getParseDepths(){
+		return ParseDepths;
+	}
+	
+	/**
+	 * @return The durations of the serializations, in nanoseconds
+	 */
+	public Histogram getSerializeNanos(){
+		return SerializeNanos;
+	}
+	
+	/**
+	 * @return The lengths of the serialized outputs
+	 */
+	public Histogram getSerializeLengths(){
+		return SerializeLengths;
+	}
+	
+	/**
+	 * Clears every counter and histogram
+	 */
+	public void reset(){
+		Parses.reset();
+		ParseFailures.reset();
+		Serializations.reset();
+		ObjectsParsed.reset();
+		ArraysParsed.reset();
+		ParseNanos.reset();
+		ParseLengths.reset();
+		ParseDepths.reset();
+		SerializeNanos.reset();
+		SerializeLengths.reset();
+	}
+	
+	@Override
+	public String toString(){
+		return "parses=" + getParseCount() + " failures=" + getParseFailureCount()
+			 + " parseNanos={" + ParseNanos + "} parseLengths={" + ParseLengths + "}"
+			 + " serializations=" + getSerializeCount()
+			 + " serializeNanos={" + SerializeNanos + "} serializeLengths={" + SerializeLengths + "}";
+	}
+	
+	/**
+	 * A histogram of non-negative values, with one bucket for 0 and one for each
+	 * range from 2^i to 2^(i+1) - 1
+	 */
+	public static final class Histogram{
+		
+		private static final int BUCKETS = 64;
+		
+		private final AtomicLongArray Counts = new AtomicLongArray(BUCKETS);
+		private final LongAdder Total = new LongAdder();
+		
+		/**
+		 * Records {@code Value}, counting negative values as 0
+		 * 
+		 * @param Value The value to record
+		 */
+		public void record(long Value){
+			Counts.incrementAndGet(bucketOf(Value));
+			Total.add(Math.max(0, Value));
+		}
+		
+		/**
+		 * @return The number of values recorded
+		 */
+		public long getCount(){
+			long count = 0;
+			for(int i = 0; i < BUCKETS; i++){
+				count += Counts.get(i);
+			}
+			return count;
+		}
+		
+		/**
+		 * @return The sum of the values recorded
+		 */
+		public long getTotal(){
+			return Total.sum();
+		}
+		
+		/**
+		 * @return The mean of the values recorded, or 0 if there are none
+		 */
+		public double getMean(){
+			long count = getCount();
+			return (count == 0 ? 0 : (double)getTotal() / count);
+		}
+		
+		/**
+		 * Returns the upper bound of the bucket holding the value at {@code Percentile}
+		 * 
+		 * @param Percentile The percentile, from 0 to 100
+		 * @return An upper bound of the value at {@code Percentile}, or 0 if there are no values
+		 */
+		public long getPercentile(double Percentile){
+			long[] Snapshot = new long[BUCKETS];
+			long count = 0;
+			for(int i = 0; i < BUCKETS; i++){
+				count += (Snapshot[i] = Counts.get(i));
+			}
+			long rank = (long)Math.ceil(count * Math.min(100, Math.max(0, Percentile)) / 100);
+			long seen = 0;
+			for(int i = 0; i < BUCKETS; i++){
+				seen += Snapshot[i];
+				if(seen >= rank && Snapshot[i] > 0){
+					return upperBound(i);
+				}
+			}
+			return 0;
+		}
+		
+		/**
+		 * @param Bucket The index of a bucket, from 0 to 63
+		 * @return The number of values recorded in {@code Bucket}
+		 */
+		public long getBucketCount(int Bucket){
+			return Counts.get(Bucket);
+		}
+		
+		/**
+		 * @param Bucket The index of a bucket, from 0 to 63
+		 * @return The largest value counted in {@code Bucket}
+		 */
+		public static long upperBound(int Bucket){
+			return (Bucket == 0 ? 0 : Bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << Bucket) - 1);
+		}
+		
+		void reset(){
+			for(int i = 0; i < BUCKETS; i++){
+				Counts.set(i, 0);
+			}
+			Total.reset();
+		}
+		
+		@Override
+		public String toString(){
+			return "count=" + getCount() + " mean=" + (long)getMean() + " p50<=" + getPercentile(50)
+				 + " p99<=" + getPercentile(99) + " max<=" + getPercentile(100);
+		}
+		
+		private static int bucketOf(long Value){
+			return (Value <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Value)));
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package com.hightide.jjson;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
 
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -47,7 +50,9 @@ import java.util.Map;
  * 
  * <p>A JSonObject stores its name/value pairs in a {@codejava.util.Map}, allowing any derived
  * subclasses to be passed to the JSonObject. Additional constructors are provided for
- * {@code java.lang.String} or HTML-based JSonObjects.</p>
+ * {@code java.lang.String} or HTML-based JSonObjects. JSonObjects created by the
+ * {@code JSonConverter}, or without a Map, use a compact, insertion-ordered
+ * {@code JSonPropertyMap}.</p>
  * 
  * <p>A JSonObject class provides {@code getName}, {@code getNameOccurences}, {@code getDefaultName},
  * {@code getValue}, {@code getValueOccurences}, and the {@code getDefaultValue} method for returning
@@ -55,6 +60,11 @@ import java.util.Map;
  * methods for adding/setting a name/value pair. Any class which can be read by the {@code JSonConverter}
  * can be converted to a JSonObject. If any issues arise with this conversion, please contact me</p>
  * 
+ * <p>When the pairs are held in a {@code JSonPropertyMap}, the first lookup of a name by its value
+ * builds an index from each string, number, boolean or null value to its names, so that further
+ * lookups by value take constant time on average. The index is kept up to date by the methods
+ * of the JSonObject, and is rebuilt on the next lookup if the map is modified directly.</p>
+ * 
  * <p>Some of the JSon-Java library was used as an inspiration/base for this project, most noticably the
  * structure/commenting of this file. If this infringes upon any rights or licenses granted to the Java-JSon
  * library, please contact me to resolve this issue. All rights and references to JSon-Java are purely
@@ -135,6 +145,13 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	 */
 	private Map<String, Object> JSonProperties;
 	
+	/**
+	 * The names of each indexed value of {@code JSonProperties}, or null if the index has not
+	 * been built, along with the write count of {@code JSonProperties} the index is current for
+	 */
+	private transient HashMap<Object, ArrayList<String>> ValueIndex;
+	private transient int indexedWriteCount;
+	
 	/**
 	 * Instance of the {@code JSonObject.NULL} Null object.
 	 */
@@ -145,7 +162,7 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	 */
 	public JSonObject(){
 		
-		JSonProperties = new HashMap<String, Object>();
+		JSonProperties = new JSonPropertyMap();
 	}
 	
 	/**
@@ -159,7 +176,7 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 		try{
 			JSonProperties = JSonConverter.createJSonPropertiesString(JSonString);
 		}catch(JSonParseException JSPE){
-			JSonProperties = new HashMap<String, Object>();
+			JSonProperties = new JSonPropertyMap();
 		}
 	}
 	
@@ -171,13 +188,7 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	 */
 	public JSonObject(URL JSonURL){
 		
-		try{
-			BufferedReader Input = new BufferedReader(new InputStreamReader(JSonURL.openConnection().getInputStream()));
-			JSonProperties = JSonConverter.createJSonPropertiesString(Input.readLine());
-			Input.close();
-		}catch(Exception E){
-			JSonProperties = new HashMap<String, Object>();
-		}
+		JSonProperties = JSonConverter.createJSonPropertiesHTML(JSonURL);
 	}
 	
 	/**
@@ -190,24 +201,81 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 		JSonProperties = JSP;
 	}
 	
+	/**
+	 * Returns this {@code JSonObject} as a JSon String, as written by {@code writeTo}
+	 * 
+	 * @return The JSon String of this {@code JSonObject}
+	 */
 	@Override
 	public String toString(){
-		String Data = "{";
-		int currIndex = 0;
-		for(Map.Entry<String, Object> P: JSonProperties.entrySet()){
-			Data += "\"" + P.getKey() + "\"" + ":";
-			if(P.getValue() instanceof String){
-				Data += "\"" + P.getValue().toString() + "\"";
-			}else{
-				Data += P.getValue().toString();
-			}
-			if(currIndex + 1 != JSonProperties.entrySet().size()){
-				Data += ",";
-			}
-			currIndex++;
+		StringBuilder Data = new StringBuilder();
+		try{
+			writeTo(Data);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+		return Data.toString();
+	}
+	
+	/**
+	 * Writes this {@code JSonObject} to {@code Out} as a JSon String. Children are
+	 * written recursively as they are reached, so no intermediate strings are built.
+	 * 
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public void writeTo(Appendable Out) throws IOException{
+		JSonWriter.writeValue(this, null, Out);
+	}
+	
+	/**
+	 * Writes this {@code JSonObject} to {@code Out} as a UTF-8 encoded JSon String,
+	 * through a reusable buffer. {@code Out} is neither flushed nor closed.
+	 * 
+	 * @param Out The {@code OutputStream} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public void writeTo(OutputStream Out) throws IOException{
+		JSonWriter.writeValue(this, Out);
+	}
+	
+	/**
+	 * Writes this {@code JSonObject} to {@code Out} in a compact binary format, with
+	 * tagged values, varint lengths and each name written in full only once.
+	 * {@code Out} is neither flushed nor closed.
+	 * 
+	 * @param Out The {@code OutputStream} to write to
+	 * @throws IOException If {@code Out} could not be written to, or a value is not
+	 * 		   a string, number, boolean, null, JSonObject or JSonArray
+	 */
+	public void writeBinary(OutputStream Out) throws IOException{
+		JSonBinary.write(this, Out);
+	}
+	
+	/**
+	 * Reads a {@code JSonObject} written by {@code writeBinary} from {@code In}.
+	 * As {@code In} is read through a buffer, bytes following it may also be consumed.
+	 * 
+	 * @param In The {@code InputStream} to read from
+	 * @return The {@code JSonObject} read
+	 * @throws IOException If {@code In} could not be read, or does not hold a binary JSonObject
+	 */
+	public static JSonObject readBinary(InputStream In) throws IOException{
+		Object Value = JSonBinary.read(In);
+		if(!(Value instanceof JSonObject)){
+			throw new StreamCorruptedException("The input does not hold a JSonObject");
 		}
-		Data += "}";
-		return Data;
+		return (JSonObject)Value;
+	}
+	
+	/**
+	 * Serializes this {@code JSonObject} in the format of {@code writeBinary}, rather than
+	 * through its fields
+	 * 
+	 * @return A proxy which writes this {@code JSonObject}, and reads back as one
+	 */
+	private Object writeReplace() throws ObjectStreamException{
+		return new JSonBinary.Proxy(this);
 	}
 	
 	/**
@@ -226,9 +294,14 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	 */
 	public void setJSonProperties(Map<String, Object> JSP){
 		JSonProperties = JSP;
+		ValueIndex = null;
 	}
 	
 	public String getName(Object Value){
+		ArrayList<String> Names = indexedNames(Value);
+		if(Names != null){
+			return (Names.isEmpty() ? null : Names.get(0));
+		}
 		for(Map.Entry<String, Object> P: JSonProperties.entrySet()){
 			if(P.getValue().equals(Value)){
 				return P.getKey();
@@ -238,6 +311,10 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	}
 	
 	public ArrayList<String> getNameOccurences(Object Value){
+		ArrayList<String> Names = indexedNames(Value);
+		if(Names != null){
+			return new ArrayList<String>(Names);
+		}
 		ArrayList<String> NameOccurences = new ArrayList();
 		for(Map.Entry<String, Object> P: JSonProperties.entrySet()){
 			if(P.getValue().equals(Value)){
@@ -253,7 +330,7 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	}
 	
 	public void addName(String NewName){
-		JSonProperties.put(NewName, NULL);
+		putProperty(NewName, NULL);
 	}
 	
 	public void setName(String OldName, String NewName){
@@ -265,32 +342,21 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 			}
 		}
 		if(OldValue != null){
-			JSonProperties.remove(OldName);
-			JSonProperties.put(NewName, OldValue);
+			removeProperty(OldName);
+			putProperty(NewName, OldValue);
 		}
 	}
 	
 	public void setName(Object Value, String NewName){
-		String OldName = null;
-		for(Map.Entry<String, Object> P : JSonProperties.entrySet()){
-			if(P.getValue().equals(Value)){
-				OldName = P.getKey();
-				break;
-			}
-		}
+		String OldName = getName(Value);
 		if(OldName != null){
-			JSonProperties.remove(OldName);
-			JSonProperties.put(NewName, Value);
+			removeProperty(OldName);
+			putProperty(NewName, Value);
 		}
 	}
 	
 	public Object getValue(String Name){
-		for(Map.Entry<String, Object> P: JSonProperties.entrySet()){
-			if(P.getKey().equals(Name)){
-				return P.getValue();
-			}
-		}
-		return null;
+		return JSonProperties.get(Name);
 	}
 	
 	public ArrayList<Object> getValueOccurences(String Name){
@@ -310,15 +376,147 @@ public class JSonObject implements Comparable<JSonObject>, Serializable{
 	
 	public void setValue(Object OldValue, Object NewValue){
 		String Key = this.getName(OldValue);
-		JSonProperties.replace(Key, OldValue, NewValue);
+		if(Key != null){
+			putProperty(Key, NewValue);
+		}
 	}
 	
 	public void setValue(String Name, Object NewValue){
-		JSonProperties.replace(Name, NewValue);
+		if(JSonProperties.containsKey(Name)){
+			putProperty(Name, NewValue);
+		}
 	}
 	
 	public void addPair(String Name, Object Value){
-		JSonProperties.put(Name, Value);
+		putProperty(Name, Value);
+	}
+	
+	/**
+	 * Returns the names of {@code Value} from the value index, building the index if it
+	 * is missing or out of date. Returns null if {@code Value} cannot be looked up through
+	 * the index, in which case the pairs must be searched instead.
+	 */
+	private ArrayList<String> indexedNames(Object Value){
+		if(!(JSonProperties instanceof JSonPropertyMap) || !isIndexable(Value)){
+			return null;
+		}
+		if(!isIndexCurrent()){
+			ValueIndex = new HashMap<Object, ArrayList<String>>();
+			for(Map.Entry<String, Object> P: JSonProperties.entrySet()){
+				index(P.getKey(), P.getValue());
+			}
+			indexedWriteCount = ((JSonPropertyMap)JSonProperties).getWriteCount();
+		}
+		ArrayList<String> Names = ValueIndex.get(Value == null ? NULL : Value);
+		return (Names == null ? new ArrayList<String>(0) : Names);
+	}
+	
+	/**
+	 * Puts the pair {@code Name}/{@code Value}, keeping the value index up to date
+	 */
+	private void putProperty(String Name, Object Value){
+		if(!isIndexCurrent()){
+			JSonProperties.put(Name, Value);
+			return;
+		}
+		if(!JSonProperties.containsKey(Name)){
+			JSonProperties.put(Name, Value);
+			index(Name, Value);
+		}else{
+			Object OldValue = JSonProperties.put(Name, Value);
+			if(OldValue == null ? Value != null : !OldValue.equals(Value)){
+				unindex(Name, OldValue);
+				reindex(Name, Value);
+			}
+		}
+		indexedWriteCount = ((JSonPropertyMap)JSonProperties).getWriteCount();
+	}
+	
+	/**
+	 * Removes the pair named {@code Name}, keeping the value index up to date
+	 */
+	private void removeProperty(String Name){
+		if(!isIndexCurrent()){
+			JSonProperties.remove(Name);
+			return;
+		}
+		if(JSonProperties.containsKey(Name)){
+			unindex(Name, JSonProperties.remove(Name));
+			indexedWriteCount = ((JSonPropertyMap)JSonProperties).getWriteCount();
+		}
+	}
+	
+	/**
+	 * Returns whether the value index has been built and {@code JSonProperties}
+	 * has not been modified since
+	 */
+	private boolean isIndexCurrent(){
+		return ValueIndex != null && JSonProperties instanceof JSonPropertyMap
+			 && ((JSonPropertyMap)JSonProperties).getWriteCount() == indexedWriteCount;
+	}
+	
+	/**
+	 * Adds {@code Name} to the names of {@code Value} in the value index
+	 */
+	private void index(String Name, Object Value){
+		if(!isIndexable(Value)){
+			return;
+		}
+		Object Key = (Value == null ? NULL : Value);
+		ArrayList<String> Names = ValueIndex.get(Key);
+		if(Names == null){
+			Names = new ArrayList<String>(1);
+			ValueIndex.put(Key, Names);
+		}
+		Names.add(Name);
+	}
+	
+	/**
+	 * Adds {@code Name}, whose pair is already in {@code JSonProperties}, to the names of
+	 * {@code Value} in the value index, at the position of its pair rather than at the end
+	 */
+	private void reindex(String Name, Object Value){
+		if(!isIndexable(Value)){
+			return;
+		}
+		ArrayList<String> Names = ValueIndex.get(Value == null ? NULL : Value);
+		if(Names == null){
+			index(Name, Value);
+			return;
+		}
+		int position = 0;
+		for(String Key: JSonProperties.keySet()){
+			if(Key.equals(Name)){
+				break;
+			}
+			if(position < Names.size() && Key.equals(Names.get(position))){
+				position++;
+			}
+		}
+		Names.add(position, Name);
+	}
+	
+	/**
+	 * Removes {@code Name} from the names of {@code Value} in the value index
+	 */
+	private void unindex(String Name, Object Value){
+		if(!isIndexable(Value)){
+			return;
+		}
+		Object Key = (Value == null ? NULL : Value);
+		ArrayList<String> Names = ValueIndex.get(Key);
+		if(Names != null && Names.remove(Name) && Names.isEmpty()){
+			ValueIndex.remove(Key);
+		}
+	}
+	
+	/**
+	 * Returns whether {@code Value} is kept in the value index. JSonObjects and JSonArrays are
+	 * not, since their hash codes change whenever they are modified.
+	 */
+	private static boolean isIndexable(Object Value){
+		return Value == null || Value instanceof String || Value instanceof Number
+			 || Value instanceof Boolean || Value instanceof JSonObject.Null;
 	}
 	
 	/**
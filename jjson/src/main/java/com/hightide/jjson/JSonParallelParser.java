@@ -0,0 +1,290 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonParallelParser parses a large top-level JSon Array on several threads at once,
+ * speculatively. The array is cut into segments at guessed boundaries: for each cut, the
+ * first comma after an even share of the input which lies between the end and the start
+ * of two values of the same kind as the array's first value, e.g. <code>},{</code> for an
+ * array of JSonObjects. Each segment is then parsed on its own {@code JSonParser}, as a
+ * run of values ending at the next cut.
+ * 
+ * <p>A guess may be wrong, as the comma may lie within a string or a nested value. Since
+ * the first segment starts at the real start of the array, a segment which stops exactly at
+ * the next cut proves that the cut is a comma between two top-level values, and so that the
+ * next segment started in the right place. The segments are only joined if every one of them
+ * stops exactly at its cut; otherwise, or if any segment fails to parse, the whole array is
+ * parsed again sequentially, so the result, or the error, is always that of a sequential parse.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonParallelParser{
+	
+	/**
+	 * The smallest segment worth parsing on its own thread
+	 */
+	private static final int MIN_SEGMENT_LENGTH = 1 << 16;
+	
+	/**
+	 * The JSonParallelParser is a static utility and is not to be instantiated
+	 */
+	private JSonParallelParser(){
+	}
+	
+	/**
+	 * Parses {@code JSonString} as a single JSon Array, splitting it into as many segments
+	 * as {@code Executor} has threads, parsing all but the first on {@code Executor} and the
+	 * first on the calling thread.
+	 * 
+	 * @param JSonString The string to parse
+	 * @param Executor The executor to parse the segments on
+	 * @return The values of the JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	static ArrayList<Object> parseArrayDocument(String JSonString, Executor Executor) throws JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		int parallelism = (Executor instanceof ForkJoinPool ? ((ForkJoinPool)Executor).getParallelism()
+			 : Runtime.getRuntime().availableProcessors());
+		int[] Cuts = findCuts(JSonString, Math.min(parallelism, JSonString.length() / MIN_SEGMENT_LENGTH));
+		if(Cuts == null){
+			return JSonParser.forThread(false).parseArrayString(JSonString, null, Sample);
+		}
+		
+		boolean pooled = Executor instanceof ForkJoinPool;
+		List<SegmentParser> Segments = new ArrayList<SegmentParser>();
+		try{
+			for(int i = 1; i < Cuts.length - 1; i++){
+				SegmentParser Segment = new SegmentParser(JSonString, Cuts[i] + 1, Cuts[i + 1]);
+				Segments.add(Segment);
+				if(pooled && ForkJoinTask.getPool() == Executor){
+					Segment.fork();
+				}else if(pooled){
+					((ForkJoinPool)Executor).execute(Segment);
+				}else{
+					Executor.execute(Segment.asRunnable());
+				}
+			}
+			SegmentParser FirstSegment = new SegmentParser(JSonString, Cuts[0] + 1, Cuts[1]);
+			List<Object> First = FirstSegment.parse();
+			if(First != null){
+				List<List<Object>> Parsed = new ArrayList<List<Object>>();
+				int size = First.size();
+				for(SegmentParser Segment : Segments){
+					List<Object> Values = (pooled ? Segment.join() : Segment.get());
+					if(Values == null){
+						break;
+					}
+					Parsed.add(Values);
+					size += Values.size();
+				}
+				if(Parsed.size() == Segments.size()){
+					ArrayList<Object> JSonArrayList = new ArrayList<Object>(size);
+					JSonArrayList.addAll(First);
+					for(List<Object> Values : Parsed){
+						JSonArrayList.addAll(Values);
+					}
+					if(Sample != null){
+						// The segments hold the values of the top-level JSon Array, one level down
+						int maxDepth = FirstSegment.maxDepth;
+						int objectCount = FirstSegment.objectCount;
+						int arrayCount = FirstSegment.arrayCount + 1;
+						for(SegmentParser Segment : Segments){
+							maxDepth = Math.max(maxDepth, Segment.maxDepth);
+							objectCount += Segment.objectCount;
+							arrayCount += Segment.arrayCount;
+						}
+						Sample.endParse(JSonString.length(), maxDepth + 1, objectCount, arrayCount, true);
+					}
+					return JSonArrayList;
+				}
+			}
+		}catch(JSonParseException JSPE){
+			// Fall back to the sequential parse, which reports the error at its true position
+		}catch(ExecutionException EE){
+			// As above
+		}catch(RejectedExecutionException REE){
+			// Fall back to the sequential parse on the calling thread
+		}catch(InterruptedException IE){
+			Thread.currentThread().interrupt();
+		}finally{
+			for(SegmentParser Segment : Segments){
+				Segment.cancel(false);
+			}
+		}
+		return JSonParser.forThread(false).parseArrayString(JSonString, null, Sample);
+	}
+	
+	/**
+	 * Returns the index of the opening bracket, followed by the indices of the guessed
+	 * commas, followed by -1, or null if {@code JSonString} should not be split
+	 */
+	private static int[] findCuts(String JSonString, int segments){
+		int length = JSonString.length();
+		int beginIndex = 0;
+		while(beginIndex < length && JSonString.charAt(beginIndex) <= ' '){
+			beginIndex++;
+		}
+		int firstIndex = beginIndex + 1;
+		while(firstIndex < length && JSonString.charAt(firstIndex) <= ' '){
+			firstIndex++;
+		}
+		if(segments < 2 || firstIndex >= length || JSonString.charAt(beginIndex) != JSonConstants.BEGIN_JSON_ARRAY){
+			return null;
+		}
+		char First = JSonString.charAt(firstIndex);
+		
+		int[] Cuts = new int[segments + 1];
+		int count = 0;
+		Cuts[count++] = beginIndex;
+		for(int i = 1; i < segments; i++){
+			int guess = Math.max(beginIndex + (int)((long)(length - beginIndex) * i / segments), Cuts[count - 1] + 1);
+			int comma = findComma(JSonString, guess, First);
+			if(comma < 0){
+				break;
+			}
+			Cuts[count++] = comma;
+		}
+		if(count < 2){
+			return null;
+		}
+		Cuts[count++] = -1;
+		return (count == Cuts.length ? Cuts : Arrays.copyOf(Cuts, count));
+	}
+	
+	/**
+	 * Returns the index of the first comma from {@code beginIndex} which lies, apart from
+	 * whitespace, between the end and the start of two values of the same kind as a value
+	 * starting with {@code First}, or -1 if there is none
+	 */
+	private static int findComma(String JSonString, int beginIndex, char First){
+		int length = JSonString.length();
+		for(int i = JSonString.indexOf(JSonConstants.JSON_COMMA, beginIndex); i >= 0; i = JSonString.indexOf(JSonConstants.JSON_COMMA, i + 1)){
+			int previous = i - 1;
+			while(previous > 0 && JSonString.charAt(previous) <= ' '){
+				previous--;
+			}
+			int next = i + 1;
+			while(next < length && JSonString.charAt(next) <= ' '){
+				next++;
+			}
+			if(next < length && kind(JSonString.charAt(next)) == kind(First)
+				 && kind(JSonString.charAt(previous)) == closingKind(First)){
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the kind of value starting with {@code Start}: the character itself
+	 * for JSonObjects, JSonArrays and strings, 0 for numbers and 't' for literals
+	 */
+	private static char kind(char Start){
+		if(Start == '-' || (Start >= '0' && Start <= '9')){
+			return '0';
+		}else if(Start >= 'A' && Start <= 'z' && Start != JSonConstants.BEGIN_JSON_ARRAY && Start != JSonConstants.END_JSON_ARRAY){
+			return 't';
+		}
+		return Start;
+	}
+	
+	/**
+	 * Returns the kind of the last character of a value starting with {@code Start}
+	 */
+	private static char closingKind(char Start){
+		switch(Start){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				return JSonConstants.END_JSON_OBJECT;
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				return JSonConstants.END_JSON_ARRAY;
+			default:
+				return kind(Start);
+		}
+	}
+	
+	/**
+	 * Parses one segment, returning null if it did not stop exactly at its end. When the
+	 * executor is a {@code ForkJoinPool}, the segment is forked and joined, so a worker
+	 * waiting on it helps run the pool's tasks instead of blocking; on any other executor,
+	 * it is run through {@code asRunnable} and waited on with {@code get}.
+	 */
+	private static final class SegmentParser extends RecursiveTask<List<Object>>{
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final String JSonString;
+		private final int beginIndex;
+		private final int stopIndex;
+		
+		/**
+		 * The deepest nesting, and the number of JSonObjects and JSonArrays, found in the segment
+		 */
+		private int maxDepth;
+		private int objectCount;
+		private int arrayCount;
+		
+		SegmentParser(String JSonString, int beginIndex, int stopIndex){
+			this.JSonString = JSonString;
+			this.beginIndex = beginIndex;
+			this.stopIndex = stopIndex;
+		}
+		
+		List<Object> parse() throws JSonParseException{
+			List<Object> Values = new ArrayList<Object>();
+			JSonParser Parser = JSonParser.forThread(false);
+			if(!Parser.parseArraySegment(JSonString, beginIndex, stopIndex, Values)){
+				return null;
+			}
+			maxDepth = Parser.getMaxDepth();
+			objectCount = Parser.getObjectCount();
+			arrayCount = Parser.getArrayCount();
+			return Values;
+		}
+		
+		protected List<Object> compute(){
+			try{
+				return parse();
+			}catch(JSonParseException JSPE){
+				// The sequential parse will report the error at its true position
+				return null;
+			}
+		}
+		
+		Runnable asRunnable(){
+			return new Runnable(){
+				public void run(){
+					quietlyInvoke();
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,877 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonParser is a single-pass, recursive-descent parser over a JSon
+ * {@code java.lang.String}. A single cursor walks the input from left to right,
+ * and nested JSonObjects and JSonArrays are built in place as they are reached,
+ * so no part of the input is copied or scanned more than once.
+ *
+ * <p>The parser is as lenient as the previous {@code JSonConverter} implementation
+ * was: unknown escape sequences are kept as-is, raw control characters may appear
+ * within strings, and {@code true}/{@code false} are matched without regard to case.</p>
+ *
+ * <p>When parsing through a {@code JSonProjection}, values which are not kept are
+ * skipped by only matching their brackets and strings, so skipped content is not
+ * otherwise checked for correctness.</p>
+ *
+ * <p>A JSonParser may be kept and reused for any number of documents, one at a time,
+ * so that a thread, or a pool of parsers, pays for it only once. The builder used to
+ * decode escaped strings is kept between documents, and names are shared through the
+ * {@code JSonKeyCache}, so once warmed up a parse allocates only the JSonObjects,
+ * JSonArrays, strings and numbers it returns. The parsers of {@code JSonConverter}
+ * are kept one per thread in this way. A JSonParser is not thread safe.</p>
+ *
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonParser{
+
+	/**
+	 * The longest builder, in chars, which is kept between documents
+	 */
+	private static final int MAX_RETAINED_SCRATCH = 1 << 16;
+
+	/**
+	 * Each thread's reusable parser
+	 */
+	private static final ThreadLocal<JSonParser> PARSER = new ThreadLocal<JSonParser>(){
+		@Override
+		protected JSonParser initialValue(){
+			return new JSonParser();
+		}
+	};
+
+	/**
+	 * The JSon String being parsed, or null when not in use
+	 */
+	private String JSonString;
+
+	/**
+	 * The length of {@code JSonString}
+	 */
+	private int length;
+
+	/**
+	 * The index of the next character to be read
+	 */
+	private int currIndex;
+
+	/**
+	 * Whether numbers are kept as {@code JSonLazyNumber}s rather than being converted
+	 */
+	private boolean lazyNumbers;
+
+	/**
+	 * The builder escaped strings are decoded into, kept between strings and documents
+	 */
+	private StringBuilder Scratch;
+
+	/**
+	 * The current and deepest nesting, and the number of JSonObjects and JSonArrays
+	 * parsed, in the current document, as reported to {@code JSonMetrics}
+	 */
+	private int depth;
+	private int maxDepth;
+	private int objectCount;
+	private int arrayCount;
+
+	/**
+	 * Will create a {@code JSonParser} which converts numbers as they are parsed
+	 */
+	public JSonParser(){
+		this(false);
+	}
+
+	/**
+	 * Will create a {@code JSonParser}
+	 *
+	 * @param lazyNumbers Whether numbers should be kept as {@code JSonLazyNumber}s
+	 */
+	public JSonParser(boolean lazyNumbers){
+		this.lazyNumbers = lazyNumbers;
+	}
+
+	/**
+	 * Will create a {@code JSonParser} positioned at the start of {@code JSonString}
+	 *
+	 * @param JSonString The string to parse
+	 */
+	JSonParser(String JSonString){
+		this(JSonString, false);
+	}
+
+	/**
+	 * Will create a {@code JSonParser} positioned at the start of {@code JSonString}
+	 *
+	 * @param JSonString The string to parse
+	 * @param lazyNumbers Whether numbers should be kept as {@code JSonLazyNumber}s
+	 */
+	JSonParser(String JSonString, boolean lazyNumbers){
+		this.JSonString = JSonString;
+		this.length = JSonString.length();
+		this.currIndex = 0;
+		this.lazyNumbers = lazyNumbers;
+	}
+
+	/**
+	 * Returns the calling thread's parser, or a new one if it is already parsing
+	 *
+	 * @param lazyNumbers Whether numbers should be kept as {@code JSonLazyNumber}s
+	 * @return An idle {@code JSonParser}
+	 */
+	static JSonParser forThread(boolean lazyNumbers){
+		JSonParser Parser = PARSER.get();
+		if(Parser.JSonString != null){
+			return new JSonParser(lazyNumbers);
+		}
+		Parser.lazyNumbers = lazyNumbers;
+		return Parser;
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Object, which must make up
+	 * the whole of the input apart from surrounding whitespace.
+	 *
+	 * @param JSonString The string to parse
+	 * @return The JSon Object
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	public JSonObject parseJSonObject(String JSonString) throws JSonParseException{
+		return new JSonObject(parseObjectString(JSonString, null));
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Array, which must make up
+	 * the whole of the input apart from surrounding whitespace.
+	 *
+	 * @param JSonString The string to parse
+	 * @return The JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	public JSonArray parseJSonArray(String JSonString) throws JSonParseException{
+		return new JSonArray(parseArrayString(JSonString, null));
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Object, keeping only the fields of
+	 * {@code Projection}, or all of them if it is null.
+	 *
+	 * @param JSonString The string to parse
+	 * @param Projection The fields to keep, or null
+	 * @return The name/value pairs of the JSon Object
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	Map<String, Object> parseObjectString(String JSonString, JSonProjection Projection) throws JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		begin(JSonString);
+		boolean parsed = false;
+		try{
+			Map<String, Object> JSonProperties = (Projection == null ? parseObjectDocument() : parseObjectDocument(Projection));
+			parsed = true;
+			return JSonProperties;
+		}finally{
+			if(Sample != null){
+				Sample.endParse(length, maxDepth, objectCount, arrayCount, parsed);
+			}
+			end();
+		}
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Array, keeping only the fields of
+	 * {@code Projection} in each of its values, or all of them if it is null.
+	 *
+	 * @param JSonString The string to parse
+	 * @param Projection The fields to keep, or null
+	 * @return The values of the JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	ArrayList<Object> parseArrayString(String JSonString, JSonProjection Projection) throws JSonParseException{
+		return parseArrayString(JSonString, Projection, JSonMetrics.beginParse());
+	}
+
+	/**
+	 * Parses {@code JSonString} as {@code parseArrayString(String, JSonProjection)} does,
+	 * ending {@code Sample}, which may have been begun by the caller, once it is done.
+	 *
+	 * @param JSonString The string to parse
+	 * @param Projection The fields to keep, or null
+	 * @param Sample The sample to end, or null
+	 * @return The values of the JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	ArrayList<Object> parseArrayString(String JSonString, JSonProjection Projection, JSonMetrics.Sample Sample) throws JSonParseException{
+		begin(JSonString);
+		boolean parsed = false;
+		try{
+			ArrayList<Object> JSonArrayList = (Projection == null ? parseArrayDocument() : parseArrayDocument(Projection));
+			parsed = true;
+			return JSonArrayList;
+		}finally{
+			if(Sample != null){
+				Sample.endParse(length, maxDepth, objectCount, arrayCount, parsed);
+			}
+			end();
+		}
+	}
+
+	/**
+	 * Parses the values of a top-level JSon Array in {@code JSonString} through
+	 * {@code parseArraySegment}, releasing {@code JSonString} afterwards.
+	 */
+	boolean parseArraySegment(String JSonString, int beginIndex, int stopIndex, List<Object> Values) throws JSonParseException{
+		begin(JSonString);
+		try{
+			return parseArraySegment(beginIndex, stopIndex, Values);
+		}finally{
+			end();
+		}
+	}
+
+	/**
+	 * @return The deepest nesting in the last document or segment parsed
+	 */
+	int getMaxDepth(){
+		return maxDepth;
+	}
+
+	/**
+	 * @return The number of JSonObjects parsed in the last document or segment
+	 */
+	int getObjectCount(){
+		return objectCount;
+	}
+
+	/**
+	 * @return The number of JSonArrays parsed in the last document or segment
+	 */
+	int getArrayCount(){
+		return arrayCount;
+	}
+
+	/**
+	 * Positions this parser at the start of {@code JSonString}
+	 */
+	private void begin(String JSonString){
+		if(this.JSonString != null){
+			throw new IllegalStateException("The parser is already in use");
+		}
+		this.length = JSonString.length();
+		this.JSonString = JSonString;
+		this.currIndex = 0;
+		this.depth = 0;
+		this.maxDepth = 0;
+		this.objectCount = 0;
+		this.arrayCount = 0;
+	}
+
+	/**
+	 * Releases the input, and a builder which has grown too large to keep
+	 */
+	private void end(){
+		JSonString = null;
+		if(Scratch != null && Scratch.capacity() > MAX_RETAINED_SCRATCH){
+			Scratch = null;
+		}
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Object, which must make up
+	 * the whole of the input apart from surrounding whitespace.
+	 *
+	 * @return The name/value pairs of the JSon Object
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	Map<String, Object> parseObjectDocument() throws JSonParseException{
+		skipWhitespace();
+		if(currIndex >= length || JSonString.charAt(currIndex) != JSonConstants.BEGIN_JSON_OBJECT){
+			throw new JSonParseException("The supplied string does not start with {", currIndex);
+		}
+		Map<String, Object> JSonProperties = parseObject();
+		expectEnd(JSonConstants.END_JSON_OBJECT);
+		return JSonProperties;
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Array, which must make up
+	 * the whole of the input apart from surrounding whitespace.
+	 *
+	 * @return The values of the JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	ArrayList<Object> parseArrayDocument() throws JSonParseException{
+		skipWhitespace();
+		if(currIndex >= length || JSonString.charAt(currIndex) != JSonConstants.BEGIN_JSON_ARRAY){
+			throw new JSonParseException("The supplied string does not start with [", currIndex);
+		}
+		ArrayList<Object> JSonArrayList = parseArray();
+		expectEnd(JSonConstants.END_JSON_ARRAY);
+		return JSonArrayList;
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Object, keeping only the fields
+	 * of {@code Projection}.
+	 *
+	 * @param Projection The fields to keep
+	 * @return The kept name/value pairs of the JSon Object
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	Map<String, Object> parseObjectDocument(JSonProjection Projection) throws JSonParseException{
+		skipWhitespace();
+		if(currIndex >= length || JSonString.charAt(currIndex) != JSonConstants.BEGIN_JSON_OBJECT){
+			throw new JSonParseException("The supplied string does not start with {", currIndex);
+		}
+		Map<String, Object> JSonProperties = parseObject(Projection);
+		expectEnd(JSonConstants.END_JSON_OBJECT);
+		return JSonProperties;
+	}
+
+	/**
+	 * Parses {@code JSonString} as a single JSon Array, keeping only the fields
+	 * of {@code Projection} in each of its values.
+	 *
+	 * @param Projection The fields to keep
+	 * @return The kept values of the JSon Array
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	ArrayList<Object> parseArrayDocument(JSonProjection Projection) throws JSonParseException{
+		skipWhitespace();
+		if(currIndex >= length || JSonString.charAt(currIndex) != JSonConstants.BEGIN_JSON_ARRAY){
+			throw new JSonParseException("The supplied string does not start with [", currIndex);
+		}
+		ArrayList<Object> JSonArrayList = parseArray(Projection);
+		expectEnd(JSonConstants.END_JSON_ARRAY);
+		return JSonArrayList;
+	}
+
+	/**
+	 * Parses the values of a top-level JSon Array from {@code beginIndex}, which is just
+	 * past the array's opening bracket or one of its commas, adding them to {@code Values}.
+	 * Parsing stops once the cursor reaches {@code stopIndex}, the index of a later comma
+	 * of the array, or, if {@code stopIndex} is negative, at the array's closing bracket,
+	 * which must be followed only by whitespace.
+	 *
+	 * @param beginIndex The index to start parsing from
+	 * @param stopIndex The index of the comma to stop at, or -1 to parse to the end of the array
+	 * @param Values The list to add the parsed values to
+	 * @return Whether parsing stopped exactly at {@code stopIndex}, or at the end of the array;
+	 * 		   false if the cursor passed {@code stopIndex} or the array ended before it
+	 * @throws JSonParseException If the values are not correctly formatted
+	 */
+	boolean parseArraySegment(int beginIndex, int stopIndex, List<Object> Values) throws JSonParseException{
+		currIndex = beginIndex;
+		skipWhitespace();
+		while(true){
+			Values.add(parseValue());
+			skipWhitespace();
+			if(currIndex == stopIndex){
+				return true;
+			}else if(stopIndex >= 0 && currIndex > stopIndex){
+				return false;
+			}
+			char Next = peek();
+			currIndex++;
+			if(Next == JSonConstants.END_JSON_ARRAY){
+				if(stopIndex >= 0){
+					return false;
+				}
+				expectEnd(JSonConstants.END_JSON_ARRAY);
+				return true;
+			}else if(Next != JSonConstants.JSON_COMMA){
+				throw new JSonParseException("Expected , or ]", currIndex - 1);
+			}
+			skipWhitespace();
+		}
+	}
+
+	/**
+	 * Parses the single value starting at {@code beginIndex}. This is used to decode
+	 * the values of a {@code JSonTape} whose structure has already been checked.
+	 *
+	 * @param beginIndex The index of the first character of the value
+	 * @return The value, as it would be stored in a {@code JSonObject} or {@code JSonArray}
+	 * @throws JSonParseException If the value is not correctly formatted
+	 */
+	Object parseValueAt(int beginIndex) throws JSonParseException{
+		currIndex = beginIndex;
+		return parseValue();
+	}
+
+	/**
+	 * Parses the name string starting at {@code beginIndex}, through the {@code JSonKeyCache}
+	 *
+	 * @param beginIndex The index of the opening quote of the name
+	 * @return The name
+	 * @throws JSonParseException If the name is not correctly formatted
+	 */
+	String parseKeyAt(int beginIndex) throws JSonParseException{
+		currIndex = beginIndex;
+		return parseKey();
+	}
+
+	/**
+	 * Parses the JSon Object starting at the cursor, leaving the cursor
+	 * just past its closing brace.
+	 */
+	private Map<String, Object> parseObject() throws JSonParseException{
+		Map<String, Object> JSonProperties = new JSonPropertyMap();
+		objectCount++;
+		enter();
+		currIndex++;
+		skipWhitespace();
+		if(peek() == JSonConstants.END_JSON_OBJECT){
+			currIndex++;
+			depth--;
+			return JSonProperties;
+		}
+		while(true){
+			if(peek() != JSonConstants.JSON_STRING){
+				throw new JSonParseException("Expected a name string", currIndex);
+			}
+			String Key = parseKey();
+			skipWhitespace();
+			if(peek() != JSonConstants.JSON_PAIR){
+				throw new JSonParseException("Expected " + JSonConstants.JSON_PAIR, currIndex);
+			}
+			currIndex++;
+			skipWhitespace();
+			JSonProperties.put(Key, parseValue());
+			skipWhitespace();
+			char Next = peek();
+			currIndex++;
+			if(Next == JSonConstants.END_JSON_OBJECT){
+				depth--;
+				return JSonProperties;
+			}else if(Next != JSonConstants.JSON_COMMA){
+				throw new JSonParseException("Expected , or }", currIndex - 1);
+			}
+			skipWhitespace();
+		}
+	}
+
+	/**
+	 * Parses the JSon Array starting at the cursor, leaving the cursor
+	 * just past its closing bracket.
+	 */
+	private ArrayList<Object> parseArray() throws JSonParseException{
+		ArrayList<Object> JSonArrayList = new ArrayList<Object>();
+		arrayCount++;
+		enter();
+		currIndex++;
+		skipWhitespace();
+		if(peek() == JSonConstants.END_JSON_ARRAY){
+			currIndex++;
+			depth--;
+			return JSonArrayList;
+		}
+		while(true){
+			JSonArrayList.add(parseValue());
+			skipWhitespace();
+			char Next = peek();
+			currIndex++;
+			if(Next == JSonConstants.END_JSON_ARRAY){
+				depth--;
+				return JSonArrayList;
+			}else if(Next != JSonConstants.JSON_COMMA){
+				throw new JSonParseException("Expected , or ]", currIndex - 1);
+			}
+			skipWhitespace();
+		}
+	}
+
+	/**
+	 * Counts one more level of nesting
+	 */
+	private void enter(){
+		if(++depth > maxDepth){
+			maxDepth = depth;
+		}
+	}
+
+	/**
+	 * Parses the JSon Object starting at the cursor, keeping only the fields of
+	 * {@code Projection} and skipping all other pairs.
+	 */
+	private Map<String, Object> parseObject(JSonProjection Projection) throws JSonParseException{
+		if(Projection.isAll()){
+			return parseObject();
+		}
+		Map<String, Object> JSonProperties = new JSonPropertyMap();
+		objectCount++;
+		enter();
+		currIndex++;
+		skipWhitespace();
+		if(peek() == JSonConstants.END_JSON_OBJECT){
+			currIndex++;
+			depth--;
+			return JSonProperties;
+		}
+		while(true){
+			if(peek() != JSonConstants.JSON_STRING){
+				throw new JSonParseException("Expected a name string", currIndex);
+			}
+			String Key = parseKey();
+			JSonProjection Field = Projection.getField(Key);
+			skipWhitespace();
+			if(peek() != JSonConstants.JSON_PAIR){
+				throw new JSonParseException("Expected " + JSonConstants.JSON_PAIR, currIndex);
+			}
+			currIndex++;
+			skipWhitespace();
+			if(Field == null){
+				skipValue();
+			}else{
+				Object Value = parseValue(Field);
+				if(Value != null){
+					JSonProperties.put(Key, Value);
+				}
+			}
+			skipWhitespace();
+			char Next = peek();
+			currIndex++;
+			if(Next == JSonConstants.END_JSON_OBJECT){
+				depth--;
+				return JSonProperties;
+			}else if(Next != JSonConstants.JSON_COMMA){
+				throw new JSonParseException("Expected , or }", currIndex - 1);
+			}
+			skipWhitespace();
+		}
+	}
+
+	/**
+	 * Parses the JSon Array starting at the cursor, keeping only the fields of
+	 * {@code Projection} in each of its values.
+	 */
+	private ArrayList<Object> parseArray(JSonProjection Projection) throws JSonParseException{
+		if(Projection.isAll()){
+			return parseArray();
+		}
+		ArrayList<Object> JSonArrayList = new ArrayList<Object>();
+		arrayCount++;
+		enter();
+		currIndex++;
+		skipWhitespace();
+		if(peek() == JSonConstants.END_JSON_ARRAY){
+			currIndex++;
+			depth--;
+			return JSonArrayList;
+		}
+		while(true){
+			Object Value = parseValue(Projection);
+			if(Value != null){
+				JSonArrayList.add(Value);
+			}
+			skipWhitespace();
+			char Next = peek();
+			currIndex++;
+			if(Next == JSonConstants.END_JSON_ARRAY){
+				depth--;
+				return JSonArrayList;
+			}else if(Next != JSonConstants.JSON_COMMA){
+				throw new JSonParseException("Expected , or ]", currIndex - 1);
+			}
+			skipWhitespace();
+		}
+	}
+
+	/**
+	 * Parses the JSon value starting at the cursor through {@code Projection}. A value
+	 * which is not a JSon Object or Array is skipped, returning null, unless
+	 * {@code Projection} keeps it in full.
+	 */
+	private Object parseValue(JSonProjection Projection) throws JSonParseException{
+		if(Projection.isAll()){
+			return parseValue();
+		}
+		switch(peek()){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				return new JSonObject(parseObject(Projection));
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				return new JSonArray(parseArray(Projection));
+			default:
+				skipValue();
+				return null;
+		}
+	}
+
+	/**
+	 * Advances the cursor past the JSon value starting at it, without building it.
+	 * JSon Objects and Arrays are skipped by only matching their brackets and strings.
+	 */
+	private void skipValue() throws JSonParseException{
+		char Current = peek();
+		switch(Current){
+			case JSonConstants.JSON_STRING:
+				skipString();
+				return;
+			case JSonConstants.BEGIN_JSON_OBJECT:
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				int beginIndex = currIndex++;
+				int level = 1;
+				while(level > 0){
+					if(currIndex >= length){
+						throw new JSonParseException("Unexpected end of input", beginIndex);
+					}
+					switch(JSonString.charAt(currIndex)){
+						case JSonConstants.JSON_STRING:
+							skipString();
+							continue;
+						case JSonConstants.BEGIN_JSON_OBJECT:
+						case JSonConstants.BEGIN_JSON_ARRAY:
+							level++;
+							break;
+						case JSonConstants.END_JSON_OBJECT:
+						case JSonConstants.END_JSON_ARRAY:
+							level--;
+							break;
+					}
+					currIndex++;
+				}
+				return;
+			default:
+				if(Current == '-' || (Current >= '0' && Current <= '9')){
+					int endIndex = JSonConverter.scanJSonNumber(JSonString, currIndex, length);
+					if(endIndex < 0){
+						throw new JSonParseException("Invalid number", currIndex);
+					}
+					currIndex = endIndex;
+					return;
+				}
+				parseValue();
+		}
+	}
+
+	/**
+	 * Advances the cursor past the JSon String starting at it, without decoding it.
+	 */
+	private void skipString() throws JSonParseException{
+		int beginIndex = currIndex++;
+		while(currIndex < length){
+			char Current = JSonString.charAt(currIndex++);
+			if(Current == JSonConstants.JSON_STRING){
+				return;
+			}else if(Current == '\\'){
+				currIndex++;
+			}
+		}
+		throw new JSonParseException("Unterminated string", beginIndex);
+	}
+
+	/**
+	 * Parses any JSon value starting at the cursor.
+	 */
+	private Object parseValue() throws JSonParseException{
+		char Current = peek();
+		switch(Current){
+			case JSonConstants.JSON_STRING:
+				return parseString();
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				return new JSonObject(parseObject());
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				return new JSonArray(parseArray());
+			case 't':
+			case 'T':
+				return parseLiteral("true", Boolean.TRUE);
+			case 'f':
+			case 'F':
+				return parseLiteral("false", Boolean.FALSE);
+			case 'n':
+			case 'N':
+				return parseLiteral("null", JSonObject.NULL);
+			default:
+				if(Current == '-' || (Current >= '0' && Current <= '9')){
+					return parseNumber();
+				}
+				throw new JSonParseException("Unexpected character " + Current, currIndex);
+		}
+	}
+
+	/**
+	 * Parses the name string starting at the cursor. Names without escapes are
+	 * looked up in the {@code JSonKeyCache} straight from the input, so a name
+	 * which has been seen before costs no allocation.
+	 */
+	private String parseKey() throws JSonParseException{
+		int beginIndex = currIndex + 1;
+		for(int i = beginIndex; i < length; i++){
+			char Current = JSonString.charAt(i);
+			if(Current == JSonConstants.JSON_STRING){
+				currIndex = i + 1;
+				return JSonKeyCache.intern(JSonString, beginIndex, i);
+			}else if(Current == '\\'){
+				break;
+			}
+		}
+		return parseString();
+	}
+
+	/**
+	 * Parses the JSon String starting at the cursor. Strings without escapes are
+	 * returned as a direct substring of the input; all others are decoded into
+	 * the reused {@code Scratch} builder.
+	 */
+	private String parseString() throws JSonParseException{
+		int beginIndex = ++currIndex;
+		while(currIndex < length){
+			char Current = JSonString.charAt(currIndex);
+			if(Current == JSonConstants.JSON_STRING){
+				return JSonString.substring(beginIndex, currIndex++);
+			}else if(Current == '\\'){
+				break;
+			}
+			currIndex++;
+		}
+
+		StringBuilder Value = Scratch;
+		if(Value == null){
+			Value = Scratch = new StringBuilder(Math.max(64, currIndex - beginIndex + 16));
+		}
+		Value.setLength(0);
+		Value.append(JSonString, beginIndex, currIndex);
+		while(currIndex < length){
+			char Current = JSonString.charAt(currIndex++);
+			if(Current == JSonConstants.JSON_STRING){
+				return Value.toString();
+			}else if(Current != '\\'){
+				Value.append(Current);
+				continue;
+			}
+			if(currIndex >= length){
+				break;
+			}
+			char Escaped = JSonString.charAt(currIndex++);
+			switch(Escaped){
+				case '"':
+				case '\\':
+				case '/':
+					Value.append(Escaped);
+					break;
+				case 'b':
+					Value.append('\b');
+					break;
+				case 'f':
+					Value.append('\f');
+					break;
+				case 'n':
+					Value.append('\n');
+					break;
+				case 'r':
+					Value.append('\r');
+					break;
+				case 't':
+					Value.append('\t');
+					break;
+				case 'u':
+					if(currIndex + 4 <= length){
+						int Code = parseHex(currIndex);
+						if(Code >= 0){
+							Value.append((char)Code);
+							currIndex += 4;
+							break;
+						}
+					}
+					Value.append('\\').append(Escaped);
+					break;
+				default:
+					Value.append('\\').append(Escaped);
+			}
+		}
+		throw new JSonParseException("Unterminated string", beginIndex - 1);
+	}
+
+	/**
+	 * Returns the value of the 4 hex digits at {@code beginIndex}, or -1
+	 * if they are not all hex digits.
+	 */
+	private int parseHex(int beginIndex){
+		int Code = 0;
+		for(int i = beginIndex; i < beginIndex + 4; i++){
+			int Digit = Character.digit(JSonString.charAt(i), 16);
+			if(Digit < 0){
+				return -1;
+			}
+			Code = (Code << 4) | Digit;
+		}
+		return Code;
+	}
+
+	/**
+	 * Parses the JSon number starting at the cursor, without copying it.
+	 */
+	private Object parseNumber() throws JSonParseException{
+		int beginIndex = currIndex;
+		int endIndex = JSonConverter.scanJSonNumber(JSonString, beginIndex, length);
+		if(endIndex < 0){
+			throw new JSonParseException("Invalid number", beginIndex);
+		}
+		currIndex = endIndex;
+		if(lazyNumbers){
+			return new JSonLazyNumber(JSonString, beginIndex, endIndex);
+		}
+		return JSonConverter.parseJSonNumber(JSonString, beginIndex, endIndex);
+	}
+
+	/**
+	 * Matches {@code Literal} at the cursor, ignoring case.
+	 */
+	private Object parseLiteral(String Literal, Object Value) throws JSonParseException{
+		if(!JSonString.regionMatches(true, currIndex, Literal, 0, Literal.length())){
+			throw new JSonParseException("Expected " + Literal, currIndex);
+		}
+		currIndex += Literal.length();
+		return Value;
+	}
+
+	/**
+	 * Ensures that only whitespace follows the cursor.
+	 */
+	private void expectEnd(char END_CHARACTER) throws JSonParseException{
+		skipWhitespace();
+		if(currIndex != length){
+			throw new JSonParseException("The supplied string does not end with " + END_CHARACTER, currIndex);
+		}
+	}
+
+	/**
+	 * Returns the character at the cursor without consuming it.
+	 */
+	private char peek() throws JSonParseException{
+		if(currIndex >= length){
+			throw new JSonParseException("Unexpected end of input", currIndex);
+		}
+		return JSonString.charAt(currIndex);
+	}
+
+	/**
+	 * Advances the cursor past any whitespace.
+	 */
+	private void skipWhitespace(){
+		while(currIndex < length && JSonString.charAt(currIndex) <= ' '){
+			currIndex++;
+		}
+	}
+}
@@ -0,0 +1,339 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonPath is a compiled path expression selecting values from within a
+ * {@code JSonObject} or {@code JSonArray}, in the style of JSONPath. An expression
+ * is made up of an optional root {@code $} followed by any number of steps:
+ * 
+ * <pre>
+ * .name  ['name']    The value of the pair called name
+ * [n]                The nth value of an array, counting back from the end if n is negative
+ * .*  [*]            Every value of an object or array
+ * </pre>
+ * 
+ * <p>so that {@code JSonPath.compile("$.story.chapters[*].views")} selects the views of
+ * every chapter of a story. A leading name may also be written without the root, as in
+ * {@code "story.id"}.</p>
+ * 
+ * <p>Each name is looked up in its object's {@code java.util.Map} directly, so every step
+ * takes constant time on average. A JSonPath is immutable and may be shared between
+ * threads, and {@code compile} keeps up to 256 compiled expressions, so compiling a
+ * frequently used expression again costs a single lock-free cache lookup.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonPath{
+	
+	/**
+	 * The number of compiled expressions kept by {@code compile}
+	 */
+	private static final int CACHE_SIZE = 256;
+	
+	/**
+	 * Recently compiled expressions. Hits are looked up without locking; once the cache
+	 * is full, arbitrary entries are dropped to make room for each new one.
+	 */
+	private static final ConcurrentMap<String, JSonPath> CACHE = new ConcurrentHashMap<String, JSonPath>(CACHE_SIZE * 2);
+	
+	/**
+	 * Marks a step selecting every value
+	 */
+	private static final Object WILDCARD = new Object();
+	
+	/**
+	 * The expression this JSonPath was compiled from
+	 */
+	private final String Expression;
+	
+	/**
+	 * The steps of the path, each a name ({@code String}), an index ({@code Integer})
+	 * or {@code WILDCARD}
+	 */
+	private final Object[] Steps;
+	
+	/**
+	 * Whether the path can select at most one value, i.e. has no wildcard steps
+	 */
+	private final boolean definite;
+	
+	private JSonPath(String Expression, Object[] Steps){
+		this.Expression = Expression;
+		this.Steps = Steps;
+		boolean Definite = true;
+		for(Object Step : Steps){
+			Definite &= Step != WILDCARD;
+		}
+		this.definite = Definite;
+	}
+	
+	/**
+	 * Compiles {@code Expression}, or returns its cached compiled form if it
+	 * has been compiled recently.
+	 * 
+	 * @param Expression The path expression to compile
+	 * @return The compiled {@code JSonPath}
+	 * @throws JSonParseException If {@code Expression} is not a valid path expression
+	 */
+	public static JSonPath compile(String Expression) throws JSonParseException{
+		JSonPath Path = CACHE.get(Expression);
+		if(Path != null){
+			return Path;
+		}
+		Path = new JSonPath(Expression, parseSteps(Expression));
+		Iterator<String> Evicted = CACHE.keySet().iterator();
+		while(CACHE.size() >= CACHE_SIZE && Evicted.hasNext()){
+			Evicted.next();
+			Evicted.remove();
+		}
+		JSonPath Cached = CACHE.putIfAbsent(Expression, Path);
+		return (Cached == null ? Path : Cached);
+	}
+	
+	/**
+	 * Returns every value selected by this path from {@code Root}, in document order.
+	 * 
+	 * @param Root The {@code JSonObject}, {@code JSonArray}, {@code java.util.Map}
+	 * 		   or {@code java.util.List} to select from
+	 * @return The selected values, which is empty if nothing matched
+	 */
+	public List<Object> evaluate(Object Root){
+		if(definite){
+			Object Value = evaluateFirst(Root);
+			return (Value == null ? Collections.emptyList() : Collections.singletonList(Value));
+		}
+		List<Object> Current = Collections.singletonList(Root);
+		for(Object Step : Steps){
+			List<Object> Next = new ArrayList<Object>();
+			for(Object Value : Current){
+				select(Value, Step, Next);
+			}
+			if(Next.isEmpty()){
+				return Next;
+			}
+			Current = Next;
+		}
+		return Current;
+	}
+	
+	/**
+	 * Returns the first value selected by this path from {@code Root}.
+	 * 
+	 * @param Root The {@code JSonObject}, {@code JSonArray}, {@code java.util.Map}
+	 * 		   or {@code java.util.List} to select from
+	 * @return The first selected value, or null if nothing matched
+	 */
+	public Object evaluateFirst(Object Root){
+		if(!definite){
+			List<Object> Values = evaluate(Root);
+			return (Values.isEmpty() ? null : Values.get(0));
+		}
+		Object Value = Root;
+		for(int i = 0; i < Steps.length && Value != null; i++){
+			Object Step = Steps[i];
+			if(Step instanceof String){
+				Map<String, Object> Properties = properties(Value);
+				Value = (Properties == null ? null : Properties.get(Step));
+			}else{
+				List<Object> Values = values(Value);
+				Value = (Values == null ? null : element(Values, (Integer)Step));
+			}
+		}
+		return Value;
+	}
+	
+	/**
+	 * Returns the expression this JSonPath was compiled from
+	 * 
+	 * @return The path expression
+	 */
+	@Override
+	public String toString(){
+		return Expression;
+	}
+	
+	/**
+	 * Adds the values selected by {@code Step} from {@code Value} to {@code Selected}
+	 */
+	private static void select(Object Value, Object Step, List<Object> Selected){
+		if(Step instanceof String){
+			Map<String, Object> Properties = properties(Value);
+			Object Child = (Properties == null ? null : Properties.get(Step));
+			if(Child != null){
+				Selected.add(Child);
+			}
+			return;
+		}
+		Map<String, Object> Properties = properties(Value);
+		if(Properties != null){
+			if(Step == WILDCARD){
+				Selected.addAll(Properties.values());
+			}
+			return;
+		}
+		List<Object> Values = values(Value);
+		if(Values != null){
+			if(Step == WILDCARD){
+				Selected.addAll(Values);
+			}else{
+				Object Child = element(Values, (Integer)Step);
+				if(Child != null){
+					Selected.add(Child);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the pairs of {@code Value} if it is an object, or null otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> properties(Object Value){
+		if(Value instanceof JSonObject){
+			return ((JSonObject)Value).getJSonProperties();
+		}else if(Value instanceof Map){
+			return (Map<String, Object>)Value;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the values of {@code Value} if it is an array, or null otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Object> values(Object Value){
+		if(Value instanceof JSonArray){
+			return ((JSonArray)Value).getJSonArrayList();
+		}else if(Value instanceof List){
+			return (List<Object>)Value;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the value at {@code Index} of {@code Values}, counting back from the
+	 * end if it is negative, or null if there is no such value
+	 */
+	private static Object element(List<Object> Values, int Index){
+		if(Index < 0){
+			Index += Values.size();
+		}
+		return (Index >= 0 && Index < Values.size() ? Values.get(Index) : null);
+	}
+	
+	/**
+	 * Parses the steps of {@code Expression}
+	 */
+	private static Object[] parseSteps(String Expression) throws JSonParseException{
+		List<Object> Steps = new ArrayList<Object>();
+		int length = Expression.length();
+		int currIndex = 0;
+		if(currIndex < length && Expression.charAt(currIndex) == '$'){
+			currIndex++;
+		}else if(currIndex < length && Expression.charAt(currIndex) != '.' && Expression.charAt(currIndex) != '['){
+			currIndex = parseName(Expression, currIndex, Steps);
+		}
+		while(currIndex < length){
+			char Current = Expression.charAt(currIndex);
+			if(Current == '.'){
+				currIndex = parseName(Expression, currIndex + 1, Steps);
+			}else if(Current == '['){
+				currIndex = parseBracket(Expression, currIndex + 1, Steps);
+			}else{
+				throw new JSonParseException("Expected . or [", currIndex);
+			}
+		}
+		return Steps.toArray();
+	}
+	
+	/**
+	 * Parses the name or wildcard of a dot step starting at {@code beginIndex},
+	 * returning the index just past it
+	 */
+	private static int parseName(String Expression, int beginIndex, List<Object> Steps) throws JSonParseException{
+		int endIndex = beginIndex;
+		while(endIndex < Expression.length() && Expression.charAt(endIndex) != '.' && Expression.charAt(endIndex) != '['){
+			endIndex++;
+		}
+		if(endIndex == beginIndex){
+			throw new JSonParseException("Expected a name", beginIndex);
+		}
+		String Name = Expression.substring(beginIndex, endIndex);
+		Steps.add(Name.equals("*") ? WILDCARD : Name);
+		return endIndex;
+	}
+	
+	/**
+	 * Parses the contents of a bracket step starting at {@code beginIndex}, just past
+	 * the opening bracket, returning the index just past the closing bracket
+	 */
+	private static int parseBracket(String Expression, int beginIndex, List<Object> Steps) throws JSonParseException{
+		int length = Expression.length();
+		int currIndex = beginIndex;
+		char Current = (currIndex < length ? Expression.charAt(currIndex) : 0);
+		if(Current == '*'){
+			Steps.add(WILDCARD);
+			currIndex++;
+		}else if(Current == '\'' || Current == '"'){
+			StringBuilder Name = new StringBuilder();
+			currIndex++;
+			while(currIndex < length && Expression.charAt(currIndex) != Current){
+				char Next = Expression.charAt(currIndex++);
+				if(Next == '\\' && currIndex < length){
+					Next = Expression.charAt(currIndex++);
+				}
+				Name.append(Next);
+			}
+			if(currIndex >= length){
+				throw new JSonParseException("Unterminated name", beginIndex);
+			}
+			Steps.add(Name.toString());
+			currIndex++;
+		}else{
+			int endIndex = currIndex;
+			if(endIndex < length && Expression.charAt(endIndex) == '-'){
+				endIndex++;
+			}
+			while(endIndex < length && Expression.charAt(endIndex) >= '0' && Expression.charAt(endIndex) <= '9'){
+				endIndex++;
+			}
+			try{
+				Steps.add(Integer.valueOf(Expression.substring(currIndex, endIndex)));
+			}catch(NumberFormatException NFE){
+				throw new JSonParseException("Expected an index, name or *", currIndex);
+			}
+			currIndex = endIndex;
+		}
+		if(currIndex >= length || Expression.charAt(currIndex) != ']'){
+			throw new JSonParseException("Expected ]", currIndex);
+		}
+		return currIndex + 1;
+	}
+}
@@ -0,0 +1,565 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonPersistentObject is an immutable JSonObject, which may be shared between any
+ * number of threads without copying or locking. Rather than being modified, it is updated
+ * through {@code with} and {@code without}, which return a new version and leave this one
+ * unchanged.
+ * 
+ * <p>The name/value pairs are held in a hash array mapped trie: each level of the trie
+ * takes five more bits of a name's hash, and holds only the branches in use, found through
+ * a 32-bit bitmap. An update copies just the path from the root to the pair it changes, at
+ * most seven small arrays, and every other branch is shared between the old and new versions.
+ * Pairs are iterated in the order of their hashes, not the order they were added in.</p>
+ * 
+ * <p>Nested JSonObjects are held as JSonPersistentObjects, and nested JSonArrays over
+ * unmodifiable copies of their values, so a whole document is immutable. Converting from
+ * and to a mutable {@code JSonObject} copies each pair once.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonPersistentObject extends AbstractMap<String, Object>{
+	
+	/**
+	 * The JSonPersistentObject with no pairs
+	 */
+	public static final JSonPersistentObject EMPTY = new JSonPersistentObject(null, 0);
+	
+	/**
+	 * The number of bits of a hash taken by each level of the trie
+	 */
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	
+	/**
+	 * Returned by {@code Node.find} when a name is not present, since values may be null
+	 */
+	private static final Object NOT_FOUND = new Object();
+	
+	/**
+	 * The root of the trie, or null if there are no pairs
+	 */
+	private final Node Root;
+	private final int size;
+	
+	/**
+	 * The entry set, created when first asked for
+	 */
+	private Set<Map.Entry<String, Object>> Entries;
+	
+	private JSonPersistentObject(Node Root, int size){
+		this.Root = Root;
+		this.size = size;
+	}
+	
+	/**
+	 * Returns an immutable copy of {@code Source}. Nested JSonObjects and JSonArrays are copied as well.
+	 * 
+	 * @param Source The {@code JSonObject} to copy
+	 * @return A JSonPersistentObject with the pairs of {@code Source}
+	 */
+	public static JSonPersistentObject from(JSonObject Source){
+		return from(Source.getJSonProperties());
+	}
+	
+	/**
+	 * Returns an immutable copy of {@code Properties}. Nested JSonObjects and JSonArrays are copied as well.
+	 * 
+	 * @param Properties The name/value pairs to copy
+	 * @return A JSonPersistentObject with the pairs of {@code Properties}
+	 */
+	public static JSonPersistentObject from(Map<String, ?> Properties){
+		if(Properties instanceof JSonPersistentObject){
+			return (JSonPersistentObject)Properties;
+		}
+		Node Root = null;
+		int size = 0;
+		boolean[] Added = new boolean[1];
+		for(Map.Entry<String, ?> Property : Properties.entrySet()){
+			String Name = Property.getKey();
+			Added[0] = false;
+			Root = with(Root, 0, hash(Name), Name, freeze(Property.getValue()), Added);
+			if(Added[0]){
+				size++;
+			}
+		}
+		return (size == 0 ? EMPTY : new JSonPersistentObject(Root, size));
+	}
+	
+	/**
+	 * Returns a mutable copy of this JSonPersistentObject, with nested JSonPersistentObjects
+	 * and JSonArrays copied as mutable JSonObjects and JSonArrays
+	 * 
+	 * @return A {@code JSonObject} with the pairs of this JSonPersistentObject
+	 */
+	public JSonObject toJSonObject(){
+		JSonPropertyMap Properties = new JSonPropertyMap(size);
+		for(Map.Entry<String, Object> Property : entrySet()){
+			Properties.put(Property.getKey(), thaw(Property.getValue()));
+		}
+		return new JSonObject(Properties);
+	}
+	
+	/**
+	 * Returns a version of this JSonPersistentObject in which {@code Name} has the value
+	 * {@code Value}. This JSonPersistentObject is unchanged.
+	 * 
+	 * @param Name The name to set
+	 * @param Value The value to set it to; a JSonObject or JSonArray is copied
+	 * @return The new version, or this JSonPersistentObject if {@code Name} already has {@code Value}
+	 */
+	public JSonPersistentObject with(String Name, Object Value){
+		boolean[] Added = new boolean[1];
+		Node NewRoot = with(Root, 0, hash(Name), Name, freeze(Value), Added);
+		return (NewRoot == Root ? this : new JSonPersistentObject(NewRoot, Added[0] ? size + 1 : size));
+	}
+	
+	/**
+	 * Returns a version of this JSonPersistentObject without {@code Name}. This
+	 * JSonPersistentObject is unchanged.
+	 * 
+	 * @param Name The name to remove
+	 * @return The new version, or this JSonPersistentObject if {@code Name} is not present
+	 */
+	public JSonPersistentObject without(String Name){
+		if(Root == null){
+			return this;
+		}
+		Node NewRoot = Root.without(0, hash(Name), Name);
+		if(NewRoot == Root){
+			return this;
+		}
+		return (NewRoot == null ? EMPTY : new JSonPersistentObject(NewRoot, size - 1));
+	}
+	
+	/**
+	 * Returns the value of {@code Name}
+	 * 
+	 * @param Name The name to look up
+	 * @return The value of {@code Name}, or null if it is not present
+	 */
+	@Override
+	public Object get(Object Name){
+		Object Value = find(Name);
+		return (Value == NOT_FOUND ? null : Value);
+	}
+	
+	@Override
+	public boolean containsKey(Object Name){
+		return find(Name) != NOT_FOUND;
+	}
+	
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet(){
+		Set<Map.Entry<String, Object>> Found = Entries;
+		if(Found == null){
+			Entries = Found = new AbstractSet<Map.Entry<String, Object>>(){
+				
+				@Override
+				public Iterator<Map.Entry<String, Object>> iterator(){
+					return new PairIterator(Root);
+				}
+				
+				@Override
+				public int size(){
+					return size;
+				}
+			};
+		}
+		return Found;
+	}
+	
+	/**
+	 * Returns this JSonPersistentObject as a JSon String, as written by {@code writeTo}
+	 * 
+	 * @return The JSon String of this JSonPersistentObject
+	 */
+	@Override
+	public String toString(){
+		StringBuilder Data = new StringBuilder();
+		try{
+			writeTo(Data);
+		}catch(IOException E){
+			throw new IllegalStateException(E);
+		}
+		return Data.toString();
+	}
+	
+	/**
+	 * Writes this JSonPersistentObject to {@code Out} as a JSon String
+	 * 
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	public void writeTo(Appendable Out) throws IOException{
+		JSonWriter.writeValue(this, null, Out);
+	}
+	
+	private Object find(Object Name){
+		if(Root == null || !(Name instanceof String)){
+			return NOT_FOUND;
+		}
+		return Root.find(0, hash((String)Name), (String)Name);
+	}
+	
+	/**
+	 * Returns the hash of {@code Name}, with its high bits folded into the low bits the trie uses first
+	 */
+	private static int hash(String Name){
+		int Hash = Name.hashCode();
+		return Hash ^ (Hash >>> 16);
+	}
+	
+	/**
+	 * Returns {@code Value} in the form it is held in: JSonObjects are copied as
+	 * JSonPersistentObjects, and JSonArrays over unmodifiable copies of their values
+	 */
+	private static Object freeze(Object Value){
+		if(Value instanceof JSonObject){
+			return from(((JSonObject)Value).getJSonProperties());
+		}else if(Value instanceof JSonArray){
+			List<Object> Values = ((JSonArray)Value).getJSonArrayList();
+			ArrayList<Object> Frozen = new ArrayList<Object>(Values.size());
+			for(Object Element : Values){
+				Frozen.add(freeze(Element));
+			}
+			return new JSonArray(Collections.unmodifiableList(Frozen));
+		}
+		return Value;
+	}
+	
+	/**
+	 * Reverses {@code freeze}, returning a mutable copy of {@code Value}
+	 */
+	private static Object thaw(Object Value){
+		if(Value instanceof JSonPersistentObject){
+			return ((JSonPersistentObject)Value).toJSonObject();
+		}else if(Value instanceof JSonArray){
+			List<Object> Values = ((JSonArray)Value).getJSonArrayList();
+			ArrayList<Object> Thawed = new ArrayList<Object>(Values.size());
+			for(Object Element : Values){
+				Thawed.add(thaw(Element));
+			}
+			return new JSonArray(Thawed);
+		}
+		return Value;
+	}
+	
+	/**
+	 * Returns {@code Current}, which may be null, with {@code Name} set to {@code Value}
+	 */
+	private static Node with(Node Current, int shift, int Hash, String Name, Object Value, boolean[] Added){
+		if(Current == null){
+			Added[0] = true;
+			return new BitmapNode(bit(Hash, shift), new Object[]{Name, Value});
+		}
+		return Current.with(shift, Hash, Name, Value, Added);
+	}
+	
+	/**
+	 * Returns the bit of a bitmap node at {@code shift} for {@code Hash}
+	 */
+	private static int bit(int Hash, int shift){
+		return 1 << ((Hash >>> shift) & MASK);
+	}
+	
+	/**
+	 * Returns whether {@code Existing} may be kept in place of {@code Value}, as they are
+	 * equal values of the same class
+	 */
+	private static boolean same(Object Existing, Object Value){
+		return Existing == Value || (Existing != null && Value != null && Existing.getClass() == Value.getClass() && Existing.equals(Value));
+	}
+	
+	/**
+	 * Returns a copy of {@code Array} with {@code Value} at {@code index}
+	 */
+	private static Object[] replace(Object[] Array, int index, Object Value){
+		Object[] Copy = Array.clone();
+		Copy[index] = Value;
+		return Copy;
+	}
+	
+	/**
+	 * A node of the trie. Its array holds pairs of slots, each a name and its value, or null
+	 * and a child node.
+	 */
+	private abstract static class Node{
+		
+		final Object[] Array;
+		
+		Node(Object[] Array){
+			this.Array = Array;
+		}
+		
+		/**
+		 * Returns the value of {@code Name}, or {@code NOT_FOUND}
+		 */
+		abstract Object find(int shift, int Hash, String Name);
+		
+		/**
+		 * Returns this node with {@code Name} set to {@code Value}, or this node itself if it
+		 * already has that value, setting {@code Added[0]} if {@code Name} was not present
+		 */
+		abstract Node with(int shift, int Hash, String Name, Object Value, boolean[] Added);
+		
+		/**
+		 * Returns this node without {@code Name}, this node itself if {@code Name} is not
+		 * present, or null if no pairs would be left
+		 */
+		abstract Node without(int shift, int Hash, String Name);
+	}
+	
+	/**
+	 * A node holding a pair or child for each bit set in its bitmap
+	 */
+	private static final class BitmapNode extends Node{
+		
+		private final int Bitmap;
+		
+		BitmapNode(int Bitmap, Object[] Array){
+			super(Array);
+			this.Bitmap = Bitmap;
+		}
+		
+		/**
+		 * Returns the index of the pair for {@code Bit} in the array
+		 */
+		private int indexOf(int Bit){
+			return Integer.bitCount(Bitmap & (Bit - 1)) << 1;
+		}
+		
+		@Override
+		Object find(int shift, int Hash, String Name){
+			int Bit = bit(Hash, shift);
+			if((Bitmap & Bit) == 0){
+				return NOT_FOUND;
+			}
+			int index = indexOf(Bit);
+			Object Key = Array[index];
+			if(Key == null){
+				return ((Node)Array[index + 1]).find(shift + BITS, Hash, Name);
+			}
+			return (Name.equals(Key) ? Array[index + 1] : NOT_FOUND);
+		}
+		
+		@Override
+		Node with(int shift, int Hash, String Name, Object Value, boolean[] Added){
+			int Bit = bit(Hash, shift);
+			int index = indexOf(Bit);
+			if((Bitmap & Bit) == 0){
+				Object[] Grown = new Object[Array.length + 2];
+				System.arraycopy(Array, 0, Grown, 0, index);
+				Grown[index] = Name;
+				Grown[index + 1] = Value;
+				System.arraycopy(Array, index, Grown, index + 2, Array.length - index);
+				Added[0] = true;
+				return new BitmapNode(Bitmap | Bit, Grown);
+			}
+			Object Key = Array[index];
+			Object Existing = Array[index + 1];
+			if(Key == null){
+				Node Child = ((Node)Existing).with(shift + BITS, Hash, Name, Value, Added);
+				return (Child == Existing ? this : new BitmapNode(Bitmap, replace(Array, index + 1, Child)));
+			}else if(Name.equals(Key)){
+				return (same(Existing, Value) ? this : new BitmapNode(Bitmap, replace(Array, index + 1, Value)));
+			}
+			Added[0] = true;
+			Object[] Pushed = replace(Array, index, null);
+			Pushed[index + 1] = pair(shift + BITS, (String)Key, Existing, Hash, Name, Value);
+			return new BitmapNode(Bitmap, Pushed);
+		}
+		
+		@Override
+		Node without(int shift, int Hash, String Name){
+			int Bit = bit(Hash, shift);
+			if((Bitmap & Bit) == 0){
+				return this;
+			}
+			int index = indexOf(Bit);
+			Object Key = Array[index];
+			if(Key == null){
+				Node Child = (Node)Array[index + 1];
+				Node Removed = Child.without(shift + BITS, Hash, Name);
+				if(Removed == Child){
+					return this;
+				}else if(Removed != null){
+					return new BitmapNode(Bitmap, replace(Array, index + 1, Removed));
+				}
+			}else if(!Name.equals(Key)){
+				return this;
+			}
+			if(Bitmap == Bit){
+				return null;
+			}
+			Object[] Shrunk = new Object[Array.length - 2];
+			System.arraycopy(Array, 0, Shrunk, 0, index);
+			System.arraycopy(Array, index + 2, Shrunk, index, Array.length - index - 2);
+			return new BitmapNode(Bitmap & ~Bit, Shrunk);
+		}
+		
+		/**
+		 * Returns a node at {@code shift} holding two pairs whose names differ
+		 */
+		private static Node pair(int shift, String Name1, Object Value1, int Hash2, String Name2, Object Value2){
+			int Hash1 = hash(Name1);
+			if(Hash1 == Hash2){
+				return new CollisionNode(Hash1, new Object[]{Name1, Value1, Name2, Value2});
+			}
+			boolean[] Ignored = new boolean[1];
+			return new BitmapNode(bit(Hash1, shift), new Object[]{Name1, Value1}).with(shift, Hash2, Name2, Value2, Ignored);
+		}
+	}
+	
+	/**
+	 * A node holding the pairs whose names all have the same hash
+	 */
+	private static final class CollisionNode extends Node{
+		
+		private final int Hash;
+		
+		CollisionNode(int Hash, Object[] Array){
+			super(Array);
+			this.Hash = Hash;
+		}
+		
+		private int indexOf(String Name){
+			for(int i = 0; i < Array.length; i += 2){
+				if(Name.equals(Array[i])){
+					return i;
+				}
+			}
+			return -1;
+		}
+		
+		@Override
+		Object find(int shift, int Hash, String Name){
+			int index = indexOf(Name);
+			return (index < 0 ? NOT_FOUND : Array[index + 1]);
+		}
+		
+		@Override
+		Node with(int shift, int Hash, String Name, Object Value, boolean[] Added){
+			if(Hash != this.Hash){
+				// Push this node down a level, under a bitmap node which can hold both
+				return new BitmapNode(bit(this.Hash, shift), new Object[]{null, this}).with(shift, Hash, Name, Value, Added);
+			}
+			int index = indexOf(Name);
+			if(index >= 0){
+				return (same(Array[index + 1], Value) ? this : new CollisionNode(Hash, replace(Array, index + 1, Value)));
+			}
+			Object[] Grown = new Object[Array.length + 2];
+			System.arraycopy(Array, 0, Grown, 0, Array.length);
+			Grown[Array.length] = Name;
+			Grown[Array.length + 1] = Value;
+			Added[0] = true;
+			return new CollisionNode(Hash, Grown);
+		}
+		
+		@Override
+		Node without(int shift, int Hash, String Name){
+			int index = indexOf(Name);
+			if(index < 0){
+				return this;
+			}else if(Array.length == 2){
+				return null;
+			}
+			Object[] Shrunk = new Object[Array.length - 2];
+			System.arraycopy(Array, 0, Shrunk, 0, index);
+			System.arraycopy(Array, index + 2, Shrunk, index, Array.length - index - 2);
+			return new CollisionNode(Hash, Shrunk);
+		}
+	}
+	
+	/**
+	 * Iterates the pairs of a trie depth first, keeping the path from the root as a stack
+	 */
+	private static final class PairIterator implements Iterator<Map.Entry<String, Object>>{
+		
+		/**
+		 * The arrays of the nodes on the path, and the next index to visit in each.
+		 * A trie is at most seven levels deep, plus one for a collision node.
+		 */
+		private final Object[][] Arrays = new Object[8][];
+		private final int[] Indices = new int[8];
+		private int depth = -1;
+		private Map.Entry<String, Object> Next;
+		
+		PairIterator(Node Root){
+			if(Root != null){
+				Arrays[++depth] = Root.Array;
+			}
+			advance();
+		}
+		
+		/**
+		 * Moves {@code Next} to the next pair, or to null if there are none left
+		 */
+		private void advance(){
+			Next = null;
+			while(depth >= 0){
+				Object[] Array = Arrays[depth];
+				int index = Indices[depth];
+				if(index >= Array.length){
+					Indices[depth--] = 0;
+					continue;
+				}
+				Indices[depth] = index + 2;
+				if(Array[index] == null){
+					Arrays[++depth] = ((Node)Array[index + 1]).Array;
+				}else{
+					Next = new AbstractMap.SimpleImmutableEntry<String, Object>((String)Array[index], Array[index + 1]);
+					return;
+				}
+			}
+		}
+		
+		public boolean hasNext(){
+			return Next != null;
+		}
+		
+		public Map.Entry<String, Object> next(){
+			Map.Entry<String, Object> Current = Next;
+			if(Current == null){
+				throw new NoSuchElementException();
+			}
+			advance();
+			return Current;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.hightide.jjson;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonProjection is the set of fields to keep when parsing a JSon document, given
+ * as dotted paths of names. The projection
+ * 
+ * <pre>
+ * JSonProjection.of("story.id", "story.title", "story.views")
+ * </pre>
+ * 
+ * <p>keeps only the id, title and views of the story, in full, and skips every other
+ * name/value pair without building any {@code JSonObject}, {@code JSonArray}, string or
+ * number for it. JSonArrays are transparent to a projection: each of their values is
+ * projected as if it stood in the array's place, so {@code "story.chapters.id"} keeps the
+ * id of every chapter. Values which are not JSonObjects or JSonArrays are only kept when
+ * a path ends at them.</p>
+ * 
+ * <p>A JSonProjection is immutable and may be shared between threads.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public final class JSonProjection{
+	
+	/**
+	 * The projection keeping every field
+	 */
+	public static final JSonProjection ALL = new JSonProjection(null);
+	
+	/**
+	 * The projection of each kept name, or null if every name is kept in full
+	 */
+	private final Map<String, JSonProjection> Fields;
+	
+	private JSonProjection(Map<String, JSonProjection> Fields){
+		this.Fields = Fields;
+	}
+	
+	/**
+	 * Creates a {@code JSonProjection} keeping the fields at each of {@code Paths}, where each
+	 * path is a list of names separated by periods(.). A path which is a prefix of another
+	 * keeps its field in full.
+	 * 
+	 * @param Paths The dotted paths of the fields to keep
+	 * @return The {@code JSonProjection} of {@code Paths}
+	 * @throws IllegalArgumentException If a path is empty or contains an empty name
+	 */
+	public static JSonProjection of(String... Paths){
+		Map<String, Object> Tree = new HashMap<String, Object>();
+		for(String Path : Paths){
+			Map<String, Object> Node = Tree;
+			String[] Names = Path.split("\\.", -1);
+			for(int i = 0; i < Names.length; i++){
+				if(Names[i].isEmpty()){
+					throw new IllegalArgumentException("Empty name in projection path " + Path);
+				}
+				Object Child = Node.get(Names[i]);
+				if(Child == ALL){
+					break;
+				}else if(i == Names.length - 1){
+					Node.put(Names[i], ALL);
+				}else{
+					if(Child == null){
+						Child = new HashMap<String, Object>();
+						Node.put(Names[i], Child);
+					}
+					Node = castNode(Child);
+				}
+			}
+		}
+		return freeze(Tree);
+	}
+	
+	/**
+	 * Returns the projection of the value named {@code Name}, or null if it is not kept
+	 * 
+	 * @param Name The name of a name/value pair
+	 * @return The projection to apply to the pair's value, or null to skip the pair
+	 */
+	public JSonProjection getField(String Name){
+		return (Fields == null ? this : Fields.get(Name));
+	}
+	
+	/**
+	 * Returns whether this projection keeps every field
+	 * 
+	 * @return Whether this is {@code JSonProjection.ALL}
+	 */
+	public boolean isAll(){
+		return Fields == null;
+	}
+	
+	/**
+	 * Returns the fields kept by this projection, written as nested braces
+	 * 
+	 * @return The String representation of this projection
+	 */
+	@Override
+	public String toString(){
+		if(Fields == null){
+			return "*";
+		}
+		StringBuilder Data = new StringBuilder("{");
+		for(Map.Entry<String, JSonProjection> Field : Fields.entrySet()){
+			if(Data.length() > 1){
+				Data.append(", ");
+			}
+			Data.append(Field.getKey());
+			if(!Field.getValue().isAll()){
+				Data.append(':').append(Field.getValue());
+			}
+		}
+		return Data.append('}').toString();
+	}
+	
+	/**
+	 * Converts a tree of nested maps into an immutable projection
+	 */
+	private static JSonProjection freeze(Map<String, Object> Tree){
+		Map<String, JSonProjection> Fields = new HashMap<String, JSonProjection>();
+		for(Map.Entry<String, Object> Node : Tree.entrySet()){
+			Fields.put(Node.getKey(), (Node.getValue() == ALL ? ALL : freeze(castNode(Node.getValue()))));
+		}
+		return new JSonProjection(Collections.unmodifiableMap(Fields));
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> castNode(Object Node){
+		return (Map<String, Object>)Node;
+	}
+}
@@ -0,0 +1,429 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonPropertyMap is the {@code java.util.Map} which holds the name/value pairs
+ * of a {@code JSonObject}. Rather than allocating an entry node for every pair, as
+ * {@code java.util.HashMap} does, names and values are kept in a pair of parallel arrays
+ * in the order they were added, which is also the order they are iterated in.
+ * 
+ * <p>Most JSonObjects hold only a handful of pairs, and for those a name is found by a
+ * linear probe through the names. Once a map grows past {@code LINEAR_PROBE_LIMIT} pairs,
+ * an open-addressing index of the names' positions is built alongside the arrays, so
+ * larger maps are still searched in constant time.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonPropertyMap extends AbstractMap<String, Object> implements Serializable{
+	
+	/**
+	 * Serializable ID for the JSonPropertyMap
+	 */
+	private static final long serialVersionUID = -2203514913374519541L;
+	
+	/**
+	 * The largest number of pairs that are searched without an index
+	 */
+	private static final int LINEAR_PROBE_LIMIT = 8;
+	
+	/**
+	 * The capacity of a map created without one
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+	
+	/**
+	 * The names and values of the pairs, in the order they were added
+	 */
+	private transient String[] Keys;
+	private transient Object[] Values;
+	private transient int size;
+	
+	/**
+	 * The open-addressing index, holding each pair's position plus one at a slot chosen
+	 * by the hash of its name, or null while the map is small enough to probe linearly
+	 */
+	private transient int[] Index;
+	
+	/**
+	 * The number of structural modifications made to the map
+	 */
+	private transient int modCount;
+	
+	/**
+	 * The number of modifications of any kind made to the map, including replaced values
+	 */
+	private transient int writeCount;
+	
+	/**
+	 * The set view of the map's pairs
+	 */
+	private transient Set<Map.Entry<String, Object>> EntrySet;
+	
+	/**
+	 * Will create an empty {@code JSonPropertyMap}
+	 */
+	public JSonPropertyMap(){
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Will create an empty {@code JSonPropertyMap} with room for {@code capacity} pairs
+	 * 
+	 * @param capacity The number of pairs to make room for
+	 */
+	public JSonPropertyMap(int capacity){
+		Keys = new String[Math.max(capacity, 1)];
+		Values = new Object[Keys.length];
+	}
+	
+	/**
+	 * Will create a {@code JSonPropertyMap} holding the pairs of {@code Other}
+	 * 
+	 * @param Other The map whose pairs to copy
+	 */
+	public JSonPropertyMap(Map<String, ?> Other){
+		this(Other.size());
+		putAll(Other);
+	}
+	
+	@Override
+	public int size(){
+		return size;
+	}
+	
+	@Override
+	public boolean containsKey(Object Key){
+		return indexOf(Key) >= 0;
+	}
+	
+	@Override
+	public Object get(Object Key){
+		int position = indexOf(Key);
+		return position >= 0 ? Values[position] : null;
+	}
+	
+	@Override
+	public Object put(String Key, Object Value){
+		int position = indexOf(Key);
+		if(position >= 0){
+			Object OldValue = Values[position];
+			Values[position] = Value;
+			writeCount++;
+			return OldValue;
+		}
+		if(size == Keys.length){
+			int capacity = size < 64 ? size * 2 : size + (size >> 1);
+			Keys = Arrays.copyOf(Keys, capacity);
+			Values = Arrays.copyOf(Values, capacity);
+		}
+		Keys[size] = Key;
+		Values[size] = Value;
+		size++;
+		modCount++;
+		writeCount++;
+		if(Index != null && size * 2 <= Index.length){
+			insertIndex(size - 1);
+		}else if(size > LINEAR_PROBE_LIMIT){
+			rebuildIndex();
+		}
+		return null;
+	}
+	
+	@Override
+	public Object remove(Object Key){
+		int position = indexOf(Key);
+		if(position < 0){
+			return null;
+		}
+		Object OldValue = Values[position];
+		removeAt(position);
+		return OldValue;
+	}
+	
+	@Override
+	public void clear(){
+		Arrays.fill(Keys, 0, size, null);
+		Arrays.fill(Values, 0, size, null);
+		size = 0;
+		Index = null;
+		modCount++;
+		writeCount++;
+	}
+	
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet(){
+		Set<Map.Entry<String, Object>> Entries = EntrySet;
+		if(Entries == null){
+			EntrySet = Entries = new EntrySetView();
+		}
+		return Entries;
+	}
+	
+	/**
+	 * Returns the number of modifications of any kind made to this map, that is,
+	 * the number of pairs added or removed and values replaced. A caller holding
+	 * information derived from the map's values can compare this count to find
+	 * out whether its information is still current.
+	 * 
+	 * @return The write count of this map
+	 */
+	int getWriteCount(){
+		return writeCount;
+	}
+	
+	/**
+	 * Returns the position of {@code Key} in the arrays, or -1 if it is not present
+	 */
+	private int indexOf(Object Key){
+		if(Index == null){
+			for(int i = 0; i < size; i++){
+				if(Keys[i] == Key){
+					return i;
+				}
+			}
+			if(Key == null){
+				return -1;
+			}
+			for(int i = 0; i < size; i++){
+				if(Key.equals(Keys[i])){
+					return i;
+				}
+			}
+			return -1;
+		}
+		int mask = Index.length - 1;
+		int slot = spread(Key) & mask;
+		int entry;
+		while((entry = Index[slot]) != 0){
+			String Candidate = Keys[entry - 1];
+			if(Candidate == Key || (Key != null && Key.equals(Candidate))){
+				return entry - 1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Removes the pair at {@code position}, keeping the order of those after it
+	 */
+	private void removeAt(int position){
+		int moved = size - position - 1;
+		System.arraycopy(Keys, position + 1, Keys, position, moved);
+		System.arraycopy(Values, position + 1, Values, position, moved);
+		size--;
+		Keys[size] = null;
+		Values[size] = null;
+		modCount++;
+		writeCount++;
+		if(Index != null){
+			if(size > LINEAR_PROBE_LIMIT){
+				rebuildIndex();
+			}else{
+				Index = null;
+			}
+		}
+	}
+	
+	/**
+	 * Builds a new index large enough to keep it at most half full
+	 */
+	private void rebuildIndex(){
+		int capacity = Integer.highestOneBit(Math.max(size, 1) * 4 - 1);
+		Index = new int[Math.max(capacity, 32)];
+		for(int i = 0; i < size; i++){
+			insertIndex(i);
+		}
+	}
+	
+	/**
+	 * Adds the pair at {@code position} to the index
+	 */
+	private void insertIndex(int position){
+		int mask = Index.length - 1;
+		int slot = spread(Keys[position]) & mask;
+		while(Index[slot] != 0){
+			slot = (slot + 1) & mask;
+		}
+		Index[slot] = position + 1;
+	}
+	
+	/**
+	 * Spreads the higher bits of a name's hash into its lower bits
+	 */
+	private static int spread(Object Key){
+		int hash = (Key == null ? 0 : Key.hashCode());
+		return hash ^ (hash >>> 16);
+	}
+	
+	/**
+	 * Writes the number of pairs, followed by each name and value
+	 */
+	private void writeObject(ObjectOutputStream Out) throws IOException{
+		Out.defaultWriteObject();
+		Out.writeInt(size);
+		for(int i = 0; i < size; i++){
+			Out.writeObject(Keys[i]);
+			Out.writeObject(Values[i]);
+		}
+	}
+	
+	/**
+	 * Reads the pairs written by {@code writeObject}
+	 */
+	private void readObject(ObjectInputStream In) throws IOException, ClassNotFoundException{
+		In.defaultReadObject();
+		int count = In.readInt();
+		if(count < 0){
+			throw new InvalidObjectException("Negative size " + count);
+		}
+		Keys = new String[Math.max(count, 1)];
+		Values = new Object[Keys.length];
+		for(int i = 0; i < count; i++){
+			put((String)In.readObject(), In.readObject());
+		}
+	}
+	
+	/**
+	 * The set view of the map's pairs, iterated in the order they were added
+	 */
+	private final class EntrySetView extends AbstractSet<Map.Entry<String, Object>>{
+		
+		@Override
+		public int size(){
+			return size;
+		}
+		
+		@Override
+		public void clear(){
+			JSonPropertyMap.this.clear();
+		}
+		
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator(){
+			return new EntryIterator();
+		}
+	}
+	
+	/**
+	 * An iterator over the map's pairs, which fails fast on concurrent modification
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, Object>>{
+		
+		private int next;
+		private int last = -1;
+		private int expectedModCount = modCount;
+		
+		public boolean hasNext(){
+			return next < size;
+		}
+		
+		public Map.Entry<String, Object> next(){
+			if(modCount != expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			if(next >= size){
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new Entry(last);
+		}
+		
+		public void remove(){
+			if(last < 0){
+				throw new IllegalStateException();
+			}
+			if(modCount != expectedModCount){
+				throw new ConcurrentModificationException();
+			}
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+	
+	/**
+	 * A pair of the map, reading and writing through to its position in the arrays
+	 */
+	private final class Entry implements Map.Entry<String, Object>{
+		
+		private final int position;
+		
+		Entry(int position){
+			this.position = position;
+		}
+		
+		public String getKey(){
+			return Keys[position];
+		}
+		
+		public Object getValue(){
+			return Values[position];
+		}
+		
+		public Object setValue(Object Value){
+			Object OldValue = Values[position];
+			Values[position] = Value;
+			writeCount++;
+			return OldValue;
+		}
+		
+		@Override
+		public boolean equals(Object Other){
+			if(!(Other instanceof Map.Entry)){
+				return false;
+			}
+			Map.Entry<?, ?> OtherEntry = (Map.Entry<?, ?>)Other;
+			Object Key = getKey();
+			Object Value = getValue();
+			return (Key == null ? OtherEntry.getKey() == null : Key.equals(OtherEntry.getKey()))
+				 && (Value == null ? OtherEntry.getValue() == null : Value.equals(OtherEntry.getValue()));
+		}
+		
+		@Override
+		public int hashCode(){
+			Object Key = getKey();
+			Object Value = getValue();
+			return (Key == null ? 0 : Key.hashCode()) ^ (Value == null ? 0 : Value.hashCode());
+		}
+		
+		@Override
+		public String toString(){
+			return getKey() + "=" + getValue();
+		}
+	}
+}
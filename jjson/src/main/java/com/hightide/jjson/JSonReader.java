@@ -0,0 +1,589 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonReader is a streaming, pull-based parser over a {@code java.io.Reader}
+ * or {@code java.io.InputStream}. Rather than building a whole {@code JSonObject}
+ * or {@code JSonArray}, the caller asks for one {@code JSonToken} at a time through
+ * {@code nextToken}, and reads the token's value through {@code getString},
+ * {@code getDouble}, {@code getLong} or {@code getBoolean}. An example of its use is as follows:
+ *
+ * <pre>
+ * JSonReader Reader = new JSonReader(Input);
+ * while(Reader.nextToken() != null){
+ *     if(Reader.getCurrentToken() == JSonToken.FIELD_NAME &amp;&amp; Reader.getCurrentName().equals("id")){
+ *         Reader.nextToken();
+ *         System.out.println(Reader.getLong());
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Input is read through a fixed-size buffer which is refilled as it is consumed,
+ * so only the current token is ever held in memory, regardless of the size of the
+ * input. Any number of whitespace-separated JSon values may follow one another
+ * at the top level of the input.</p>
+ *
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonReader implements JSonTokenizer{
+
+	/**
+	 * The default size of the input buffer, in chars
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * The number of reads in a row returning no characters after which the input is
+	 * given up on, as a Reader should block until at least one is available
+	 */
+	private static final int MAX_EMPTY_READS = 64;
+
+	/**
+	 * Context values for the top level, a JSonObject, and a JSonArray
+	 */
+	private static final int CONTEXT_ROOT = 0;
+	private static final int CONTEXT_OBJECT = 1;
+	private static final int CONTEXT_ARRAY = 2;
+
+	/**
+	 * The source of input
+	 */
+	private final Reader Input;
+
+	/**
+	 * The input buffer, and the current position and limit within it
+	 */
+	private final char[] Buffer;
+	private int bufferIndex;
+	private int bufferLimit;
+
+	/**
+	 * The number of chars consumed before the start of {@code Buffer}
+	 */
+	private long bufferOffset;
+
+	/**
+	 * The text of the current string, field name or number token
+	 */
+	private final StringBuilder Text = new StringBuilder();
+
+	/**
+	 * The enclosing contexts of the current token, and the field name
+	 * last read within each context
+	 */
+	private int[] Contexts = new int[32];
+	private String[] Names = new String[32];
+	private int depth;
+
+	/**
+	 * Whether the current context needs a comma before its next value,
+	 * whether it has no values yet, and whether a field name is awaiting its value
+	 */
+	private boolean needsComma;
+	private boolean firstInContext;
+	private boolean afterName;
+
+	/**
+	 * Whether the current number token has no fraction or exponent
+	 */
+	private boolean integralNumber;
+
+	/**
+	 * The last token returned by {@code nextToken}
+	 */
+	private JSonToken CurrentToken;
+
+	/**
+	 * Will create a {@code JSonReader} reading from {@code Input}
+	 *
+	 * @param Input The Reader to use as a source of input
+	 */
+	public JSonReader(Reader Input){
+		this.Input = Input;
+		this.Buffer = new char[BUFFER_SIZE];
+		this.Contexts[0] = CONTEXT_ROOT;
+	}
+
+	/**
+	 * Will create a {@code JSonReader} reading UTF-8 encoded JSon from {@code Input}
+	 *
+	 * @param Input The InputStream to use as a source of input
+	 */
+	public JSonReader(InputStream Input){
+		this(new InputStreamReader(Input, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads the next token from the input.
+	 *
+	 * @return The next {@code JSonToken}, or null if the end of input has been reached
+	 * @throws IOException If the underlying input could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	public JSonToken nextToken() throws IOException, JSonParseException{
+		int Current = skipWhitespace();
+		switch(Contexts[depth]){
+			case CONTEXT_OBJECT:
+				if(afterName){
+					afterName = false;
+					return CurrentToken = readValue(Current);
+				}
+				if(Current == JSonConstants.END_JSON_OBJECT && (needsComma || firstInContext)){
+					bufferIndex++;
+					pop();
+					return CurrentToken = JSonToken.END_OBJECT;
+				}
+				Current = readComma(Current);
+				if(Current != JSonConstants.JSON_STRING){
+					throw error("Expected a name string");
+				}
+				readString();
+				Names[depth] = JSonKeyCache.intern(Text, 0, Text.length());
+				if(skipWhitespace() != JSonConstants.JSON_PAIR){
+					throw error("Expected " + JSonConstants.JSON_PAIR);
+				}
+				bufferIndex++;
+				afterName = true;
+				return CurrentToken = JSonToken.FIELD_NAME;
+			case CONTEXT_ARRAY:
+				if(Current == JSonConstants.END_JSON_ARRAY && (needsComma || firstInContext)){
+					bufferIndex++;
+					pop();
+					return CurrentToken = JSonToken.END_ARRAY;
+				}
+				return CurrentToken = readValue(readComma(Current));
+			default:
+				if(Current < 0){
+					return CurrentToken = null;
+				}
+				return CurrentToken = readValue(Current);
+		}
+	}
+
+	/**
+	 * Returns the token last returned by {@code nextToken}
+	 *
+	 * @return The current {@code JSonToken}, or null if none has been read
+	 */
+	public JSonToken getCurrentToken(){
+		return CurrentToken;
+	}
+
+	/**
+	 * Returns the name of the name/value pair the current token belongs to. For
+	 * {@code START_OBJECT}/{@code START_ARRAY} and {@code END_OBJECT}/{@code END_ARRAY}
+	 * tokens, this is the name the JSonObject or JSonArray itself is stored under.
+	 *
+	 * @return The current name, or null if the current token is not within a JSonObject
+	 */
+	public String getCurrentName(){
+		if(CurrentToken == JSonToken.START_OBJECT || CurrentToken == JSonToken.START_ARRAY){
+			return depth > 0 ? Names[depth - 1] : null;
+		}
+		return Names[depth];
+	}
+
+	/**
+	 * Returns the text of the current token. For strings and field names this is
+	 * the decoded string; for numbers it is the number as written in the input.
+	 *
+	 * @return The text of the current token, or null for structural tokens
+	 */
+	public String getString(){
+		if(CurrentToken == null){
+			return null;
+		}
+		switch(CurrentToken){
+			case FIELD_NAME:
+				return Names[depth];
+			case VALUE_STRING:
+			case VALUE_NUMBER:
+				return Text.toString();
+			case VALUE_TRUE:
+				return "true";
+			case VALUE_FALSE:
+				return "false";
+			case VALUE_NULL:
+				return "null";
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Returns the current number token as a {@code Long} if it has no fraction
+	 * or exponent, or as a {@code Double} otherwise. Numbers too large for either
+	 * are returned as a {@code java.math.BigDecimal}.
+	 *
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	public Number getNumber() throws JSonParseException{
+		if(CurrentToken != JSonToken.VALUE_NUMBER){
+			throw error("The current token is not a number");
+		}
+		try{
+			return JSonConverter.parseJSonNumber(Text, 0, Text.length());
+		}catch(NumberFormatException E){
+			throw error("Invalid number " + Text);
+		}
+	}
+
+	/**
+	 * Returns the current number token as a {@code double}
+	 *
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	public double getDouble() throws JSonParseException{
+		return getNumber().doubleValue();
+	}
+
+	/**
+	 * Returns the current number token as a {@code long}, truncating
+	 * any fractional part.
+	 *
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	public long getLong() throws JSonParseException{
+		return getNumber().longValue();
+	}
+
+	/**
+	 * Returns whether the current number token is written without a fraction
+	 * or exponent, and so may be read exactly through {@code getLong}
+	 * if it is within the range of a {@code long}.
+	 *
+	 * @return Whether the current number is integral
+	 */
+	public boolean isIntegralNumber(){
+		return CurrentToken == JSonToken.VALUE_NUMBER && integralNumber;
+	}
+
+	/**
+	 * Returns the current {@code VALUE_TRUE} or {@code VALUE_FALSE} token as a boolean
+	 *
+	 * @return The value of the current boolean
+	 * @throws JSonParseException If the current token is not a boolean
+	 */
+	public boolean getBoolean() throws JSonParseException{
+		if(CurrentToken == JSonToken.VALUE_TRUE){
+			return true;
+		}else if(CurrentToken == JSonToken.VALUE_FALSE){
+			return false;
+		}
+		throw error("The current token is not a boolean");
+	}
+
+	/**
+	 * If the current token is {@code START_OBJECT} or {@code START_ARRAY}, skips
+	 * ahead to its matching {@code END_OBJECT} or {@code END_ARRAY}. For any other
+	 * token, this does nothing.
+	 *
+	 * @throws IOException If the underlying input could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	public void skipChildren() throws IOException, JSonParseException{
+		if(CurrentToken != JSonToken.START_OBJECT && CurrentToken != JSonToken.START_ARRAY){
+			return;
+		}
+		int targetDepth = depth - 1;
+		while(depth > targetDepth){
+			if(nextToken() == null){
+				throw error("Unexpected end of input");
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of chars consumed from the input so far
+	 *
+	 * @return The current position in the input
+	 */
+	public long getPosition(){
+		return bufferOffset + bufferIndex;
+	}
+
+	/**
+	 * Closes the underlying input
+	 */
+	@Override
+	public void close() throws IOException{
+		Input.close();
+	}
+
+	/**
+	 * Reads the value starting at {@code Current}, which has not been consumed yet.
+	 */
+	private JSonToken readValue(int Current) throws IOException, JSonParseException{
+		needsComma = true;
+		firstInContext = false;
+		switch(Current){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				bufferIndex++;
+				push(CONTEXT_OBJECT);
+				return JSonToken.START_OBJECT;
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				bufferIndex++;
+				push(CONTEXT_ARRAY);
+				return JSonToken.START_ARRAY;
+			case JSonConstants.JSON_STRING:
+				readString();
+				return JSonToken.VALUE_STRING;
+			case 't':
+			case 'T':
+				readLiteral("true");
+				return JSonToken.VALUE_TRUE;
+			case 'f':
+			case 'F':
+				readLiteral("false");
+				return JSonToken.VALUE_FALSE;
+			case 'n':
+			case 'N':
+				readLiteral("null");
+				return JSonToken.VALUE_NULL;
+			case -1:
+				throw error("Unexpected end of input");
+			default:
+				if(Current == '-' || (Current >= '0' && Current <= '9')){
+					readNumber();
+					return JSonToken.VALUE_NUMBER;
+				}
+				throw error("Unexpected character " + (char)Current);
+		}
+	}
+
+	/**
+	 * Consumes the comma separating the values of a JSonObject or JSonArray, if
+	 * one is needed, returning the next non-whitespace character.
+	 */
+	private int readComma(int Current) throws IOException, JSonParseException{
+		if(!needsComma){
+			return Current;
+		}
+		if(Current != JSonConstants.JSON_COMMA){
+			throw error(Current < 0 ? "Unexpected end of input" : "Expected , or "
+				 + (Contexts[depth] == CONTEXT_OBJECT ? JSonConstants.END_JSON_OBJECT : JSonConstants.END_JSON_ARRAY));
+		}
+		bufferIndex++;
+		needsComma = false;
+		return skipWhitespace();
+	}
+
+	/**
+	 * Reads the string starting at the cursor into {@code Text}, decoding any escapes.
+	 */
+	private void readString() throws IOException, JSonParseException{
+		Text.setLength(0);
+		bufferIndex++;
+		while(true){
+			int beginIndex = bufferIndex;
+			while(bufferIndex < bufferLimit){
+				char Current = Buffer[bufferIndex];
+				if(Current == JSonConstants.JSON_STRING || Current == '\\'){
+					break;
+				}
+				bufferIndex++;
+			}
+			Text.append(Buffer, beginIndex, bufferIndex - beginIndex);
+			if(bufferIndex >= bufferLimit){
+				if(!fill()){
+					throw error("Unterminated string");
+				}
+				continue;
+			}
+			if(Buffer[bufferIndex++] == JSonConstants.JSON_STRING){
+				return;
+			}
+			readEscape();
+		}
+	}
+
+	/**
+	 * Decodes the escape sequence following a backslash into {@code Text}
+	 */
+	private void readEscape() throws IOException, JSonParseException{
+		int Escaped = read();
+		switch(Escaped){
+			case '"':
+			case '\\':
+			case '/':
+				Text.append((char)Escaped);
+				break;
+			case 'b':
+				Text.append('\b');
+				break;
+			case 'f':
+				Text.append('\f');
+				break;
+			case 'n':
+				Text.append('\n');
+				break;
+			case 'r':
+				Text.append('\r');
+				break;
+			case 't':
+				Text.append('\t');
+				break;
+			case 'u':
+				int Code = 0;
+				for(int i = 0; i < 4; i++){
+					int Digit = Character.digit(read(), 16);
+					if(Digit < 0){
+						throw error("Invalid unicode escape");
+					}
+					Code = (Code << 4) | Digit;
+				}
+				Text.append((char)Code);
+				break;
+			case -1:
+				throw error("Unterminated string");
+			default:
+				Text.append('\\').append((char)Escaped);
+		}
+	}
+
+	/**
+	 * Reads the number starting at the cursor into {@code Text}
+	 */
+	private void readNumber() throws IOException{
+		Text.setLength(0);
+		integralNumber = true;
+		while(true){
+			if(bufferIndex >= bufferLimit && !fill()){
+				return;
+			}
+			char Current = Buffer[bufferIndex];
+			if((Current >= '0' && Current <= '9') || Current == '-' || Current == '+'){
+				Text.append(Current);
+				bufferIndex++;
+			}else if(Current == '.' || Current == 'e' || Current == 'E'){
+				integralNumber = false;
+				Text.append(Current);
+				bufferIndex++;
+			}else{
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Matches {@code Literal} at the cursor, ignoring case.
+	 */
+	private void readLiteral(String Literal) throws IOException, JSonParseException{
+		for(int i = 0; i < Literal.length(); i++){
+			int Current = read();
+			if(Current < 0 || Character.toLowerCase((char)Current) != Literal.charAt(i)){
+				throw error("Expected " + Literal);
+			}
+		}
+	}
+
+	/**
+	 * Enters a new JSonObject or JSonArray context
+	 */
+	private void push(int Context){
+		if(++depth == Contexts.length){
+			Contexts = Arrays.copyOf(Contexts, depth * 2);
+			Names = Arrays.copyOf(Names, depth * 2);
+		}
+		Contexts[depth] = Context;
+		Names[depth] = null;
+		needsComma = false;
+		firstInContext = true;
+	}
+
+	/**
+	 * Leaves the current JSonObject or JSonArray context
+	 */
+	private void pop(){
+		Names[depth--] = null;
+		needsComma = true;
+		firstInContext = false;
+	}
+
+	/**
+	 * Advances past any whitespace, returning the next character
+	 * without consuming it, or -1 at the end of input.
+	 */
+	private int skipWhitespace() throws IOException{
+		while(true){
+			while(bufferIndex < bufferLimit){
+				char Current = Buffer[bufferIndex];
+				if(Current > ' '){
+					return Current;
+				}
+				bufferIndex++;
+			}
+			if(!fill()){
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Consumes and returns the next character, or -1 at the end of input.
+	 */
+	private int read() throws IOException{
+		if(bufferIndex >= bufferLimit && !fill()){
+			return -1;
+		}
+		return Buffer[bufferIndex++];
+	}
+
+	/**
+	 * Refills {@code Buffer} from the input once it has been fully consumed.
+	 *
+	 * @return Whether any more input was read
+	 */
+	private boolean fill() throws IOException{
+		bufferOffset += bufferLimit;
+		bufferIndex = 0;
+		bufferLimit = 0;
+		int Read;
+		int emptyReads = 0;
+		while((Read = Input.read(Buffer, 0, Buffer.length)) == 0){
+			if(++emptyReads == MAX_EMPTY_READS){
+				throw new IOException("The Reader returned no characters " + MAX_EMPTY_READS + " times in a row");
+			}
+		}
+		if(Read < 0){
+			return false;
+		}
+		bufferLimit = Read;
+		return true;
+	}
+
+	/**
+	 * Creates a {@code JSonParseException} at the current position
+	 */
+	private JSonParseException error(String Cause){
+		return new JSonParseException(Cause, (int)Math.min(Integer.MAX_VALUE, getPosition()));
+	}
+}
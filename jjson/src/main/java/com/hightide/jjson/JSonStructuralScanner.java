@@ -0,0 +1,215 @@
+package com.hightide.jjson;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonStructuralScanner classifies UTF-8 encoded JSon eight bytes at a time, by
+ * loading them as a single {@code long} and testing every byte of it at once with
+ * word arithmetic. The results for eight words are gathered into bitmaps covering
+ * a block of 64 bytes, one bit per byte, in which quotes, backslashes and brackets
+ * can then be found and matched without looking at the bytes again.
+ *
+ * <p>A block shorter than 64 bytes, at the end of the input, is classified one byte
+ * at a time into the same bitmaps.</p>
+ *
+ * <p>Words are loaded in little-endian order, so that the first byte of a word is its
+ * lowest. Callers should pass a little-endian buffer, as the {@code JSonUtf8Reader}
+ * does; any other buffer is read through a little-endian duplicate.</p>
+ *
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonStructuralScanner{
+
+	/**
+	 * Words with every byte set to 0x01, 0x7F and 0x80 respectively
+	 */
+	private static final long ONES = 0x0101010101010101L;
+	private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+	private static final long HIGHS = 0x8080808080808080L;
+
+	/**
+	 * Gathers the high bit of every byte of a word into the top byte of the product
+	 */
+	private static final long GATHER = 0x0102040810204080L;
+
+	/**
+	 * The number of bytes classified at once into a set of bitmaps
+	 */
+	private static final int BLOCK_SIZE = 64;
+
+	/**
+	 * The JSonStructuralScanner is a static utility and is not to be instantiated
+	 */
+	private JSonStructuralScanner(){
+	}
+
+	/**
+	 * Returns the index of the first byte in {@code Buffer}, from {@code beginIndex}, which
+	 * is a quote, a backslash or the start of a multi-byte UTF-8 sequence. This is the end
+	 * of the unescaped ASCII run at the start of a string.
+	 *
+	 * @param Buffer The input
+	 * @param beginIndex The index to start scanning from
+	 * @param endIndex The index to stop scanning at
+	 * @return The index of the first such byte, or {@code endIndex} if there is none
+	 */
+	static int findStringEnd(ByteBuffer Buffer, int beginIndex, int endIndex){
+		Buffer = littleEndian(Buffer);
+		int i = beginIndex;
+		for(; i + 8 <= endIndex; i += 8){
+			long Word = Buffer.getLong(i);
+			long Found = equal(Word, JSonConstants.JSON_STRING) | equal(Word, '\\') | (Word & HIGHS);
+			if(Found != 0){
+				return i + (Long.numberOfTrailingZeros(Found) >>> 3);
+			}
+		}
+		for(; i < endIndex; i++){
+			byte Current = Buffer.get(i);
+			if(Current == JSonConstants.JSON_STRING || Current == '\\' || Current < 0){
+				return i;
+			}
+		}
+		return endIndex;
+	}
+
+	/**
+	 * Finds the end of the JSonObject or JSonArray whose opening bracket comes just before
+	 * {@code beginIndex}, by matching brackets which are not within strings. The contents
+	 * are not otherwise checked.
+	 *
+	 * @param Buffer The input
+	 * @param beginIndex The index just past the opening bracket
+	 * @param endIndex The index to stop scanning at
+	 * @return The index just past the matching closing bracket, or -1 if it
+	 * 		   does not come before {@code endIndex}
+	 */
+	static int skipContainer(ByteBuffer Buffer, int beginIndex, int endIndex){
+		Buffer = littleEndian(Buffer);
+		int level = 1;
+		long escapeCarry = 0;
+		long stringCarry = 0;
+		for(int i = beginIndex; i < endIndex; i += BLOCK_SIZE){
+			long Quotes = 0;
+			long Backslashes = 0;
+			long Opens = 0;
+			long Closes = 0;
+			if(i + BLOCK_SIZE <= endIndex){
+				for(int shift = 0; shift < BLOCK_SIZE; shift += 8){
+					long Word = Buffer.getLong(i + shift);
+					// { and [, like } and ], differ only by 0x20
+					long Folded = Word | (ONES * 0x20);
+					Quotes |= gather(equal(Word, JSonConstants.JSON_STRING)) << shift;
+					Backslashes |= gather(equal(Word, '\\')) << shift;
+					Opens |= gather(equal(Folded, JSonConstants.BEGIN_JSON_OBJECT)) << shift;
+					Closes |= gather(equal(Folded, JSonConstants.END_JSON_OBJECT)) << shift;
+				}
+			}else{
+				for(int j = 0; j < endIndex - i; j++){
+					switch(Buffer.get(i + j)){
+						case JSonConstants.JSON_STRING:
+							Quotes |= 1L << j;
+							break;
+						case '\\':
+							Backslashes |= 1L << j;
+							break;
+						case JSonConstants.BEGIN_JSON_OBJECT:
+						case JSonConstants.BEGIN_JSON_ARRAY:
+							Opens |= 1L << j;
+							break;
+						case JSonConstants.END_JSON_OBJECT:
+						case JSonConstants.END_JSON_ARRAY:
+							Closes |= 1L << j;
+							break;
+					}
+				}
+			}
+
+			// Mark every character preceded by an unescaped backslash
+			long Escaped = escapeCarry;
+			escapeCarry = 0;
+			long Remaining = Backslashes;
+			while(Remaining != 0){
+				long Bit = Remaining & -Remaining;
+				Remaining ^= Bit;
+				if((Escaped & Bit) != 0){
+					continue;
+				}
+				if(Bit == Long.MIN_VALUE){
+					escapeCarry = 1;
+				}else{
+					Escaped |= Bit << 1;
+				}
+			}
+
+			long Strings = prefixXor(Quotes & ~Escaped) ^ stringCarry;
+			stringCarry = Strings >> 63;
+			long Brackets = (Opens | Closes) & ~Strings;
+			while(Brackets != 0){
+				int Bit = Long.numberOfTrailingZeros(Brackets);
+				Brackets &= Brackets - 1;
+				if((Opens & (1L << Bit)) != 0){
+					level++;
+				}else if(--level == 0){
+					return i + Bit + 1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns {@code Buffer} if it is little-endian, or a little-endian duplicate of it
+	 */
+	static ByteBuffer littleEndian(ByteBuffer Buffer){
+		return (Buffer.order() == ByteOrder.LITTLE_ENDIAN ? Buffer : Buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+	}
+
+	/**
+	 * Returns a word with the high bit set in exactly those bytes of {@code Word} equal to {@code Value}
+	 */
+	private static long equal(long Word, int Value){
+		long Diff = Word ^ (ONES * Value);
+		return ~(((Diff & LOWS) + LOWS) | Diff | LOWS);
+	}
+
+	/**
+	 * Returns the high bits of the bytes of {@code Mask} as the low 8 bits of a word
+	 */
+	private static long gather(long Mask){
+		return ((Mask >>> 7) * GATHER) >>> 56;
+	}
+
+	/**
+	 * Returns a word in which each bit is the exclusive or of that bit and all lower bits of
+	 * {@code Mask}, so that the bits from each opening quote up to its closing quote are set
+	 */
+	private static long prefixXor(long Mask){
+		Mask ^= Mask << 1;
+		Mask ^= Mask << 2;
+		Mask ^= Mask << 4;
+		Mask ^= Mask << 8;
+		Mask ^= Mask << 16;
+		Mask ^= Mask << 32;
+		return Mask;
+	}
+}
@@ -0,0 +1,358 @@
+package com.hightide.jjson;
+
+import java.util.Arrays;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonTape is a record of the structure of a JSon String, built in a single pass
+ * which checks the String's formatting without decoding any of its values. Every
+ * name and value in the String becomes a node of the tape, holding the offset at
+ * which it starts and the index of the node which follows it, so that a whole
+ * JSonObject or JSonArray may be stepped over in one move.
+ * 
+ * <p>The tape backs the lazily decoded {@code JSonObject}s and {@code JSonArray}s created
+ * by {@code JSonConverter.createJSonObjectLazy} and {@code createJSonArrayLazy}. The names
+ * of a JSonObject are decoded the first time it is accessed, but each value is only
+ * decoded the first time it is itself asked for.</p>
+ * 
+ * <p>Like the JSonObjects and JSonArrays it backs, a JSonTape may not be accessed by
+ * several threads at once.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonTape{
+	
+	/**
+	 * The JSon String the tape was built from
+	 */
+	private final String JSonString;
+	
+	/**
+	 * The length of {@code JSonString}
+	 */
+	private final int length;
+	
+	/**
+	 * The offset in {@code JSonString} at which each node starts, and the
+	 * index of the node following each node's name or value
+	 */
+	private int[] Offsets;
+	private int[] Next;
+	private int count;
+	
+	/**
+	 * The index of the next character to be read while building the tape
+	 */
+	private int currIndex;
+	
+	/**
+	 * The current and deepest nesting, and the number of JSonObjects and JSonArrays
+	 * found while building the tape, as reported to {@code JSonMetrics}
+	 */
+	private int depth;
+	private int maxDepth;
+	private int objectCount;
+	private int arrayCount;
+	
+	/**
+	 * The parser used to decode individual names and values
+	 */
+	private final JSonParser Parser;
+	
+	/**
+	 * Will create an empty {@code JSonTape} over {@code JSonString}
+	 */
+	private JSonTape(String JSonString){
+		this.JSonString = JSonString;
+		this.length = JSonString.length();
+		this.Offsets = new int[Math.max(16, length / 8)];
+		this.Next = new int[Offsets.length];
+		this.Parser = new JSonParser(JSonString);
+	}
+	
+	/**
+	 * Builds the tape of {@code JSonString}, which must consist of a single JSonObject
+	 * or JSonArray, starting with {@code BEGIN_CHARACTER}, apart from surrounding whitespace.
+	 * 
+	 * @param JSonString The string to build the tape of
+	 * @param BEGIN_CHARACTER The character the document must start with, i.e. { or [
+	 * @return The tape of {@code JSonString}, whose first node is the document itself
+	 * @throws JSonParseException If {@code JSonString} is not correctly formatted
+	 */
+	static JSonTape build(String JSonString, char BEGIN_CHARACTER) throws JSonParseException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginParse();
+		JSonTape Tape = new JSonTape(JSonString);
+		boolean parsed = false;
+		try{
+			Tape.skipWhitespace();
+			if(Tape.currIndex >= Tape.length || JSonString.charAt(Tape.currIndex) != BEGIN_CHARACTER){
+				throw new JSonParseException("The supplied string does not start with " + BEGIN_CHARACTER, Tape.currIndex);
+			}
+			Tape.buildValue();
+			Tape.skipWhitespace();
+			if(Tape.currIndex != Tape.length){
+				throw new JSonParseException("The supplied string does not end with "
+					 + (BEGIN_CHARACTER == JSonConstants.BEGIN_JSON_OBJECT ? JSonConstants.END_JSON_OBJECT : JSonConstants.END_JSON_ARRAY), Tape.currIndex);
+			}
+			parsed = true;
+			return Tape;
+		}finally{
+			if(Sample != null){
+				// Only the pass building the tape is measured, not the values decoded from it later
+				Sample.endParse(Tape.length, Tape.maxDepth, Tape.objectCount, Tape.arrayCount, parsed);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the first character of {@code node}, which identifies its kind
+	 * 
+	 * @param node The index of the node
+	 * @return The first character of the node
+	 */
+	char kind(int node){
+		return JSonString.charAt(Offsets[node]);
+	}
+	
+	/**
+	 * Returns the index of the node following {@code node}, skipping over
+	 * all of the node's children if it is a JSonObject or JSonArray
+	 * 
+	 * @param node The index of the node
+	 * @return The index of the following node
+	 */
+	int next(int node){
+		return Next[node];
+	}
+	
+	/**
+	 * Decodes the name at {@code node}
+	 * 
+	 * @param node The index of a name node
+	 * @return The name
+	 */
+	String decodeKey(int node){
+		try{
+			return Parser.parseKeyAt(Offsets[node]);
+		}catch(JSonParseException E){
+			throw new IllegalStateException(E);
+		}
+	}
+	
+	/**
+	 * Decodes the value at {@code node}. JSonObjects and JSonArrays are returned
+	 * as lazily decoded views of their part of the tape.
+	 * 
+	 * @param node The index of a value node
+	 * @return The value, as it would be stored in a {@code JSonObject} or {@code JSonArray}
+	 */
+	Object decode(int node){
+		switch(kind(node)){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				return new JSonObject(new JSonLazyMap(this, node));
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				return new JSonArray(new JSonLazyList(this, node));
+			default:
+				try{
+					return Parser.parseValueAt(Offsets[node]);
+				}catch(JSonParseException E){
+					throw new IllegalStateException(E);
+				}
+		}
+	}
+	
+	/**
+	 * Adds a node starting at {@code offset}, returning its index
+	 */
+	private int addNode(int offset){
+		if(count == Offsets.length){
+			Offsets = Arrays.copyOf(Offsets, count * 2);
+			Next = Arrays.copyOf(Next, count * 2);
+		}
+		Offsets[count] = offset;
+		Next[count] = count + 1;
+		return count++;
+	}
+	
+	/**
+	 * Adds the nodes of the value starting at the cursor
+	 */
+	private void buildValue() throws JSonParseException{
+		int node = addNode(currIndex);
+		int outerDepth = depth;
+		char Current = peek();
+		switch(Current){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				objectCount++;
+				enter();
+				currIndex++;
+				skipWhitespace();
+				if(peek() == JSonConstants.END_JSON_OBJECT){
+					currIndex++;
+					break;
+				}
+				while(true){
+					if(peek() != JSonConstants.JSON_STRING){
+						throw new JSonParseException("Expected a name string", currIndex);
+					}
+					addNode(currIndex);
+					skipString();
+					skipWhitespace();
+					if(peek() != JSonConstants.JSON_PAIR){
+						throw new JSonParseException("Expected " + JSonConstants.JSON_PAIR, currIndex);
+					}
+					currIndex++;
+					skipWhitespace();
+					buildValue();
+					if(endOfContainer(JSonConstants.END_JSON_OBJECT)){
+						break;
+					}
+				}
+				break;
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				arrayCount++;
+				enter();
+				currIndex++;
+				skipWhitespace();
+				if(peek() == JSonConstants.END_JSON_ARRAY){
+					currIndex++;
+					break;
+				}
+				while(true){
+					buildValue();
+					if(endOfContainer(JSonConstants.END_JSON_ARRAY)){
+						break;
+					}
+				}
+				break;
+			case JSonConstants.JSON_STRING:
+				skipString();
+				break;
+			case 't':
+			case 'T':
+				skipLiteral("true");
+				break;
+			case 'f':
+			case 'F':
+				skipLiteral("false");
+				break;
+			case 'n':
+			case 'N':
+				skipLiteral("null");
+				break;
+			default:
+				int endIndex = JSonConverter.scanJSonNumber(JSonString, currIndex, length);
+				if(endIndex < 0){
+					throw new JSonParseException("Unexpected character " + Current, currIndex);
+				}
+				currIndex = endIndex;
+		}
+		depth = outerDepth;
+		Next[node] = count;
+	}
+	
+	/**
+	 * Counts one more level of nesting
+	 */
+	private void enter(){
+		if(++depth > maxDepth){
+			maxDepth = depth;
+		}
+	}
+	
+	/**
+	 * Consumes the comma or {@code END_CHARACTER} following a value in a JSonObject
+	 * or JSonArray, returning whether it was the end of the container.
+	 */
+	private boolean endOfContainer(char END_CHARACTER) throws JSonParseException{
+		skipWhitespace();
+		char Current = peek();
+		currIndex++;
+		if(Current == END_CHARACTER){
+			return true;
+		}else if(Current != JSonConstants.JSON_COMMA){
+			throw new JSonParseException("Expected , or " + END_CHARACTER, currIndex - 1);
+		}
+		skipWhitespace();
+		return false;
+	}
+	
+	/**
+	 * Advances the cursor past the string starting at it, without decoding it
+	 */
+	private void skipString() throws JSonParseException{
+		int beginIndex = currIndex++;
+		while(currIndex < length){
+			char Current = JSonString.charAt(currIndex++);
+			if(Current == JSonConstants.JSON_STRING){
+				return;
+			}else if(Current == '\\'){
+				currIndex++;
+			}
+		}
+		throw new JSonParseException("Unterminated string", beginIndex);
+	}
+	
+	/**
+	 * Advances the cursor past {@code Literal}, ignoring case.
+	 */
+	private void skipLiteral(String Literal) throws JSonParseException{
+		if(!JSonString.regionMatches(true, currIndex, Literal, 0, Literal.length())){
+			throw new JSonParseException("Expected " + Literal, currIndex);
+		}
+		currIndex += Literal.length();
+	}
+	
+	/**
+	 * Returns the character at the cursor without consuming it.
+	 */
+	private char peek() throws JSonParseException{
+		if(currIndex >= length){
+			throw new JSonParseException("Unexpected end of input", currIndex);
+		}
+		return JSonString.charAt(currIndex);
+	}
+	
+	/**
+	 * Advances the cursor past any whitespace.
+	 */
+	private void skipWhitespace(){
+		while(currIndex < length && JSonString.charAt(currIndex) <= ' '){
+			currIndex++;
+		}
+	}
+	
+	/**
+	 * A placeholder for a value which has not been decoded yet
+	 */
+	static final class Pending{
+		
+		/**
+		 * The index of the value's node
+		 */
+		final int node;
+		
+		Pending(int node){
+			this.node = node;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.hightide.jjson;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The tokens returned by a {@code JSonReader} as it pulls its way
+ * through a JSon String.
+ *
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public enum JSonToken{
+
+	/**
+	 * The opening brace of a JSonObject
+	 */
+	START_OBJECT,
+
+	/**
+	 * The closing brace of a JSonObject
+	 */
+	END_OBJECT,
+
+	/**
+	 * The opening bracket of a JSonArray
+	 */
+	START_ARRAY,
+
+	/**
+	 * The closing bracket of a JSonArray
+	 */
+	END_ARRAY,
+
+	/**
+	 * The name of a name/value pair, including its trailing colon(:)
+	 */
+	FIELD_NAME,
+
+	/**
+	 * A JSon String value
+	 */
+	VALUE_STRING,
+
+	/**
+	 * A JSon number value
+	 */
+	VALUE_NUMBER,
+
+	/**
+	 * The JSon value true
+	 */
+	VALUE_TRUE,
+
+	/**
+	 * The JSon value false
+	 */
+	VALUE_FALSE,
+
+	/**
+	 * The JSon value null
+	 */
+	VALUE_NULL,
+
+	/**
+	 * Not a token: returned by a {@code JSonFeedParser} when it has consumed all of the
+	 * input fed to it so far without completing the next token
+	 */
+	NOT_AVAILABLE
+}
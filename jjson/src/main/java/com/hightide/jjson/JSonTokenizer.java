@@ -0,0 +1,132 @@
+package com.hightide.jjson;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonTokenizer is a pull-based source of {@code JSonToken}s, as read from a
+ * JSon String by a {@code JSonReader}, {@code JSonUtf8Reader} or {@code JSonFeedParser}.
+ * Each call to {@code nextToken} advances to the next token, whose value may then be read through
+ * {@code getString}, {@code getDouble}, {@code getLong} or {@code getBoolean}.
+ * 
+ * <p>The {@code JSonConverter} builds its {@code JSonObject}s and {@code JSonArray}s,
+ * and drives its {@code JSonHandler}s, from any JSonTokenizer.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public interface JSonTokenizer extends Closeable{
+	
+	/**
+	 * Reads the next token from the input.
+	 * 
+	 * @return The next {@code JSonToken}, or null if the end of input has been reached
+	 * @throws IOException If the underlying input could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	JSonToken nextToken() throws IOException, JSonParseException;
+	
+	/**
+	 * Returns the token last returned by {@code nextToken}
+	 * 
+	 * @return The current {@code JSonToken}, or null if none has been read
+	 */
+	JSonToken getCurrentToken();
+	
+	/**
+	 * Returns the name of the name/value pair the current token belongs to. For
+	 * {@code START_OBJECT}/{@code START_ARRAY} and {@code END_OBJECT}/{@code END_ARRAY}
+	 * tokens, this is the name the JSonObject or JSonArray itself is stored under.
+	 * 
+	 * @return The current name, or null if the current token is not within a JSonObject
+	 */
+	String getCurrentName();
+	
+	/**
+	 * Returns the text of the current token. For strings and field names this is
+	 * the decoded string; for numbers it is the number as written in the input.
+	 * 
+	 * @return The text of the current token, or null for structural tokens
+	 */
+	String getString();
+	
+	/**
+	 * Returns the current number token as a {@code Long} if it has no fraction
+	 * or exponent, or as a {@code Double} otherwise. Numbers too large for either
+	 * are returned as a {@code java.math.BigDecimal}.
+	 * 
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	Number getNumber() throws JSonParseException;
+	
+	/**
+	 * Returns the current number token as a {@code double}
+	 * 
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	double getDouble() throws JSonParseException;
+	
+	/**
+	 * Returns the current number token as a {@code long}, truncating
+	 * any fractional part.
+	 * 
+	 * @return The value of the current number
+	 * @throws JSonParseException If the current token is not a valid number
+	 */
+	long getLong() throws JSonParseException;
+	
+	/**
+	 * Returns whether the current number token is written without a fraction
+	 * or exponent, and so may be read exactly through {@code getLong}
+	 * if it is within the range of a {@code long}.
+	 * 
+	 * @return Whether the current number is integral
+	 */
+	boolean isIntegralNumber();
+	
+	/**
+	 * Returns the current {@code VALUE_TRUE} or {@code VALUE_FALSE} token as a boolean
+	 * 
+	 * @return The value of the current boolean
+	 * @throws JSonParseException If the current token is not a boolean
+	 */
+	boolean getBoolean() throws JSonParseException;
+	
+	/**
+	 * If the current token is {@code START_OBJECT} or {@code START_ARRAY}, skips
+	 * ahead to its matching {@code END_OBJECT} or {@code END_ARRAY}. For any other
+	 * token, this does nothing.
+	 * 
+	 * @throws IOException If the underlying input could not be read
+	 * @throws JSonParseException If the input is not correctly formatted
+	 */
+	void skipChildren() throws IOException, JSonParseException;
+	
+	/**
+	 * Returns the number of chars or bytes consumed from the input so far
+	 * 
+	 * @return The current position in the input
+	 */
+	long getPosition();
+}
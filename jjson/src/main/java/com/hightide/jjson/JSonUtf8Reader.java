@@ -0,0 +1,654 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * A JSonUtf8Reader is a pull-based {@code JSonTokenizer} which reads UTF-8 encoded
+ * JSon directly from a {@code byte[]} or {@code java.nio.ByteBuffer}, without first
+ * decoding the input into chars.
+ *
+ * <p>Strings are only decoded once they are asked for through {@code getString}. A
+ * string made up solely of ASCII characters with no escapes, which covers nearly all
+ * names, is located in a single scan of the input and copied straight into a
+ * {@code java.lang.String}; any other string is decoded from UTF-8 as it is scanned.
+ * Numbers are accumulated as they are scanned, so integral values need no further
+ * parsing.</p>
+ *
+ * <p>{@code skipChildren} skips over a JSonObject or JSonArray by only matching its
+ * brackets and strings, so skipped content is not otherwise checked for correctness.
+ * Both it and the scan for the end of a string go through the
+ * {@code JSonStructuralScanner}, which tests eight bytes of the input at a time.</p>
+ *
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonUtf8Reader implements JSonTokenizer{
+
+	/**
+	 * Context values for the top level, a JSonObject, and a JSonArray
+	 */
+	private static final int CONTEXT_ROOT = 0;
+	private static final int CONTEXT_OBJECT = 1;
+	private static final int CONTEXT_ARRAY = 2;
+
+	/**
+	 * The largest number of digits that always fits within a {@code long}
+	 */
+	private static final int MAX_LONG_DIGITS = 18;
+
+	/**
+	 * The input, viewed as little-endian for the {@code JSonStructuralScanner},
+	 * and the current position and limit within it
+	 */
+	private ByteBuffer Buffer;
+	private int bufferIndex;
+	private int bufferLimit;
+
+	/**
+	 * The value which, added to {@code bufferIndex}, gives the number of
+	 * bytes consumed from the input
+	 */
+	private long bufferOffset;
+
+	/**
+	 * The bounds of the current string within {@code Buffer}, if it is
+	 * ASCII-only and unescaped, in which case {@code asciiString} is set.
+	 * Otherwise, the decoded string is held in {@code Text}.
+	 */
+	private int stringStart;
+	private int stringEnd;
+	private boolean asciiString;
+
+	/**
+	 * The decoded text of the current string or number token
+	 */
+	private final StringBuilder Text = new StringBuilder();
+
+	/**
+	 * A scratch buffer for copying ASCII strings out of a direct {@code ByteBuffer}
+	 */
+	private byte[] Scratch;
+
+	/**
+	 * The accumulated value of the current number, whether it has no fraction or
+	 * exponent, and whether it has few enough digits to be held in {@code longValue}
+	 */
+	private long longValue;
+	private boolean integralNumber;
+	private boolean fitsLong;
+
+	/**
+	 * The enclosing contexts of the current token, and the field name
+	 * last read within each context
+	 */
+	private int[] Contexts = new int[32];
+	private String[] Names = new String[32];
+	private int depth;
+
+	/**
+	 * Whether the current context needs a comma before its next value,
+	 * whether it has no values yet, and whether a field name is awaiting its value
+	 */
+	private boolean needsComma;
+	private boolean firstInContext;
+	private boolean afterName;
+
+	/**
+	 * The last token returned by {@code nextToken}
+	 */
+	private JSonToken CurrentToken;
+
+	/**
+	 * Will create a {@code JSonUtf8Reader} reading from {@code Input}
+	 *
+	 * @param Input The UTF-8 encoded bytes to use as a source of input
+	 */
+	public JSonUtf8Reader(byte[] Input){
+		this(ByteBuffer.wrap(Input));
+	}
+
+	/**
+	 * Will create a {@code JSonUtf8Reader} reading the remaining bytes of {@code Input}.
+	 * The position of {@code Input} is not changed.
+	 *
+	 * @param Input The UTF-8 encoded bytes to use as a source of input
+	 */
+	public JSonUtf8Reader(ByteBuffer Input){
+		this.Buffer = JSonStructuralScanner.littleEndian(Input);
+		this.bufferIndex = Input.position();
+		this.bufferLimit = Input.limit();
+		this.bufferOffset = -Input.position();
+		this.Contexts[0] = CONTEXT_ROOT;
+	}
+
+	public JSonToken nextToken() throws IOException, JSonParseException{
+		int Current = skipWhitespace();
+		switch(Contexts[depth]){
+			case CONTEXT_OBJECT:
+				if(afterName){
+					afterName = false;
+					return CurrentToken = readValue(Current);
+				}
+				if(Current == JSonConstants.END_JSON_OBJECT && (needsComma || firstInContext)){
+					bufferIndex++;
+					pop();
+					return CurrentToken = JSonToken.END_OBJECT;
+				}
+				Current = readComma(Current);
+				if(Current != JSonConstants.JSON_STRING){
+					throw error("Expected a name string");
+				}
+				readString();
+				Names[depth] = (asciiString ? JSonKeyCache.intern(Buffer, stringStart, stringEnd)
+						 : JSonKeyCache.intern(Text, 0, Text.length()));
+				if(skipWhitespace() != JSonConstants.JSON_PAIR){
+					throw error("Expected " + JSonConstants.JSON_PAIR);
+				}
+				bufferIndex++;
+				afterName = true;
+				return CurrentToken = JSonToken.FIELD_NAME;
+			case CONTEXT_ARRAY:
+				if(Current == JSonConstants.END_JSON_ARRAY && (needsComma || firstInContext)){
+					bufferIndex++;
+					pop();
+					return CurrentToken = JSonToken.END_ARRAY;
+				}
+				return CurrentToken = readValue(readComma(Current));
+			default:
+				if(Current < 0){
+					return CurrentToken = null;
+				}
+				return CurrentToken = readValue(Current);
+		}
+	}
+
+	public JSonToken getCurrentToken(){
+		return CurrentToken;
+	}
+
+	public String getCurrentName(){
+		if(CurrentToken == JSonToken.START_OBJECT || CurrentToken == JSonToken.START_ARRAY){
+			return depth > 0 ? Names[depth - 1] : null;
+		}
+		return Names[depth];
+	}
+
+	public String getString(){
+		if(CurrentToken == null){
+			return null;
+		}
+		switch(CurrentToken){
+			case FIELD_NAME:
+				return Names[depth];
+			case VALUE_STRING:
+				return currentString();
+			case VALUE_NUMBER:
+				return Text.toString();
+			case VALUE_TRUE:
+				return "true";
+			case VALUE_FALSE:
+				return "false";
+			case VALUE_NULL:
+				return "null";
+			default:
+				return null;
+		}
+	}
+
+	public Number getNumber() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		try{
+			return JSonConverter.parseJSonNumber(Text, 0, Text.length());
+		}catch(NumberFormatException E){
+			throw error("Invalid number " + Text);
+		}
+	}
+
+	public double getDouble() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		return getNumber().doubleValue();
+	}
+
+	public long getLong() throws JSonParseException{
+		checkNumber();
+		if(integralNumber && fitsLong){
+			return longValue;
+		}
+		return getNumber().longValue();
+	}
+
+	public boolean isIntegralNumber(){
+		return CurrentToken == JSonToken.VALUE_NUMBER && integralNumber;
+	}
+
+	public boolean getBoolean() throws JSonParseException{
+		if(CurrentToken == JSonToken.VALUE_TRUE){
+			return true;
+		}else if(CurrentToken == JSonToken.VALUE_FALSE){
+			return false;
+		}
+		throw error("The current token is not a boolean");
+	}
+
+	public void skipChildren() throws IOException, JSonParseException{
+		if(CurrentToken != JSonToken.START_OBJECT && CurrentToken != JSonToken.START_ARRAY){
+			return;
+		}
+		int endIndex = JSonStructuralScanner.skipContainer(Buffer, bufferIndex, bufferLimit);
+		if(endIndex >= 0){
+			bufferIndex = endIndex;
+			pop();
+			CurrentToken = (Buffer.get(endIndex - 1) == JSonConstants.END_JSON_OBJECT ? JSonToken.END_OBJECT : JSonToken.END_ARRAY);
+			return;
+		}
+		int level = 1;
+		int Current = 0;
+		while(level > 0){
+			Current = read();
+			switch(Current){
+				case -1:
+					throw error("Unexpected end of input");
+				case JSonConstants.JSON_STRING:
+					skipString();
+					break;
+				case JSonConstants.BEGIN_JSON_OBJECT:
+				case JSonConstants.BEGIN_JSON_ARRAY:
+					level++;
+					break;
+				case JSonConstants.END_JSON_OBJECT:
+				case JSonConstants.END_JSON_ARRAY:
+					level--;
+					break;
+			}
+		}
+		pop();
+		CurrentToken = (Current == JSonConstants.END_JSON_OBJECT ? JSonToken.END_OBJECT : JSonToken.END_ARRAY);
+	}
+
+	public long getPosition(){
+		return bufferOffset + bufferIndex;
+	}
+
+	/**
+	 * A {@code JSonUtf8Reader} holds no resources, so this does nothing.
+	 */
+	public void close() throws IOException{
+	}
+
+	/**
+	 * Refills {@code Buffer} once it has been fully consumed. Subclasses reading
+	 * their input in several parts supply the next part through {@code setBuffer};
+	 * by default the input is a single buffer, so there is nothing to refill.
+	 *
+	 * @return Whether any more input was made available
+	 * @throws IOException If the next part of the input could not be read
+	 */
+	protected boolean fill() throws IOException{
+		return false;
+	}
+
+	/**
+	 * Replaces the fully consumed input buffer with {@code Next}, continuing
+	 * from its current position.
+	 *
+	 * @param Next The next part of the input
+	 */
+	protected void setBuffer(ByteBuffer Next){
+		bufferOffset += bufferIndex - Next.position();
+		Buffer = JSonStructuralScanner.littleEndian(Next);
+		bufferIndex = Next.position();
+		bufferLimit = Next.limit();
+	}
+
+	/**
+	 * Reads the value starting at {@code Current}, which has not been consumed yet.
+	 */
+	private JSonToken readValue(int Current) throws IOException, JSonParseException{
+		needsComma = true;
+		firstInContext = false;
+		switch(Current){
+			case JSonConstants.BEGIN_JSON_OBJECT:
+				bufferIndex++;
+				push(CONTEXT_OBJECT);
+				return JSonToken.START_OBJECT;
+			case JSonConstants.BEGIN_JSON_ARRAY:
+				bufferIndex++;
+				push(CONTEXT_ARRAY);
+				return JSonToken.START_ARRAY;
+			case JSonConstants.JSON_STRING:
+				readString();
+				return JSonToken.VALUE_STRING;
+			case 't':
+			case 'T':
+				readLiteral("true");
+				return JSonToken.VALUE_TRUE;
+			case 'f':
+			case 'F':
+				readLiteral("false");
+				return JSonToken.VALUE_FALSE;
+			case 'n':
+			case 'N':
+				readLiteral("null");
+				return JSonToken.VALUE_NULL;
+			case -1:
+				throw error("Unexpected end of input");
+			default:
+				if(Current == '-' || (Current >= '0' && Current <= '9')){
+					readNumber();
+					return JSonToken.VALUE_NUMBER;
+				}
+				throw error("Unexpected character " + (char)Current);
+		}
+	}
+
+	/**
+	 * Consumes the comma separating the values of a JSonObject or JSonArray, if
+	 * one is needed, returning the next non-whitespace character.
+	 */
+	private int readComma(int Current) throws IOException, JSonParseException{
+		if(!needsComma){
+			return Current;
+		}
+		if(Current != JSonConstants.JSON_COMMA){
+			throw error(Current < 0 ? "Unexpected end of input" : "Expected , or "
+				 + (Contexts[depth] == CONTEXT_OBJECT ? JSonConstants.END_JSON_OBJECT : JSonConstants.END_JSON_ARRAY));
+		}
+		bufferIndex++;
+		needsComma = false;
+		return skipWhitespace();
+	}
+
+	/**
+	 * Locates the string starting at the cursor. If it is ASCII-only and unescaped
+	 * its bounds are recorded; otherwise it is decoded into {@code Text}.
+	 */
+	private void readString() throws IOException, JSonParseException{
+		int beginIndex = ++bufferIndex;
+		int endIndex = JSonStructuralScanner.findStringEnd(Buffer, beginIndex, bufferLimit);
+		if(endIndex < bufferLimit && Buffer.get(endIndex) == JSonConstants.JSON_STRING){
+			stringStart = beginIndex;
+			stringEnd = endIndex;
+			asciiString = true;
+			bufferIndex = endIndex + 1;
+			return;
+		}
+
+		asciiString = false;
+		Text.setLength(0);
+		while(true){
+			int Current = read();
+			if(Current == JSonConstants.JSON_STRING){
+				return;
+			}else if(Current == '\\'){
+				readEscape();
+			}else if(Current < 0){
+				throw error("Unterminated string");
+			}else if(Current < 0x80){
+				Text.append((char)Current);
+			}else{
+				readMultiByte(Current);
+			}
+		}
+	}
+
+	/**
+	 * Decodes the UTF-8 sequence starting with {@code Lead} into {@code Text}.
+	 * Malformed sequences are replaced with U+FFFD.
+	 */
+	private void readMultiByte(int Lead) throws IOException{
+		int Length;
+		int CodePoint;
+		if((Lead & 0xE0) == 0xC0){
+			Length = 1;
+			CodePoint = Lead & 0x1F;
+		}else if((Lead & 0xF0) == 0xE0){
+			Length = 2;
+			CodePoint = Lead & 0x0F;
+		}else if((Lead & 0xF8) == 0xF0){
+			Length = 3;
+			CodePoint = Lead & 0x07;
+		}else{
+			Text.append('\uFFFD');
+			return;
+		}
+		for(int i = 0; i < Length; i++){
+			if(bufferIndex >= bufferLimit && !fill()){
+				Text.append('\uFFFD');
+				return;
+			}
+			int Continuation = Buffer.get(bufferIndex) & 0xFF;
+			if((Continuation & 0xC0) != 0x80){
+				Text.append('\uFFFD');
+				return;
+			}
+			bufferIndex++;
+			CodePoint = (CodePoint << 6) | (Continuation & 0x3F);
+		}
+		if(CodePoint > Character.MAX_CODE_POINT){
+			Text.append('\uFFFD');
+		}else{
+			Text.appendCodePoint(CodePoint);
+		}
+	}
+
+	/**
+	 * Decodes the escape sequence following a backslash into {@code Text}
+	 */
+	private void readEscape() throws IOException, JSonParseException{
+		int Escaped = read();
+		switch(Escaped){
+			case '"':
+			case '\\':
+			case '/':
+				Text.append((char)Escaped);
+				break;
+			case 'b':
+				Text.append('\b');
+				break;
+			case 'f':
+				Text.append('\f');
+				break;
+			case 'n':
+				Text.append('\n');
+				break;
+			case 'r':
+				Text.append('\r');
+				break;
+			case 't':
+				Text.append('\t');
+				break;
+			case 'u':
+				int Code = 0;
+				for(int i = 0; i < 4; i++){
+					int Digit = Character.digit(read(), 16);
+					if(Digit < 0){
+						throw error("Invalid unicode escape");
+					}
+					Code = (Code << 4) | Digit;
+				}
+				Text.append((char)Code);
+				break;
+			case -1:
+				throw error("Unterminated string");
+			default:
+				Text.append('\\');
+				if(Escaped < 0x80){
+					Text.append((char)Escaped);
+				}else{
+					readMultiByte(Escaped);
+				}
+		}
+	}
+
+	/**
+	 * Skips the string whose opening quote has just been consumed, without decoding it
+	 */
+	private void skipString() throws IOException, JSonParseException{
+		while(true){
+			int Current = read();
+			if(Current == JSonConstants.JSON_STRING){
+				return;
+			}else if(Current == '\\'){
+				read();
+			}else if(Current < 0){
+				throw error("Unterminated string");
+			}
+		}
+	}
+
+	/**
+	 * Returns the current string or field name as a {@code java.lang.String}
+	 */
+	private String currentString(){
+		if(!asciiString){
+			return Text.toString();
+		}
+		int Length = stringEnd - stringStart;
+		if(Buffer.hasArray()){
+			return new String(Buffer.array(), Buffer.arrayOffset() + stringStart, Length, StandardCharsets.ISO_8859_1);
+		}
+		if(Scratch == null || Scratch.length < Length){
+			Scratch = new byte[Math.max(Length, 64)];
+		}
+		for(int i = 0; i < Length; i++){
+			Scratch[i] = Buffer.get(stringStart + i);
+		}
+		return new String(Scratch, 0, Length, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Reads the number starting at the cursor into {@code Text}, accumulating
+	 * its value into {@code longValue} as long as it is integral.
+	 */
+	private void readNumber() throws IOException{
+		Text.setLength(0);
+		integralNumber = true;
+		boolean negative = false;
+		long Value = 0;
+		int digits = 0;
+		while(bufferIndex < bufferLimit || fill()){
+			int Current = Buffer.get(bufferIndex);
+			if(Current >= '0' && Current <= '9'){
+				Value = Value * 10 + (Current - '0');
+				digits++;
+			}else if(Current == '-'){
+				negative |= Text.length() == 0;
+			}else if(Current == '.' || Current == 'e' || Current == 'E'){
+				integralNumber = false;
+			}else if(Current != '+'){
+				break;
+			}
+			Text.append((char)Current);
+			bufferIndex++;
+		}
+		fitsLong = digits > 0 && digits <= MAX_LONG_DIGITS && Text.length() == digits + (negative ? 1 : 0);
+		longValue = negative ? -Value : Value;
+	}
+
+	/**
+	 * Matches {@code Literal} at the cursor, ignoring case.
+	 */
+	private void readLiteral(String Literal) throws IOException, JSonParseException{
+		for(int i = 0; i < Literal.length(); i++){
+			int Current = read();
+			if(Current < 0 || Character.toLowerCase((char)Current) != Literal.charAt(i)){
+				throw error("Expected " + Literal);
+			}
+		}
+	}
+
+	/**
+	 * Ensures the current token is a number
+	 */
+	private void checkNumber() throws JSonParseException{
+		if(CurrentToken != JSonToken.VALUE_NUMBER){
+			throw error("The current token is not a number");
+		}
+	}
+
+	/**
+	 * Enters a new JSonObject or JSonArray context
+	 */
+	private void push(int Context){
+		if(++depth == Contexts.length){
+			Contexts = Arrays.copyOf(Contexts, depth * 2);
+			Names = Arrays.copyOf(Names, depth * 2);
+		}
+		Contexts[depth] = Context;
+		Names[depth] = null;
+		needsComma = false;
+		firstInContext = true;
+	}
+
+	/**
+	 * Leaves the current JSonObject or JSonArray context
+	 */
+	private void pop(){
+		Names[depth--] = null;
+		needsComma = true;
+		firstInContext = false;
+	}
+
+	/**
+	 * Advances past any whitespace, returning the next byte
+	 * without consuming it, or -1 at the end of input.
+	 */
+	private int skipWhitespace() throws IOException{
+		while(true){
+			while(bufferIndex < bufferLimit){
+				int Current = Buffer.get(bufferIndex) & 0xFF;
+				if(Current > ' '){
+					return Current;
+				}
+				bufferIndex++;
+			}
+			if(!fill()){
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Consumes and returns the next byte as an unsigned value, or -1 at the end of input.
+	 */
+	private int read() throws IOException{
+		if(bufferIndex >= bufferLimit && !fill()){
+			return -1;
+		}
+		return Buffer.get(bufferIndex++) & 0xFF;
+	}
+
+	/**
+	 * Creates a {@code JSonParseException} at the current position
+	 */
+	private JSonParseException error(String Cause){
+		return new JSonParseException(Cause, (int)Math.min(Integer.MAX_VALUE, getPosition()));
+	}
+}
@@ -0,0 +1,394 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonWriter serializes {@code JSonObject}s, {@code JSonArray}s and their values
+ * straight into an {@code java.lang.Appendable} or {@code java.io.OutputStream}. Values
+ * are written as they are reached, recursing into any children, so no intermediate
+ * strings are built for any part of the document.
+ * 
+ * <p>Output to an {@code OutputStream} is encoded as UTF-8 into a buffer kept by each
+ * thread between calls, and written to the stream whenever the buffer fills.</p>
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonWriter{
+	
+	/**
+	 * The size of each thread's output buffer, in bytes
+	 */
+	private static final int BUFFER_SIZE = 8192;
+	
+	/**
+	 * The hex digits used when escaping control characters
+	 */
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	/**
+	 * Each thread's reusable output buffer
+	 */
+	private static final ThreadLocal<Utf8Output> OUTPUT = new ThreadLocal<Utf8Output>(){
+		@Override
+		protected Utf8Output initialValue(){
+			return new Utf8Output();
+		}
+	};
+	
+	private JSonWriter(){
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as UTF-8 encoded JSon, through
+	 * the current thread's output buffer.
+	 * 
+	 * @param Value The value to write
+	 * @param Out The stream to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static void writeValue(Object Value, OutputStream Out) throws IOException{
+		writeValue(Value, null, Out);
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as UTF-8 encoded JSon through {@code Codec},
+	 * using the current thread's output buffer. If {@code Codec} is null, {@code Value}
+	 * is written as by {@code writeValue(Object, Appendable)}.
+	 * 
+	 * @param Value The value to write
+	 * @param Codec The codec to write {@code Value} through, or null
+	 * @param Out The stream to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static <T> void writeValue(T Value, JSonCodec<? super T> Codec, OutputStream Out) throws IOException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginSerialize();
+		Utf8Output Output = OUTPUT.get();
+		if(Output.Out != null){
+			// Already in use further up this thread's stack, so use a buffer of our own
+			Output = new Utf8Output();
+		}
+		Output.Out = Out;
+		try{
+			if(Codec == null || Value == null){
+				writeValue(Value, Output);
+			}else{
+				Codec.write(Value, Output);
+			}
+			Output.finish();
+			if(Sample != null){
+				Sample.endSerialize(Output.written);
+			}
+		}finally{
+			Output.reset();
+		}
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as a whole JSon document through {@code Codec},
+	 * reporting it to {@code JSonMetrics}. If {@code Codec} is null, {@code Value} is
+	 * written as by {@code writeValue(Object, Appendable)}.
+	 * 
+	 * @param Value The value to write
+	 * @param Codec The codec to write {@code Value} through, or null
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static <T> void writeValue(T Value, JSonCodec<? super T> Codec, Appendable Out) throws IOException{
+		JSonMetrics.Sample Sample = JSonMetrics.beginSerialize();
+		CountingAppendable Counted = null;
+		if(Sample != null){
+			Out = Counted = new CountingAppendable(Out);
+		}
+		if(Codec == null || Value == null){
+			writeValue(Value, Out);
+		}else{
+			Codec.write(Value, Out);
+		}
+		if(Sample != null){
+			Sample.endSerialize(Counted.written);
+		}
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as JSon. Strings are quoted and escaped,
+	 * JSonObjects, JSonPersistentObjects and JSonArrays are written recursively, and any
+	 * other value is written through its {@code toString}.
+	 * 
+	 * @param Value The value to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static void writeValue(Object Value, Appendable Out) throws IOException{
+		if(Value instanceof String){
+			writeString((String)Value, Out);
+		}else if(Value instanceof JSonObject){
+			writeProperties(((JSonObject)Value).getJSonProperties(), Out);
+		}else if(Value instanceof JSonArray){
+			writeList(((JSonArray)Value).getJSonArrayList(), Out);
+		}else if(Value instanceof JSonPersistentObject){
+			writeProperties((JSonPersistentObject)Value, Out);
+		}else if(Value == null){
+			Out.append("null");
+		}else{
+			Out.append(Value.toString());
+		}
+	}
+	
+	/**
+	 * Writes the name/value pairs of {@code JSonProperties} to {@code Out} as a JSonObject
+	 * 
+	 * @param JSonProperties The name/value pairs to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static void writeProperties(Map<String, Object> JSonProperties, Appendable Out) throws IOException{
+		Out.append(JSonConstants.BEGIN_JSON_OBJECT);
+		boolean first = true;
+		for(Map.Entry<String, Object> P : JSonProperties.entrySet()){
+			if(!first){
+				Out.append(JSonConstants.JSON_COMMA);
+			}
+			first = false;
+			writeString(P.getKey(), Out);
+			Out.append(JSonConstants.JSON_PAIR);
+			writeValue(P.getValue(), Out);
+		}
+		Out.append(JSonConstants.END_JSON_OBJECT);
+	}
+	
+	/**
+	 * Writes the values of {@code JSonArrayList} to {@code Out} as a JSonArray
+	 * 
+	 * @param JSonArrayList The values to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static void writeList(List<Object> JSonArrayList, Appendable Out) throws IOException{
+		Out.append(JSonConstants.BEGIN_JSON_ARRAY);
+		for(int i = 0; i < JSonArrayList.size(); i++){
+			if(i > 0){
+				Out.append(", ");
+			}
+			writeValue(JSonArrayList.get(i), Out);
+		}
+		Out.append(JSonConstants.END_JSON_ARRAY);
+	}
+	
+	/**
+	 * Writes {@code Value} to {@code Out} as a quoted JSon String, escaping any
+	 * quotes, backslashes and control characters it contains. Runs of characters
+	 * needing no escape are appended directly from {@code Value}.
+	 * 
+	 * @param Value The string to write
+	 * @param Out The {@code Appendable} to write to
+	 * @throws IOException If {@code Out} could not be written to
+	 */
+	static void writeString(String Value, Appendable Out) throws IOException{
+		Out.append(JSonConstants.JSON_STRING);
+		int runStart = 0;
+		int length = Value.length();
+		for(int i = 0; i < length; i++){
+			char Current = Value.charAt(i);
+			if(Current >= ' ' && Current != '"' && Current != '\\'){
+				continue;
+			}
+			Out.append(Value, runStart, i);
+			runStart = i + 1;
+			switch(Current){
+				case '"':
+					Out.append("\\\"");
+					break;
+				case '\\':
+					Out.append("\\\\");
+					break;
+				case '\n':
+					Out.append("\\n");
+					break;
+				case '\r':
+					Out.append("\\r");
+					break;
+				case '\t':
+					Out.append("\\t");
+					break;
+				case '\b':
+					Out.append("\\b");
+					break;
+				case '\f':
+					Out.append("\\f");
+					break;
+				default:
+					Out.append("\\u00").append(HEX_DIGITS[Current >> 4]).append(HEX_DIGITS[Current & 0xF]);
+			}
+		}
+		Out.append(Value, runStart, length);
+		Out.append(JSonConstants.JSON_STRING);
+	}
+	
+	/**
+	 * An {@code Appendable} which encodes chars as UTF-8 into a fixed-size
+	 * buffer, writing the buffer to {@code Out} whenever it fills.
+	 */
+	private static final class Utf8Output implements Appendable{
+		
+		/**
+		 * The encoded bytes not yet written to {@code Out}
+		 */
+		private final byte[] Buffer = new byte[BUFFER_SIZE];
+		private int count;
+		
+		/**
+		 * The number of bytes written to {@code Out} since the last {@code reset}
+		 */
+		private long written;
+		
+		/**
+		 * A high surrogate awaiting its low surrogate, or 0
+		 */
+		private char pendingSurrogate;
+		
+		/**
+		 * The stream being written to, or null when not in use
+		 */
+		private OutputStream Out;
+		
+		public Appendable append(CharSequence Sequence) throws IOException{
+			return append(Sequence, 0, Sequence.length());
+		}
+		
+		public Appendable append(CharSequence Sequence, int start, int end) throws IOException{
+			for(int i = start; i < end; i++){
+				char Current = Sequence.charAt(i);
+				if(Current < 0x80 && pendingSurrogate == 0){
+					if(count == Buffer.length){
+						flush();
+					}
+					Buffer[count++] = (byte)Current;
+				}else{
+					append(Current);
+				}
+			}
+			return this;
+		}
+		
+		public Appendable append(char Current) throws IOException{
+			if(count + 4 > Buffer.length){
+				flush();
+			}
+			if(pendingSurrogate != 0){
+				char High = pendingSurrogate;
+				pendingSurrogate = 0;
+				if(Character.isLowSurrogate(Current)){
+					int CodePoint = Character.toCodePoint(High, Current);
+					Buffer[count++] = (byte)(0xF0 | (CodePoint >> 18));
+					Buffer[count++] = (byte)(0x80 | ((CodePoint >> 12) & 0x3F));
+					Buffer[count++] = (byte)(0x80 | ((CodePoint >> 6) & 0x3F));
+					Buffer[count++] = (byte)(0x80 | (CodePoint & 0x3F));
+					return this;
+				}
+				Buffer[count++] = '?';
+				return append(Current);
+			}
+			if(Current < 0x80){
+				Buffer[count++] = (byte)Current;
+			}else if(Current < 0x800){
+				Buffer[count++] = (byte)(0xC0 | (Current >> 6));
+				Buffer[count++] = (byte)(0x80 | (Current & 0x3F));
+			}else if(Character.isHighSurrogate(Current)){
+				pendingSurrogate = Current;
+			}else if(Character.isLowSurrogate(Current)){
+				Buffer[count++] = '?';
+			}else{
+				Buffer[count++] = (byte)(0xE0 | (Current >> 12));
+				Buffer[count++] = (byte)(0x80 | ((Current >> 6) & 0x3F));
+				Buffer[count++] = (byte)(0x80 | (Current & 0x3F));
+			}
+			return this;
+		}
+		
+		/**
+		 * Writes any buffered bytes to {@code Out}
+		 */
+		void flush() throws IOException{
+			Out.write(Buffer, 0, count);
+			written += count;
+			count = 0;
+		}
+		
+		/**
+		 * Writes any buffered bytes to {@code Out}, replacing a
+		 * trailing unpaired high surrogate with '?'
+		 */
+		void finish() throws IOException{
+			if(pendingSurrogate != 0){
+				pendingSurrogate = 0;
+				append('?');
+			}
+			flush();
+		}
+		
+		/**
+		 * Releases this buffer for reuse
+		 */
+		void reset(){
+			Out = null;
+			count = 0;
+			written = 0;
+			pendingSurrogate = 0;
+		}
+	}
+	
+	/**
+	 * Passes chars through to another {@code Appendable}, counting them. Output is only
+	 * counted while a {@code Sample} of it is being taken.
+	 */
+	private static final class CountingAppendable implements Appendable{
+		
+		private final Appendable Out;
+		private long written;
+		
+		CountingAppendable(Appendable Out){
+			this.Out = Out;
+		}
+		
+		public Appendable append(CharSequence Chars) throws IOException{
+			Out.append(Chars);
+			written += (Chars == null ? 4 : Chars.length());
+			return this;
+		}
+		
+		public Appendable append(CharSequence Chars, int beginIndex, int endIndex) throws IOException{
+			Out.append(Chars, beginIndex, endIndex);
+			written += endIndex - beginIndex;
+			return this;
+		}
+		
+		public Appendable append(char Char) throws IOException{
+			Out.append(Char);
+			written++;
+			return this;
+		}
+	}
+}
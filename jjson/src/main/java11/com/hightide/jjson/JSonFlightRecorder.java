@@ -0,0 +1,125 @@
+package com.hightide.jjson;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * The JSonFlightRecorder holds the JDK Flight Recorder events of {@code JSonMetrics}.
+ * It is compiled for Java 11 into the {@code META-INF/versions/11} directory of the
+ * multi-release jar, and loaded by {@code JSonMetrics} reflectively, so the rest of
+ * jjson still compiles for, and runs on, Java 8.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+final class JSonFlightRecorder implements JSonMetrics.EventRecorder{
+	
+	private static final EventType PARSE = EventType.getEventType(ParseEvent.class);
+	private static final EventType SERIALIZE = EventType.getEventType(SerializeEvent.class);
+	
+	/**
+	 * Used by {@code JSonMetrics}, which creates the one instance
+	 */
+	JSonFlightRecorder(){
+	}
+	
+	@Override
+	public Object beginParse(){
+		if(!PARSE.isEnabled()){
+			return null;
+		}
+		ParseEvent Event = new ParseEvent();
+		Event.begin();
+		return Event;
+	}
+	
+	@Override
+	public void endParse(Object Started, long inputLength, int maxDepth, int objectCount, int arrayCount, boolean parsed){
+		ParseEvent Event = (ParseEvent)Started;
+		Event.end();
+		if(Event.shouldCommit()){
+			Event.inputLength = inputLength;
+			Event.maxDepth = maxDepth;
+			Event.objectCount = objectCount;
+			Event.arrayCount = arrayCount;
+			Event.failed = !parsed;
+			Event.commit();
+		}
+	}
+	
+	@Override
+	public Object beginSerialize(){
+		if(!SERIALIZE.isEnabled()){
+			return null;
+		}
+		SerializeEvent Event = new SerializeEvent();
+		Event.begin();
+		return Event;
+	}
+	
+	@Override
+	public void endSerialize(Object Started, long outputLength){
+		SerializeEvent Event = (SerializeEvent)Started;
+		Event.end();
+		if(Event.shouldCommit()){
+			Event.outputLength = outputLength;
+			Event.commit();
+		}
+	}
+	
+	@Name("jjson.Parse")
+	@Label("JSon Parse")
+	@Category("JJSon")
+	@Description("A JSon document parsed into JSonObjects and JSonArrays")
+	static final class ParseEvent extends Event{
+		
+		@Label("Input Length")
+		@Description("The length of the input, in chars")
+		long inputLength;
+		
+		@Label("Max Depth")
+		int maxDepth;
+		
+		@Label("Object Count")
+		int objectCount;
+		
+		@Label("Array Count")
+		int arrayCount;
+		
+		@Label("Failed")
+		boolean failed;
+	}
+	
+	@Name("jjson.Serialize")
+	@Label("JSon Serialize")
+	@Category("JJSon")
+	@Description("A JSon document written as text")
+	static final class SerializeEvent extends Event{
+		
+		@Label("Output Length")
+		@Description("The length of the output, in chars or, for a stream, in bytes")
+		long outputLength;
+	}
+}
@@ -0,0 +1,233 @@
+package com.hightide.jjson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * Checks that the JSonBinary reads back what it writes, value types included, whether
+ * its input arrives at once or a byte at a time, and that corrupt or cut input is
+ * reported as an {@code IOException} rather than anything else.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonBinaryTest extends TestCase{
+	
+	public void testRoundTripKeepsValuesAndTypes() throws IOException{
+		JSonObject Object = sample();
+		JSonObject Read = JSonObject.readBinary(new ByteArrayInputStream(toBinary(Object)));
+		assertEquals(Object.toString(), Read.toString());
+		assertEquals(Long.valueOf(-7L), Read.getValue("long"));
+		assertEquals(Integer.valueOf(300), Read.getValue("int"));
+		assertEquals(Integer.valueOf(12), Read.getValue("short"));
+		assertEquals(Double.valueOf(0.5), Read.getValue("float double"));
+		assertEquals(Double.valueOf(0.1), Read.getValue("double"));
+		assertEquals(Float.valueOf(2.25f), Read.getValue("float"));
+		assertEquals(new BigInteger("-123456789012345678901234567890"), Read.getValue("big integer"));
+		assertEquals(new BigDecimal("3.14159265358979323846264338327950288"), Read.getValue("big decimal"));
+		assertEquals(Boolean.TRUE, Read.getValue("true"));
+		assertSame(JSonObject.NULL, Read.getValue("null"));
+		assertEquals("h\u00E9llo \u4E16\u754C \uD83D\uDE00", Read.getValue("unicode"));
+	}
+	
+	public void testRoundTripOfArrays() throws IOException{
+		JSonArray Array = new JSonArray("[1, [2, [3, []]], {\"a\":{\"a\":[\"a\"]}}, \"\", -0.0, 1e300]");
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		Array.writeBinary(Out);
+		assertEquals(Array.toString(), JSonArray.readBinary(new ByteArrayInputStream(Out.toByteArray())).toString());
+	}
+	
+	public void testRepeatedNamesAreWrittenOnce() throws IOException{
+		JSonArray Array = new JSonArray();
+		for(int i = 0; i < 100; i++){
+			Array.getJSonArrayList().add(new JSonObject("{\"a rather long name\":" + i + "}"));
+		}
+		byte[] Bytes = toBinary(Array);
+		assertTrue(Bytes.length < 100 * 8);
+		assertEquals(Array.toString(), read(Bytes).toString());
+	}
+	
+	public void testReadsTricklingInput() throws IOException{
+		JSonObject Object = sample();
+		StringBuilder Long = new StringBuilder();
+		for(int i = 0; i < 5000; i++){
+			Long.append("\u00E9x");
+		}
+		Object.addPair("long", Long.toString());
+		byte[] Bytes = toBinary(Object);
+		InputStream Trickle = new ByteArrayInputStream(Bytes){
+			
+			@Override
+			public synchronized int read(byte[] Buffer, int offset, int length){
+				return super.read(Buffer, offset, Math.min(length, 1));
+			}
+		};
+		assertEquals(Object.toString(), JSonObject.readBinary(Trickle).toString());
+	}
+	
+	public void testJavaSerialization() throws IOException, ClassNotFoundException{
+		JSonObject Object = sample();
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		ObjectOutputStream Writer = new ObjectOutputStream(Out);
+		Writer.writeObject(Object);
+		Writer.writeObject(new JSonConcurrentArray(new JSonArray("[1, {\"a\":2}]")));
+		Writer.close();
+		ObjectInputStream Reader = new ObjectInputStream(new ByteArrayInputStream(Out.toByteArray()));
+		assertEquals(Object.toString(), Reader.readObject().toString());
+		Object Concurrent = Reader.readObject();
+		assertTrue(Concurrent instanceof JSonConcurrentArray);
+		assertEquals("[1,{\"a\":2}]", Concurrent.toString().replace(" ", ""));
+	}
+	
+	public void testJavaSerializationRejectsCorruptLength() throws IOException, ClassNotFoundException{
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		ObjectOutputStream Writer = new ObjectOutputStream(Out);
+		Writer.writeObject(sample());
+		Writer.close();
+		byte[] Bytes = Out.toByteArray();
+		// The proxy writes the length of the encoding just before its magic number
+		int magic = 0;
+		while(Bytes[magic] != 'J' || Bytes[magic + 1] != 'B' || Bytes[magic + 2] != 1){
+			magic++;
+		}
+		Bytes[magic - 4] = 0x7F;
+		Bytes[magic - 3] = (byte)0xFF;
+		Bytes[magic - 2] = (byte)0xFF;
+		Bytes[magic - 1] = (byte)0xFF;
+		try{
+			new ObjectInputStream(new ByteArrayInputStream(Bytes)).readObject();
+			fail("Read a corrupt length");
+		}catch(StreamCorruptedException E){
+			// Expected
+		}
+	}
+	
+	public void testRejectsOtherStreams(){
+		assertCorrupt(new byte[]{'J', 'S', 1, 0});
+		assertCorrupt(new byte[]{'J', 'B', 2, 0});
+		assertCorrupt(new byte[]{'J', 'B', 1, 99});
+		assertCorrupt(new byte[]{'J', 'B', 1, 11, 1, 5});
+	}
+	
+	public void testRejectsEveryCutOfAStream() throws IOException{
+		byte[] Bytes = toBinary(sample());
+		for(int length = 0; length < Bytes.length; length++){
+			try{
+				read(Arrays.copyOf(Bytes, length));
+				fail("Read a stream cut at " + length);
+			}catch(EOFException E){
+				// Expected
+			}
+		}
+	}
+	
+	public void testRejectsHugeLengthsWithoutReservingThem(){
+		byte[] Bytes = {'J', 'B', 1, 10, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07, 'a'};
+		try{
+			read(Bytes);
+			fail();
+		}catch(EOFException E){
+			// Expected
+		}catch(IOException E){
+			fail(E.toString());
+		}
+	}
+	
+	public void testCorruptBytesOnlyFailWithIOException() throws IOException{
+		byte[] Bytes = toBinary(sample());
+		Random Random = new Random(19);
+		for(int round = 0; round < 20000; round++){
+			byte[] Corrupt = Bytes.clone();
+			for(int flips = 1 + Random.nextInt(3); flips > 0; flips--){
+				Corrupt[3 + Random.nextInt(Corrupt.length - 3)] = (byte)Random.nextInt(256);
+			}
+			try{
+				read(Corrupt);
+			}catch(IOException E){
+				// Expected
+			}
+		}
+	}
+	
+	public void testRejectsValuesItCannotEncode(){
+		JSonObject Object = new JSonObject();
+		Object.addPair("a", new Object());
+		try{
+			toBinary(Object);
+			fail();
+		}catch(IOException E){
+			// Expected
+		}
+	}
+	
+	private static JSonObject sample(){
+		JSonObject Object = new JSonObject();
+		Object.addPair("long", Long.valueOf(-7L));
+		Object.addPair("int", Integer.valueOf(300));
+		Object.addPair("short", Short.valueOf((short)12));
+		Object.addPair("float double", Double.valueOf(0.5));
+		Object.addPair("double", Double.valueOf(0.1));
+		Object.addPair("float", Float.valueOf(2.25f));
+		Object.addPair("big integer", new BigInteger("-123456789012345678901234567890"));
+		Object.addPair("big decimal", new BigDecimal("3.14159265358979323846264338327950288"));
+		Object.addPair("true", Boolean.TRUE);
+		Object.addPair("false", Boolean.FALSE);
+		Object.addPair("null", JSonObject.NULL);
+		Object.addPair("unicode", "h\u00E9llo \u4E16\u754C \uD83D\uDE00");
+		Object.addPair("nested", new JSonObject("{\"long\":[1, 2, {\"int\":\"x\"}], \"empty\":{}}"));
+		Object.addPair("array", new JSonArray(new ArrayList<Object>(Arrays.<Object>asList("a", Long.valueOf(1L), JSonObject.NULL))));
+		return Object;
+	}
+	
+	private static byte[] toBinary(Object Value) throws IOException{
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		JSonBinary.write(Value, Out);
+		return Out.toByteArray();
+	}
+	
+	private static Object read(byte[] Bytes) throws IOException{
+		return JSonBinary.read(new ByteArrayInputStream(Bytes));
+	}
+	
+	private static void assertCorrupt(byte[] Bytes){
+		try{
+			read(Bytes);
+			fail("Read " + Arrays.toString(Bytes));
+		}catch(StreamCorruptedException E){
+			// Expected
+		}catch(IOException E){
+			fail(E.toString());
+		}
+	}
+}
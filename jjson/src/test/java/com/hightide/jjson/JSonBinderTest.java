@@ -0,0 +1,106 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that the JSonBinder binds each field of a class once, even when it is hidden by
+ * a subclass field of the same name, and only writes JSon its own parser can read back.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonBinderTest extends TestCase{
+	
+	public static class Base{
+		public int x = 1;
+		private String hidden = "base";
+		public int z = 3;
+		
+		String baseHidden(){
+			return hidden;
+		}
+	}
+	
+	public static class Sub extends Base{
+		public int x = 2;
+		public String hidden = "sub";
+		public String y = "a";
+	}
+	
+	public static class Numbers{
+		public double d;
+		public float f;
+		public Double boxed;
+		public List<Double> list;
+		public Object any;
+	}
+	
+	public void testFieldHiddenBySubclassIsWrittenOnce() throws IOException{
+		StringBuilder Out = new StringBuilder();
+		JSonConverter.writeValue(new Sub(), Out);
+		assertEquals("{\"z\":3,\"x\":2,\"hidden\":\"sub\",\"y\":\"a\"}", Out.toString());
+	}
+	
+	public void testFieldHiddenBySubclassIsReadIntoTheSubclassField() throws JSonParseException{
+		Sub Read = JSonConverter.readValue("{\"x\":5,\"z\":4,\"hidden\":\"read\"}", Sub.class);
+		assertEquals(5, Read.x);
+		assertEquals(1, ((Base)Read).x);
+		assertEquals(4, Read.z);
+		assertEquals("read", Read.hidden);
+		assertEquals("base", Read.baseHidden());
+	}
+	
+	public void testNonFiniteNumbersAreWrittenAsNull() throws IOException, JSonParseException{
+		Numbers Value = new Numbers();
+		Value.d = Double.NaN;
+		Value.f = Float.POSITIVE_INFINITY;
+		Value.boxed = Double.valueOf(Double.NEGATIVE_INFINITY);
+		Value.list = new ArrayList<Double>(Arrays.asList(1.5, Double.NaN));
+		Value.any = Float.valueOf(Float.NaN);
+		StringBuilder Out = new StringBuilder();
+		JSonConverter.writeValue(Value, Out);
+		assertEquals("{\"d\":null,\"f\":null,\"boxed\":null,\"list\":[1.5, null],\"any\":null}", Out.toString());
+		
+		Numbers Read = JSonConverter.readValue(Out.toString(), Numbers.class);
+		assertEquals(0.0, Read.d, 0.0);
+		assertEquals(0.0f, Read.f, 0.0f);
+		assertNull(Read.boxed);
+		assertEquals(Arrays.asList(1.5, null), Read.list);
+		assertNotNull(JSonConverter.createJSonPropertiesString(Out.toString()));
+	}
+	
+	public void testFiniteNumbersAreWrittenExactly() throws IOException, JSonParseException{
+		Numbers Value = new Numbers();
+		Value.d = 0.1;
+		Value.f = 0.1f;
+		Value.boxed = Double.valueOf(-2.5E-300);
+		StringBuilder Out = new StringBuilder();
+		JSonConverter.writeValue(Value, Out);
+		Numbers Read = JSonConverter.readValue(Out.toString(), Numbers.class);
+		assertEquals(0.1, Read.d, 0.0);
+		assertEquals(0.1f, Read.f, 0.0f);
+		assertEquals(Double.valueOf(-2.5E-300), Read.boxed);
+	}
+}
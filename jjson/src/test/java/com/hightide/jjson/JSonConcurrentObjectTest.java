@@ -0,0 +1,217 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks the atomic updates of the JSonConcurrentObject and JSonConcurrentArray, how they
+ * hold JSon nulls, and that {@code compute} loses no updates made by several threads at once.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonConcurrentObjectTest extends TestCase{
+	
+	public void testPutIfAbsent(){
+		JSonConcurrentObject Object = new JSonConcurrentObject();
+		assertNull(Object.putIfAbsent("a", "first"));
+		assertEquals("first", Object.putIfAbsent("a", "second"));
+		assertEquals("first", Object.getValue("a"));
+		assertNull(Object.putIfAbsent("b", null));
+		assertSame(JSonObject.NULL, Object.getValue("b"));
+		assertSame(JSonObject.NULL, Object.putIfAbsent("b", "other"));
+	}
+	
+	public void testCompute(){
+		JSonConcurrentObject Object = new JSonConcurrentObject();
+		assertEquals(1L, Object.compute("n", increment()));
+		assertEquals(2L, Object.compute("n", increment()));
+		assertEquals(2L, Object.getValue("n"));
+		// A null result removes the pair
+		assertNull(Object.compute("n", new BiFunction<String, Object, Object>(){
+			
+			public Object apply(String Name, Object Value){
+				return null;
+			}
+		}));
+		assertNull(Object.getValue("n"));
+		assertEquals("{}", Object.toString());
+	}
+	
+	public void testComputeIfAbsent(){
+		JSonConcurrentObject Object = new JSonConcurrentObject();
+		final AtomicInteger Calls = new AtomicInteger();
+		Function<String, Object> Mapping = new Function<String, Object>(){
+			
+			public Object apply(String Name){
+				Calls.incrementAndGet();
+				return Name.toUpperCase();
+			}
+		};
+		assertEquals("A", Object.computeIfAbsent("a", Mapping));
+		assertEquals("A", Object.computeIfAbsent("a", Mapping));
+		assertEquals(1, Calls.get());
+		assertNull(Object.computeIfAbsent("b", new Function<String, Object>(){
+			
+			public Object apply(String Name){
+				return null;
+			}
+		}));
+		assertNull(Object.getValue("b"));
+	}
+	
+	public void testReplace(){
+		JSonConcurrentObject Object = new JSonConcurrentObject("{\"a\":1, \"b\":null}");
+		assertFalse(Object.replace("a", 2L, 3L));
+		assertEquals(1L, Object.getValue("a"));
+		assertTrue(Object.replace("a", 1L, 3L));
+		assertEquals(3L, Object.getValue("a"));
+		assertFalse(Object.replace("missing", null, 1L));
+		assertNull(Object.getValue("missing"));
+		// A JSon null is matched, and set, as either null or JSonObject.NULL
+		assertTrue(Object.replace("b", null, "set"));
+		assertTrue(Object.replace("b", "set", null));
+		assertSame(JSonObject.NULL, Object.getValue("b"));
+		assertTrue(Object.replace("b", JSonObject.NULL, 4L));
+		assertEquals(4L, Object.getValue("b"));
+	}
+	
+	public void testNullValues(){
+		JSonConcurrentObject Object = new JSonConcurrentObject();
+		Object.addPair("a", null);
+		assertSame(JSonObject.NULL, Object.getValue("a"));
+		assertEquals("{\"a\":null}", Object.toString());
+		Object.setValue("a", "x");
+		Object.setValue("a", null);
+		assertSame(JSonObject.NULL, Object.getValue("a"));
+		Object.setValue((Object)null, "y");
+		assertEquals("y", Object.getValue("a"));
+		Object.setValue("missing", null);
+		assertNull(Object.getValue("missing"));
+		assertSame(JSonObject.NULL, new JSonConcurrentObject("{\"n\":null}").getValue("n"));
+		assertNull(Object.remove("missing"));
+		assertEquals("y", Object.remove("a"));
+	}
+	
+	public void testSetName(){
+		JSonConcurrentObject Object = new JSonConcurrentObject("{\"a\":1, \"b\":null}");
+		Object.setName("a", "c");
+		assertNull(Object.getValue("a"));
+		assertEquals(1L, Object.getValue("c"));
+		// Renaming a missing name adds nothing
+		Object.setName("missing", "d");
+		assertNull(Object.getValue("d"));
+		Object.setName((Object)null, "e");
+		assertNull(Object.getValue("b"));
+		assertSame(JSonObject.NULL, Object.getValue("e"));
+		Object.setName((Object)1L, "f");
+		assertNull(Object.getValue("c"));
+		assertEquals(1L, Object.getValue("f"));
+		// Renaming onto an existing name replaces its value
+		Object.setName("f", "e");
+		assertEquals(1L, Object.getValue("e"));
+		assertEquals("{\"e\":1}", Object.toString());
+	}
+	
+	public void testNestedValuesAreConcurrent(){
+		JSonConcurrentObject Object = new JSonConcurrentObject("{\"o\":{\"a\":[1, {}]}, \"l\":[null]}");
+		assertTrue(Object.getValue("o") instanceof JSonConcurrentObject);
+		Object Nested = ((JSonObject)Object.getValue("o")).getValue("a");
+		assertTrue(Nested instanceof JSonConcurrentArray);
+		assertTrue(((JSonArray)Nested).get(1) instanceof JSonConcurrentObject);
+		assertSame(JSonObject.NULL, ((JSonArray)Object.getValue("l")).get(0));
+	}
+	
+	public void testArrayUpdates(){
+		JSonConcurrentArray Array = new JSonConcurrentArray("[1, \"a\"]");
+		assertTrue(Array.addIfAbsent("b"));
+		assertFalse(Array.addIfAbsent("a"));
+		assertEquals("a", Array.set(1, "c"));
+		assertEquals(1L, Array.remove(0));
+		assertEquals(Arrays.<Object>asList("c", "b"), new ArrayList<Object>(Array.getJSonArrayList()));
+	}
+	
+	public void testConcurrentCompute() throws InterruptedException{
+		final JSonConcurrentObject Object = new JSonConcurrentObject();
+		final JSonConcurrentArray Array = new JSonConcurrentArray();
+		final int threads = 8;
+		final int updates = 10000;
+		final CountDownLatch Start = new CountDownLatch(1);
+		final List<Throwable> Failures = new ArrayList<Throwable>();
+		List<Thread> Workers = new ArrayList<Thread>();
+		for(int t = 0; t < threads; t++){
+			final String Own = "thread" + t;
+			Thread Worker = new Thread(){
+				
+				public void run(){
+					try{
+						Start.await();
+						for(int i = 0; i < updates; i++){
+							Object.compute("shared", increment());
+							Object.compute(Own, increment());
+							Object.putIfAbsent("first", Own);
+							if(i % 1000 == 0){
+								Array.addIfAbsent(Long.valueOf(i));
+								// Iteration never fails while other threads update
+								Object.toString();
+							}
+						}
+					}catch(Throwable Thrown){
+						synchronized(Failures){
+							Failures.add(Thrown);
+						}
+					}
+				}
+			};
+			Workers.add(Worker);
+			Worker.start();
+		}
+		Start.countDown();
+		for(Thread Worker : Workers){
+			Worker.join();
+		}
+		assertEquals(new ArrayList<Throwable>(), Failures);
+		assertEquals(Long.valueOf((long)threads * updates), Object.getValue("shared"));
+		for(int t = 0; t < threads; t++){
+			assertEquals(Long.valueOf(updates), Object.getValue("thread" + t));
+		}
+		assertTrue(((String)Object.getValue("first")).startsWith("thread"));
+		assertEquals(updates / 1000, Array.getJSonArrayList().size());
+	}
+	
+	/**
+	 * Returns a remapping adding one to a {@code Long} value, or starting it at one
+	 */
+	private static BiFunction<String, Object, Object> increment(){
+		return new BiFunction<String, Object, Object>(){
+			
+			public Object apply(String Name, Object Value){
+				return (Value == null ? 1L : (Long)Value + 1);
+			}
+		};
+	}
+}
@@ -0,0 +1,230 @@
+package com.hightide.jjson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that every input the JSonConverter parses, Strings, Readers, byte arrays, heap
+ * and direct ByteBuffers, files and lazy views, reads the same values, with escapes,
+ * surrogate pairs and numbers at the edges of {@code long} and {@code double} included,
+ * that what is written reads back the same, and that errors are reported where they are.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonConverterTest extends TestCase{
+	
+	public void testEscapes() throws IOException, JSonParseException{
+		String Document = "{\"s\":\"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t \\u0000\\u001F\\u00e9\\u20AC\", \"k\\ney\":1}";
+		for(Map.Entry<String, Map<String, Object>> Parsed : parseAll(Document).entrySet()){
+			assertEquals(Parsed.getKey(), "q\" b\\ s/ \b\f\n\r\t \u0000\u001f\u00E9\u20AC", Parsed.getValue().get("s"));
+			assertEquals(Parsed.getKey(), 1L, Parsed.getValue().get("k\ney"));
+		}
+	}
+	
+	public void testSurrogatePairs() throws IOException, JSonParseException{
+		String Escaped = "{\"s\":\"a\\uD83D\\uDE00b\\uD834\\uDD1E\"}";
+		String Raw = "{\"s\":\"a\uD83D\uDE00b\uD834\uDD1E\"}";
+		for(String Document : new String[]{Escaped, Raw}){
+			for(Map.Entry<String, Map<String, Object>> Parsed : parseAll(Document).entrySet()){
+				assertEquals(Parsed.getKey(), "a\uD83D\uDE00b\uD834\uDD1E", Parsed.getValue().get("s"));
+			}
+		}
+	}
+	
+	public void testNumberBoundaries() throws IOException, JSonParseException{
+		Object[][] Numbers = {
+			{"0", Long.valueOf(0)},
+			{"-0", Long.valueOf(0)},
+			{"123456789012345678", Long.valueOf(123456789012345678L)},
+			{"9223372036854775807", Long.valueOf(Long.MAX_VALUE)},
+			{"-9223372036854775808", Long.valueOf(Long.MIN_VALUE)},
+			{"9223372036854775808", new BigDecimal("9223372036854775808")},
+			{"-9223372036854775809", new BigDecimal("-9223372036854775809")},
+			{"0.1", Double.valueOf(0.1)},
+			{"-0.0", Double.valueOf(-0.0)},
+			{"0.30000000000000004", Double.valueOf(0.30000000000000004)},
+			{"9007199254740993.0", Double.valueOf(9007199254740992.0)},
+			{"1E22", Double.valueOf(1e22)},
+			{"1E23", Double.valueOf(1e23)},
+			{"2.5e-3", Double.valueOf(0.0025)},
+			{"2.2250738585072014E-308", Double.valueOf(Double.MIN_NORMAL)},
+			{"4.9e-324", Double.valueOf(Double.MIN_VALUE)},
+			{"1.7976931348623157e308", Double.valueOf(Double.MAX_VALUE)},
+			{"1e-400", Double.valueOf(0.0)},
+			{"1e400", new BigDecimal("1e400")},
+			{"-1e400", new BigDecimal("-1e400")}};
+		for(Object[] Number : Numbers){
+			for(Map.Entry<String, Map<String, Object>> Parsed : parseAll("{\"n\":" + Number[0] + "}").entrySet()){
+				assertEquals(Parsed.getKey() + " " + Number[0], Number[1], Parsed.getValue().get("n"));
+			}
+		}
+	}
+	
+	public void testLongInputAcrossBufferBoundaries() throws IOException, JSonParseException{
+		// Multi-byte characters, escapes and numbers at every alignment to the input buffers
+		StringBuilder Document = new StringBuilder("{");
+		for(int i = 0; i < 3000; i++){
+			Document.append(i > 0 ? ", " : "").append("\"k").append(i).append("\":[\"\u00E9\u20AC\uD83D\uDE00\\u00e9\\n").append(i)
+				.append("\", ").append(i * 1234567L).append(", ").append(i).append(".25e-1, true, null]");
+		}
+		String Expected = JSonConverter.createJSonObjectString(Document.append('}').toString()).toString();
+		for(Map.Entry<String, Map<String, Object>> Parsed : parseAll(Document.toString()).entrySet()){
+			assertEquals(Parsed.getKey(), Expected, new JSonObject(Parsed.getValue()).toString());
+		}
+	}
+	
+	public void testRoundTrip() throws IOException, JSonParseException{
+		String Document = "{\"a\":[1, -2.5, 1e400, \"\\u0001\\\"\\\\\", {}, [], null, true, false],"
+			 + " \"\uD83D\uDE00\":{\"\u00E9\":\"\u20AC\\u2028\"}, \"big\":-9223372036854775809}";
+		JSonObject Object = JSonConverter.createJSonObjectString(Document);
+		String Text = Object.toString();
+		for(Map.Entry<String, Map<String, Object>> Parsed : parseAll(Text).entrySet()){
+			assertEquals(Parsed.getKey(), Text, new JSonObject(Parsed.getValue()).toString());
+		}
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		Object.writeTo(Out);
+		assertEquals(Text, new JSonObject(JSonConverter.createJSonPropertiesBytes(Out.toByteArray())).toString());
+		
+		String Array = "[1, \"\uD83D\uDE00\", [{\"a\":null}], -0.5]";
+		String ArrayText = JSonConverter.createJSonArrayLazy(Array).toString();
+		assertEquals(ArrayText, new JSonArray(JSonConverter.createJSonArrayString(Array)).toString());
+		assertEquals(ArrayText, new JSonArray(JSonConverter.createJSonArrayReader(new StringReader(Array))).toString());
+		assertEquals(ArrayText, new JSonArray(JSonConverter.createJSonArrayBytes(Array.getBytes(StandardCharsets.UTF_8))).toString());
+		Path File = Files.createTempFile("jjson", ".json");
+		try{
+			Files.write(File, Array.getBytes(StandardCharsets.UTF_8));
+			assertEquals(ArrayText, new JSonArray(JSonConverter.createJSonArrayPath(File)).toString());
+		}finally{
+			Files.delete(File);
+		}
+	}
+	
+	public void testStructuralErrorOffsets() throws IOException{
+		Object[][] Malformed = {
+			{"{\"a\":1,}", "Expected a name string", 7},
+			{"{\"a\" 1}", "Expected :", 5},
+			{"{\"a\":[1,2}", "Expected , or ]", 9},
+			{"{\"a\":{\"b\":1]}", "Expected , or }", 11}};
+		for(Object[] Case : Malformed){
+			for(String Input : INPUTS){
+				try{
+					parse((String)Case[0], Input);
+					fail(Input + " parsed " + Case[0]);
+				}catch(JSonParseException E){
+					assertEquals(Input + " " + Case[0], Case[1], E.getMessage());
+					assertEquals(Input + " " + Case[0], ((Integer)Case[2]).intValue(), E.getErrorOffset());
+				}
+			}
+		}
+	}
+	
+	public void testTokenErrorsAreReportedWithinTheToken() throws IOException{
+		// The String parser reports the start of the bad token, the streaming readers where they stopped in it
+		Object[][] Malformed = {
+			{"{\"a\":tru}", 5, 9},
+			{"{\"a\":nul, \"b\":1}", 5, 9},
+			{"{\"a\":\"x", 5, 7},
+			{"{\"a\":-}", 5, 6},
+			{"{\"a\":1.}", 5, 7},
+			{"{\"a\":1e+}", 5, 8}};
+		for(Object[] Case : Malformed){
+			for(String Input : INPUTS){
+				try{
+					parse((String)Case[0], Input);
+					fail(Input + " parsed " + Case[0]);
+				}catch(JSonParseException E){
+					int offset = E.getErrorOffset();
+					assertTrue(Input + " " + Case[0] + " at " + offset, offset >= (Integer)Case[1] && offset <= (Integer)Case[2]);
+				}
+			}
+		}
+	}
+	
+	public void testTrailingAndLeadingInputIsRejected() throws IOException{
+		for(String Document : new String[]{"{\"a\":1} x", "{\"a\":1}}", "[1]", "x{}", ""}){
+			for(String Input : INPUTS){
+				try{
+					parse(Document, Input);
+					fail(Input + " parsed " + Document);
+				}catch(JSonParseException Expected){
+					// Expected
+				}
+			}
+		}
+	}
+	
+	/**
+	 * The inputs the document is parsed from by {@code parse}
+	 */
+	private static final String[] INPUTS = {"String", "Reader", "byte[]", "ByteBuffer", "direct ByteBuffer", "Path", "lazy"};
+	
+	/**
+	 * Parses {@code Document} from every input, returning the pairs read by each
+	 */
+	private static Map<String, Map<String, Object>> parseAll(String Document) throws IOException, JSonParseException{
+		Map<String, Map<String, Object>> Parsed = new LinkedHashMap<String, Map<String, Object>>();
+		for(String Input : INPUTS){
+			Parsed.put(Input, parse(Document, Input));
+		}
+		return Parsed;
+	}
+	
+	private static Map<String, Object> parse(String Document, String Input) throws IOException, JSonParseException{
+		byte[] Bytes = Document.getBytes(StandardCharsets.UTF_8);
+		if(Input.equals("String")){
+			return JSonConverter.createJSonPropertiesString(Document);
+		}else if(Input.equals("Reader")){
+			return JSonConverter.createJSonPropertiesReader(new StringReader(Document));
+		}else if(Input.equals("byte[]")){
+			return JSonConverter.createJSonPropertiesBytes(Bytes);
+		}else if(Input.equals("ByteBuffer")){
+			return JSonConverter.createJSonPropertiesBytes(ByteBuffer.wrap(Bytes));
+		}else if(Input.equals("direct ByteBuffer")){
+			ByteBuffer Direct = ByteBuffer.allocateDirect(Bytes.length);
+			Direct.put(Bytes).flip();
+			return JSonConverter.createJSonPropertiesBytes(Direct);
+		}else if(Input.equals("Path")){
+			Path File = Files.createTempFile("jjson", ".json");
+			try{
+				Files.write(File, Bytes);
+				return JSonConverter.createJSonPropertiesPath(File);
+			}finally{
+				Files.delete(File);
+			}
+		}
+		JSonObject Lazy = JSonConverter.createJSonObjectLazy(Document);
+		Map<String, Object> Properties = new LinkedHashMap<String, Object>();
+		for(String Name : Lazy.getJSonProperties().keySet()){
+			Properties.put(Name, Lazy.getValue(Name));
+		}
+		return Properties;
+	}
+}
@@ -0,0 +1,256 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that the JSonFeedParser reads the same values as the String parser however its
+ * input is split into fragments, with splits falling inside strings, escape sequences,
+ * multi-byte UTF-8 characters, numbers and literals, and that it rejects what the String
+ * parser rejects.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonFeedParserTest extends TestCase{
+	
+	/**
+	 * A document holding every kind of token, with escapes, a surrogate pair, and two, three
+	 * and four byte UTF-8 characters in its strings
+	 */
+	private static final String DOCUMENT = "{\"escapes\":\"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t\","
+		 + "\"unicode\":\"\\u00e9\\u20AC\\uD83D\\uDE00\",\"utf8\":\"\u00e9\u20ac\uD83D\uDE00 \u00df\","
+		 + "\"\u00fcber\":[0,-0,7,-42,123456789012345678,12345678901234567890,0.25,-1.5e-3,2E+10,6.02e23],"
+		 + "\"literals\":[true,false,null],\"empty\":{},\"nested\":[[],[{\"a\":[1,{\"b\":\"\"}]}]]}";
+	
+	public void testEveryTwoWaySplitReadsTheSameDocument() throws JSonParseException{
+		byte[] Bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		String Expected = JSonConverter.createJSonObjectString(DOCUMENT).toString();
+		for(int split = 0; split <= Bytes.length; split++){
+			List<Object> Documents = feed(Bytes, split);
+			assertEquals("Split at byte " + split, 1, Documents.size());
+			assertEquals("Split at byte " + split, Expected, Documents.get(0).toString());
+		}
+	}
+	
+	public void testEveryThreeWaySplitReadsTheSameDocument() throws JSonParseException{
+		String Document = "{\"s\":\"a\\u00e9\\\\\u20ac\uD83D\uDE00\",\"n\":[-12.5e-3,987654321987654321987],\"l\":[true,null,false]}";
+		byte[] Bytes = Document.getBytes(StandardCharsets.UTF_8);
+		String Expected = JSonConverter.createJSonObjectString(Document).toString();
+		for(int first = 0; first <= Bytes.length; first++){
+			for(int second = first; second <= Bytes.length; second++){
+				List<Object> Documents = feed(Bytes, first, second);
+				assertEquals("Splits at bytes " + first + " and " + second, 1, Documents.size());
+				assertEquals("Splits at bytes " + first + " and " + second, Expected, Documents.get(0).toString());
+			}
+		}
+	}
+	
+	public void testByteAtATimeReadsEveryDocument() throws JSonParseException{
+		String Input = " {\"a\":\"\u00e9\"} [1,\"\\u20ac\"]\n\"\uD83D\uDE00\" true null -3.5e2 42";
+		byte[] Bytes = Input.getBytes(StandardCharsets.UTF_8);
+		int[] Splits = new int[Bytes.length];
+		for(int i = 0; i < Bytes.length; i++){
+			Splits[i] = i;
+		}
+		List<Object> Documents = feed(Bytes, Splits);
+		assertEquals(7, Documents.size());
+		assertEquals(JSonConverter.createJSonObjectString("{\"a\":\"\u00e9\"}").toString(), Documents.get(0).toString());
+		assertEquals(JSonConverter.createJSonArrayLazy("[1,\"\\u20ac\"]").toString(), Documents.get(1).toString());
+		assertEquals("\uD83D\uDE00", Documents.get(2));
+		assertEquals(Boolean.TRUE, Documents.get(3));
+		assertSame(JSonObject.NULL, Documents.get(4));
+		assertEquals(-350.0, ((Number)Documents.get(5)).doubleValue(), 0.0);
+		// The last number only ends with the input, so it is read by the loop after endOfInput
+		assertEquals(42L, ((Number)Documents.get(6)).longValue());
+	}
+	
+	public void testTokensAreTheSameWhenSplit() throws JSonParseException{
+		byte[] Bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		List<String> Expected = tokens(Bytes);
+		assertEquals("START_OBJECT", Expected.get(0));
+		for(int split = 0; split <= Bytes.length; split++){
+			assertEquals("Split at byte " + split, Expected, tokens(Bytes, split));
+		}
+	}
+	
+	public void testMalformedInputIsRejectedAtEverySplit(){
+		String[] Malformed = {"{\"a\":tru}", "{\"a\":nul}", "[1,]", "{\"a\" 1}", "{\"a\":1", "[-]", "[1.]", "[1e]", "[\"abc"};
+		for(String Document : Malformed){
+			try{
+				if(Document.startsWith("[")){
+					JSonConverter.createJSonArrayString(Document);
+				}else{
+					JSonConverter.createJSonPropertiesString(Document);
+				}
+				fail(Document + " was accepted by the String parser");
+			}catch(JSonParseException Expected){
+				// Expected
+			}
+			byte[] Bytes = Document.getBytes(StandardCharsets.UTF_8);
+			for(int split = 0; split <= Bytes.length; split++){
+				try{
+					feed(Bytes, split);
+					fail(Document + " split at byte " + split + " was accepted");
+				}catch(JSonParseException Expected){
+					// Expected
+				}
+			}
+		}
+	}
+	
+	public void testMalformedNumberIsRejectedWhenItEnds() throws JSonParseException{
+		String[] Malformed = {"1-2", "2-", "1+", "1.5.2", "1e5e", "1..2", "-", "1.", "12e", "-.5", "1ee2", "1e+"};
+		for(String Number : Malformed){
+			JSonFeedParser Parser = new JSonFeedParser();
+			Parser.feed(bytes("[" + Number));
+			assertEquals(JSonToken.START_ARRAY, Parser.nextToken());
+			assertEquals(Number, JSonToken.NOT_AVAILABLE, Parser.nextToken());
+			Parser.feed(bytes(","));
+			try{
+				Parser.nextToken();
+				fail(Number + " was accepted");
+			}catch(JSonParseException Expected){
+				assertEquals("Invalid number " + Number, Expected.getMessage());
+			}
+		}
+		String[] Valid = {"0", "-0", "01", "12", "-3.25", "1e5", "1E+5", "2.5e-3"};
+		for(String Number : Valid){
+			JSonFeedParser Parser = new JSonFeedParser();
+			Parser.feed(bytes(Number));
+			Parser.endOfInput();
+			assertEquals(Number, JSonToken.VALUE_NUMBER, Parser.nextToken());
+			assertEquals(Number, Double.parseDouble(Number), Parser.getDouble(), 0.0);
+		}
+	}
+	
+	public void testCloseWhileNumberInProgress() throws IOException, JSonParseException{
+		JSonFeedParser Parser = new JSonFeedParser();
+		Parser.feed(bytes("[12"));
+		assertEquals(JSonToken.START_ARRAY, Parser.nextToken());
+		assertEquals(JSonToken.NOT_AVAILABLE, Parser.nextToken());
+		Parser.close();
+		assertEquals(JSonToken.NOT_AVAILABLE, Parser.nextToken());
+		assertNull(Parser.nextDocument());
+		assertTrue(Parser.needsInput());
+		Parser.feed(bytes("3]"));
+		assertEquals(JSonToken.VALUE_NUMBER, Parser.nextToken());
+		assertEquals(123L, Parser.getLong());
+		assertEquals(JSonToken.END_ARRAY, Parser.nextToken());
+	}
+	
+	public void testFeedingBeforeConsumedOrAfterEndIsRejected() throws JSonParseException{
+		JSonFeedParser Parser = new JSonFeedParser();
+		assertTrue(Parser.needsInput());
+		Parser.feed(bytes("[1, 2"));
+		assertFalse(Parser.needsInput());
+		try{
+			Parser.feed(bytes("]"));
+			fail("A fragment was fed before the previous one was consumed");
+		}catch(IllegalStateException Expected){
+			// Expected
+		}
+		assertNull(Parser.nextDocument());
+		assertTrue(Parser.needsInput());
+		Parser.feed(bytes("]"));
+		assertEquals("[1,2]", Parser.nextDocument().toString().replace(" ", ""));
+		Parser.endOfInput();
+		assertNull(Parser.nextDocument());
+		try{
+			Parser.feed(bytes("{}"));
+			fail("A fragment was fed after the end of input");
+		}catch(IllegalStateException Expected){
+			// Expected
+		}
+	}
+	
+	/**
+	 * Feeds {@code Bytes} in fragments ending at each of {@code Splits}, reading the
+	 * documents after each fragment and once more after the end of input
+	 */
+	private static List<Object> feed(byte[] Bytes, int... Splits) throws JSonParseException{
+		JSonFeedParser Parser = new JSonFeedParser();
+		List<Object> Documents = new ArrayList<Object>();
+		int start = 0;
+		for(int i = 0; i <= Splits.length; i++){
+			int end = (i < Splits.length ? Splits[i] : Bytes.length);
+			Parser.feed(ByteBuffer.wrap(Bytes, start, end - start));
+			for(Object Document; (Document = Parser.nextDocument()) != null;){
+				Documents.add(Document);
+			}
+			assertTrue(Parser.needsInput());
+			start = end;
+		}
+		Parser.endOfInput();
+		for(Object Document; (Document = Parser.nextDocument()) != null;){
+			Documents.add(Document);
+		}
+		return Documents;
+	}
+	
+	/**
+	 * Feeds {@code Bytes} in fragments ending at each of {@code Splits}, describing each
+	 * token read along with its name and value
+	 */
+	private static List<String> tokens(byte[] Bytes, int... Splits) throws JSonParseException{
+		JSonFeedParser Parser = new JSonFeedParser();
+		List<String> Tokens = new ArrayList<String>();
+		int start = 0;
+		for(int i = 0; i <= Splits.length; i++){
+			int end = (i < Splits.length ? Splits[i] : Bytes.length);
+			Parser.feed(ByteBuffer.wrap(Bytes, start, end - start));
+			readTokens(Parser, Tokens);
+			start = end;
+		}
+		Parser.endOfInput();
+		readTokens(Parser, Tokens);
+		return Tokens;
+	}
+	
+	/**
+	 * Describes each token {@code Parser} can read from the input fed so far
+	 */
+	private static void readTokens(JSonFeedParser Parser, List<String> Tokens) throws JSonParseException{
+		for(JSonToken Token; (Token = Parser.nextToken()) != null && Token != JSonToken.NOT_AVAILABLE;){
+			switch(Token){
+				case FIELD_NAME:
+					Tokens.add(Token + " " + Parser.getCurrentName());
+					break;
+				case VALUE_STRING:
+					Tokens.add(Token + " " + Parser.getString());
+					break;
+				case VALUE_NUMBER:
+					Tokens.add(Token + " " + Parser.getNumber() + " " + Parser.isIntegralNumber());
+					break;
+				default:
+					Tokens.add(Token.toString());
+			}
+		}
+	}
+	
+	private static ByteBuffer bytes(String JSonString){
+		return ByteBuffer.wrap(JSonString.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,149 @@
+package com.hightide.jjson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that every way of parsing or serializing a document reports it to the installed
+ * {@code JSonMetricsListener} exactly once, with the same counts whatever the input.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonMetricsTest extends TestCase{
+	
+	private static final String DOCUMENT = "{\"a\":[1, {\"b\":[]}], \"c\":{\"d\":\"\\u00e9\"}, \"e\":[[[null]]]}";
+	
+	/**
+	 * The calls made to the listener, described
+	 */
+	private final List<String> Calls = new ArrayList<String>();
+	
+	protected void setUp(){
+		JSonMetrics.setListener(new JSonMetricsListener(){
+			
+			public void parsed(long inputLength, int maxDepth, int objectCount, int arrayCount, long nanos){
+				Calls.add("parsed " + inputLength + " depth " + maxDepth + " objects " + objectCount + " arrays " + arrayCount);
+			}
+			
+			public void parseFailed(long inputLength, long nanos){
+				Calls.add("failed");
+			}
+			
+			public void serialized(long outputLength, long nanos){
+				Calls.add("serialized " + outputLength);
+			}
+		});
+	}
+	
+	protected void tearDown(){
+		JSonMetrics.setListener(null);
+	}
+	
+	public void testEveryInputIsReportedOnceWithTheSameCounts() throws IOException, JSonParseException{
+		String Expected = "parsed " + DOCUMENT.length() + " depth 4 objects 3 arrays 5";
+		JSonConverter.createJSonPropertiesString(DOCUMENT);
+		assertCalls(Expected);
+		JSonConverter.createJSonPropertiesReader(new StringReader(DOCUMENT));
+		assertCalls(Expected);
+		// The lengths of UTF-8 input are in bytes
+		byte[] Bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		String ExpectedBytes = Expected.replace("parsed " + DOCUMENT.length(), "parsed " + Bytes.length);
+		JSonConverter.createJSonPropertiesBytes(Bytes);
+		assertCalls(ExpectedBytes);
+		JSonConverter.createJSonPropertiesBytes(ByteBuffer.wrap(Bytes));
+		assertCalls(ExpectedBytes);
+		Path File = Files.createTempFile("jjson", ".json");
+		try{
+			Files.write(File, Bytes);
+			JSonConverter.createJSonPropertiesPath(File);
+			assertCalls(ExpectedBytes);
+		}finally{
+			Files.delete(File);
+		}
+		JSonConverter.createJSonObjectLazy(DOCUMENT);
+		assertCalls(Expected);
+	}
+	
+	public void testSkippedContainersAreNotCounted() throws JSonParseException{
+		String Document = "{\"keep\":[1, {\"a\":2}], \"skip\":{\"x\":[[[[1]]]], \"y\":{}}}";
+		JSonProjection Projection = JSonProjection.of("keep");
+		JSonConverter.createJSonPropertiesBytes(ByteBuffer.wrap(Document.getBytes(StandardCharsets.UTF_8)), Projection);
+		assertCalls("parsed " + Document.length() + " depth 3 objects 2 arrays 1");
+		// Nothing kept is nested, so the skipped containers must not raise the depth either
+		Projection = JSonProjection.of("flat");
+		Document = "{\"flat\":1, \"skip\":[{\"x\":[[1]]}]}";
+		JSonConverter.createJSonPropertiesBytes(ByteBuffer.wrap(Document.getBytes(StandardCharsets.UTF_8)), Projection);
+		assertCalls("parsed " + Document.length() + " depth 1 objects 1 arrays 0");
+	}
+	
+	public void testParallelParseIsReportedOnce() throws JSonParseException{
+		StringBuilder Document = new StringBuilder("[");
+		for(int i = 0; i < 50000; i++){
+			Document.append(i > 0 ? "," : "").append("{\"x\":[").append(i).append("]}");
+		}
+		String Array = Document.append(']').toString();
+		String Expected = "parsed " + Array.length() + " depth 3 objects 50000 arrays 50001";
+		JSonConverter.createJSonArrayParallel(Array);
+		assertCalls(Expected);
+		JSonConverter.createJSonArrayString(Array);
+		assertCalls(Expected);
+	}
+	
+	public void testFailedParseIsReportedOnce(){
+		try{
+			JSonConverter.createJSonPropertiesBytes("{\"a\":[1,}".getBytes(StandardCharsets.UTF_8));
+			fail("A malformed document was parsed");
+		}catch(JSonParseException Expected){
+			// Expected
+		}
+		assertCalls("failed");
+	}
+	
+	public void testEveryOutputIsReportedOnce() throws IOException, JSonParseException{
+		JSonObject Object = JSonConverter.createJSonObjectString(DOCUMENT);
+		Calls.clear();
+		String Text = Object.toString();
+		assertCalls("serialized " + Text.length());
+		Object.writeTo((Appendable)new StringBuilder());
+		assertCalls("serialized " + Text.length());
+		JSonConverter.writeValue(Object, new StringBuilder());
+		assertCalls("serialized " + Text.length());
+		ByteArrayOutputStream Out = new ByteArrayOutputStream();
+		Object.writeTo(Out);
+		assertCalls("serialized " + Out.size());
+	}
+	
+	private void assertCalls(String Expected){
+		List<String> Single = new ArrayList<String>();
+		Single.add(Expected);
+		assertEquals(Single, Calls);
+		Calls.clear();
+	}
+}
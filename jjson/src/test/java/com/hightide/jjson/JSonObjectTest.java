@@ -0,0 +1,99 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * Checks that the reverse lookups of a JSonObject, which are answered from its value
+ * index, keep returning names in the order of their pairs as the object is modified.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonObjectTest extends TestCase{
+	
+	public void testSetValueToSameValueKeepsOrder(){
+		JSonObject Object = new JSonObject("{\"a\":1,\"b\":1,\"c\":2}");
+		assertEquals("a", Object.getName(1L));
+		Object.setValue("a", 1L);
+		assertEquals("a", Object.getName(1L));
+		assertEquals(names("a", "b"), Object.getNameOccurences(1L));
+	}
+	
+	public void testSetValueToOtherValueKeepsOrder(){
+		JSonObject Object = new JSonObject("{\"a\":1,\"b\":2,\"c\":1}");
+		assertEquals("a", Object.getName(1L));
+		Object.setValue("b", 1L);
+		assertEquals(names("a", "b", "c"), Object.getNameOccurences(1L));
+		Object.setValue("a", 2L);
+		assertEquals("b", Object.getName(1L));
+		assertEquals(names("a"), Object.getNameOccurences(2L));
+	}
+	
+	public void testRandomEditsAgainstScan(){
+		Random Random = new Random(12);
+		for(int round = 0; round < 200; round++){
+			JSonObject Object = new JSonObject();
+			for(int edit = 0; edit < 60; edit++){
+				String Name = "n" + Random.nextInt(12);
+				Long Value = Long.valueOf(Random.nextInt(4));
+				switch(Random.nextInt(3)){
+					case 0:
+						Object.addPair(Name, Value);
+						break;
+					case 1:
+						Object.setValue(Name, Value);
+						break;
+					default:
+						Object.setValue(Long.valueOf(Random.nextInt(4)), Value);
+				}
+				Long Probe = Long.valueOf(Random.nextInt(4));
+				ArrayList<String> Expected = scan(Object, Probe);
+				assertEquals(Expected, Object.getNameOccurences(Probe));
+				assertEquals(Expected.isEmpty() ? null : Expected.get(0), Object.getName(Probe));
+			}
+		}
+	}
+	
+	/**
+	 * Returns the names of {@code Value} found by walking the pairs in order
+	 */
+	private static ArrayList<String> scan(JSonObject Object, Object Value){
+		ArrayList<String> Names = new ArrayList<String>();
+		for(Map.Entry<String, Object> P: Object.getJSonProperties().entrySet()){
+			if(Value.equals(P.getValue())){
+				Names.add(P.getKey());
+			}
+		}
+		return Names;
+	}
+	
+	private static ArrayList<String> names(String... Names){
+		ArrayList<String> List = new ArrayList<String>();
+		for(String Name : Names){
+			List.add(Name);
+		}
+		return List;
+	}
+}
@@ -0,0 +1,175 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that the JSonParallelParser always returns what a sequential parse would, or
+ * throws the same error, including when its guessed cuts fall within strings or nested
+ * values, and whether it is called from within a {@code ForkJoinPool} or not.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonParallelParserTest extends TestCase{
+	
+	/**
+	 * Enough values for each of four segments to be worth parsing on its own thread
+	 */
+	private static final int VALUES = 20000;
+	
+	private ForkJoinPool Pool;
+	
+	protected void setUp(){
+		Pool = new ForkJoinPool(4);
+	}
+	
+	protected void tearDown(){
+		Pool.shutdownNow();
+	}
+	
+	public void testObjectsWithCutsInsideStrings() throws JSonParseException{
+		StringBuilder Array = new StringBuilder("[");
+		for(int i = 0; i < VALUES; i++){
+			Array.append(i > 0 ? "," : "").append("{\"s\":\"},{\\\"a\\\":").append(i).append("},{\", \"n\":").append(i).append('}');
+		}
+		assertSameAsSequential(Array.append(']').toString(), Pool);
+	}
+	
+	public void testObjectsWhoseStringsAreAllCuts() throws JSonParseException{
+		// Every comma following an even share of the input lies within a string
+		StringBuilder Array = new StringBuilder("[");
+		for(int i = 0; i < VALUES; i++){
+			Array.append(i > 0 ? ",\n" : "").append("{\"s\":\"").append(repeat("},{", 10)).append("\"}");
+		}
+		assertSameAsSequential(Array.append(']').toString(), Pool);
+	}
+	
+	public void testStringsContainingQuotedCommas() throws JSonParseException{
+		StringBuilder Array = new StringBuilder("[");
+		for(int i = 0; i < VALUES; i++){
+			Array.append(i > 0 ? ", " : "").append("\"a\\\",\\\"b").append(i).append("\\\",\\\"\"");
+		}
+		assertSameAsSequential(Array.append(']').toString(), Pool);
+	}
+	
+	public void testNestedArraysAndNumbers() throws JSonParseException{
+		StringBuilder Arrays = new StringBuilder("[");
+		StringBuilder Numbers = new StringBuilder("[");
+		for(int i = 0; i < VALUES; i++){
+			Arrays.append(i > 0 ? "," : "").append("[[").append(i).append("],[").append(-i).append(",[]]]");
+			Numbers.append(i > 0 ? ", " : "").append(i % 3 == 0 ? -i : i).append(i % 2 == 0 ? ".5" : "");
+		}
+		assertSameAsSequential(Arrays.append(']').toString(), Pool);
+		assertSameAsSequential(Numbers.append(']').toString(), Pool);
+	}
+	
+	public void testMalformedInputThrowsTheSequentialError(){
+		String Array = objects(VALUES);
+		int middle = Array.indexOf("},{", Array.length() / 2);
+		String[] Malformed = {
+			Array.substring(0, middle) + "}}" + Array.substring(middle + 1),
+			Array.substring(0, Array.length() - 10) + "x" + Array.substring(Array.length() - 9),
+			Array.substring(0, Array.length() - 1),
+			Array.substring(0, 100) + "\"" + Array.substring(100)};
+		for(String Document : Malformed){
+			JSonParseException Expected = null;
+			try{
+				JSonParser.forThread(false).parseArrayString(Document, null);
+			}catch(JSonParseException JSPE){
+				Expected = JSPE;
+			}
+			assertNotNull(Expected);
+			try{
+				JSonParallelParser.parseArrayDocument(Document, Pool);
+				fail("A malformed document was parsed");
+			}catch(JSonParseException JSPE){
+				assertEquals(Expected.getMessage(), JSPE.getMessage());
+				assertEquals(Expected.getErrorOffset(), JSPE.getErrorOffset());
+			}
+		}
+	}
+	
+	public void testCalledFromWithinTheForkJoinPool() throws Exception{
+		final String Array = objects(VALUES);
+		List<Object> Values = Pool.submit(new Callable<List<Object>>(){
+			
+			public List<Object> call() throws JSonParseException{
+				return JSonParallelParser.parseArrayDocument(Array, Pool);
+			}
+		}).get();
+		assertEquals(sequential(Array), new JSonArray(Values).toString());
+	}
+	
+	public void testOtherExecutors() throws JSonParseException{
+		String Array = objects(VALUES);
+		ExecutorService Threads = Executors.newFixedThreadPool(3);
+		try{
+			assertSameAsSequential(Array, Threads);
+		}finally{
+			Threads.shutdownNow();
+		}
+		assertSameAsSequential(Array, new Executor(){
+			
+			public void execute(Runnable Task){
+				throw new RejectedExecutionException();
+			}
+		});
+	}
+	
+	public void testSmallInputIsParsedSequentially() throws JSonParseException{
+		assertSameAsSequential("[]", Pool);
+		assertSameAsSequential(" [ 1 ] ", Pool);
+		assertSameAsSequential(objects(100), Pool);
+	}
+	
+	private static void assertSameAsSequential(String Array, Executor Executor) throws JSonParseException{
+		ArrayList<Object> Values = JSonParallelParser.parseArrayDocument(Array, Executor);
+		assertEquals(sequential(Array), new JSonArray(Values).toString());
+	}
+	
+	private static String sequential(String Array) throws JSonParseException{
+		return new JSonArray(JSonParser.forThread(false).parseArrayString(Array, null)).toString();
+	}
+	
+	private static String objects(int count){
+		StringBuilder Array = new StringBuilder("[");
+		for(int i = 0; i < count; i++){
+			Array.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(", \"tags\":[\"a\", \"b\"], \"next\":{\"id\":").append(i + 1).append("}}");
+		}
+		return Array.append(']').toString();
+	}
+	
+	private static String repeat(String Text, int count){
+		StringBuilder Repeated = new StringBuilder();
+		for(int i = 0; i < count; i++){
+			Repeated.append(Text);
+		}
+		return Repeated.toString();
+	}
+}
@@ -0,0 +1,174 @@
+package com.hightide.jjson;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * Checks the trie of the JSonPersistentObject against a {@code HashMap} under random
+ * updates, with names chosen so that their hashes share long prefixes or collide outright,
+ * and checks that every earlier version is left unchanged.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonPersistentObjectTest extends TestCase{
+	
+	public void testCollidingNames(){
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		JSonPersistentObject Object = JSonPersistentObject.EMPTY.with("Aa", 1L).with("BB", 2L).with("AaBB", 3L).with("BBAa", 4L);
+		assertEquals(Long.valueOf(1L), Object.get("Aa"));
+		assertEquals(Long.valueOf(2L), Object.get("BB"));
+		assertEquals(Long.valueOf(3L), Object.get("AaBB"));
+		assertEquals(Long.valueOf(4L), Object.get("BBAa"));
+		assertFalse(Object.containsKey("AaAa"));
+		JSonPersistentObject Removed = Object.without("Aa").without("AaAa");
+		assertEquals(3, Removed.size());
+		assertNull(Removed.get("Aa"));
+		assertEquals(Long.valueOf(2L), Removed.get("BB"));
+		assertEquals(Long.valueOf(1L), Object.get("Aa"));
+		assertSame(JSonPersistentObject.EMPTY, Removed.without("BB").without("AaBB").without("BBAa"));
+	}
+	
+	public void testCollisionNodePushedDown(){
+		int Hash = 0x12345678;
+		String First = nameWithHash(Hash, 0);
+		String Second = nameWithHash(Hash, 1);
+		String Third = nameWithHash(Hash ^ (1 << 31), 0);
+		String Fourth = nameWithHash(Hash ^ (1 << 12), 0);
+		JSonPersistentObject Object = JSonPersistentObject.EMPTY.with(First, 1L).with(Second, 2L).with(Third, 3L).with(Fourth, 4L);
+		Map<String, Object> Expected = new HashMap<String, Object>();
+		Expected.put(First, 1L);
+		Expected.put(Second, 2L);
+		Expected.put(Third, 3L);
+		Expected.put(Fourth, 4L);
+		assertContents(Expected, Object);
+		assertContents(Expected, JSonPersistentObject.EMPTY.with(Third, 3L).with(Fourth, 4L).with(First, 1L).with(Second, 2L));
+	}
+	
+	public void testUnchangedVersionsAreShared(){
+		JSonPersistentObject Object = JSonPersistentObject.EMPTY.with("a", 1L).with("b", "x");
+		assertSame(Object, Object.with("a", 1L));
+		assertSame(Object, Object.with("b", "x"));
+		assertSame(Object, Object.without("c"));
+		assertNotSame(Object, Object.with("a", Integer.valueOf(1)));
+	}
+	
+	public void testRandomUpdatesAgainstHashMap(){
+		Random Random = new Random(20);
+		List<String> Names = new ArrayList<String>();
+		for(int group = 0; group < 6; group++){
+			int Hash = Random.nextInt();
+			for(int bit : new int[]{-1, 0, 4, 5, 13, 29, 30, 31}){
+				int Variant = (bit < 0 ? Hash : Hash ^ (1 << bit));
+				Names.add(nameWithHash(Variant, 0));
+				Names.add(nameWithHash(Variant, 1));
+			}
+		}
+		for(int i = 0; i < 100; i++){
+			Names.add("name" + i);
+		}
+		for(int round = 0; round < 50; round++){
+			JSonPersistentObject Object = JSonPersistentObject.EMPTY;
+			Map<String, Object> Expected = new HashMap<String, Object>();
+			List<JSonPersistentObject> Versions = new ArrayList<JSonPersistentObject>();
+			List<Map<String, Object>> ExpectedVersions = new ArrayList<Map<String, Object>>();
+			for(int update = 0; update < 400; update++){
+				String Name = Names.get(Random.nextInt(Names.size()));
+				if(Random.nextInt(3) == 0){
+					Object = Object.without(Name);
+					Expected.remove(Name);
+				}else{
+					Long Value = Long.valueOf(Random.nextInt(5));
+					Object = Object.with(Name, Value);
+					Expected.put(Name, Value);
+				}
+				assertEquals(Expected.size(), Object.size());
+				assertEquals(Expected.get(Name), Object.get(Name));
+				assertEquals(Expected.containsKey(Name), Object.containsKey(Name));
+				if(update % 20 == 0){
+					Versions.add(Object);
+					ExpectedVersions.add(new HashMap<String, Object>(Expected));
+				}
+			}
+			assertContents(Expected, Object);
+			for(int i = 0; i < Versions.size(); i++){
+				assertContents(ExpectedVersions.get(i), Versions.get(i));
+			}
+		}
+	}
+	
+	public void testConversionFromAndToJSonObject(){
+		JSonObject Source = new JSonObject("{\"a\":1, \"b\":{\"c\":[1, {\"d\":null}]}, \"e\":\"f\"}");
+		JSonPersistentObject Object = JSonPersistentObject.from(Source);
+		assertTrue(Object.get("b") instanceof JSonPersistentObject);
+		try{
+			((JSonArray)((JSonPersistentObject)Object.get("b")).get("c")).getJSonArrayList().add(2L);
+			fail();
+		}catch(UnsupportedOperationException E){
+			// Expected
+		}
+		JSonObject Copy = Object.toJSonObject();
+		assertTrue(Copy.getValue("b") instanceof JSonObject);
+		((JSonArray)((JSonObject)Copy.getValue("b")).getValue("c")).getJSonArrayList().add(2L);
+		assertEquals(3, Copy.getJSonProperties().size());
+	}
+	
+	/**
+	 * Checks every lookup, and the iterated pairs, of {@code Object} against {@code Expected}
+	 */
+	private static void assertContents(Map<String, Object> Expected, JSonPersistentObject Object){
+		assertEquals(Expected.size(), Object.size());
+		for(Map.Entry<String, Object> Pair : Expected.entrySet()){
+			assertEquals(Pair.getValue(), Object.get(Pair.getKey()));
+		}
+		Map<String, Object> Iterated = new HashMap<String, Object>();
+		for(Map.Entry<String, Object> Pair : Object.entrySet()){
+			assertNull("Iterated twice: " + Pair.getKey(), Iterated.put(Pair.getKey(), Pair.getValue()));
+		}
+		assertEquals(Expected, Iterated);
+	}
+	
+	/**
+	 * Returns a name which the trie hashes to {@code Hash}, a different one for each
+	 * {@code index}. The trie folds the high half of {@code String.hashCode} into the low
+	 * half, which is undone first; the name is then a prefix followed by two chars chosen
+	 * to bring its hash code to the one wanted.
+	 */
+	private static String nameWithHash(int Hash, int index){
+		int HashCode = Hash ^ (Hash >>> 16);
+		int found = 0;
+		for(int prefix = 0; ; prefix++){
+			String Prefix = "p" + prefix;
+			long Rest = (HashCode - Prefix.hashCode() * 961) & 0xFFFFFFFFL;
+			if(Rest <= 31L * 0xFFFF + 0xFFFF && found++ == index){
+				int first = (int)Math.min(Rest / 31, 0xFFFF);
+				String Name = Prefix + (char)first + (char)(Rest - 31L * first);
+				assertEquals(Hash, Name.hashCode() ^ (Name.hashCode() >>> 16));
+				return Name;
+			}
+		}
+	}
+}
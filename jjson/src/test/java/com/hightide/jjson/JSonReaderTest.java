@@ -0,0 +1,88 @@
+package com.hightide.jjson;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+/**
+ * Checks that the JSonReader copes with Readers returning fewer characters than asked
+ * for, or none at all, rather than spinning on them.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonReaderTest extends TestCase{
+	
+	private static final String DOCUMENT = "{\"a\":[1, 2.5, \"\\u00e9\"], \"b\":{\"c\":null}}";
+	
+	public void testReaderReturningOneCharacterAtATime() throws IOException, JSonParseException{
+		Map<String, Object> Properties = JSonConverter.createJSonPropertiesReader(new StingyReader(DOCUMENT, 0));
+		assertEquals(JSonConverter.createJSonObjectString(DOCUMENT).toString(), new JSonObject(Properties).toString());
+	}
+	
+	public void testReaderReturningNothingAtTimes() throws IOException, JSonParseException{
+		Map<String, Object> Properties = JSonConverter.createJSonPropertiesReader(new StingyReader(DOCUMENT, 5));
+		assertEquals(JSonConverter.createJSonObjectString(DOCUMENT).toString(), new JSonObject(Properties).toString());
+	}
+	
+	public void testReaderReturningNothingForeverFails() throws JSonParseException{
+		StingyReader Input = new StingyReader(DOCUMENT, Integer.MAX_VALUE);
+		try{
+			JSonConverter.createJSonPropertiesReader(Input);
+			fail("A Reader returning no characters was read");
+		}catch(IOException Expected){
+			// Expected
+		}
+		assertTrue("Spun on the Reader " + Input.emptyReads + " times", Input.emptyReads < 1000);
+	}
+	
+	/**
+	 * Returns a single character from each read, after returning none {@code emptyReads} times
+	 */
+	private static final class StingyReader extends Reader{
+		
+		private final StringReader Input;
+		private final int emptyBefore;
+		private int empty;
+		int emptyReads;
+		
+		StingyReader(String Text, int emptyBefore){
+			this.Input = new StringReader(Text);
+			this.emptyBefore = emptyBefore;
+		}
+		
+		public int read(char[] Buffer, int offset, int length) throws IOException{
+			if(empty < emptyBefore){
+				empty++;
+				emptyReads++;
+				return 0;
+			}
+			empty = 0;
+			return Input.read(Buffer, offset, Math.min(length, 1));
+		}
+		
+		public void close(){
+			Input.close();
+		}
+	}
+}
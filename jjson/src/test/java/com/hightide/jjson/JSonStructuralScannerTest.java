@@ -0,0 +1,225 @@
+package com.hightide.jjson;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+*Copyright (C) {2015}  {Jered Tupik}
+*
+*  This program is free software; you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation; either version 2 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+*
+*  You should have received a copy of the GNU General Public License along
+*  with this program; if not, write to the Free Software Foundation, Inc.,
+*  51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+*/
+
+/**
+ * Checks the word-at-a-time scans of the {@code JSonStructuralScanner} against plain
+ * byte-at-a-time loops, with the bytes of interest placed at every offset within
+ * and across the 8 byte words and 64 byte blocks it works on.
+ * 
+ * @author Jered Tupik
+ * @version 1.0 2015-2-15
+ */
+public class JSonStructuralScannerTest extends TestCase{
+	
+	private static final byte[] SPECIALS = {'"', '\\', (byte)0x80, (byte)0xC3, (byte)0xFF};
+	
+	public void testFindStringEndAtEveryOffset(){
+		for(byte Special : SPECIALS){
+			for(int at = 0; at < 200; at++){
+				byte[] Input = filled(200, (byte)'a');
+				Input[at] = Special;
+				for(ByteBuffer Buffer : views(Input)){
+					for(int begin = 0; begin <= 140; begin += 7){
+						for(int end : new int[]{at, at + 1, 200}){
+							if(end < begin){
+								continue;
+							}
+							assertEquals("special " + Special + " at " + at + " from " + begin + " to " + end,
+								 scalarStringEnd(Buffer, begin, end), JSonStructuralScanner.findStringEnd(Buffer, begin, end));
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	public void testFindStringEndWithoutSpecials(){
+		byte[] Input = filled(131, (byte)'z');
+		for(ByteBuffer Buffer : views(Input)){
+			for(int begin = 0; begin < 131; begin++){
+				assertEquals(131, JSonStructuralScanner.findStringEnd(Buffer, begin, 131));
+			}
+		}
+	}
+	
+	public void testSkipContainerAtEveryOffset(){
+		String[] Bodies = {
+			"]",
+			"1, [2, [3]], {\"a\":[]}]",
+			"\"]\", \"[\", \"}\"]",
+			"\"\\\"]\"]",
+			"\"\\\\\"]",
+			"\"\\\\\\\"]\", 1]",
+			"\"\\\\\\\\\"]",
+			"{\"" + filledString(70, '\\') + "\":[\"}\"]}]"
+		};
+		for(String Body : Bodies){
+			for(int pad = 0; pad < 140; pad++){
+				checkSkip(pad, Body);
+			}
+		}
+	}
+	
+	public void testSkipContainerAgainstRandomDocuments(){
+		Random Random = new Random(11);
+		for(int round = 0; round < 3000; round++){
+			StringBuilder Body = new StringBuilder();
+			appendValues(Random, Body, 3);
+			Body.append(']');
+			checkSkip(Random.nextInt(70), Body.toString());
+		}
+	}
+	
+	public void testSkipContainerUnterminated(){
+		byte[] Input = "[[\"]\\\"]\", [1, 2]".getBytes(StandardCharsets.UTF_8);
+		for(ByteBuffer Buffer : views(Input)){
+			assertEquals(-1, JSonStructuralScanner.skipContainer(Buffer, 1, Input.length));
+		}
+	}
+	
+	/**
+	 * Checks the skip of the array {@code "[" + Body}, placed after {@code pad} spaces, and of
+	 * each shorter input cut from it
+	 */
+	private static void checkSkip(int pad, String Body){
+		byte[] Input = (filledString(pad, ' ') + "[" + Body).getBytes(StandardCharsets.UTF_8);
+		for(ByteBuffer Buffer : views(Input)){
+			int expected = scalarSkip(Buffer, pad + 1, Input.length);
+			assertTrue("unbalanced " + Body, expected > 0);
+			assertEquals("pad " + pad + ": " + Body, expected, JSonStructuralScanner.skipContainer(Buffer, pad + 1, Input.length));
+			for(int end = pad + 1; end < expected; end += 5){
+				assertEquals("pad " + pad + " cut at " + end + ": " + Body, -1, JSonStructuralScanner.skipContainer(Buffer, pad + 1, end));
+			}
+		}
+	}
+	
+	private static void appendValues(Random Random, StringBuilder Out, int depth){
+		int count = Random.nextInt(5);
+		for(int i = 0; i < count; i++){
+			if(i > 0){
+				Out.append(Random.nextBoolean() ? ", " : ",");
+			}
+			switch(Random.nextInt(depth > 0 ? 4 : 2)){
+				case 0:
+					Out.append(Random.nextInt(1000));
+					break;
+				case 1:
+					Out.append('"');
+					int length = Random.nextInt(80);
+					for(int j = 0; j < length; j++){
+						switch(Random.nextInt(8)){
+							case 0:
+								Out.append("\\\"");
+								break;
+							case 1:
+								int backslashes = 1 + Random.nextInt(6);
+								for(int k = 0; k < backslashes; k++){
+									Out.append("\\\\");
+								}
+								break;
+							case 2:
+								Out.append("[]{}".charAt(Random.nextInt(4)));
+								break;
+							case 3:
+								Out.append('\u00E9');
+								break;
+							default:
+								Out.append('x');
+						}
+					}
+					Out.append('"');
+					break;
+				case 2:
+					Out.append('[');
+					appendValues(Random, Out, depth - 1);
+					Out.append(']');
+					break;
+				default:
+					Out.append("{\"k\":[");
+					appendValues(Random, Out, depth - 1);
+					Out.append("]}");
+			}
+		}
+	}
+	
+	/**
+	 * Returns the input as a heap buffer in both byte orders, and as a direct buffer
+	 */
+	private static ByteBuffer[] views(byte[] Input){
+		ByteBuffer Direct = ByteBuffer.allocateDirect(Input.length);
+		Direct.put(Input).flip();
+		return new ByteBuffer[]{
+			ByteBuffer.wrap(Input),
+			ByteBuffer.wrap(Input).order(ByteOrder.LITTLE_ENDIAN),
+			Direct
+		};
+	}
+	
+	private static int scalarStringEnd(ByteBuffer Buffer, int beginIndex, int endIndex){
+		for(int i = beginIndex; i < endIndex; i++){
+			byte Current = Buffer.get(i);
+			if(Current == '"' || Current == '\\' || Current < 0){
+				return i;
+			}
+		}
+		return endIndex;
+	}
+	
+	private static int scalarSkip(ByteBuffer Buffer, int beginIndex, int endIndex){
+		int level = 1;
+		boolean inString = false;
+		for(int i = beginIndex; i < endIndex; i++){
+			byte Current = Buffer.get(i);
+			if(inString){
+				if(Current == '\\'){
+					i++;
+				}else if(Current == '"'){
+					inString = false;
+				}
+			}else if(Current == '"'){
+				inString = true;
+			}else if(Current == '[' || Current == '{'){
+				level++;
+			}else if((Current == ']' || Current == '}') && --level == 0){
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+	
+	private static byte[] filled(int length, byte Value){
+		byte[] Bytes = new byte[length];
+		for(int i = 0; i < length; i++){
+			Bytes[i] = Value;
+		}
+		return Bytes;
+	}
+	
+	private static String filledString(int length, char Value){
+		return new String(filled(length, (byte)Value), StandardCharsets.US_ASCII);
+	}
+}